@@ -0,0 +1,46 @@
+package sorting.algorithms.project.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link SortBenchmark}: measures only the input copy that precedes every
+ * sort, so it can be subtracted when comparing against the REST endpoint (which copies
+ * outside of the timed region).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArrayCopyBenchmark {
+
+    // Number of elements to copy.
+    @Param({"1000", "10000"})
+    public int size;
+
+    // Source and destination arrays.
+    private int[] source;
+    private int[] work;
+
+    /**
+     * Allocates both arrays once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new int[size];
+        work = new int[size];
+    }
+
+    /**
+     * Copies the source into the work array.
+     * @return The work array, consumed by JMH to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int[] copy() {
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+}
@@ -0,0 +1,81 @@
+package sorting.algorithms.project.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark measuring the primitive sort path of a registered algorithm on one of
+ * the standard dataset shapes. The algorithm names are normally supplied by
+ * {@link SortBenchmarkRunner}, which discovers every registered algorithm bean.
+ * Each invocation copies the prepared input into a work array before sorting; the
+ * cost of that copy alone is measured by {@link ArrayCopyBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortBenchmark {
+
+    // Name of the algorithm bean (as returned by getName()).
+    @Param({"QuickSort"})
+    public String algorithm;
+
+    // Number of elements to sort.
+    @Param({"1000", "10000"})
+    public int size;
+
+    // Dataset shape, as produced by DatasetGenerator (and the /datasets endpoint).
+    @Param({"unsorted", "halfSorted", "sorted", "reverse"})
+    public String shape;
+
+    // Spring context holding only the algorithm beans.
+    private AnnotationConfigApplicationContext context;
+    // The algorithm under test.
+    private SortingAlgorithm sorter;
+    // The prepared input; never modified.
+    private int[] source;
+    // The array that is sorted in each invocation.
+    private int[] work;
+
+    /**
+     * Looks up the algorithm and prepares the input once per trial (fork).
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Load only the algorithm beans, so the web layer is not started.
+        context = SortBenchmarkRunner.algorithmContext();
+        sorter = context.getBeansOfType(SortingAlgorithm.class).values().stream()
+                .filter(algo -> algo.getName().equalsIgnoreCase(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm: " + algorithm));
+        // Fixed seed, so every fork and every algorithm sorts the same data.
+        source = DatasetGenerator.generate(shape, size, new Random(42));
+        work = new int[size];
+    }
+
+    /**
+     * Closes the Spring context after the trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Copies the input into the work array and sorts it.
+     * @return The sorted array, consumed by JMH to prevent dead-code elimination.
+     */
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(source, 0, work, 0, size);
+        return sorter.sort(work, new SortContext());
+    }
+}
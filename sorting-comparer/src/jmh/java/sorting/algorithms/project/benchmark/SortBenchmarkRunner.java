@@ -0,0 +1,73 @@
+package sorting.algorithms.project.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.config.AlgorithmConfig;
+
+import java.util.Set;
+
+/**
+ * Entry point of the benchmark profile ({@code mvn -Pjmh test-compile exec:exec}).
+ * Accepts the regular JMH command line options (e.g., {@code -p size=100000} or
+ * {@code -f 1}) and, unless {@code -p algorithm=...} is given, benchmarks every
+ * registered algorithm bean, so newly added algorithms are covered automatically.
+ */
+public class SortBenchmarkRunner {
+
+    // Algorithms with unbounded running time; they only run when requested explicitly (with a tiny size).
+    private static final Set<String> UNBOUNDED = Set.of("BogoSort", "BozoSort");
+
+    /**
+     * Runs the benchmarks.
+     * @param args JMH command line options.
+     * @throws CommandLineOptionException If the options cannot be parsed.
+     * @throws RunnerException If a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        // Default to the sort and baseline benchmarks if no include pattern was given.
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(SortBenchmark.class.getSimpleName())
+                    .include(ArrayCopyBenchmark.class.getSimpleName());
+        }
+        // Default to all registered algorithms if none were chosen on the command line.
+        if (!commandLine.getParameter("algorithm").hasValue()) {
+            options.param("algorithm", registeredAlgorithms());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Creates a Spring context holding only the algorithm beans: the scanned components
+     * and the variants registered by {@link AlgorithmConfig}. The web layer is not started.
+     * @return The refreshed context; the caller must close it.
+     */
+    static AnnotationConfigApplicationContext algorithmContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(AlgorithmConfig.class);
+        context.scan("sorting.algorithms.project.SortingAlgorithms");
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Discovers the names of all registered algorithm beans.
+     * @return The algorithm names, excluding those with unbounded running time.
+     */
+    private static String[] registeredAlgorithms() {
+        try (AnnotationConfigApplicationContext context = algorithmContext()) {
+            return context.getBeansOfType(SortingAlgorithm.class).values().stream()
+                    .map(SortingAlgorithm::getName)
+                    .filter(name -> !UNBOUNDED.contains(name))
+                    .sorted()
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.function.Consumer;
+import sorting.algorithms.project.dto.SortStep;
+
+/**
+ * Picks the algorithm for every input individually. A single pass collects the
+ * {@link InputFeatures} of the input (size, range, runs, sortedness, duplicates), then the sort
+ * is handed to the candidate expected to be fastest:
+ * <ul>
+ *     <li>the candidate that was measured fastest on similar inputs on this machine, as soon as the
+ *     {@link AutoSortProfile} has enough compare results for them,</li>
+ *     <li>otherwise the built-in thresholds: InsertionSort for tiny inputs, TimSort for inputs made
+ *     of long runs, CountingSort for a range not much larger than the input, RadixSort for large
+ *     inputs and PdqSort for everything else.</li>
+ * </ul>
+ * CountingSort and RadixSort only take non-negative values and size their work by the maximum, so on
+ * the primitive path inputs are shifted by their minimum before and after such a sort: the count
+ * array then follows the range of the values, even for large offsets or {@code Integer.MAX_VALUE}.
+ */
+@Component
+public class AutoSort implements SortingAlgorithm {
+    // Inputs below this size are sorted by insertion sort.
+    static final int INSERTION_SORT_THRESHOLD = 32;
+    // Inputs whose runs are at least this long on average are sorted by TimSort.
+    static final int MIN_AVERAGE_RUN = 32;
+    // Inputs whose range is at most this multiple of their size are sorted by CountingSort.
+    static final int COUNTING_RANGE_FACTOR = 4;
+    // Inputs of at least this size are sorted by RadixSort.
+    static final int RADIX_THRESHOLD = 1 << 16;
+    // Limits for choices learned from the profile, so a bucket boundary never leads to a quadratic
+    // sort of a large input or a counting array much larger than the input.
+    private static final int MAX_LEARNED_INSERTION_SIZE = 256;
+    private static final int MAX_LEARNED_COUNTING_FACTOR = 16;
+
+    private final InsertionSort insertionSort;
+    private final CountingSort countingSort;
+    private final TimSort timSort;
+    private final RadixSort radixSort;
+    private final PdqSort pdqSort;
+    // Measured speeds of the candidates on this machine.
+    private final AutoSortProfile profile;
+
+    /**
+     * Creates the dispatcher.
+     * @param insertionSort The candidate for tiny inputs.
+     * @param countingSort The candidate for small ranges.
+     * @param timSort The candidate for presorted inputs.
+     * @param radixSort The candidate for large inputs.
+     * @param pdqSort The general-purpose candidate.
+     * @param profile The measured speeds of the candidates.
+     */
+    public AutoSort(InsertionSort insertionSort, CountingSort countingSort, TimSort timSort,
+                    RadixSort radixSort, PdqSort pdqSort, AutoSortProfile profile) {
+        this.insertionSort = insertionSort;
+        this.countingSort = countingSort;
+        this.timSort = timSort;
+        this.radixSort = radixSort;
+        this.pdqSort = pdqSort;
+        this.profile = profile;
+    }
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "AutoSort".
+     */
+    @Override
+    public String getName() {
+        return "AutoSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(n log n), the worst case of the comparison-based candidates.
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n), or O(n + k) when CountingSort is chosen.
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n), e.g. sorted input handed to TimSort.
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Chooses the algorithm for an input with the given features.
+     * @param features The features of the input.
+     * @return The candidate to sort the input with.
+     */
+    public SortingAlgorithm choose(InputFeatures features) {
+        SortingAlgorithm learned = byName(profile.fastest(features));
+        if (learned != null && applicable(learned, features)) {
+            return learned;
+        }
+        int n = features.getSize();
+        if (n < INSERTION_SORT_THRESHOLD) return insertionSort;
+        if (features.getAverageRunLength() >= MIN_AVERAGE_RUN) return timSort;
+        if (features.getRange() <= Math.min((long) COUNTING_RANGE_FACTOR * n, Integer.MAX_VALUE)) return countingSort;
+        if (n >= RADIX_THRESHOLD && features.getRange() <= Integer.MAX_VALUE) return radixSort;
+        return pdqSort;
+    }
+
+    /**
+     * Scans the range {@code [from, to)} and sorts it with the chosen candidate.
+     * The scan counts one step per element; the candidate counts its own steps.
+     * @param a The array to sort in-place.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return {@code to}: the whole range is sorted.
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        if (to - from < 2) return to;
+        InputFeatures features = InputFeatures.scan(a, from, to);
+        context.addSteps(to - from);
+        // The scan counts towards the budget as well; the candidate checks its own steps.
+        context.checkpoint();
+        SortingAlgorithm algorithm = choose(features);
+
+        int min = features.getMin();
+        boolean shift = min != 0 && requiresNonNegative(algorithm);
+        // Shifting keeps the order because the range fits into an int (both candidates require that),
+        // and maps the values onto [0, range).
+        if (shift) add(a, from, to, -min);
+        try {
+            algorithm.sort(a, from, to, context);
+        } finally {
+            // Also restores the values if the run was cancelled midway.
+            if (shift) add(a, from, to, min);
+        }
+        return to;
+    }
+
+    /**
+     * Sorts the input list with the chosen candidate and forwards its steps.
+     * The steps must show the real values, so the values cannot be shifted: inputs with negative
+     * values, or with a maximum far above their size for CountingSort, are sorted by PdqSort instead.
+     * @param input The list to be sorted (will be modified).
+     * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        InputFeatures features = InputFeatures.scan(SortingAlgorithm.toIntArray(input));
+        context.addSteps(input.size());
+        SortingAlgorithm algorithm = choose(features);
+        if (!sortsUnshifted(algorithm, features)) {
+            algorithm = pdqSort;
+        }
+        algorithm.sortWithCallback(input, stepCallback, context);
+    }
+
+    /**
+     * Resolves the name of a candidate.
+     * @param name The name (may be null).
+     * @return The candidate, or null if the name is not one.
+     */
+    private SortingAlgorithm byName(String name) {
+        if (name == null) return null;
+        return switch (name) {
+            case "InsertionSort" -> insertionSort;
+            case "CountingSort" -> countingSort;
+            case "TimSort" -> timSort;
+            case "RadixSort" -> radixSort;
+            case "PdqSort" -> pdqSort;
+            default -> null;
+        };
+    }
+
+    /**
+     * Checks whether a learned choice is safe for an input: buckets are coarse, so a candidate that
+     * won on smaller or denser inputs of the same bucket must not blow up on this one.
+     * @param algorithm The learned candidate.
+     * @param features The features of the input.
+     * @return true if the candidate may sort the input.
+     */
+    private boolean applicable(SortingAlgorithm algorithm, InputFeatures features) {
+        if (algorithm == insertionSort) return features.getSize() <= MAX_LEARNED_INSERTION_SIZE;
+        if (algorithm == countingSort) return features.getRange() <= (long) MAX_LEARNED_COUNTING_FACTOR * features.getSize();
+        if (algorithm == radixSort) return features.getRange() <= Integer.MAX_VALUE;
+        return true;
+    }
+
+    /**
+     * Checks whether a candidate can sort an input without shifting its values.
+     * @param algorithm The candidate.
+     * @param features The features of the input.
+     * @return false if the input has negative values for CountingSort or RadixSort, or if the
+     *         count array of CountingSort would be much larger than the input.
+     */
+    private boolean sortsUnshifted(SortingAlgorithm algorithm, InputFeatures features) {
+        if (!requiresNonNegative(algorithm)) return true;
+        if (features.getMin() < 0) return false;
+        // Unshifted, CountingSort sizes its count array by the maximum instead of the range.
+        return algorithm != countingSort || features.getMax() < (long) MAX_LEARNED_COUNTING_FACTOR * features.getSize();
+    }
+
+    /**
+     * Checks whether a candidate only sorts non-negative values.
+     * @param algorithm The candidate.
+     * @return true for CountingSort and RadixSort.
+     */
+    private boolean requiresNonNegative(SortingAlgorithm algorithm) {
+        return algorithm == countingSort || algorithm == radixSort;
+    }
+
+    /**
+     * Adds a constant to every element of a range (with int overflow, which the shift relies on).
+     * @param a The array.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @param delta The constant.
+     */
+    private static void add(int[] a, int from, int to, int delta) {
+        for (int i = from; i < to; i++) {
+            a[i] += delta;
+        }
+    }
+}
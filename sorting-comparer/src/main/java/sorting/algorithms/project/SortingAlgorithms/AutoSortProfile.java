@@ -0,0 +1,181 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Remembers how fast the candidates of {@link AutoSort} sorted which kinds of input on this machine.
+ * Every measured compare run of a candidate is recorded under the {@link InputFeatures#bucket() bucket}
+ * of its input as nanoseconds per element; the average moves with new measurements, so it follows
+ * changes of the machine or the JVM. Once at least two candidates have enough measurements in a
+ * bucket, {@link #fastest} names the winner and AutoSort uses it instead of its built-in thresholds.
+ * <p>
+ * The profile is loaded from and saved to the configured file, so it survives restarts.
+ */
+@Component
+public class AutoSortProfile {
+
+    // The algorithms AutoSort can dispatch to; only their measurements are recorded.
+    static final Set<String> CANDIDATES = Set.of("InsertionSort", "CountingSort", "TimSort", "RadixSort", "PdqSort");
+    // Upper bound for the weight of the history: the newest measurement always counts at least 1/MAX_WEIGHT.
+    private static final int MAX_WEIGHT = 20;
+
+    // File holding the profile (null = in memory only).
+    private final Path file;
+    // Number of measurements a candidate needs in a bucket before it is compared.
+    private final int minSamples;
+    // Measurements by bucket, then by algorithm name; guarded by 'this'.
+    private final Map<String, Map<String, Entry>> buckets = new HashMap<>();
+
+    /**
+     * Creates the profile and loads the measurements saved earlier (an unreadable file is ignored).
+     * @param file The file holding the profile (empty = in memory only).
+     * @param minSamples The number of measurements a candidate needs in a bucket before it is compared.
+     */
+    public AutoSortProfile(@Value("${sorting.autosort.profile-file:data/autosort-profile.properties}") String file,
+                           @Value("${sorting.autosort.min-samples:3}") int minSamples) {
+        this.file = file == null || file.isBlank() ? null : Paths.get(file);
+        this.minSamples = Math.max(1, minSamples);
+        load();
+    }
+
+    /**
+     * Checks whether measurements of an algorithm are recorded.
+     * @param algorithm The name of the algorithm.
+     * @return true if AutoSort can dispatch to it.
+     */
+    public boolean tracks(String algorithm) {
+        return CANDIDATES.contains(algorithm);
+    }
+
+    /**
+     * Records a measurement; measurements of algorithms AutoSort cannot dispatch to are ignored.
+     * @param features The features of the sorted input.
+     * @param algorithm The name of the algorithm.
+     * @param nanos The time of one sort of the whole input in nanoseconds.
+     */
+    public synchronized void record(InputFeatures features, String algorithm, long nanos) {
+        if (!tracks(algorithm) || features.getSize() == 0 || nanos < 0) return;
+        double perElement = (double) nanos / features.getSize();
+        buckets.computeIfAbsent(features.bucket(), key -> new HashMap<>())
+                .computeIfAbsent(algorithm, key -> new Entry())
+                .add(perElement);
+    }
+
+    /**
+     * Names the candidate that was fastest on inputs like the given one.
+     * @param features The features of the input.
+     * @return The name of the fastest candidate, or null while fewer than two candidates have enough measurements.
+     */
+    public synchronized String fastest(InputFeatures features) {
+        Map<String, Entry> entries = buckets.get(features.bucket());
+        if (entries == null) return null;
+        String best = null;
+        double bestNanos = Double.MAX_VALUE;
+        int compared = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (entry.samples < minSamples) continue;
+            compared++;
+            if (entry.nanosPerElement < bestNanos) {
+                bestNanos = entry.nanosPerElement;
+                best = candidate.getKey();
+            }
+        }
+        return compared >= 2 ? best : null;
+    }
+
+    /**
+     * Returns the recorded averages.
+     * @return The nanoseconds per element by bucket and algorithm, sorted by bucket.
+     */
+    public synchronized Map<String, Map<String, Double>> snapshot() {
+        Map<String, Map<String, Double>> snapshot = new TreeMap<>();
+        buckets.forEach((bucket, entries) -> {
+            Map<String, Double> averages = new TreeMap<>();
+            entries.forEach((algorithm, entry) -> averages.put(algorithm, entry.nanosPerElement));
+            snapshot.put(bucket, averages);
+        });
+        return snapshot;
+    }
+
+    /**
+     * Writes the profile to its file (called on shutdown).
+     * @throws UncheckedIOException If the file cannot be written.
+     */
+    @PreDestroy
+    public synchronized void save() {
+        if (file == null || buckets.isEmpty()) return;
+        // One line per bucket and algorithm: "bucket.algorithm = samples,nanosPerElement".
+        Properties properties = new Properties();
+        buckets.forEach((bucket, entries) -> entries.forEach((algorithm, entry) ->
+                properties.setProperty(bucket + "." + algorithm, entry.samples + "," + entry.nanosPerElement)));
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "AutoSort profile: samples,nanoseconds per element");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the AutoSort profile", e);
+        }
+    }
+
+    /**
+     * Reads the profile from its file, skipping malformed lines.
+     */
+    private void load() {
+        if (file == null || !Files.isRegularFile(file)) return;
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            return; // Start with an empty profile
+        }
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            String[] value = properties.getProperty(key).split(",");
+            if (dot < 0 || value.length != 2 || !tracks(key.substring(dot + 1))) continue;
+            try {
+                Entry entry = new Entry();
+                entry.samples = Integer.parseInt(value[0].trim());
+                entry.nanosPerElement = Double.parseDouble(value[1].trim());
+                buckets.computeIfAbsent(key.substring(0, dot), bucket -> new HashMap<>()).put(key.substring(dot + 1), entry);
+            } catch (NumberFormatException e) {
+                // Skip the line.
+            }
+        }
+    }
+
+    /**
+     * The measurements of one algorithm in one bucket.
+     */
+    private static final class Entry {
+        // Number of measurements so far.
+        int samples;
+        // Moving average of the time per element.
+        double nanosPerElement;
+
+        /**
+         * Adds a measurement: a plain average at first, an exponential one after MAX_WEIGHT measurements.
+         * @param value The time per element in nanoseconds.
+         */
+        void add(double value) {
+            samples++;
+            nanosPerElement += (value - nanosPerElement) / Math.min(samples, MAX_WEIGHT);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import sorting.algorithms.project.dto.SortStep;
 
@@ -17,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class BogoSort implements SortingAlgorithm {
 
-    // Counter for the number of steps (shuffles and comparisons) performed during the sort.
-    private long steps;
-    // Stores the original dataset passed to the sort method.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -62,60 +59,70 @@ public class BogoSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps (shuffles + comparisons) performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using BogoSort.
+     * Uses the same shuffle scheme and step counting as the List-based version.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset that was provided to the sorting algorithm.
-     * Ensures that a non-null list is returned, defaulting to the superclass method if necessary.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Return the stored dataset, or call the default method if it's null.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+    public int sort(int[] a, int from, int to, SortContext context) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int n = to - from;
+        // Continue shuffling until the range is sorted.
+        while (!isSorted(a, from, to, context)) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            // Swap every element with a randomly chosen element of the range.
+            for (int i = from; i < to; i++) {
+                int j = from + random.nextInt(n);
+                int t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+            // Count the shuffle operation as one step.
+            context.countStep();
+        }
+        return to;
     }
 
     /**
-     * Sorts a copy of the input list using BogoSort.
-     * The original list remains unchanged.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Checks if the range a[from, to) is sorted in ascending order, counting each comparison.
+     * @param a The array to check.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return true if the range is sorted, false otherwise.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy to sort.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store the original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count for this sort operation.
-        steps = 0;
-        // Perform the sort using the callback version with a no-op consumer.
-        bogoSort(copy, (SortStep step) -> {});
-        // Return the sorted copy.
-        return copy;
+    private boolean isSorted(int[] a, int from, int to, SortContext context) {
+        for (int i = from + 1; i < to; i++) {
+            context.countStep(); // Count the comparison.
+            if (a[i - 1] > a[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Sorts the input list in-place using BogoSort and reports each step (shuffle or check).
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer function to report each {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store the original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state of the array.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        bogoSort(input, stepCallback);
+        bogoSort(input, stepCallback, context);
     }
 
     /**
@@ -123,14 +130,15 @@ public class BogoSort implements SortingAlgorithm {
      * Reports each shuffle and each comparison check via the stepCallback.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void bogoSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void bogoSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         // Continue shuffling until the list is sorted.
-        while (!isSorted(arr, stepCallback)) {
+        while (!isSorted(arr, stepCallback, context)) {
             // Shuffle the list and get the indices that were potentially changed.
             Set<Integer> changedIndices = shuffle(arr);
             // Count the shuffle operation as one step.
-            steps++;
+            context.countStep();
             // Report the state of the array after shuffling.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changedIndices));
         }
@@ -175,9 +183,10 @@ public class BogoSort implements SortingAlgorithm {
      * Reports each comparison made during the check via the stepCallback.
      * @param arr The list to check.
      * @param stepCallback The consumer for reporting comparison steps.
+     * @param context The per-run context receiving the step count.
      * @return true if the list is sorted, false otherwise.
      */
-    private boolean isSorted(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private boolean isSorted(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         // Iterate through the list, comparing adjacent elements.
         for (int i = 1; i < arr.size(); i++) {
             Set<Integer> accessed = new HashSet<>();
@@ -185,7 +194,7 @@ public class BogoSort implements SortingAlgorithm {
             accessed.add(i - 1);
             accessed.add(i);
             // Count the comparison as one step.
-            steps++;
+            context.countStep();
             // Report the state *before* potentially returning false.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, Collections.emptySet()));
             // If an element is smaller than its predecessor, the list is not sorted.
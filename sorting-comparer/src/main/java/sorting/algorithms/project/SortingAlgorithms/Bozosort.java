@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 import sorting.algorithms.project.dto.SortStep;
 
@@ -18,10 +19,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class Bozosort implements SortingAlgorithm {
 
-	// Counter for the number of steps (swaps and comparisons) performed.
-	private long steps;
-	// Stores the original dataset passed to the sort method.
-	private List<Integer> dataSet;
 
 	/**
 	 * Returns the name of the sorting algorithm.
@@ -63,60 +60,64 @@ public class Bozosort implements SortingAlgorithm {
 	}
 
 	/**
-	 * Returns the total number of steps (swaps + comparisons) performed during the last sort operation.
-	 * @return The number of steps.
+	 * Sorts the range a[from, to) of a primitive array in-place using BozoSort.
+	 * Swaps two random elements, then checks the range, exactly like the List-based version.
+	 * @param a The array containing the range to sort (will be modified).
+	 * @param from The first index of the range (inclusive).
+	 * @param to The last index of the range (exclusive).
+	 * @param context The per-run context receiving the step count.
+	 * @return The exclusive end of the sorted range (always {@code to}).
 	 */
 	@Override
-	public long getSteps() {
-		return steps;
-	}
-
-	/**
-	 * Returns the original dataset that was provided to the sorting algorithm.
-	 * Ensures that a non-null list is returned.
-	 * @return The original list of integers.
-	 */
-	@Override
-	public List<Integer> getData() {
-		// Return the stored dataset, or call the default method if it's null.
-		return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-	}
-
-	/**
-	 * Sorts a copy of the input list using BozoSort.
-	 * The original list remains unchanged.
-	 * @param input The list of integers to sort.
-	 * @return A new list containing the sorted elements.
-	 */
-	@Override
-	public List<Integer> sort(List<Integer> input) {
-		// Create a mutable copy.
-		List<Integer> copy = new ArrayList<>(input);
-		// Store the original data.
-		dataSet = new ArrayList<>(copy);
-		// Reset step count.
-		steps = 0;
-		// Perform sort with a no-op callback.
-		bozoSort(copy, (SortStep step) -> {});
-		// Return the sorted copy.
-		return copy;
+	public int sort(int[] a, int from, int to, SortContext context) {
+		int n = to - from;
+		// Empty and single-element ranges are already sorted.
+		if (n <= 1) return to;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		boolean sorted = false;
+		while (!sorted) {
+			// Stop here if the run was cancelled.
+			context.checkpoint();
+			// Select two random indices within the range.
+			int index1 = from + random.nextInt(n);
+			int index2 = from + random.nextInt(n);
+			// Perform swap only if indices are different.
+			if (index1 != index2) {
+				int temp = a[index1];
+				a[index1] = a[index2];
+				a[index2] = temp;
+				context.countStep(); // Count the swap.
+			}
+			// Check if the range is now sorted.
+			sorted = true;
+			for (int i = from + 1; i < to; i++) {
+				context.countStep(); // Count the comparison.
+				if (a[i - 1] > a[i]) {
+					sorted = false;
+					break;
+				}
+			}
+		}
+		return to;
 	}
 
 	/**
 	 * Sorts the input list in-place using BozoSort and reports each step (swap or check).
 	 * @param input The list to be sorted (will be modified).
 	 * @param stepCallback A consumer function to report each {@link SortStep} for visualization.
+	 * @param context The per-run context receiving the step count.
 	 */
 	@Override
-	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-		// Store the original data.
-		dataSet = new ArrayList<>(input);
-		// Reset step count.
-		steps = 0;
+	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+		// Without an observer, skip step construction and sort through the primitive path.
+		if (stepCallback == null) {
+			SortingAlgorithm.sortInPlace(this, input, context);
+			return;
+		}
 		// Send the initial state.
 		stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
 		// Perform the actual sorting.
-		bozoSort(input, stepCallback);
+		bozoSort(input, stepCallback, context);
 	}
 
 	/**
@@ -124,8 +125,9 @@ public class Bozosort implements SortingAlgorithm {
 	 * Reports each swap and each comparison check via the stepCallback.
 	 * @param arr The list to sort in-place.
 	 * @param stepCallback The consumer for reporting steps.
+	 * @param context The per-run context receiving the step count.
 	 */
-	private void bozoSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+	private void bozoSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
 		boolean sorted = false;
 
 		// Continue until the list is sorted.
@@ -148,7 +150,7 @@ public class Bozosort implements SortingAlgorithm {
 				changedSwap.add(index1); // Mark for set
 				changedSwap.add(index2); // Mark for set
 				// Count the swap as a step.
-				steps++;
+				context.countStep();
 				// Report the state after the swap.
 				stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedSwap, changedSwap));
 			} else {
@@ -165,7 +167,7 @@ public class Bozosort implements SortingAlgorithm {
 				accessedCheck.add(i - 1);
 				accessedCheck.add(i);
 				// Count the comparison as a step.
-				steps++;
+				context.countStep();
 				// Report the state *before* potentially breaking the check loop.
 				stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedCheck, Collections.emptySet()));
 				// If elements are out of order, it's not sorted.
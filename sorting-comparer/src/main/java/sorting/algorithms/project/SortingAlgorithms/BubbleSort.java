@@ -16,10 +16,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class BubbleSort implements SortingAlgorithm {
-    // Counter for the number of steps (comparisons + swaps).
-    long steps;
-    // Stores the original dataset passed to the sort method.
-    List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -54,58 +50,63 @@ public class BubbleSort implements SortingAlgorithm {
     public String getBestCase() { return "O(n)"; }
 
     /**
-     * Returns the total number of steps (comparisons + swaps) performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Bubble Sort.
+     * Counts steps like the List-based version, without boxing or step reporting.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() { return steps; }
-
-    /**
-     * Returns the original dataset that was provided to the sorting algorithm.
-     * Ensures that a non-null list is returned.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Return the stored dataset, or call the default method if it's null.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using Bubble Sort.
-     * The original list remains unchanged.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store the original data for getData().
-        dataSet = new ArrayList<>(copy);
-        // Reset step count for this run.
-        steps = 0;
-        // Call the callback version with a no-op consumer.
-        bubbleSort(copy, (SortStep step) -> {});
-        // Return the sorted copy.
-        return copy;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        // Exclusive end of the unsorted portion.
+        int n = to;
+        boolean swapped;
+        do {
+            // Assume no swaps will occur in this pass.
+            swapped = false;
+            for (int i = from + 1; i < n; i++) {
+                count++; // Count the comparison.
+                // Swap adjacent elements if they are in the wrong order.
+                if (a[i - 1] > a[i]) {
+                    int t = a[i - 1];
+                    a[i - 1] = a[i];
+                    a[i] = t;
+                    swapped = true;
+                    count++; // Count the swap.
+                }
+            }
+            // The largest element of this pass is now in its final position.
+            n--;
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+        } while (swapped);
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Bubble Sort and reports each step (comparison or swap).
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer function to report each {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store the original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state of the array.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting logic.
-        bubbleSort(input, stepCallback);
+        bubbleSort(input, stepCallback, context);
         // Send the final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -115,8 +116,9 @@ public class BubbleSort implements SortingAlgorithm {
      * Optimizes by reducing the range in each pass, as the largest elements "bubble up" to the end.
      * @param arr The list to be sorted (will be modified).
      * @param stepCallback The consumer function receiving {@link SortStep} updates.
+     * @param context The per-run context receiving the step count.
      */
-    public void bubbleSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    public void bubbleSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         // Get the size of the list.
         int n = arr.size();
         // If the list has 0 or 1 elements, it's already sorted.
@@ -134,7 +136,7 @@ public class BubbleSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 accessed.add(i - 1); // Index accessed for arr.get(i-1)
                 accessed.add(i);     // Index accessed for arr.get(i)
-                steps++;             // Count the comparison.
+                context.countStep();             // Count the comparison.
 
                 // Report the state *before* a potential swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
@@ -151,7 +153,7 @@ public class BubbleSort implements SortingAlgorithm {
                     // Mark the swapped indices as changed.
                     changed.add(i - 1);
                     changed.add(i);
-                    steps++; // Optionally count the swap as an additional step.
+                    context.countStep(); // Optionally count the swap as an additional step.
 
                     // Report the state *after* the swap.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class BucketSort implements SortingAlgorithm {
 
-    // Counter for the number of steps (operations like comparisons, increments, additions).
-    private long steps;
-    // Stores the original dataset passed to the sort method.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -64,43 +60,53 @@ public class BucketSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using the simplified Bucket Sort.
+     * Like the List-based version, only non-negative integers are supported; if the range
+     * contains a negative value, an error is logged and the range is left unchanged.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        if (to - from <= 0) return to;
+
+        // Find the maximum value and reject negative input.
+        int max = a[from];
+        for (int i = from; i < to; i++) {
+            if (a[i] < 0) {
+                System.err.println("BucketSort (simple version) doesn't handle negative numbers well.");
+                return to;
+            }
+            if (i > from) {
+                if (a[i] > max) max = a[i];
+                context.countStep(); // Count the comparison.
+            }
+        }
 
-    /**
-     * Returns the original dataset provided to the sorting algorithm.
-     * Ensures a non-null list is returned.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Return the stored dataset, or call the default method if it's null.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+        // Every phase is linear, so the budget is checked between the phases.
+        context.checkpoint();
 
-    /**
-     * Sorts a copy of the input list using this simplified Bucket Sort.
-     * The original list remains unchanged. Assumes non-negative integers.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store the original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        bucketSort(copy, (SortStep step) -> {});
-        // Return the sorted copy.
-        return copy;
+        // Count occurrences of each value.
+        int[] bucket = new int[max + 1];
+        for (int i = from; i < to; i++) {
+            bucket[a[i]]++;
+            context.countStep(); // Count array access and increment.
+        }
+        context.checkpoint();
+
+        // Rebuild the range from the buckets.
+        int k = from;
+        for (int value = 0; value < bucket.length; value++) {
+            for (int c = bucket[value]; c > 0; c--) {
+                a[k++] = value;
+                context.countStep(); // Count the write.
+            }
+        }
+        context.checkpoint();
+        return to;
     }
 
     /**
@@ -108,17 +114,19 @@ public class BucketSort implements SortingAlgorithm {
      * Assumes non-negative integers. Modifies the input list significantly (clears and rebuilds).
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer function to report each {@link SortStep}.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store the original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        bucketSort(input, stepCallback);
+        bucketSort(input, stepCallback, context);
     }
 
     /**
@@ -126,8 +134,9 @@ public class BucketSort implements SortingAlgorithm {
      * and rebuilds the input array from the buckets. Assumes non-negative integers.
      * @param arr The list to sort (will be cleared and rebuilt).
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void bucketSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void bucketSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle empty list case.
         if (n == 0) {
@@ -136,7 +145,7 @@ public class BucketSort implements SortingAlgorithm {
         }
 
         // Find the maximum value in the array, reporting steps during the search.
-        int maxValue = findMaxAndVisualize(arr, stepCallback);
+        int maxValue = findMaxAndVisualize(arr, stepCallback, context);
         // This simple version doesn't handle negative numbers well. Check if max is valid.
         if (maxValue < 0) {
             System.err.println("BucketSort (simple version) doesn't handle negative numbers well.");
@@ -154,7 +163,7 @@ public class BucketSort implements SortingAlgorithm {
             // Ensure the number is within the expected non-negative range.
             if (num >= 0 && num <= maxValue) {
                 bucket[num]++;
-                steps++; // Count array access and increment.
+                context.countStep(); // Count array access and increment.
             } else {
                 // Log an error if a value is out of the expected range (e.g., negative).
                 System.err.println("Value " + num + " out of expected range [0..." + maxValue + "]");
@@ -174,7 +183,7 @@ public class BucketSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 arr.add(i); // Add the value 'i' to the end of the list.
                 changed.add(currentArrIndex); // Mark the newly added index as changed.
-                steps++; // Count the add operation.
+                context.countStep(); // Count the add operation.
                 // Report the state after adding the element.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changed));
                 currentArrIndex++; // Move to the next index in the rebuilt array.
@@ -188,9 +197,10 @@ public class BucketSort implements SortingAlgorithm {
      * Finds the maximum non-negative value in the list while reporting access steps for visualization.
      * @param arr The list to search.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      * @return The maximum non-negative value found, or -1 if the list is empty or contains only negative numbers.
      */
-    private int findMaxAndVisualize(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private int findMaxAndVisualize(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         if (arr.isEmpty()) return -1;
 
         int max = -1; // Initialize max to -1 to handle lists with only negative numbers.
@@ -219,7 +229,7 @@ public class BucketSort implements SortingAlgorithm {
             if (num > max) {
                 max = num;
             }
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
             // Report the access step.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, Collections.emptySet()));
         }
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class CocktailSort implements SortingAlgorithm {
 
-    // Counter for the number of steps (comparisons + swaps).
-    private long steps;
-    // Stores the original dataset passed to the sort method.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,56 +56,74 @@ public class CocktailSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps (comparisons + swaps) performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Cocktail Sort.
+     * Alternates forward and backward passes like the List-based version, without step reporting.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        boolean swapped = true;
+        // Boundaries of the unsorted section.
+        int start = from;
+        int end = to;
 
-    /**
-     * Returns the original dataset provided to the sorting algorithm.
-     * Ensures a non-null list is returned.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Return the stored dataset, or call the default method if it's null.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+        while (swapped) {
+            swapped = false;
+            // Forward pass: move the largest element to the end.
+            for (int i = start; i < end - 1; i++) {
+                count++; // Count comparison.
+                if (a[i] > a[i + 1]) {
+                    int temp = a[i];
+                    a[i] = a[i + 1];
+                    a[i + 1] = temp;
+                    swapped = true;
+                    count++; // Count swap.
+                }
+            }
+            if (!swapped) break;
 
-    /**
-     * Sorts a copy of the input list using Cocktail Sort.
-     * The original list remains unchanged.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> arr = new ArrayList<>(input);
-        // Store the original data.
-        dataSet = new ArrayList<>(arr);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        sortWithCallback(arr, (SortStep step) -> {});
-        // Return the sorted copy.
-        return arr;
+            swapped = false;
+            end--;
+            // Backward pass: move the smallest element to the start.
+            for (int i = end - 1; i >= start; i--) {
+                count++; // Count comparison.
+                if (a[i] > a[i + 1]) {
+                    int temp = a[i];
+                    a[i] = a[i + 1];
+                    a[i + 1] = temp;
+                    swapped = true;
+                    count++; // Count swap.
+                }
+            }
+            start++;
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Cocktail Sort and reports each step.
      * @param arr The list to be sorted (will be modified).
      * @param stepCallback A consumer function to report each {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> arr, Consumer<SortStep> stepCallback) {
-        // Store a copy of the original data.
-        dataSet = new ArrayList<>(arr);
-        // Reset step count for this run.
-        steps = 0;
+    public void sortWithCallback(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, arr, context);
+            return;
+        }
         // Flag to track if any swaps occurred in a pass.
         boolean swapped = true;
         // The start index of the unsorted section.
@@ -131,7 +145,7 @@ public class CocktailSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 accessed.add(i);
                 accessed.add(i + 1);
-                steps++; // Count comparison.
+                context.countStep(); // Count comparison.
 
                 // Compare adjacent elements.
                 if (arr.get(i) > arr.get(i + 1)) {
@@ -142,7 +156,7 @@ public class CocktailSort implements SortingAlgorithm {
                     swapped = true; // Mark that a swap occurred.
                     changed.add(i);
                     changed.add(i + 1);
-                    steps++; // Optionally count swap.
+                    context.countStep(); // Optionally count swap.
                 }
                 // Report the state after comparison/swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -166,7 +180,7 @@ public class CocktailSort implements SortingAlgorithm {
                 if (i < arr.size() - 1) {
                     accessed.add(i);
                     accessed.add(i + 1);
-                    steps++; // Count comparison.
+                    context.countStep(); // Count comparison.
 
                     // Compare adjacent elements.
                     if (arr.get(i) > arr.get(i + 1)) {
@@ -177,7 +191,7 @@ public class CocktailSort implements SortingAlgorithm {
                         swapped = true; // Mark that a swap occurred.
                         changed.add(i);
                         changed.add(i + 1);
-                        steps++; // Optionally count swap.
+                        context.countStep(); // Optionally count swap.
                     }
                 } else {
                     // If 'i' is the last element, mark it as accessed for visualization consistency.
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class CombSort implements SortingAlgorithm {
 
-    // Counter for the number of steps (comparisons + swaps).
-    private long steps;
-    // Stores the original dataset passed to the sort method.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -63,60 +59,62 @@ public class CombSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps (comparisons + swaps) performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Comb Sort.
+     * Uses the same shrink factor (1.3) as the List-based version.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset provided to the sorting algorithm.
-     * Ensures a non-null list is returned.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Return the stored dataset, or call the default method if it's null.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        int gap = to - from;
+        boolean swapped = true;
 
-    /**
-     * Sorts a copy of the input list using Comb Sort.
-     * The original list remains unchanged.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store the original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        combSort(copy, (SortStep step) -> {});
-        // Return the sorted copy.
-        return copy;
+        while (gap != 1 || swapped) {
+            // Shrink the gap for this pass.
+            gap = getNextGap(gap);
+            swapped = false;
+            // Compare elements separated by the current gap.
+            for (int i = from; i < to - gap; i++) {
+                count++; // Count the comparison.
+                if (a[i] > a[i + gap]) {
+                    int temp = a[i];
+                    a[i] = a[i + gap];
+                    a[i + gap] = temp;
+                    swapped = true;
+                    count++; // Count the swap.
+                }
+            }
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Comb Sort and reports each step.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer function to report each {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store the original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        combSort(input, stepCallback);
+        combSort(input, stepCallback, context);
         // Note: Final state is sent at the end of combSort method.
     }
 
@@ -126,8 +124,9 @@ public class CombSort implements SortingAlgorithm {
      * Continues until the gap is 1 and no swaps are made in a pass.
      * @param arr The list to be sorted (will be modified).
      * @param stepCallback The consumer function receiving {@link SortStep} updates.
+     * @param context The per-run context receiving the step count.
      */
-    private void combSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void combSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Initialize gap to the size of the list.
         int gap = n;
@@ -148,7 +147,7 @@ public class CombSort implements SortingAlgorithm {
                 // Mark the indices being compared.
                 accessed.add(i);
                 accessed.add(i + gap);
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
 
                 // Compare elements separated by the gap.
                 if (arr.get(i) > arr.get(i + gap)) {
@@ -161,7 +160,7 @@ public class CombSort implements SortingAlgorithm {
                     // Mark the changed indices.
                     changed.add(i);
                     changed.add(i + gap);
-                    steps++; // Optionally count the swap.
+                    context.countStep(); // Optionally count the swap.
                 }
                 // Report the state after each comparison/swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
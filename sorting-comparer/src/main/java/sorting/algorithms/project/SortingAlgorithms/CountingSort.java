@@ -19,10 +19,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class CountingSort implements SortingAlgorithm {
 
-    // Counter for steps (reads, increments, additions, writes).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -62,41 +58,62 @@ public class CountingSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array using Counting Sort.
+     * Only non-negative integers are supported; if the range contains a negative value,
+     * an error is logged and the range is left unchanged.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n == 0) return to;
 
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+        // Find the maximum value and reject negative input.
+        int max = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] < 0) {
+                System.err.println("CountingSort requires non-negative integers.");
+                return to;
+            }
+            if (a[i] > max) max = a[i];
+        }
 
-    /**
-     * Sorts a copy of the input list using Counting Sort. Assumes non-negative integers.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        countingSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+        int[] output = context.scratch(n);
+        int[] count = new int[max + 1];
+
+        // 1. Count occurrences of each element.
+        for (int i = from; i < to; i++) {
+            count[a[i]]++;
+            context.countStep();
+        }
+        // Every phase is linear, so the budget is checked between the phases.
+        context.checkpoint();
+        // 2. Turn the counts into end positions (cumulative counts).
+        for (int i = 1; i <= max; i++) {
+            count[i] += count[i - 1];
+            context.countStep();
+        }
+        context.checkpoint();
+        // 3. Build the output array. Iterate backwards for stability.
+        for (int i = to - 1; i >= from; i--) {
+            int num = a[i];
+            output[--count[num]] = num;
+            context.countStep();
+        }
+        context.checkpoint();
+        // 4. Copy the output back, counting only writes that change a value.
+        for (int i = 0; i < n; i++) {
+            if (a[from + i] != output[i]) {
+                a[from + i] = output[i];
+                context.countStep();
+            }
+        }
+        context.checkpoint();
+        return to;
     }
 
     /**
@@ -104,17 +121,19 @@ public class CountingSort implements SortingAlgorithm {
      * Assumes non-negative integers. Modifies the list in-place during the final copy phase.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        countingSort(input, stepCallback);
+        countingSort(input, stepCallback, context);
         // Note: Final state is sent at the end of countingSort method.
     }
 
@@ -124,8 +143,9 @@ public class CountingSort implements SortingAlgorithm {
      * Assumes non-negative integers.
      * @param arr The list to sort (modified in the final step).
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void countingSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void countingSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle empty list case.
         if (n == 0) {
@@ -158,14 +178,14 @@ public class CountingSort implements SortingAlgorithm {
         for (int i = 0; i < n; i++) {
             int num = arr.get(i);
             count[num]++;
-            steps++; // Count read access and increment.
+            context.countStep(); // Count read access and increment.
         }
 
 
         // 2. Modify count array to store actual positions (cumulative counts). No callback.
         for (int i = 1; i <= max; i++) {
             count[i] += count[i - 1];
-            steps++; // Count addition.
+            context.countStep(); // Count addition.
         }
 
         // 3. Build the output array. Iterate backwards for stability. No callback.
@@ -175,7 +195,7 @@ public class CountingSort implements SortingAlgorithm {
             output[count[num] - 1] = num;
             // Decrement count for the next occurrence of this number.
             count[num]--;
-            steps++; // Count read accesses, decrement, and write access.
+            context.countStep(); // Count read accesses, decrement, and write access.
         }
 
         // 4. Copy the sorted elements from the output array back into the original array.
@@ -186,12 +206,12 @@ public class CountingSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 arr.set(i, output[i]);
                 changed.add(i);
-                steps++; // Count write access.
+                context.countStep(); // Count write access.
                 // Send the state after the change.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changed));
             } else {
                 // Optionally, send a step even if no change occurs to show progress.
-                // steps++; // Count comparison
+                // context.countStep(); // Count comparison
                 // Set<Integer> accessed = Set.of(i);
                 // stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, Collections.emptySet()));
             }
@@ -18,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class CycleSort implements SortingAlgorithm {
 
-    // Counter for steps (comparisons and writes/swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,58 +56,86 @@ public class CycleSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Cycle Sort.
+     * Performs the minimum number of writes, counting comparisons and writes as steps.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        for (int cycleStart = from; cycleStart <= to - 2; cycleStart++) {
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+            // The element to place correctly.
+            int item = a[cycleStart];
 
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+            // Find its position by counting smaller elements to the right.
+            int pos = cycleStart;
+            for (int i = cycleStart + 1; i < to; i++) {
+                count++; // Count the comparison.
+                if (a[i] < item) pos++;
+            }
+            // Already in the correct position.
+            if (pos == cycleStart) continue;
 
-    /**
-     * Sorts a copy of the input list using Cycle Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        cycleSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+            // Skip duplicates of the item.
+            while (item == a[pos]) {
+                count++; // Count the comparison.
+                pos++;
+            }
+            // Place the item and pick up the displaced element.
+            int temp = a[pos];
+            a[pos] = item;
+            item = temp;
+            count++; // Count the write.
+
+            // Rotate the rest of the cycle.
+            while (pos != cycleStart) {
+                pos = cycleStart;
+                for (int i = cycleStart + 1; i < to; i++) {
+                    count++; // Count the comparison.
+                    if (a[i] < item) pos++;
+                }
+                while (item == a[pos]) {
+                    count++; // Count the comparison.
+                    pos++;
+                }
+                if (item != a[pos]) {
+                    temp = a[pos];
+                    a[pos] = item;
+                    item = temp;
+                    count++; // Count the write.
+                }
+            }
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Cycle Sort and reports each comparison and write.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        cycleSort(input, stepCallback);
+        cycleSort(input, stepCallback, context);
         // Note: Final state is sent at the end of cycleSort method.
     }
 
@@ -121,8 +145,9 @@ public class CycleSort implements SortingAlgorithm {
      * Reports each comparison and write operation.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void cycleSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void cycleSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -145,7 +170,7 @@ public class CycleSort implements SortingAlgorithm {
             int pos = cycle_start;
             for (int i = cycle_start + 1; i < n; i++) {
                 accessedInCycle.add(i); // Mark index 'i' as accessed for comparison.
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
                 // Report state before potential increment of 'pos'.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
                 if (arr.get(i) < item) {
@@ -164,7 +189,7 @@ public class CycleSort implements SortingAlgorithm {
             // Skip duplicate elements. Find the first position after 'pos' that doesn't hold 'item'.
             while (pos < n && item == arr.get(pos)) {
                 accessedInCycle.add(pos); // Mark 'pos' as accessed during duplicate check.
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
                 // Report state during duplicate skipping.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
                 pos++;
@@ -178,7 +203,7 @@ public class CycleSort implements SortingAlgorithm {
                 item = arr.get(pos); // The element currently at 'pos' becomes the new 'item' to place.
                 arr.set(pos, temp); // Place the original 'item' at 'pos'.
                 changedInCycle.add(pos); // Mark 'pos' as changed.
-                steps++; // Count the write/swap operation.
+                context.countStep(); // Count the write/swap operation.
                 // Report state after placing the item.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
             } else if (pos >=n ) {
@@ -199,7 +224,7 @@ public class CycleSort implements SortingAlgorithm {
                 pos = cycle_start; // Start searching from cycle_start again.
                 for (int i = cycle_start + 1; i < n; i++) {
                     accessedInCycle.add(i); // Mark index 'i' as accessed.
-                    steps++; // Count comparison.
+                    context.countStep(); // Count comparison.
                     // Report state before potential increment of 'pos'.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
                     if (arr.get(i) < item) {
@@ -210,7 +235,7 @@ public class CycleSort implements SortingAlgorithm {
                 // Skip duplicates for the new 'item'.
                 while (pos < n && item == arr.get(pos)) {
                     accessedInCycle.add(pos); // Mark 'pos' as accessed.
-                    steps++; // Count comparison.
+                    context.countStep(); // Count comparison.
                     // Report state during duplicate skipping.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
                     pos++;
@@ -223,7 +248,7 @@ public class CycleSort implements SortingAlgorithm {
                     item = arr.get(pos); // The next element in the cycle becomes the new 'item'.
                     arr.set(pos, temp);
                     changedInCycle.add(pos); // Mark 'pos' as changed.
-                    steps++; // Count write/swap.
+                    context.countStep(); // Count write/swap.
                     // Report state after placing the item.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInCycle), new HashSet<>(changedInCycle)));
                 } else if (pos >= n || arr.get(pos).equals(item)) { // Position invalid or duplicate reached start?
@@ -0,0 +1,314 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import sorting.algorithms.project.dto.SortStep;
+
+/**
+ * Implements Dual-Pivot QuickSort (Yaroslavskiy's scheme).
+ * Two pivots p1 <= p2 split each range into three parts: elements less than p1,
+ * elements between the pivots, and elements greater than p2. How the pivots are chosen
+ * is configurable through a {@link PivotStrategy}; one instance per strategy is
+ * registered (see {@code AlgorithmConfig}), e.g. "DualPivotQuickSortNinther".
+ * Small ranges are finished with insertion sort.
+ */
+public class DualPivotQuickSort implements SortingAlgorithm {
+    // Ranges up to this size are sorted by insertion sort.
+    private static final int INSERTION_CUTOFF = 27;
+    // Ranges below this size use median-of-3 sampling instead of the ninther.
+    private static final int NINTHER_THRESHOLD = 64;
+
+    // The strategy used to choose the two pivots of each partition.
+    private final PivotStrategy strategy;
+
+    /**
+     * Creates the algorithm with the given pivot strategy.
+     * @param strategy The strategy used to choose the pivots.
+     */
+    public DualPivotQuickSort(PivotStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the name of the sorting algorithm, including the pivot strategy.
+     * @return The string "DualPivotQuickSort" followed by the strategy label, e.g. "DualPivotQuickSortNinther".
+     */
+    @Override
+    public String getName() {
+        return "DualPivotQuickSort" + strategy.getLabel();
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(n²), e.g. for fixed pivots on sorted input.
+     * @return The string "O(n²)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n²)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array in-place using Dual-Pivot QuickSort.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        dualPivotQuickSort(a, from, to - 1, context, null);
+        return to;
+    }
+
+    /**
+     * Sorts the input list in-place using Dual-Pivot QuickSort and reports every comparison and swap.
+     * The list is sorted as a primitive array by the same code as the non-visual path;
+     * every change is mirrored back into the list before the step is reported.
+     * @param input The list to be sorted (will be modified).
+     * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
+        StepReporter reporter = new StepReporter(input, stepCallback);
+        // Send initial state.
+        reporter.snapshot();
+        dualPivotQuickSort(SortingAlgorithm.toIntArray(input), 0, input.size() - 1, context, reporter);
+        // Send final sorted state.
+        reporter.snapshot();
+    }
+
+    /**
+     * Sorts a[lo..hi] (inclusive). Recurses into the two smaller parts and loops on the
+     * largest one, so the recursion depth stays logarithmic even when the partitions are unbalanced.
+     * @param a The array to sort.
+     * @param lo The first index of the range.
+     * @param hi The last index of the range (inclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private void dualPivotQuickSort(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            // Move the chosen pivots to the ends of the range, with a[lo] <= a[hi].
+            choosePivots(a, lo, hi, context, reporter);
+            int p1 = a[lo];
+            int p2 = a[hi];
+
+            // Invariant: a[lo+1..lt-1] < p1, p1 <= a[lt..k-1] <= p2, a[gt+1..hi-1] > p2.
+            int lt = lo + 1;
+            int gt = hi - 1;
+            int k = lo + 1;
+            while (k <= gt) {
+                context.countStep(); // Count the comparison with p1.
+                if (reporter != null) reporter.compared(k, lo);
+                if (a[k] < p1) {
+                    swap(a, k, lt++, context, reporter);
+                } else if (a[k] > p2) {
+                    // Skip elements on the right that already belong to the right part.
+                    while (k < gt && a[gt] > p2) {
+                        context.countStep(); // Count the comparison.
+                        gt--;
+                    }
+                    swap(a, k, gt--, context, reporter);
+                    // The element brought from the right may belong to the left part.
+                    context.countStep(); // Count the comparison.
+                    if (a[k] < p1) {
+                        swap(a, k, lt++, context, reporter);
+                    }
+                }
+                k++;
+            }
+            // Move the pivots to their final positions.
+            lt--;
+            gt++;
+            swap(a, lo, lt, context, reporter);
+            swap(a, hi, gt, context, reporter);
+
+            // Sizes of the three parts; with equal pivots the middle part holds only copies of the pivot.
+            int left = lt - lo;
+            int middle = p1 < p2 ? gt - lt - 1 : 0;
+            int right = hi - gt;
+            if (left >= middle && left >= right) {
+                if (middle > 0) dualPivotQuickSort(a, lt + 1, gt - 1, context, reporter);
+                dualPivotQuickSort(a, gt + 1, hi, context, reporter);
+                hi = lt - 1;
+            } else if (right >= middle) {
+                dualPivotQuickSort(a, lo, lt - 1, context, reporter);
+                if (middle > 0) dualPivotQuickSort(a, lt + 1, gt - 1, context, reporter);
+                lo = gt + 1;
+            } else {
+                dualPivotQuickSort(a, lo, lt - 1, context, reporter);
+                dualPivotQuickSort(a, gt + 1, hi, context, reporter);
+                lo = lt + 1;
+                hi = gt - 1;
+            }
+        }
+        insertionSort(a, lo, hi, context, reporter);
+    }
+
+    /**
+     * Chooses two pivots according to the strategy and moves them to a[lo] and a[hi],
+     * such that a[lo] <= a[hi]. The sampling strategies aim at the tertiles of the range.
+     * @param a The array.
+     * @param lo The first index of the range.
+     * @param hi The last index of the range (inclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private void choosePivots(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        int len = hi - lo + 1;
+        int first;
+        int second;
+        switch (strategy) {
+            case RANDOM: {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                first = lo + random.nextInt(len);
+                second = lo + random.nextInt(len);
+                break;
+            }
+            case MEDIAN_OF_3: {
+                int sixth = len / 6;
+                first = median3(a, lo + sixth, lo + 2 * sixth, lo + 3 * sixth, context);
+                second = median3(a, hi - 3 * sixth, hi - 2 * sixth, hi - sixth, context);
+                break;
+            }
+            case NINTHER: {
+                if (len < NINTHER_THRESHOLD) {
+                    int sixth = len / 6;
+                    first = median3(a, lo + sixth, lo + 2 * sixth, lo + 3 * sixth, context);
+                    second = median3(a, hi - 3 * sixth, hi - 2 * sixth, hi - sixth, context);
+                } else {
+                    // Spread the nine samples around each tertile, staying inside the range.
+                    int spread = len / 16;
+                    first = ninther(a, lo + len / 3, spread, context);
+                    second = ninther(a, lo + 2 * len / 3, spread, context);
+                }
+                break;
+            }
+            default:
+                // LAST: use the elements at the ends of the range as they are.
+                first = lo;
+                second = hi;
+        }
+        // Move the first pivot to lo; if the second one was at lo, it has just moved to 'first'.
+        if (first != lo) {
+            swap(a, lo, first, context, reporter);
+            if (second == lo) second = first;
+        }
+        if (second != hi) {
+            swap(a, hi, second, context, reporter);
+        }
+        // Order the pivots.
+        context.countStep(); // Count the comparison.
+        if (a[lo] > a[hi]) {
+            swap(a, lo, hi, context, reporter);
+        }
+    }
+
+    /**
+     * Returns the index of the median of three elements.
+     * @param a The array.
+     * @param i The index of the first sample.
+     * @param j The index of the second sample.
+     * @param k The index of the third sample.
+     * @param context The per-run context receiving the step count.
+     * @return The index of the median sample.
+     */
+    private static int median3(int[] a, int i, int j, int k, SortContext context) {
+        context.addSteps(3); // Count up to three comparisons.
+        if (a[i] < a[j]) {
+            if (a[j] < a[k]) return j;
+            return a[i] < a[k] ? k : i;
+        }
+        if (a[i] < a[k]) return i;
+        return a[j] < a[k] ? k : j;
+    }
+
+    /**
+     * Returns the index of Tukey's ninther around a center: the median of the medians of
+     * three groups of three samples.
+     * @param a The array.
+     * @param center The index around which the samples are taken.
+     * @param spread The distance between neighbouring samples.
+     * @param context The per-run context receiving the step count.
+     * @return The index of the ninther.
+     */
+    private static int ninther(int[] a, int center, int spread, SortContext context) {
+        int m1 = median3(a, center - 4 * spread, center - 3 * spread, center - 2 * spread, context);
+        int m2 = median3(a, center - spread, center, center + spread, context);
+        int m3 = median3(a, center + 2 * spread, center + 3 * spread, center + 4 * spread, context);
+        return median3(a, m1, m2, m3, context);
+    }
+
+    /**
+     * Sorts a[lo..hi] (inclusive) using insertion sort.
+     * @param a The array.
+     * @param lo The first index of the range.
+     * @param hi The last index of the range (inclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void insertionSort(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int key = a[i];
+            int j = i - 1;
+            // Shift larger elements one position to the right.
+            while (j >= lo) {
+                context.countStep(); // Count the comparison.
+                if (a[j] <= key) break;
+                a[j + 1] = a[j];
+                context.countStep(); // Count the shift.
+                if (reporter != null) reporter.written(a, j + 1);
+                j--;
+            }
+            if (j + 1 != i) {
+                a[j + 1] = key;
+                context.countStep(); // Count the insertion.
+                if (reporter != null) reporter.written(a, j + 1);
+            }
+        }
+    }
+
+    /**
+     * Swaps two elements and counts the swap.
+     * @param a The array.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void swap(int[] a, int i, int j, SortContext context, StepReporter reporter) {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+        context.countStep(); // Count the swap.
+        if (reporter != null) reporter.swapped(a, i, j);
+    }
+}
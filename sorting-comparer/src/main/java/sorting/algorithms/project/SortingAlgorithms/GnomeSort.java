@@ -18,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
 @Component
 public class GnomeSort implements SortingAlgorithm {
 
-    // Counter for steps (comparisons and swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,58 +56,64 @@ public class GnomeSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Gnome Sort.
+     * Steps forward while elements are in order and swaps backward otherwise.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        int index = from;
+        while (index < to) {
+            if (index == from) {
+                // At the beginning of the range, move forward.
+                index++;
+            } else {
+                count++; // Count the comparison.
+                if (a[index - 1] <= a[index]) {
+                    // In order: move forward.
+                    index++;
+                } else {
+                    // Out of order: swap and step back.
+                    int temp = a[index - 1];
+                    a[index - 1] = a[index];
+                    a[index] = temp;
+                    count++; // Count the swap.
+                    index--;
+                    // Publish the steps so far steps and stop here if the run was cancelled.
+                    context.addSteps(count);
+                    count = 0;
+                    context.checkpoint();
 
-    /**
-     * Sorts a copy of the input list using Gnome Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        gnomeSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+                }
+            }
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Gnome Sort and reports each comparison and swap.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        gnomeSort(input, stepCallback);
+        gnomeSort(input, stepCallback, context);
         // Note: Final state is sent at the end of gnomeSort method.
     }
 
@@ -121,8 +123,9 @@ public class GnomeSort implements SortingAlgorithm {
      * Reports each comparison and swap operation.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void gnomeSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void gnomeSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         // The current position in the list.
         int index = 0;
         int n = arr.size();
@@ -140,7 +143,7 @@ public class GnomeSort implements SortingAlgorithm {
                 // Access indices for comparison.
                 accessed.add(index - 1);
                 accessed.add(index);
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
 
                 // Compare the current element with the previous one.
                 if (arr.get(index - 1) <= arr.get(index)) {
@@ -154,7 +157,7 @@ public class GnomeSort implements SortingAlgorithm {
                     // Mark swapped indices as changed.
                     changed.add(index - 1);
                     changed.add(index);
-                    steps++; // Optionally count the swap.
+                    context.countStep(); // Optionally count the swap.
                     // Move one step back to check the swapped element with its new predecessor.
                     index--;
                 }
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class HeapSort implements SortingAlgorithm {
-    // Counter for steps (comparisons and swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -59,58 +55,84 @@ public class HeapSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Heap Sort.
+     * The heap is laid out relative to {@code from}, so any sub-range can be sorted.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
 
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+        // 1. Build a max-heap.
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapAdjust(a, from, i, n, context);
+        }
+        // 2. Repeatedly move the maximum to the end and restore the heap.
+        for (int i = n - 1; i > 0; i--) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            int temp = a[from];
+            a[from] = a[from + i];
+            a[from + i] = temp;
+            context.countStep(); // Count the swap.
+            heapAdjust(a, from, 0, i, context);
+        }
+        return to;
     }
 
     /**
-     * Sorts a copy of the input list using Heap Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Restores the max-heap property for the subtree rooted at 'i' (iterative sift-down).
+     * @param a The array holding the heap.
+     * @param base The array index of the heap root (heap index 0).
+     * @param i The heap index of the subtree root to adjust.
+     * @param n The size of the heap.
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        heapSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private void heapAdjust(int[] a, int base, int i, int n, SortContext context) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n) {
+                context.countStep(); // Count comparison.
+                if (a[base + left] > a[base + largest]) largest = left;
+            }
+            if (right < n) {
+                context.countStep(); // Count comparison.
+                if (a[base + right] > a[base + largest]) largest = right;
+            }
+            // Heap property holds, stop sifting.
+            if (largest == i) return;
+            int swap = a[base + i];
+            a[base + i] = a[base + largest];
+            a[base + largest] = swap;
+            context.countStep(); // Count the swap.
+            i = largest;
+        }
     }
 
     /**
      * Sorts the input list in-place using Heap Sort and reports each comparison and swap.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        heapSort(input, stepCallback);
+        heapSort(input, stepCallback, context);
         // Note: Final state is sent at the end of heapSort method.
     }
 
@@ -120,8 +142,9 @@ public class HeapSort implements SortingAlgorithm {
      * Reports steps during heap adjustments and swaps.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void heapSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void heapSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -132,7 +155,7 @@ public class HeapSort implements SortingAlgorithm {
 
         // 1. Build a max-heap from the input array.
         // This involves calling heapAdjust on all non-leaf nodes.
-        makeMaxHeap(arr, n, stepCallback);
+        makeMaxHeap(arr, n, stepCallback, context);
 
         // 2. Repeatedly extract the maximum element (root) and place it at the end.
         // Iterate from the last element down to the second element.
@@ -148,14 +171,14 @@ public class HeapSort implements SortingAlgorithm {
             arr.set(i, temp);
             changed.add(0); // Mark indices as changed.
             changed.add(i);
-            steps++; // Count the swap.
+            context.countStep(); // Count the swap.
 
             // Report the state after swapping the max element to the end.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
 
             // Restore the max-heap property on the reduced heap (size i).
             // Call heapAdjust on the root (index 0).
-            heapAdjust(arr, 0, i, stepCallback);
+            heapAdjust(arr, 0, i, stepCallback, context);
         }
         // Send the final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), Collections.emptySet()));
@@ -167,13 +190,14 @@ public class HeapSort implements SortingAlgorithm {
      * @param arr The list to heapify.
      * @param n The size of the heap (typically arr.size()).
      * @param stepCallback The consumer for reporting steps within heapAdjust.
+     * @param context The per-run context receiving the step count.
      */
-    private void makeMaxHeap(List<Integer> arr, int n, Consumer<SortStep> stepCallback) {
+    private void makeMaxHeap(List<Integer> arr, int n, Consumer<SortStep> stepCallback, SortContext context) {
         // Start from the last non-leaf node (parent of the last element).
         // The index is (n / 2) - 1.
         for (int i = n / 2 - 1; i >= 0; i--) {
             // Restore heap property for the subtree rooted at index i.
-            heapAdjust(arr, i, n, stepCallback);
+            heapAdjust(arr, i, n, stepCallback, context);
         }
     }
 
@@ -185,8 +209,9 @@ public class HeapSort implements SortingAlgorithm {
      * @param i The index of the root of the subtree to adjust.
      * @param n The size of the heap (used for boundary checks).
      * @param stepCallback The consumer for reporting steps (comparisons and swaps).
+     * @param context The per-run context receiving the step count.
      */
-    private void heapAdjust(List<Integer> arr, int i, int n, Consumer<SortStep> stepCallback) {
+    private void heapAdjust(List<Integer> arr, int i, int n, Consumer<SortStep> stepCallback, SortContext context) {
         Set<Integer> accessed = new HashSet<>();
         Set<Integer> changed = new HashSet<>();
 
@@ -199,7 +224,7 @@ public class HeapSort implements SortingAlgorithm {
         // Check if the left child exists and is larger than the current largest.
         if (left < n) {
             accessed.add(left); // Left child is accessed for comparison.
-            steps++; // Count comparison.
+            context.countStep(); // Count comparison.
             if (arr.get(left) > arr.get(largest)) {
                 largest = left; // Update largest if left child is larger.
             }
@@ -209,7 +234,7 @@ public class HeapSort implements SortingAlgorithm {
         if (right < n) {
             accessed.add(right); // Right child is accessed for comparison.
             // Access to 'largest' index was already potentially added.
-            steps++; // Count comparison.
+            context.countStep(); // Count comparison.
             if (arr.get(right) > arr.get(largest)) {
                 largest = right; // Update largest if right child is larger.
             }
@@ -229,14 +254,14 @@ public class HeapSort implements SortingAlgorithm {
             arr.set(largest, swap);
             changed.add(i); // Mark indices as changed.
             changed.add(largest);
-            steps++; // Count the swap.
+            context.countStep(); // Count the swap.
 
             // Report the state after the swap.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
 
             // Recursively call heapAdjust on the affected subtree (rooted at the original 'largest' index)
             // to ensure the max-heap property is maintained downwards.
-            heapAdjust(arr, largest, n, stepCallback);
+            heapAdjust(arr, largest, n, stepCallback, context);
         }
         // If no swap occurred, report the state to show the adjustment check finished.
         else if (changed.isEmpty()) { // Only send if no swap happened in this call
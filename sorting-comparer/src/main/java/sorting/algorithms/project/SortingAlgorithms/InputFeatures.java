@@ -0,0 +1,197 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * The properties of an input that decide which algorithm sorts it fastest, gathered in a single
+ * pass over the input (plus a small sample for the duplicates):
+ * <ul>
+ *     <li>the size and the range of the values (min and max),</li>
+ *     <li>the number of runs as TimSort sees them: maximal ascending or strictly descending sequences,</li>
+ *     <li>the sortedness: the fraction of adjacent pairs that are in order,</li>
+ *     <li>the duplicate ratio of an evenly spaced sample of up to {@value #SAMPLE_SIZE} elements
+ *     (exact for inputs up to that size).</li>
+ * </ul>
+ * Features that only differ in details fall into the same {@link #bucket() bucket}, which is
+ * what {@link AutoSortProfile} keeps its measurements by.
+ */
+public final class InputFeatures {
+    // Maximum number of elements sampled for the duplicate ratio.
+    static final int SAMPLE_SIZE = 1024;
+
+    private final int size;
+    private final int min;
+    private final int max;
+    private final int runs;
+    private final double sortedness;
+    private final double duplicateRatio;
+
+    /**
+     * Creates the features of an input.
+     * @param size The number of elements.
+     * @param min The smallest value (0 for empty inputs).
+     * @param max The largest value (0 for empty inputs).
+     * @param runs The number of ascending or strictly descending runs.
+     * @param sortedness The fraction of adjacent pairs that are in order.
+     * @param duplicateRatio The fraction of sampled elements that repeat an earlier sampled value.
+     */
+    public InputFeatures(int size, int min, int max, int runs, double sortedness, double duplicateRatio) {
+        this.size = size;
+        this.min = min;
+        this.max = max;
+        this.runs = runs;
+        this.sortedness = sortedness;
+        this.duplicateRatio = duplicateRatio;
+    }
+
+    /**
+     * Scans a whole array.
+     * @param a The array (not modified).
+     * @return The features of the array.
+     */
+    public static InputFeatures scan(int[] a) {
+        return scan(a, 0, a.length);
+    }
+
+    /**
+     * Scans the range {@code [from, to)} of an array.
+     * @param a The array (not modified).
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return The features of the range.
+     */
+    public static InputFeatures scan(int[] a, int from, int to) {
+        int n = to - from;
+        if (n <= 0) return new InputFeatures(0, 0, 0, 0, 1.0, 0.0);
+
+        int min = a[from];
+        int max = a[from];
+        int runs = 1;
+        int ordered = 0;
+        // Direction of the current run: 1 ascending, -1 strictly descending, 0 not known yet.
+        int direction = 0;
+        for (int i = from + 1; i < to; i++) {
+            int previous = a[i - 1];
+            int current = a[i];
+            if (current < min) min = current;
+            if (current > max) max = current;
+            if (previous <= current) ordered++;
+            if (direction == 0) {
+                direction = current < previous ? -1 : 1;
+            } else if (direction > 0 ? current < previous : current >= previous) {
+                // The run ends before this element; the next pair decides the direction of the new one.
+                runs++;
+                direction = 0;
+            }
+        }
+        double sortedness = n < 2 ? 1.0 : (double) ordered / (n - 1);
+        return new InputFeatures(n, min, max, runs, sortedness, duplicateRatio(a, from, n));
+    }
+
+    /**
+     * Estimates the duplicate ratio from evenly spaced elements.
+     * @param a The array.
+     * @param from The first index of the range.
+     * @param n The length of the range.
+     * @return The fraction of sampled elements equal to another sampled element before them in sorted order.
+     */
+    private static double duplicateRatio(int[] a, int from, int n) {
+        int count = Math.min(n, SAMPLE_SIZE);
+        int[] sample = new int[count];
+        for (int k = 0; k < count; k++) {
+            sample[k] = a[from + (int) ((long) k * n / count)];
+        }
+        Arrays.sort(sample);
+        int duplicates = 0;
+        for (int k = 1; k < count; k++) {
+            if (sample[k] == sample[k - 1]) duplicates++;
+        }
+        return (double) duplicates / count;
+    }
+
+    /**
+     * Returns the number of elements.
+     * @return The size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the smallest value.
+     * @return The minimum.
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest value.
+     * @return The maximum.
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the number of distinct values the range can hold.
+     * @return max - min + 1 (as a long, since it can exceed the int range).
+     */
+    public long getRange() {
+        return (long) max - min + 1;
+    }
+
+    /**
+     * Returns the number of ascending or strictly descending runs.
+     * @return The number of runs (1 for sorted and reversed input).
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Returns the fraction of adjacent pairs that are in order.
+     * @return The sortedness between 0 (reversed) and 1 (sorted).
+     */
+    public double getSortedness() {
+        return sortedness;
+    }
+
+    /**
+     * Returns the estimated fraction of elements that repeat a value.
+     * @return The duplicate ratio between 0 (all distinct) and almost 1 (a single value).
+     */
+    public double getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    /**
+     * Returns the average length of a run.
+     * @return size / runs.
+     */
+    public double getAverageRunLength() {
+        return runs == 0 ? 0 : (double) size / runs;
+    }
+
+    /**
+     * Groups the features coarsely, so measurements on similar inputs can be pooled:
+     * the size by powers of 4, the range relative to the size, the average run length and the duplicate ratio
+     * by a few thresholds each.
+     * @return A key like "s8-r1-p0-d0".
+     */
+    public String bucket() {
+        int sizeClass = size < 2 ? 0 : (31 - Integer.numberOfLeadingZeros(size)) / 2;
+        double density = (double) getRange() / Math.max(1, size);
+        int rangeClass = density <= 1 ? 0 : density <= 16 ? 1 : density <= 65536 ? 2 : 3;
+        double runLength = getAverageRunLength();
+        int runClass = runLength < 4 ? 0 : runLength < 64 ? 1 : 2;
+        int duplicateClass = duplicateRatio < 0.1 ? 0 : duplicateRatio < 0.5 ? 1 : 2;
+        return "s" + sizeClass + "-r" + rangeClass + "-p" + runClass + "-d" + duplicateClass;
+    }
+
+    @Override
+    public String toString() {
+        return "InputFeatures{size=" + size + ", min=" + min + ", max=" + max + ", runs=" + runs
+                + ", sortedness=" + sortedness + ", duplicateRatio=" + duplicateRatio + '}';
+    }
+}
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class InsertionSort implements SortingAlgorithm {
-    // Counter for steps (comparisons, shifts, insertions).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -59,58 +55,63 @@ public class InsertionSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Insertion Sort.
+     * Shifts larger elements right and inserts each key once, counting like the List-based version.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using Insertion Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        insertionSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        for (int i = from + 1; i < to; i++) {
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+            int key = a[i];
+            int j = i - 1;
+            // Shift elements greater than 'key' one position to the right.
+            while (j >= from) {
+                count++; // Count the comparison.
+                if (a[j] > key) {
+                    a[j + 1] = a[j];
+                    count++; // Count the shift.
+                    j--;
+                } else {
+                    break;
+                }
+            }
+            // Insert the key if its position changed.
+            if (j + 1 != i) {
+                a[j + 1] = key;
+                count++; // Count the insertion.
+            }
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Insertion Sort and reports each comparison, shift, and insertion.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        insertionSort(input, stepCallback);
+        insertionSort(input, stepCallback, context);
         // Note: Final state is sent at the end of insertionSort method.
     }
 
@@ -120,8 +121,9 @@ public class InsertionSort implements SortingAlgorithm {
      * Reports steps for picking the key, comparisons, shifts, and the final insertion.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void insertionSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void insertionSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -149,7 +151,7 @@ public class InsertionSort implements SortingAlgorithm {
                 Set<Integer> accessedInner = new HashSet<>(accessedOuter); // Inherit outer accesses.
                 Set<Integer> changedInner = new HashSet<>(changedOuter);
                 accessedInner.add(j); // Access 'j' for comparison.
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
 
                 // Report the state *before* a potential shift.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInner), new HashSet<>(changedInner)));
@@ -160,7 +162,7 @@ public class InsertionSort implements SortingAlgorithm {
                     // accessedInner.add(j); // 'j' is already marked accessed.
                     arr.set(j + 1, arr.get(j));
                     changedInner.add(j + 1); // Mark the destination index as changed.
-                    steps++; // Optionally count the shift operation.
+                    context.countStep(); // Optionally count the shift operation.
                     // Report the state *after* the shift.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedInner, changedInner));
                     j--; // Move to the next element on the left.
@@ -176,7 +178,7 @@ public class InsertionSort implements SortingAlgorithm {
                 Set<Integer> changedInsert = new HashSet<>();
                 arr.set(j + 1, key); // Place key.
                 changedInsert.add(j + 1); // Mark the insertion index as changed.
-                steps++; // Count the insertion (write operation).
+                context.countStep(); // Count the insertion (write operation).
                 // Report the state after insertion, highlighting only the changed index.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changedInsert));
             } else {
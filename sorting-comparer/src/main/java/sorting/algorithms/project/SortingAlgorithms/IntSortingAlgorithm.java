@@ -0,0 +1,62 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.Arrays;
+
+/**
+ * Defines the primitive-specialized sorting contract.
+ * Implementations sort plain {@code int[]} arrays in-place, without boxing values
+ * and without building visualization steps. This is the path used when only the
+ * sorted result and the performance metrics are of interest (e.g., comparisons).
+ * All per-run state (step counter, cancellation, scratch space) lives in the
+ * {@link SortContext} passed to each call, so implementations are stateless.
+ */
+public interface IntSortingAlgorithm {
+
+    /**
+     * Sorts the range {@code a[from, to)} of the given array in-place.
+     * Elements outside of the range are neither read nor modified.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end index of the sorted range. This is always {@code to},
+     * except for algorithms that discard elements (e.g., StalinSort), which compact the
+     * kept elements to the front of the range and return the new end.
+     * @throws SortCancelledException If the run is cancelled through the context.
+     */
+    int sort(int[] a, int from, int to, SortContext context);
+
+    /**
+     * Sorts the range {@code a[from, to)} in-place with a fresh context.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @return The exclusive end index of the sorted range (see {@link #sort(int[], int, int, SortContext)}).
+     */
+    default int sort(int[] a, int from, int to) {
+        return sort(a, from, to, new SortContext());
+    }
+
+    /**
+     * Sorts the whole array in-place.
+     * @param a The array to sort (will be modified).
+     * @param context The per-run context receiving the step count.
+     * @return The sorted array. This is {@code a} itself, unless the algorithm discarded
+     * elements, in which case a trimmed copy of the sorted prefix is returned.
+     */
+    default int[] sort(int[] a, SortContext context) {
+        // Sort the complete array as one range.
+        int end = sort(a, 0, a.length, context);
+        // Only copy if the algorithm shortened the result.
+        return end == a.length ? a : Arrays.copyOf(a, end);
+    }
+
+    /**
+     * Sorts the whole array in-place with a fresh context.
+     * @param a The array to sort (will be modified).
+     * @return The sorted array (see {@link #sort(int[], SortContext)}).
+     */
+    default int[] sort(int[] a) {
+        return sort(a, new SortContext());
+    }
+}
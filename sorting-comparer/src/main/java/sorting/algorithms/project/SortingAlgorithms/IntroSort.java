@@ -19,10 +19,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class IntroSort implements SortingAlgorithm {
-	// Counter for steps (comparisons, swaps).
-	private long steps;
-	// Stores the original dataset.
-	private List<Integer> dataSet;
 
 	/**
 	 * Returns the name of the sorting algorithm.
@@ -61,62 +57,156 @@ public class IntroSort implements SortingAlgorithm {
 	}
 
 	/**
-	 * Returns the total number of steps performed during the last sort.
-	 * @return The number of steps.
+	 * Sorts the range a[from, to) of a primitive array in-place using IntroSort.
+	 * The HeapSort fallback works directly on the sub-range, without copying it.
+	 * @param a The array containing the range to sort (will be modified).
+	 * @param from The first index of the range (inclusive).
+	 * @param to The last index of the range (exclusive).
+	 * @param context The per-run context receiving the step count.
+	 * @return The exclusive end of the sorted range (always {@code to}).
 	 */
 	@Override
-	public long getSteps() {
-		return steps;
+	public int sort(int[] a, int from, int to, SortContext context) {
+		// Calculate the maximum recursion depth allowed for QuickSort.
+		int depth = calcDepth(to - from);
+		introSortRecursive(a, from, to - 1, depth, context);
+		return to;
 	}
 
 	/**
-	 * Returns the original dataset provided to the algorithm.
-	 * @return The original list of integers.
+	 * Primitive counterpart of the recursive IntroSort core.
+	 * @param a The array to sort.
+	 * @param low The starting index of the current sub-array.
+	 * @param high The ending index of the current sub-array (inclusive).
+	 * @param depth The remaining allowed recursion depth before switching to HeapSort.
+	 * @param context The per-run context receiving the step count.
 	 */
-	@Override
-	public List<Integer> getData() {
-		// Ensure a non-null list is returned.
-		return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+	private void introSortRecursive(int[] a, int low, int high, int depth, SortContext context) {
+		// Partitions of size 1 or less are sorted.
+		if (high - low + 1 <= 1) return;
+		// Stop here if the run was cancelled.
+		context.checkpoint();
+		// Depth limit reached: switch to HeapSort for this partition.
+		if (depth <= 0) {
+			heapSortRange(a, low, high, context);
+			return;
+		}
+		int p = partition(a, low, high, context);
+		introSortRecursive(a, low, p - 1, depth - 1, context);
+		introSortRecursive(a, p + 1, high, depth - 1, context);
 	}
 
 	/**
-	 * Sorts a copy of the input list using IntroSort.
-	 * @param input The list of integers to sort.
-	 * @return A new list containing the sorted elements.
+	 * Lomuto partition of a[low..high] around the last element, on a primitive array.
+	 * @param a The array containing the sub-array.
+	 * @param low The starting index of the sub-array.
+	 * @param high The ending index of the sub-array (inclusive, pivot index).
+	 * @param context The per-run context receiving the step count.
+	 * @return The final index of the pivot element.
 	 */
-	@Override
-	public List<Integer> sort(List<Integer> input) {
-		// Create a mutable copy.
-		List<Integer> copy = new ArrayList<>(input);
-		// Store original data.
-		dataSet = new ArrayList<>(copy);
-		// Reset step count.
-		steps = 0;
-		// Calculate the maximum recursion depth allowed for QuickSort.
-		int depth = calcDepth(copy);
-		// Start the recursive sort with a no-op callback.
-		introSortRecursive(copy, 0, copy.size() - 1, depth, (SortStep step) -> {});
-		// Return the sorted copy.
-		return copy;
+	private int partition(int[] a, int low, int high, SortContext context) {
+		int pivotValue = a[high];
+		int i = low - 1;
+		for (int j = low; j < high; j++) {
+			context.countStep(); // Count the comparison.
+			if (a[j] < pivotValue) {
+				i++;
+				int temp = a[i];
+				a[i] = a[j];
+				a[j] = temp;
+				context.countStep(); // Count the swap.
+			}
+		}
+		// Move the pivot to its final position.
+		int temp = a[i + 1];
+		a[i + 1] = a[high];
+		a[high] = temp;
+		context.countStep(); // Count the swap.
+		return i + 1;
+	}
+
+	/**
+	 * Sorts a[low..high] in-place with HeapSort (heap laid out relative to 'low').
+	 * @param a The array containing the sub-array.
+	 * @param low The starting index of the sub-array.
+	 * @param high The ending index of the sub-array (inclusive).
+	 * @param context The per-run context receiving the step count.
+	 */
+	private void heapSortRange(int[] a, int low, int high, SortContext context) {
+		int n = high - low + 1;
+		// Build a max-heap over the sub-array.
+		for (int i = n / 2 - 1; i >= 0; i--) {
+			siftDown(a, low, i, n, context);
+		}
+		// Move the maximum to the end and restore the heap.
+		for (int i = n - 1; i > 0; i--) {
+			int temp = a[low];
+			a[low] = a[low + i];
+			a[low + i] = temp;
+			context.countStep(); // Count the swap.
+			siftDown(a, low, 0, i, context);
+		}
+	}
+
+	/**
+	 * Restores the max-heap property below heap index 'i'.
+	 * @param a The array holding the heap.
+	 * @param base The array index of heap index 0.
+	 * @param i The heap index to sift down.
+	 * @param n The size of the heap.
+	 * @param context The per-run context receiving the step count.
+	 */
+	private void siftDown(int[] a, int base, int i, int n, SortContext context) {
+		while (true) {
+			int largest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < n) {
+				context.countStep(); // Count comparison.
+				if (a[base + left] > a[base + largest]) largest = left;
+			}
+			if (right < n) {
+				context.countStep(); // Count comparison.
+				if (a[base + right] > a[base + largest]) largest = right;
+			}
+			if (largest == i) return;
+			int swap = a[base + i];
+			a[base + i] = a[base + largest];
+			a[base + largest] = swap;
+			context.countStep(); // Count the swap.
+			i = largest;
+		}
+	}
+
+	/**
+	 * Calculates the maximum recursion depth for a range of the given size (2 * floor(log2(n))).
+	 * @param size The number of elements in the range.
+	 * @return The calculated maximum recursion depth.
+	 */
+	private int calcDepth(int size) {
+		if (size <= 0) return 0;
+		return (int) (2 * Math.floor(Math.log(size) / Math.log(2)));
 	}
 
 	/**
 	 * Sorts the input list in-place using IntroSort and reports steps via callback.
 	 * @param input The list to be sorted (will be modified).
 	 * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+	 * @param context The per-run context receiving the step count.
 	 */
 	@Override
-	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-		// Store original data.
-		dataSet = new ArrayList<>(input);
-		// Reset step count.
-		steps = 0;
+	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+		// Without an observer, skip step construction and sort through the primitive path.
+		if (stepCallback == null) {
+			SortingAlgorithm.sortInPlace(this, input, context);
+			return;
+		}
 		// Send initial state.
 		stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
 		// Calculate the maximum recursion depth.
 		int depth = calcDepth(input);
 		// Start the recursive sorting process.
-		introSortRecursive(input, 0, input.size() - 1, depth, stepCallback);
+		introSortRecursive(input, 0, input.size() - 1, depth, stepCallback, context);
 		// Send final state (might be redundant if last step already covered it).
 		// Consider sending only if the array wasn't empty/trivial.
 		if (!input.isEmpty()) {
@@ -135,8 +225,9 @@ public class IntroSort implements SortingAlgorithm {
 	 * @param high The ending index of the current sub-array.
 	 * @param depth The remaining allowed recursion depth before switching to HeapSort.
 	 * @param stepCallback The consumer for reporting steps.
+	 * @param context The per-run context receiving the step count.
 	 */
-	private void introSortRecursive(List<Integer> arr, int low, int high, int depth, Consumer<SortStep> stepCallback) {
+	private void introSortRecursive(List<Integer> arr, int low, int high, int depth, Consumer<SortStep> stepCallback, SortContext context) {
 		// Calculate the size of the current partition.
 		int size = high - low + 1;
 
@@ -152,34 +243,36 @@ public class IntroSort implements SortingAlgorithm {
 
 		// If recursion depth limit is reached, switch to HeapSort for this partition.
 		if (depth <= 0) {
-			heapSortSublist(arr, low, high, stepCallback);
+			heapSortSublist(arr, low, high, stepCallback, context);
 			return;
 		}
 
 		// Perform QuickSort partitioning on the current sub-array [low..high].
 		// The partition method returns the final index of the pivot element.
-		int p = partition(arr, low, high, stepCallback);
+		int p = partition(arr, low, high, stepCallback, context);
 
-		// Recursively call IntroSort for the left partition (elements before the pivot).
+		// Recursively call IntroSort for the left partition (elements before the pivot, context).
 		// Decrement the depth limit.
-		introSortRecursive(arr, low, p - 1, depth - 1, stepCallback);
-		// Recursively call IntroSort for the right partition (elements after the pivot).
+		introSortRecursive(arr, low, p - 1, depth - 1, stepCallback, context);
+		// Recursively call IntroSort for the right partition (elements after the pivot, context).
 		// Decrement the depth limit.
-		introSortRecursive(arr, p + 1, high, depth - 1, stepCallback);
+		introSortRecursive(arr, p + 1, high, depth - 1, stepCallback, context);
 	}
 
 	/**
 	 * Sorts a specific sublist (from low to high index) of the main list 'arr' using HeapSort.
 	 * This is used as the fallback when IntroSort's recursion depth limit is exceeded.
 	 * It creates a temporary sublist, sorts it using a separate HeapSort instance,
-	 * and merges the steps and results back into the main list and step count.
+	 * and merges the steps and results back into the main list. The shared context
+	 * receives the step count of the sub-sort directly.
 	 *
 	 * @param arr The main list containing the sublist to be sorted.
 	 * @param low The starting index of the sublist (inclusive).
 	 * @param high The ending index of the sublist (inclusive).
 	 * @param stepCallback The main callback consumer to report steps on the *entire* array 'arr'.
+	 * @param context The per-run context receiving the step count.
 	 */
-	private void heapSortSublist(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback) {
+	private void heapSortSublist(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback, SortContext context) {
 		// Ensure valid range before creating sublist view.
 		if (low < 0 || high >= arr.size() || low > high) return;
 
@@ -187,14 +280,9 @@ public class IntroSort implements SortingAlgorithm {
 		// Using subList directly can cause issues if the underlying list structure changes.
 		List<Integer> sublist = new ArrayList<>(arr.subList(low, high + 1));
 
-		// Create a dedicated HeapSort instance to manage its internal state (like step count) separately.
+		// HeapSort is stateless, so a local instance only counts into the shared context.
 		HeapSort localHeapSort = new HeapSort();
 
-		// Intermediate variable to track steps from the localHeapSort before processing a step.
-		// Necessary because localHeapSort.getSteps() changes during sublistCallback execution.
-		final long[] stepsBeforeSublistSort = {localHeapSort.getSteps()};
-
-
 		// Define a callback wrapper. This intercepts steps reported by the localHeapSort
 		// operating on the 'sublist' and translates them into steps on the main 'arr'.
 		Consumer<SortStep> sublistCallback = (SortStep step) -> {
@@ -218,21 +306,13 @@ public class IntroSort implements SortingAlgorithm {
 			step.getAccessedIndices().forEach(idx -> stepAccessed.add(low + idx));
 			step.getChangedIndices().forEach(idx -> stepChanged.add(low + idx));
 
-			// Calculate the *new* steps performed by localHeapSort *during this single step*.
-			long currentLocalSteps = localHeapSort.getSteps();
-			long deltaSteps = currentLocalSteps - stepsBeforeSublistSort[0];
-			// Add these new steps to the main IntroSort step counter.
-			this.steps += deltaSteps;
-			// Update the baseline for the next step.
-			stepsBeforeSublistSort[0] = currentLocalSteps;
-
 
 			// Report the updated state of the *entire* main array 'arr' to the original callback.
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), stepAccessed, stepChanged));
 		};
 
-		// Execute HeapSort on the sublist, using the wrapper callback.
-		localHeapSort.sortWithCallback(sublist, sublistCallback);
+		// Execute HeapSort on the sublist, using the wrapper callback and the same context.
+		localHeapSort.sortWithCallback(sublist, sublistCallback, context);
 
 		// --- Post-Sort Synchronization ---
 		// Although the callback should update 'arr' step-by-step, this loop ensures
@@ -245,17 +325,6 @@ public class IntroSort implements SortingAlgorithm {
 			}
 		}
 
-		// Add any remaining steps from localHeapSort accumulated after the last callback step.
-		// This ensures the total step count is accurate.
-		// NOTE: This might double-count if the very last operation within localHeapSort triggered the callback.
-		// A potentially cleaner way is to sum localHeapSort.getSteps() *once* after it finishes,
-		// but the current approach tries to attribute steps more granularly.
-		// Let's refine: The callback already added delta steps. We just need the final count.
-		// The total steps for this HeapSort sub-operation are simply localHeapSort.getSteps().
-		// However, the callback already incrementally added these. If we add again here, we double count.
-		// Let's remove the final addition, assuming the callback handled all steps.
-		// this.steps += localHeapSort.getSteps(); // Removed to avoid double counting.
-
 		// Report the final state of the sorted sub-range within the main array.
 		Set<Integer> finalChanged = new HashSet<>();
 		for(int i=low; i<=high && i<arr.size(); i++) finalChanged.add(i); // Mark the entire range as potentially changed.
@@ -273,9 +342,10 @@ public class IntroSort implements SortingAlgorithm {
 	 * @param low The starting index of the sub-array.
 	 * @param high The ending index of the sub-array (inclusive, pivot index).
 	 * @param stepCallback The consumer for reporting steps.
+	 * @param context The per-run context receiving the step count.
 	 * @return The final index of the pivot element after partitioning.
 	 */
-	private int partition(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback) {
+	private int partition(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback, SortContext context) {
 		// Ensure indices are valid.
 		if (low < 0 || high >= arr.size() || low > high) {
 			// Handle invalid range - potentially return 'low' or throw exception.
@@ -304,7 +374,7 @@ public class IntroSort implements SortingAlgorithm {
 			changed.clear();
 			accessed.add(j); // Element 'j' is being compared.
 			accessed.add(high); // Pivot value (at index high) is implicitly used in comparison.
-			steps++; // Count the comparison arr[j] vs pivotValue.
+			context.countStep(); // Count the comparison arr[j] vs pivotValue.
 
 			// Report the state just before the comparison result is acted upon.
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
@@ -320,7 +390,7 @@ public class IntroSort implements SortingAlgorithm {
 				arr.set(j, temp);
 				changed.add(i); // Mark indices 'i' and 'j' as changed due to the swap.
 				changed.add(j);
-				steps++; // Optionally count the swap.
+				context.countStep(); // Optionally count the swap.
 				// Report the state after the swap.
 				stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
 			}
@@ -342,7 +412,7 @@ public class IntroSort implements SortingAlgorithm {
 			arr.set(high, temp);
 			changed.add(pivotFinalIndex); // Mark indices as changed.
 			changed.add(high);
-			steps++; // Count the swap.
+			context.countStep(); // Count the swap.
 			// Report the state after the final pivot swap.
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
 		} else {
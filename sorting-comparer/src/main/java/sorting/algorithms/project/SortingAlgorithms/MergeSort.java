@@ -19,10 +19,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class MergeSort implements SortingAlgorithm {
-    // Counter for steps (primarily comparisons and writes during merge).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -61,58 +57,91 @@ public class MergeSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array using Merge Sort.
+     * A single scratch buffer is taken from the context and reused by every merge.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        if (to - from <= 1) return to;
+        // The left half of any merge is at most half of the range (rounded up).
+        int[] buffer = context.scratch((to - from + 1) / 2);
+        mergeSort(a, from, to - 1, buffer, context);
+        return to;
     }
 
     /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
+     * Primitive counterpart of the recursive Merge Sort core.
+     * @param a The array to sort.
+     * @param lower The starting index of the current sub-array.
+     * @param upper The ending index of the current sub-array (inclusive).
+     * @param buffer Scratch space for the left half of each merge.
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+    private void mergeSort(int[] a, int lower, int upper, int[] buffer, SortContext context) {
+        if (lower >= upper) return;
+        int mid = lower + (upper - lower) / 2;
+        mergeSort(a, lower, mid, buffer, context);
+        mergeSort(a, mid + 1, upper, buffer, context);
+        merge(a, lower, mid, upper, buffer, context);
     }
 
     /**
-     * Sorts a copy of the input list using Merge Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Merges a[lower..mid] and a[mid+1..upper]. Only the left half is copied to the buffer;
+     * the right half is consumed in place.
+     * @param a The array containing both sorted halves.
+     * @param lower The starting index of the left half.
+     * @param mid The ending index of the left half.
+     * @param upper The ending index of the right half.
+     * @param buffer Scratch space for the left half.
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        mergeSort(copy, 0, copy.size() - 1, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private void merge(int[] a, int lower, int mid, int upper, int[] buffer, SortContext context) {
+        // Stop before merging if the run was cancelled.
+        context.checkpoint();
+        int leftLength = mid - lower + 1;
+        System.arraycopy(a, lower, buffer, 0, leftLength);
+        int i = 0; // Pointer into the buffered left half.
+        int j = mid + 1; // Pointer into the right half.
+        int k = lower; // Write position.
+        while (i < leftLength && j <= upper) {
+            context.countStep(); // Count the comparison.
+            if (buffer[i] <= a[j]) {
+                a[k++] = buffer[i++];
+            } else {
+                a[k++] = a[j++];
+            }
+        }
+        // Copy remaining left elements.
+        while (i < leftLength) {
+            a[k++] = buffer[i++];
+            context.countStep(); // Count the write.
+        }
+        // Remaining right elements are already in place; count them like the List-based version.
+        context.addSteps(upper - j + 1);
     }
 
     /**
      * Sorts the input list in-place using Merge Sort and reports steps during the merge phase.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Start the recursive sorting process.
-        mergeSort(input, 0, input.size() - 1, stepCallback);
+        mergeSort(input, 0, input.size() - 1, stepCallback, context);
         // Send final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -124,8 +153,9 @@ public class MergeSort implements SortingAlgorithm {
      * @param lower The starting index of the current sub-array.
      * @param upper The ending index of the current sub-array.
      * @param stepCallback The consumer for reporting steps during the merge phase.
+     * @param context The per-run context receiving the step count.
      */
-    private void mergeSort(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback) {
+    private void mergeSort(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback, SortContext context) {
         // Optionally report the current recursion range being processed.
         // Set<Integer> accessedRange = IntStream.rangeClosed(lower, upper).filter(i >= 0 && i < arr.size()).boxed().collect(Collectors.toSet());
         // stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedRange, Collections.emptySet()));
@@ -140,12 +170,12 @@ public class MergeSort implements SortingAlgorithm {
         int mid = lower + (upper - lower) / 2;
 
         // Recursively sort the left half.
-        mergeSort(arr, lower, mid, stepCallback);
+        mergeSort(arr, lower, mid, stepCallback, context);
         // Recursively sort the right half.
-        mergeSort(arr, mid + 1, upper, stepCallback);
+        mergeSort(arr, mid + 1, upper, stepCallback, context);
 
         // Merge the two sorted halves back into the original array segment.
-        merge(arr, lower, mid, upper, stepCallback);
+        merge(arr, lower, mid, upper, stepCallback, context);
     }
 
     /**
@@ -157,8 +187,9 @@ public class MergeSort implements SortingAlgorithm {
      * @param mid The ending index of the first sub-array.
      * @param upper The ending index of the second sub-array.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void merge(List<Integer> arr, int lower, int mid, int upper, Consumer<SortStep> stepCallback) {
+    private void merge(List<Integer> arr, int lower, int mid, int upper, Consumer<SortStep> stepCallback, SortContext context) {
         // Create temporary copies of the left and right sub-arrays.
         // Ensure indices are valid before creating sublist views.
         if (lower < 0 || mid < lower || mid >= arr.size() || upper < mid + 1 || upper >= arr.size()) {
@@ -182,7 +213,7 @@ public class MergeSort implements SortingAlgorithm {
             accessed.add(lower + i);   // Element in 'arr' corresponding to left[i].
             accessed.add(mid + 1 + j); // Element in 'arr' corresponding to right[j].
 
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
 
             // Report state *before* placing the chosen element. Shows the comparison.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
@@ -211,7 +242,7 @@ public class MergeSort implements SortingAlgorithm {
             accessed.add(lower+i); // Indicate read access from the conceptual left part.
             arr.set(k, left.get(i));
             changed.add(k); // Mark index 'k' as changed.
-            steps++; // Count the write operation as a step.
+            context.countStep(); // Count the write operation as a step.
             // Report the state after copying the element.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
             i++;
@@ -225,7 +256,7 @@ public class MergeSort implements SortingAlgorithm {
             accessed.add(mid + 1 + j); // Indicate read access from the conceptual right part.
             arr.set(k, right.get(j));
             changed.add(k); // Mark index 'k' as changed.
-            steps++; // Count the write operation as a step.
+            context.countStep(); // Count the write operation as a step.
             // Report the state after copying the element.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
             j++;
@@ -18,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class OddEvenSort implements SortingAlgorithm {
-    // Counter for steps (comparisons and swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,58 +56,69 @@ public class OddEvenSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Odd-Even Sort.
+     * Phase parity is relative to {@code from}.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using Odd-Even Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        oddEvenSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        boolean sorted = to - from <= 1;
+        while (!sorted) {
+            sorted = true;
+            // Odd phase.
+            for (int i = from + 1; i < to - 1; i += 2) {
+                count++; // Count comparison.
+                if (a[i] > a[i + 1]) {
+                    int temp = a[i];
+                    a[i] = a[i + 1];
+                    a[i + 1] = temp;
+                    sorted = false;
+                    count++; // Count swap.
+                }
+            }
+            // Even phase.
+            for (int i = from; i < to - 1; i += 2) {
+                count++; // Count comparison.
+                if (a[i] > a[i + 1]) {
+                    int temp = a[i];
+                    a[i] = a[i + 1];
+                    a[i + 1] = temp;
+                    sorted = false;
+                    count++; // Count swap.
+                }
+            }
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
      * Sorts the input list in-place using Odd-Even Sort and reports each comparison and swap.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        oddEvenSort(input, stepCallback);
+        oddEvenSort(input, stepCallback, context);
         // Note: Final state is sent at the end of oddEvenSort method.
     }
 
@@ -121,8 +128,9 @@ public class OddEvenSort implements SortingAlgorithm {
      * Reports each comparison and swap operation.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void oddEvenSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void oddEvenSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -143,7 +151,7 @@ public class OddEvenSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 accessed.add(i);
                 accessed.add(i + 1);
-                steps++; // Count comparison.
+                context.countStep(); // Count comparison.
 
                 // If elements are out of order, swap them.
                 if (arr.get(i) > arr.get(i + 1)) {
@@ -153,7 +161,7 @@ public class OddEvenSort implements SortingAlgorithm {
                     sorted = false; // A swap occurred, so list might not be sorted yet.
                     changed.add(i);
                     changed.add(i + 1);
-                    steps++; // Optionally count swap.
+                    context.countStep(); // Optionally count swap.
                 }
                 // Report the state after the comparison/swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -166,7 +174,7 @@ public class OddEvenSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 accessed.add(i);
                 accessed.add(i + 1);
-                steps++; // Count comparison.
+                context.countStep(); // Count comparison.
 
                 // If elements are out of order, swap them.
                 if (arr.get(i) > arr.get(i + 1)) {
@@ -176,7 +184,7 @@ public class OddEvenSort implements SortingAlgorithm {
                     sorted = false; // A swap occurred, so list might not be sorted yet.
                     changed.add(i);
                     changed.add(i + 1);
-                    steps++; // Optionally count swap.
+                    context.countStep(); // Optionally count swap.
                 }
                 // Report the state after the comparison/swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -21,10 +21,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class PancakeSort implements SortingAlgorithm {
-    // Counter for steps (comparisons during findMax and swaps during flip).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -64,58 +60,72 @@ public class PancakeSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Pancake Sort.
+     * Flips always start at {@code from}, the "top of the stack".
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+    public int sort(int[] a, int from, int to, SortContext context) {
+        for (int currSize = to - from; currSize > 1; --currSize) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            int last = from + currSize - 1;
+            // Find the maximum of the unsorted prefix.
+            int mi = from;
+            for (int i = from + 1; i <= last; i++) {
+                context.countStep(); // Count the comparison.
+                if (a[i] > a[mi]) mi = i;
+            }
+            // Flip the maximum to the front, then to the end of the prefix.
+            if (mi != last) {
+                if (mi != from) {
+                    flip(a, from, mi, context);
+                }
+                flip(a, from, last, context);
+            }
+        }
+        return to;
     }
 
     /**
-     * Sorts a copy of the input list using Pancake Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Reverses a[start..i] of a primitive array, counting each swap.
+     * @param a The array containing the prefix.
+     * @param start The first index of the prefix.
+     * @param i The last index of the prefix (inclusive).
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        pancakeSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private void flip(int[] a, int start, int i, SortContext context) {
+        while (start < i) {
+            int temp = a[start];
+            a[start] = a[i];
+            a[i] = temp;
+            context.countStep(); // Count the swap.
+            start++;
+            i--;
+        }
     }
 
     /**
      * Sorts the input list in-place using Pancake Sort and reports steps during findMax and flip operations.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        pancakeSort(input, stepCallback);
+        pancakeSort(input, stepCallback, context);
         // Note: Final state is sent at the end of pancakeSort method.
     }
 
@@ -126,8 +136,9 @@ public class PancakeSort implements SortingAlgorithm {
      * Reports comparisons during the search and swaps during the flips.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void pancakeSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void pancakeSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -140,18 +151,18 @@ public class PancakeSort implements SortingAlgorithm {
         // 'curr_size' represents the size of the unsorted prefix currently being considered.
         for (int curr_size = n; curr_size > 1; --curr_size) {
             // Find the index 'mi' of the maximum element within the prefix arr[0...curr_size-1].
-            int mi = findMax(arr, curr_size, stepCallback);
+            int mi = findMax(arr, curr_size, stepCallback, context);
 
             // If the maximum element is not already at the end of the current prefix...
             if (mi != curr_size - 1) {
                 // 1. Flip the prefix arr[0...mi] to bring the maximum element to the beginning (index 0).
                 // Only flip if the max element is not already at the beginning.
                 if (mi != 0) {
-                    flip(arr, mi, stepCallback);
+                    flip(arr, mi, stepCallback, context);
                 }
                 // 2. Flip the prefix arr[0...curr_size-1] to move the maximum element (now at index 0)
                 // to its correct final position (index curr_size - 1).
-                flip(arr, curr_size - 1, stepCallback);
+                flip(arr, curr_size - 1, stepCallback, context);
             }
             // Optional: Report state after placing one maximum element correctly.
             // stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), Collections.emptySet()));
@@ -166,8 +177,9 @@ public class PancakeSort implements SortingAlgorithm {
      * @param arr The list containing the prefix to flip.
      * @param i The last index of the prefix to be flipped.
      * @param stepCallback The consumer for reporting swap steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void flip(List<Integer> arr, int i, Consumer<SortStep> stepCallback) {
+    private void flip(List<Integer> arr, int i, Consumer<SortStep> stepCallback, SortContext context) {
         // Check for valid index before proceeding.
         if (i < 0 || i >= arr.size()) return;
 
@@ -185,7 +197,7 @@ public class PancakeSort implements SortingAlgorithm {
             arr.set(i, temp);
             changed.add(start); // Mark changed indices.
             changed.add(i);
-            steps++; // Count the swap.
+            context.countStep(); // Count the swap.
 
             // Report the state after each swap within the flip operation.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -202,9 +214,10 @@ public class PancakeSort implements SortingAlgorithm {
      * @param arr The list to search within.
      * @param n The size of the prefix to search (exclusive upper bound for index).
      * @param stepCallback The consumer for reporting comparison steps.
+     * @param context The per-run context receiving the step count.
      * @return The index of the maximum element found in the prefix arr[0...n-1]. Returns -1 if n <= 0.
      */
-    private int findMax(List<Integer> arr, int n, Consumer<SortStep> stepCallback) {
+    private int findMax(List<Integer> arr, int n, Consumer<SortStep> stepCallback, SortContext context) {
         // Handle invalid prefix size.
         if (n <= 0) return -1;
 
@@ -222,7 +235,7 @@ public class PancakeSort implements SortingAlgorithm {
             accessedCurrent.add(i);        // Current element being compared.
             accessedCurrent.add(maxIndex); // Current maximum being compared against.
             accessedOverall.add(i);        // Add current index to overall accessed set.
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
 
             // Report the state *before* potentially updating maxIndex, showing the comparison.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedCurrent), Collections.emptySet()));
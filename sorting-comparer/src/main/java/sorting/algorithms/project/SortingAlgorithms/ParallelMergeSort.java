@@ -0,0 +1,373 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implements a parallel Merge Sort on the common ForkJoinPool.
+ * The range is split recursively into tasks until a sequential cutoff is reached; the
+ * recursion levels alternate between the array and one preallocated buffer of the same
+ * size ("ping-pong"), so no level copies its input before merging. Merges at the top
+ * levels, where only few tasks are left, are split across tasks as well.
+ * The visualizer only shows the initial and the final state, because steps of
+ * concurrently running tasks cannot be reported as one consistent sequence.
+ */
+@Component
+public class ParallelMergeSort implements SortingAlgorithm {
+    // Ranges up to this size are sorted sequentially by a single task.
+    private static final int SEQUENTIAL_CUTOFF = 1 << 13;
+    // Merges of at least this many elements are split across tasks (if enabled).
+    private static final int PARALLEL_MERGE_THRESHOLD = 1 << 16;
+    // Ranges up to this size are sorted by insertion sort instead of being split further.
+    private static final int INSERTION_CUTOFF = 32;
+
+    // Whether large merges are split across tasks.
+    private final boolean parallelMerge;
+
+    /**
+     * Creates the algorithm with parallel merging of the top levels enabled.
+     */
+    public ParallelMergeSort() {
+        this(true);
+    }
+
+    /**
+     * Creates the algorithm.
+     * @param parallelMerge Whether merges of large ranges are split across tasks.
+     */
+    public ParallelMergeSort(boolean parallelMerge) {
+        this.parallelMerge = parallelMerge;
+    }
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "ParallelMergeSort".
+     */
+    @Override
+    public String getName() {
+        return "ParallelMergeSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity (total work; the span is lower). O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n) for already sorted input,
+     * since every merge of two ordered runs becomes a single copy.
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array using parallel Merge Sort.
+     * Small ranges are sorted on the calling thread; larger ones on the common ForkJoinPool.
+     * Every task adds its steps to the context as soon as it completes, so the step budget is
+     * checked at the next checkpoint of any task.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
+        // Ping-pong buffer: both arrays start with the same contents, and every
+        // recursion level sorts its halves into one array and merges into the other.
+        int[] buffer = context.scratch(n);
+        System.arraycopy(a, from, buffer, 0, n);
+        if (n <= SEQUENTIAL_CUTOFF) {
+            context.addSteps(sortSequential(buffer, 0, a, from, n));
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask(buffer, 0, a, from, n, parallelMerge, context));
+        }
+        return to;
+    }
+
+    /**
+     * Sorts {@code len} elements sequentially. On entry, {@code src[srcOff..]} and
+     * {@code dst[dstOff..]} hold the same values; on exit the dst range is sorted and the
+     * src range has been used as scratch space.
+     * @param src The array used as scratch space.
+     * @param srcOff The start of the range in src.
+     * @param dst The array receiving the sorted result.
+     * @param dstOff The start of the range in dst.
+     * @param len The number of elements.
+     * @return The number of steps (comparisons and writes) performed.
+     */
+    private static long sortSequential(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+        if (len <= INSERTION_CUTOFF) {
+            return insertionSort(dst, dstOff, dstOff + len);
+        }
+        int half = len >>> 1;
+        // Sort both halves into src (swapping the roles), then merge them back into dst.
+        long steps = sortSequential(dst, dstOff, src, srcOff, half);
+        steps += sortSequential(dst, dstOff + half, src, srcOff + half, len - half);
+        return steps + mergeRuns(src, srcOff, srcOff + half, srcOff + half, srcOff + len, dst, dstOff);
+    }
+
+    /**
+     * Sorts a[from, to) in-place using insertion sort.
+     * @param a The array to sort.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return The number of steps (comparisons and shifts) performed.
+     */
+    private static long insertionSort(int[] a, int from, int to) {
+        long steps = 0;
+        for (int i = from + 1; i < to; i++) {
+            int key = a[i];
+            int j = i - 1;
+            // Shift larger elements one position to the right.
+            while (j >= from) {
+                steps++; // Count the comparison.
+                if (a[j] <= key) break;
+                a[j + 1] = a[j];
+                steps++; // Count the shift.
+                j--;
+            }
+            a[j + 1] = key;
+        }
+        return steps;
+    }
+
+    /**
+     * Merges the sorted runs src[aLo, aHi) and src[bLo, bHi) into dst starting at dstLo.
+     * Elements of the first run come first among equal values (stable).
+     * @param src The array holding both runs.
+     * @param aLo The start of the first run (inclusive).
+     * @param aHi The end of the first run (exclusive).
+     * @param bLo The start of the second run (inclusive).
+     * @param bHi The end of the second run (exclusive).
+     * @param dst The destination array.
+     * @param dstLo The first destination index.
+     * @return The number of steps (comparisons and writes) performed.
+     */
+    private static long mergeRuns(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dstLo) {
+        int aLen = aHi - aLo;
+        int bLen = bHi - bLo;
+        // Runs that are already in order are copied without comparing element by element.
+        if (aLen == 0 || bLen == 0 || src[aHi - 1] <= src[bLo]) {
+            System.arraycopy(src, aLo, dst, dstLo, aLen);
+            System.arraycopy(src, bLo, dst, dstLo + aLen, bLen);
+            return 1 + aLen + bLen; // Count the check and the copied elements.
+        }
+        long steps = 0;
+        int i = aLo;
+        int j = bLo;
+        int k = dstLo;
+        while (i < aHi && j < bHi) {
+            steps++; // Count the comparison.
+            if (src[i] <= src[j]) {
+                dst[k++] = src[i++];
+            } else {
+                dst[k++] = src[j++];
+            }
+        }
+        // Copy the rest of whichever run is left.
+        System.arraycopy(src, i, dst, k, aHi - i);
+        k += aHi - i;
+        System.arraycopy(src, j, dst, k, bHi - j);
+        return steps + (aHi - aLo) + (bHi - bLo); // Count every written element.
+    }
+
+    /**
+     * Returns the first index in src[lo, hi) whose value is not less than {@code key}.
+     * @param src The sorted range to search.
+     * @param lo The start of the range (inclusive).
+     * @param hi The end of the range (exclusive).
+     * @param key The value to search for.
+     * @return The lower bound of {@code key}.
+     */
+    private static int lowerBound(int[] src, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (src[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the first index in src[lo, hi) whose value is greater than {@code key}.
+     * @param src The sorted range to search.
+     * @param lo The start of the range (inclusive).
+     * @param hi The end of the range (exclusive).
+     * @param key The value to search for.
+     * @return The upper bound of {@code key}.
+     */
+    private static int upperBound(int[] src, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (src[mid] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Sorts a range in parallel, following the same ping-pong contract as
+     * {@link #sortSequential(int[], int, int[], int, int)}.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final int[] src;
+        private final int srcOff;
+        private final int[] dst;
+        private final int dstOff;
+        private final int len;
+        private final boolean parallelMerge;
+        private final SortContext context;
+
+        /**
+         * Creates a task sorting {@code len} elements into {@code dst}.
+         * @param src The array used as scratch space.
+         * @param srcOff The start of the range in src.
+         * @param dst The array receiving the sorted result.
+         * @param dstOff The start of the range in dst.
+         * @param len The number of elements.
+         * @param parallelMerge Whether large merges are split across tasks.
+         * @param context The per-run context, receiving the steps and checked for cancellation and budgets.
+         */
+        SortTask(int[] src, int srcOff, int[] dst, int dstOff, int len, boolean parallelMerge, SortContext context) {
+            this.src = src;
+            this.srcOff = srcOff;
+            this.dst = dst;
+            this.dstOff = dstOff;
+            this.len = len;
+            this.parallelMerge = parallelMerge;
+            this.context = context;
+        }
+
+        /**
+         * Sorts the range, forking the left half and computing the right half in this thread.
+         */
+        @Override
+        protected void compute() {
+            // Stop before starting more work if the run was cancelled or its budget is used up.
+            context.checkpoint();
+            if (len <= SEQUENTIAL_CUTOFF) {
+                context.addWorkerSteps(sortSequential(src, srcOff, dst, dstOff, len));
+                return;
+            }
+            int half = len >>> 1;
+            // Sort both halves into src (swapping the roles), then merge them back into dst.
+            SortTask left = new SortTask(dst, dstOff, src, srcOff, half, parallelMerge, context);
+            SortTask right = new SortTask(dst, dstOff + half, src, srcOff + half, len - half, parallelMerge, context);
+            left.fork();
+            try {
+                right.compute();
+            } catch (RuntimeException | Error e) {
+                // Wait for the forked half, so no task writes into the arrays after the sort has failed.
+                // (Cancelling it would not help: a cancelled task counts as done while it is still running.)
+                // Once the budget is used up, it stops at its next checkpoint.
+                left.quietlyJoin();
+                throw e;
+            }
+            left.join();
+            context.checkpoint();
+            if (parallelMerge && len >= PARALLEL_MERGE_THRESHOLD) {
+                new MergeTask(src, srcOff, srcOff + half, srcOff + half, srcOff + len, dst, dstOff, context).compute();
+            } else {
+                context.addWorkerSteps(mergeRuns(src, srcOff, srcOff + half, srcOff + half, srcOff + len, dst, dstOff));
+            }
+        }
+    }
+
+    /**
+     * Merges two sorted runs by splitting them around the median of the larger run,
+     * so both halves of the output can be written independently.
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private final int[] src;
+        private final int aLo;
+        private final int aHi;
+        private final int bLo;
+        private final int bHi;
+        private final int[] dst;
+        private final int dstLo;
+        private final SortContext context;
+
+        /**
+         * Creates a task merging src[aLo, aHi) and src[bLo, bHi) into dst starting at dstLo.
+         * @param src The array holding both runs.
+         * @param aLo The start of the first run (inclusive).
+         * @param aHi The end of the first run (exclusive).
+         * @param bLo The start of the second run (inclusive).
+         * @param bHi The end of the second run (exclusive).
+         * @param dst The destination array.
+         * @param dstLo The first destination index.
+         * @param context The per-run context receiving the steps.
+         */
+        MergeTask(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dstLo, SortContext context) {
+            this.src = src;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dstLo = dstLo;
+            this.context = context;
+        }
+
+        /**
+         * Splits the merge into two independent merges, or merges sequentially if small.
+         */
+        @Override
+        protected void compute() {
+            int aLen = aHi - aLo;
+            int bLen = bHi - bLo;
+            if (aLen + bLen < PARALLEL_MERGE_THRESHOLD) {
+                context.addWorkerSteps(mergeRuns(src, aLo, aHi, bLo, bHi, dst, dstLo));
+                return;
+            }
+            int aMid;
+            int bMid;
+            if (aLen >= bLen) {
+                // Split the first run in the middle; equal values of the second run go to the right part.
+                aMid = (aLo + aHi) >>> 1;
+                bMid = lowerBound(src, bLo, bHi, src[aMid]);
+            } else {
+                // Split the second run in the middle; equal values of the first run go to the left part.
+                bMid = (bLo + bHi) >>> 1;
+                aMid = upperBound(src, aLo, aHi, src[bMid]);
+            }
+            // Everything left of the split points ends up before everything right of them.
+            int dstMid = dstLo + (aMid - aLo) + (bMid - bLo);
+            // Count the binary search as one step per halving.
+            context.addWorkerSteps(32 - Integer.numberOfLeadingZeros(Math.max(aLen, bLen)));
+            MergeTask left = new MergeTask(src, aLo, aMid, bLo, bMid, dst, dstLo, context);
+            MergeTask right = new MergeTask(src, aMid, aHi, bMid, bHi, dst, dstMid, context);
+            left.fork();
+            try {
+                right.compute();
+            } catch (RuntimeException | Error e) {
+                // Wait for the forked half, so no task writes into the arrays after the sort has failed.
+                // (Cancelling it would not help: a cancelled task counts as done while it is still running.)
+                // Once the budget is used up, it stops at its next checkpoint.
+                left.quietlyJoin();
+                throw e;
+            }
+            left.join();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Implements a parallel LSD Radix Sort on bytes (8-bit digits, 4 passes).
+ * Unlike {@link RadixSort}, negative numbers are supported: the sign bit of the most
+ * significant byte is flipped, so the keys are ordered like unsigned values.
+ * The range is divided into chunks, one per core. Every chunk counts its digits into its
+ * own histograms, the histograms are turned into per-chunk write offsets, and every chunk
+ * scatters its elements independently; keeping the chunks in order keeps the sort stable.
+ * The digits of all passes are counted in a single read up front, so passes in which all
+ * keys share the same digit are skipped without touching the data again.
+ * The visualizer only shows the initial and the final state.
+ */
+@Component
+public class ParallelRadixSort implements SortingAlgorithm {
+    // Number of bits per digit and the resulting number of buckets.
+    private static final int DIGIT_BITS = 8;
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+    // Number of passes needed to cover a 32-bit key.
+    private static final int PASSES = Integer.SIZE / DIGIT_BITS;
+    // Ranges smaller than this are sorted by a single thread (forking would cost more than it saves).
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "ParallelRadixSort".
+     */
+    @Override
+    public String getName() {
+        return "ParallelRadixSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(nk) with k = 4 byte-wise passes.
+     * @return The string "O(nk)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(nk)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(nk).
+     * @return The string "O(nk)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(nk)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n), when all keys share their upper bytes
+     * and the corresponding passes are skipped.
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array using byte-wise LSD Radix Sort.
+     * Each pass scatters between the array and a scratch buffer from the context; if an odd
+     * number of passes ran, the result is copied back at the end.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
+
+        // One chunk per core for large ranges, a single chunk otherwise.
+        int chunks = n < PARALLEL_THRESHOLD ? 1 : Math.max(1, ForkJoinPool.commonPool().getParallelism());
+        int chunkSize = (n + chunks - 1) / chunks;
+        // Histograms (later write offsets) of every pass and chunk,
+        // laid out as (pass * chunks + chunk) * BUCKETS + digit.
+        int[] counts = new int[PASSES * chunks * BUCKETS];
+
+        // 1. Count the digits of all passes in a single read of the input.
+        forEachChunk(chunks, chunk -> {
+            int start = from + chunk * chunkSize;
+            int end = Math.min(to, start + chunkSize);
+            for (int i = start; i < end; i++) {
+                int value = a[i];
+                for (int pass = 0; pass < PASSES; pass++) {
+                    counts[(pass * chunks + chunk) * BUCKETS + digit(value, pass)]++;
+                }
+            }
+        });
+        context.addSteps(n); // Count one read per element.
+
+        // Ping-pong between the range in 'a' and the buffer.
+        int[] buffer = context.scratch(n);
+        int[] src = a;
+        int srcOff = from;
+        int[] dst = buffer;
+        int dstOff = 0;
+        boolean scattered = false;
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            // Stop between passes if the run was cancelled.
+            context.checkpoint();
+            int passBase = pass * chunks * BUCKETS;
+
+            // 2. Skip the pass if all keys share this digit (the order would not change).
+            // The totals over all chunks do not depend on the current order of the keys.
+            if (isTrivialPass(counts, passBase, chunks, n)) continue;
+
+            // 3. After a scatter, the chunks hold different keys: recount this digit per chunk.
+            final int pass0 = pass;
+            if (scattered) {
+                final int[] countSrc = src;
+                final int countOff = srcOff;
+                forEachChunk(chunks, chunk -> {
+                    int base = passBase + chunk * BUCKETS;
+                    int start = countOff + chunk * chunkSize;
+                    int end = Math.min(countOff + n, start + chunkSize);
+                    Arrays.fill(counts, base, base + BUCKETS, 0);
+                    for (int i = start; i < end; i++) {
+                        counts[base + digit(countSrc[i], pass0)]++;
+                    }
+                });
+                context.addSteps(n); // Count one read per element.
+            }
+
+            // 4. Turn the histograms into write offsets: digit by digit, chunk by chunk.
+            int offset = 0;
+            for (int digit = 0; digit < BUCKETS; digit++) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int index = passBase + chunk * BUCKETS + digit;
+                    int count = counts[index];
+                    counts[index] = offset;
+                    offset += count;
+                }
+            }
+            context.addSteps(BUCKETS); // Count the prefix sum once per digit.
+
+            // 5. Every chunk scatters its elements to its own (disjoint) offsets.
+            final int[] scatterSrc = src;
+            final int scatterSrcOff = srcOff;
+            final int[] scatterDst = dst;
+            final int scatterDstOff = dstOff;
+            forEachChunk(chunks, chunk -> {
+                int base = passBase + chunk * BUCKETS;
+                int start = scatterSrcOff + chunk * chunkSize;
+                int end = Math.min(scatterSrcOff + n, start + chunkSize);
+                for (int i = start; i < end; i++) {
+                    int value = scatterSrc[i];
+                    scatterDst[scatterDstOff + counts[base + digit(value, pass0)]++] = value;
+                }
+            });
+            context.addSteps(n); // Count one write per element.
+            scattered = true;
+
+            // The output of this pass is the input of the next one.
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+            int tmpOff = srcOff;
+            srcOff = dstOff;
+            dstOff = tmpOff;
+        }
+
+        // After an odd number of executed passes the sorted data is in the buffer.
+        if (src != a) {
+            System.arraycopy(src, srcOff, a, from, n);
+            context.addSteps(n); // Count the writes back.
+        }
+        return to;
+    }
+
+    /**
+     * Extracts the digit of a key for the given pass. The sign bit is flipped in the most
+     * significant byte, so negative keys come before positive ones.
+     * @param value The key.
+     * @param pass The pass (0 = least significant byte).
+     * @return The digit in {@code [0, BUCKETS)}.
+     */
+    private static int digit(int value, int pass) {
+        int digit = (value >>> (pass * DIGIT_BITS)) & (BUCKETS - 1);
+        return pass == PASSES - 1 ? digit ^ (BUCKETS >>> 1) : digit;
+    }
+
+    /**
+     * Checks whether all keys fall into the same bucket in the given pass.
+     * @param counts The histograms of all passes and chunks.
+     * @param passBase The index of the first histogram of the pass.
+     * @param chunks The number of chunks.
+     * @param n The total number of keys.
+     * @return true if one digit occurs {@code n} times.
+     */
+    private static boolean isTrivialPass(int[] counts, int passBase, int chunks, int n) {
+        for (int digit = 0; digit < BUCKETS; digit++) {
+            int total = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                total += counts[passBase + chunk * BUCKETS + digit];
+            }
+            // Any non-empty bucket decides: either it holds every key or the pass is needed.
+            if (total != 0) return total == n;
+        }
+        return true;
+    }
+
+    /**
+     * Runs the action for every chunk index, in parallel on the common ForkJoinPool if there
+     * is more than one chunk.
+     * @param chunks The number of chunks.
+     * @param action The action receiving the chunk index.
+     */
+    private static void forEachChunk(int chunks, IntConsumer action) {
+        if (chunks == 1) {
+            action.accept(0);
+        } else {
+            IntStream.range(0, chunks).parallel().forEach(action);
+        }
+    }
+}
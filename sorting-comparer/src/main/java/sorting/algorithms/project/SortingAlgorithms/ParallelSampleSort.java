@@ -0,0 +1,354 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Implements a parallel Sample Sort for very large inputs, following the structure of IPS4o.
+ * Each level draws an oversampled random sample, picks up to 255 splitters from it and
+ * distributes the range into buckets:
+ * <ul>
+ *     <li>elements are classified by descending a complete binary search tree of the splitters
+ *     (no data-dependent branches, one comparison per tree level),</li>
+ *     <li>if the sample contains duplicate splitters, every splitter also gets an equality bucket,
+ *     so inputs with many duplicates do not degrade; equality buckets are finished immediately,</li>
+ *     <li>classification runs in parallel on one block of the range per core: every block counts
+ *     its elements per bucket, the counts are turned into per-block write offsets, and every block
+ *     scatters its elements independently into the context's scratch buffer,</li>
+ *     <li>the buckets are then sorted recursively as independent tasks on the common ForkJoinPool;
+ *     small buckets are sorted sequentially by {@link PdqSort}.</li>
+ * </ul>
+ * Unlike IPS4o, the distribution is not in-place: it scatters into one buffer of the input's size,
+ * which is allocated once per run and shared by all levels (their ranges are disjoint).
+ * The visualizer only shows the initial and the final state.
+ */
+@Component
+public class ParallelSampleSort implements SortingAlgorithm {
+    // Ranges up to this size are sorted sequentially.
+    private static final int SEQUENTIAL_CUTOFF = 1 << 16;
+    // Maximum number of splitters (leaves of the classification tree minus one).
+    private static final int MAX_SPLITTERS = 255;
+    // The sequential algorithm for small ranges and the sample.
+    private static final PdqSort SEQUENTIAL = new PdqSort();
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "ParallelSampleSort".
+     */
+    @Override
+    public String getName() {
+        return "ParallelSampleSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity (total work; the span is lower). O(n log n),
+     * since the sequential base case has an O(n log n) worst case.
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n), e.g. when the input has only a few distinct
+     * values and every element ends up in an equality bucket.
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array using parallel Sample Sort.
+     * Small ranges are sorted on the calling thread; larger ones on the common ForkJoinPool.
+     * Every task adds its steps to the context as soon as it completes, so the step budget is
+     * checked at the next checkpoint of any task.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
+        if (n <= SEQUENTIAL_CUTOFF) {
+            context.addSteps(sortSequential(a, from, to));
+        } else {
+            // Buffer index i - from mirrors array index i, so every task owns the same range in both.
+            int[] buffer = context.scratch(n);
+            ForkJoinPool.commonPool().invoke(new SortTask(a, from, to, buffer, from, context));
+        }
+        return to;
+    }
+
+    /**
+     * Sorts a[from, to) sequentially with its own context (contexts are not shared between threads).
+     * @param a The array.
+     * @param from The first index (inclusive).
+     * @param to The last index (exclusive).
+     * @return The number of steps performed.
+     */
+    private static long sortSequential(int[] a, int from, int to) {
+        SortContext local = new SortContext();
+        SEQUENTIAL.sort(a, from, to, local);
+        return local.getSteps();
+    }
+
+    /**
+     * Runs the action for every block index, in parallel on the common ForkJoinPool if there
+     * is more than one block.
+     * @param blocks The number of blocks.
+     * @param action The action receiving the block index.
+     */
+    private static void forEachBlock(int blocks, IntConsumer action) {
+        if (blocks == 1) {
+            action.accept(0);
+        } else {
+            IntStream.range(0, blocks).parallel().forEach(action);
+        }
+    }
+
+    /**
+     * The splitters of one level, stored as a complete binary search tree in Eytzinger layout
+     * (the children of node i are 2i and 2i + 1), plus the sorted splitters for the equality test.
+     * Equality buckets are only used if the sample had duplicate splitters (as in IPS4o), since
+     * the extra comparison costs time on inputs with few duplicates.
+     */
+    private static final class Classifier {
+        // Number of leaves of the tree (a power of two).
+        private final int leaves;
+        // Whether every leaf has an equality bucket (then there are 2 * leaves buckets).
+        private final boolean equalityBuckets;
+        // log2(leaves): the number of comparisons per classification.
+        private final int levels;
+        // The tree nodes, index 1 is the root.
+        private final int[] tree;
+        // upper[b] is the splitter bounding leaf b from above (the value of its equality bucket).
+        private final int[] upper;
+
+        /**
+         * Builds the classifier from distinct, sorted splitters.
+         * @param splitters The splitters in ascending order, without duplicates.
+         * @param count The number of splitters (at least 1).
+         * @param equalityBuckets Whether to add an equality bucket for every splitter.
+         */
+        Classifier(int[] splitters, int count, boolean equalityBuckets) {
+            // Enough leaves for count + 1 buckets; padding repeats the largest splitter, so the
+            // padded leaves stay empty.
+            int leaves = Integer.highestOneBit(count) << 1;
+            this.leaves = leaves;
+            this.equalityBuckets = equalityBuckets;
+            this.levels = Integer.numberOfTrailingZeros(leaves);
+            this.upper = new int[leaves];
+            for (int b = 0; b < leaves; b++) {
+                upper[b] = splitters[Math.min(b, count - 1)];
+            }
+            this.tree = new int[leaves];
+            fill(1, 0);
+        }
+
+        /**
+         * Fills the subtree rooted at {@code node} with upper[index...] by an in-order traversal.
+         * @param node The subtree root.
+         * @param index The next splitter to place.
+         * @return The next splitter to place after this subtree.
+         */
+        private int fill(int node, int index) {
+            if (node >= leaves) return index;
+            index = fill(2 * node, index);
+            tree[node] = upper[index++];
+            return fill(2 * node + 1, index);
+        }
+
+        /**
+         * Returns the bucket of a value. Without equality buckets, this is the leaf b with
+         * splitter b - 1 < value <= splitter b. With equality buckets, it is 2b for values strictly
+         * between the splitters of leaf b and 2b + 1 for values equal to the upper splitter of leaf b.
+         * @param value The value to classify.
+         * @return The bucket index in [0, buckets()).
+         */
+        int classify(int value) {
+            int i = 1;
+            for (int level = 0; level < levels; level++) {
+                i = 2 * i + (tree[i] < value ? 1 : 0);
+            }
+            int leaf = i - leaves;
+            if (!equalityBuckets) return leaf;
+            return 2 * leaf + (upper[leaf] == value ? 1 : 0);
+        }
+
+        /**
+         * Returns the number of buckets.
+         * @return leaves, or 2 * leaves with equality buckets.
+         */
+        int buckets() {
+            return equalityBuckets ? 2 * leaves : leaves;
+        }
+
+        /**
+         * Returns the number of comparisons per classified element.
+         * @return The tree height, plus one for the equality test.
+         */
+        int comparisons() {
+            return equalityBuckets ? levels + 1 : levels;
+        }
+    }
+
+    /**
+     * Sorts a range by distributing it into buckets and sorting the buckets as subtasks.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final int[] a;
+        private final int from;
+        private final int to;
+        private final int[] buffer;
+        private final int bufferBase;
+        private final SortContext context;
+
+        /**
+         * Creates a task sorting a[from, to).
+         * @param a The array.
+         * @param from The first index of the range (inclusive).
+         * @param to The last index of the range (exclusive).
+         * @param buffer The scatter buffer shared by all tasks.
+         * @param bufferBase The array index that corresponds to buffer index 0.
+         * @param context The per-run context, receiving the steps and checked for cancellation and budgets.
+         */
+        SortTask(int[] a, int from, int to, int[] buffer, int bufferBase, SortContext context) {
+            this.a = a;
+            this.from = from;
+            this.to = to;
+            this.buffer = buffer;
+            this.bufferBase = bufferBase;
+            this.context = context;
+        }
+
+        /**
+         * Distributes the range into buckets and sorts the non-trivial buckets in parallel.
+         */
+        @Override
+        protected void compute() {
+            // Stop before starting more work if the run was cancelled or its budget is used up.
+            context.checkpoint();
+            int n = to - from;
+            if (n <= SEQUENTIAL_CUTOFF) {
+                context.addWorkerSteps(sortSequential(a, from, to));
+                return;
+            }
+
+            // 1. Draw an oversampled random sample and pick evenly spaced, distinct splitters.
+            int oversampling = Math.max(1, (31 - Integer.numberOfLeadingZeros(n)) / 5);
+            int sampleSize = oversampling * (MAX_SPLITTERS + 1);
+            int[] sample = new int[sampleSize];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sampleSize; i++) {
+                sample[i] = a[from + random.nextInt(n)];
+            }
+            long steps = sortSequential(sample, 0, sampleSize) + sampleSize;
+            int[] splitters = new int[MAX_SPLITTERS];
+            int count = 0;
+            for (int i = 1; i <= MAX_SPLITTERS; i++) {
+                int candidate = sample[i * oversampling - 1];
+                if (count == 0 || splitters[count - 1] != candidate) {
+                    splitters[count++] = candidate;
+                }
+            }
+            Classifier classifier = new Classifier(splitters, count, count < MAX_SPLITTERS);
+            int buckets = classifier.buckets();
+
+            // 2. Count the elements of every block per bucket, in parallel.
+            int blocks = Math.max(1, ForkJoinPool.commonPool().getParallelism());
+            int blockSize = (n + blocks - 1) / blocks;
+            int[] counts = new int[blocks * buckets];
+            forEachBlock(blocks, block -> {
+                int start = from + block * blockSize;
+                int end = Math.min(to, start + blockSize);
+                int base = block * buckets;
+                for (int i = start; i < end; i++) {
+                    counts[base + classifier.classify(a[i])]++;
+                }
+            });
+
+            // 3. Turn the counts into write offsets (bucket by bucket, block by block) and
+            // remember where every bucket starts.
+            int[] bucketStart = new int[buckets + 1];
+            int offset = 0;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                bucketStart[bucket] = offset;
+                for (int block = 0; block < blocks; block++) {
+                    int index = block * buckets + bucket;
+                    int c = counts[index];
+                    counts[index] = offset;
+                    offset += c;
+                }
+            }
+            bucketStart[buckets] = offset;
+
+            // 4. Every block scatters its elements to its own (disjoint) offsets in the buffer.
+            int bufferOff = from - bufferBase;
+            forEachBlock(blocks, block -> {
+                int start = from + block * blockSize;
+                int end = Math.min(to, start + blockSize);
+                int base = block * buckets;
+                for (int i = start; i < end; i++) {
+                    int value = a[i];
+                    buffer[bufferOff + counts[base + classifier.classify(value)]++] = value;
+                }
+            });
+
+            // 5. Copy the distributed range back, one block per core.
+            forEachBlock(blocks, block -> {
+                int start = block * blockSize;
+                int len = Math.min(n, start + blockSize) - start;
+                if (len > 0) System.arraycopy(buffer, bufferOff + start, a, from + start, len);
+            });
+            // Count two classifications, the scatter and the copy back per element.
+            steps += (long) n * (2L * classifier.comparisons() + 2);
+            context.addWorkerSteps(steps);
+
+            // 6. Sort the buckets recursively. Equality buckets (odd indices) are already sorted.
+            context.checkpoint();
+            List<SortTask> subtasks = new ArrayList<>();
+            int stride = classifier.equalityBuckets ? 2 : 1;
+            for (int bucket = 0; bucket < buckets; bucket += stride) {
+                int start = from + bucketStart[bucket];
+                int end = from + bucketStart[bucket + 1];
+                if (end - start > 1) {
+                    subtasks.add(new SortTask(a, start, end, buffer, bufferBase, context));
+                }
+            }
+            // Wait for every bucket before rethrowing a failure, so no task writes into the array after
+            // the sort has failed. (invokeAll cancels the siblings of a failed task instead, and a
+            // cancelled task counts as done while it is still running.) Once the budget is used up,
+            // the remaining buckets stop at their first checkpoint.
+            for (SortTask subtask : subtasks) {
+                subtask.fork();
+            }
+            for (SortTask subtask : subtasks) {
+                subtask.quietlyJoin();
+            }
+            for (SortTask subtask : subtasks) {
+                subtask.join(); // Rethrows the failure of the bucket, if any
+            }
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.function.Consumer;
+import sorting.algorithms.project.dto.SortStep;
+
+/**
+ * Implements pattern-defeating QuickSort (pdqsort) on primitive arrays.
+ * Like {@link IntroSort}, it is a QuickSort that falls back to HeapSort, but:
+ * <ul>
+ *     <li>small ranges are finished with insertion sort,</li>
+ *     <li>the pivot is the median of 3 (or Tukey's ninther for large ranges),</li>
+ *     <li>partitioning classifies elements block by block into offset buffers and swaps them
+ *     afterwards, so the classification loop has no data-dependent branches,</li>
+ *     <li>ranges that were already partitioned are checked with a bounded insertion sort, so
+ *     sorted and reverse input finish in linear time,</li>
+ *     <li>runs of elements equal to the pivot are split off in one pass,</li>
+ *     <li>unbalanced partitions shuffle a few elements to break up adversarial patterns, and only
+ *     after log2(n) of them the range is sorted by an in-place HeapSort.</li>
+ * </ul>
+ */
+@Component
+public class PdqSort implements SortingAlgorithm {
+    // Ranges below this size are sorted by insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+    // Ranges above this size use Tukey's ninther as the pivot.
+    private static final int NINTHER_THRESHOLD = 128;
+    // Maximum number of element moves the optimistic insertion sort may perform before giving up.
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+    // Number of elements classified at a time by the block partition.
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "PdqSort".
+     */
+    @Override
+    public String getName() {
+        return "PdqSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(n log n) due to the HeapSort fallback.
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n), for sorted or reverse input and for inputs
+     * with only a few distinct values.
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array in-place using pdqsort.
+     * The offset buffers of the block partition come from the context's scratch buffer.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        pdqSort(a, from, to, context, null);
+        return to;
+    }
+
+    /**
+     * Sorts the input list in-place using pdqsort and reports comparisons, swaps and writes.
+     * The list is sorted as a primitive array by the same code as the non-visual path;
+     * every change is mirrored back into the list before the step is reported.
+     * @param input The list to be sorted (will be modified).
+     * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
+        StepReporter reporter = new StepReporter(input, stepCallback);
+        // Send initial state.
+        reporter.snapshot();
+        pdqSort(SortingAlgorithm.toIntArray(input), 0, input.size(), context, reporter);
+        // Send final sorted state.
+        reporter.snapshot();
+    }
+
+    /**
+     * Sorts a[begin, end) with a budget of log2(n) unbalanced partitions.
+     * @param a The array to sort.
+     * @param begin The first index of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void pdqSort(int[] a, int begin, int end, SortContext context, StepReporter reporter) {
+        int n = end - begin;
+        if (n < 2) return;
+        int[] offsets = context.scratch(2 * BLOCK_SIZE);
+        pdqSortLoop(a, begin, end, log2(n), true, offsets, context, reporter);
+    }
+
+    /**
+     * The recursive core. Recurses into the left part and loops on the right one.
+     * @param a The array to sort.
+     * @param begin The first index of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @param badAllowed The number of unbalanced partitions left before switching to HeapSort.
+     * @param leftmost Whether the range starts at the beginning of the sorted range; otherwise
+     *                 a[begin - 1] is known to be a lower bound of the range and serves as a sentinel.
+     * @param offsets The offset buffers of the block partition (2 * BLOCK_SIZE elements).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void pdqSortLoop(int[] a, int begin, int end, int badAllowed, boolean leftmost,
+                                    int[] offsets, SortContext context, StepReporter reporter) {
+        while (true) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            int size = end - begin;
+
+            // Small ranges: insertion sort (without bounds check if a sentinel is available).
+            if (size < INSERTION_SORT_THRESHOLD) {
+                insertionSort(a, begin, end, !leftmost, context, reporter);
+                return;
+            }
+
+            // Choose the pivot as the median of 3 or the ninther and move it to a[begin].
+            int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(a, begin, begin + half, end - 1, context, reporter);
+                sort3(a, begin + 1, begin + half - 1, end - 2, context, reporter);
+                sort3(a, begin + 2, begin + half + 1, end - 3, context, reporter);
+                sort3(a, begin + half - 1, begin + half, begin + half + 1, context, reporter);
+                swap(a, begin, begin + half, context, reporter);
+            } else {
+                sort3(a, begin + half, begin, end - 1, context, reporter);
+            }
+
+            // If the pivot equals the element before the range (which is a lower bound of the range),
+            // every element equal to the pivot belongs here: move them to the left and skip them.
+            context.countStep(); // Count the comparison.
+            if (!leftmost && a[begin - 1] >= a[begin]) {
+                begin = partitionLeft(a, begin, end, context, reporter) + 1;
+                continue;
+            }
+
+            // Partition, then check how balanced the result is.
+            long result = partitionRight(a, begin, end, offsets, context, reporter);
+            int pivotPos = (int) result;
+            boolean alreadyPartitioned = (result >>> 32) != 0;
+            int leftSize = pivotPos - begin;
+            int rightSize = end - (pivotPos + 1);
+            boolean highlyUnbalanced = leftSize < size / 8 || rightSize < size / 8;
+
+            if (highlyUnbalanced) {
+                // Too many bad partitions: switch to HeapSort for guaranteed O(n log n).
+                if (--badAllowed == 0) {
+                    heapSort(a, begin, end, context, reporter);
+                    return;
+                }
+                // Swap a few elements into other positions to break up patterns.
+                if (leftSize >= INSERTION_SORT_THRESHOLD) {
+                    int quarter = leftSize / 4;
+                    swap(a, begin, begin + quarter, context, reporter);
+                    swap(a, pivotPos - 1, pivotPos - quarter, context, reporter);
+                    if (leftSize > NINTHER_THRESHOLD) {
+                        swap(a, begin + 1, begin + quarter + 1, context, reporter);
+                        swap(a, begin + 2, begin + quarter + 2, context, reporter);
+                        swap(a, pivotPos - 2, pivotPos - (quarter + 1), context, reporter);
+                        swap(a, pivotPos - 3, pivotPos - (quarter + 2), context, reporter);
+                    }
+                }
+                if (rightSize >= INSERTION_SORT_THRESHOLD) {
+                    int quarter = rightSize / 4;
+                    swap(a, pivotPos + 1, pivotPos + 1 + quarter, context, reporter);
+                    swap(a, end - 1, end - quarter, context, reporter);
+                    if (rightSize > NINTHER_THRESHOLD) {
+                        swap(a, pivotPos + 2, pivotPos + 2 + quarter, context, reporter);
+                        swap(a, pivotPos + 3, pivotPos + 3 + quarter, context, reporter);
+                        swap(a, end - 2, end - (1 + quarter), context, reporter);
+                        swap(a, end - 3, end - (2 + quarter), context, reporter);
+                    }
+                }
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(a, begin, pivotPos, context, reporter)
+                    && partialInsertionSort(a, pivotPos + 1, end, context, reporter)) {
+                // The partition swapped nothing and both parts were (almost) sorted: done.
+                return;
+            }
+
+            // Sort the left part recursively and continue with the right part.
+            pdqSortLoop(a, begin, pivotPos, badAllowed, leftmost, offsets, context, reporter);
+            begin = pivotPos + 1;
+            leftmost = false;
+        }
+    }
+
+    /**
+     * Partitions a[begin, end) around the pivot a[begin] into elements smaller than the pivot
+     * and elements greater than or equal to it. Requires a sentinel >= pivot at a[end - 1]
+     * (ensured by the pivot selection).
+     * <p>
+     * Elements are classified a block at a time: for every element, its offset is written into
+     * the buffer unconditionally and the buffer length is advanced by the comparison result
+     * (0 or 1), which the JIT compiles to a conditional move instead of a branch. Misplaced
+     * elements of the left and right block are then swapped pairwise.
+     * @param a The array.
+     * @param begin The first index of the range (the pivot).
+     * @param end The end of the range (exclusive).
+     * @param offsets The offset buffers: left offsets at [0, BLOCK_SIZE), right ones after them.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     * @return The final pivot position in the lower 32 bits; the upper 32 bits are 1 if no
+     *         element had to be moved (the range was already partitioned).
+     */
+    private static long partitionRight(int[] a, int begin, int end, int[] offsets,
+                                       SortContext context, StepReporter reporter) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        // Find the first element >= pivot (the sentinel at end - 1 stops the scan).
+        while (a[++first] < pivot) {
+            context.countStep(); // Count the comparison.
+        }
+        context.countStep(); // Count the comparison that ended the scan.
+        // Find the last element < pivot. If there was no element < pivot on the left,
+        // nothing guards the scan, so check the bounds.
+        if (first - 1 == begin) {
+            while (first < last && a[--last] >= pivot) {
+                context.countStep(); // Count the comparison.
+            }
+        } else {
+            while (a[--last] >= pivot) {
+                context.countStep(); // Count the comparison.
+            }
+        }
+        context.countStep(); // Count the comparison that ended the scan.
+
+        // If the two scans crossed, no element has to move.
+        boolean alreadyPartitioned = first >= last;
+        if (!alreadyPartitioned) {
+            swap(a, first, last, context, reporter);
+            first++;
+
+            // Pending misplaced elements: offsets relative to the block bases.
+            int leftBase = first;
+            int rightBase = last;
+            int numLeft = 0;
+            int numRight = 0;
+            int startLeft = 0;
+            int startRight = 0;
+            while (first < last) {
+                // Split the unknown elements between the left and right block if both need refilling.
+                int unknown = last - first;
+                int leftSplit = numLeft == 0 ? (numRight == 0 ? unknown / 2 : unknown) : 0;
+                int rightSplit = numRight == 0 ? unknown - leftSplit : 0;
+
+                // Classify the next left block: collect the offsets of elements >= pivot.
+                if (numLeft == 0) {
+                    int count = Math.min(leftSplit, BLOCK_SIZE);
+                    for (int i = 0; i < count; i++) {
+                        offsets[numLeft] = i;
+                        numLeft += a[first++] >= pivot ? 1 : 0;
+                    }
+                    context.addSteps(count); // Count the comparisons.
+                }
+                // Classify the next right block: collect the offsets of elements < pivot.
+                if (numRight == 0) {
+                    int count = Math.min(rightSplit, BLOCK_SIZE);
+                    for (int i = 1; i <= count; i++) {
+                        offsets[BLOCK_SIZE + numRight] = i;
+                        numRight += a[--last] < pivot ? 1 : 0;
+                    }
+                    context.addSteps(count); // Count the comparisons.
+                }
+
+                // Swap as many misplaced pairs as both blocks have.
+                int num = Math.min(numLeft, numRight);
+                for (int i = 0; i < num; i++) {
+                    swap(a, leftBase + offsets[startLeft + i], rightBase - offsets[BLOCK_SIZE + startRight + i],
+                            context, reporter);
+                }
+                numLeft -= num;
+                numRight -= num;
+                startLeft += num;
+                startRight += num;
+                // A fully processed block is refilled from the current scan position.
+                if (numLeft == 0) {
+                    startLeft = 0;
+                    leftBase = first;
+                }
+                if (numRight == 0) {
+                    startRight = 0;
+                    rightBase = last;
+                }
+            }
+
+            // Move the remaining misplaced elements of one side to the boundary.
+            if (numLeft != 0) {
+                while (numLeft-- > 0) {
+                    swap(a, leftBase + offsets[startLeft + numLeft], --last, context, reporter);
+                }
+                first = last;
+            }
+            if (numRight != 0) {
+                while (numRight-- > 0) {
+                    swap(a, rightBase - offsets[BLOCK_SIZE + startRight + numRight], first, context, reporter);
+                    first++;
+                }
+            }
+        }
+
+        // Put the pivot between the two parts.
+        int pivotPos = first - 1;
+        a[begin] = a[pivotPos];
+        a[pivotPos] = pivot;
+        context.addSteps(2); // Count the writes.
+        if (reporter != null) reporter.swapped(a, begin, pivotPos);
+        return ((alreadyPartitioned ? 1L : 0L) << 32) | pivotPos;
+    }
+
+    /**
+     * Partitions a[begin, end) around the pivot a[begin] into elements less than or equal to the
+     * pivot and elements greater than it. Used when many elements equal the pivot: they all end
+     * up on the left and need no further sorting. Requires a sentinel <= pivot at a[begin - 1]
+     * and an element > pivot or the range end to stop the scans.
+     * @param a The array.
+     * @param begin The first index of the range (the pivot).
+     * @param end The end of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     * @return The final position of the pivot.
+     */
+    private static int partitionLeft(int[] a, int begin, int end, SortContext context, StepReporter reporter) {
+        int pivot = a[begin];
+        int first = begin;
+        int last = end;
+
+        while (pivot < a[--last]) {
+            context.countStep(); // Count the comparison.
+        }
+        if (last + 1 == end) {
+            while (first < last && pivot >= a[++first]) {
+                context.countStep(); // Count the comparison.
+            }
+        } else {
+            while (pivot >= a[++first]) {
+                context.countStep(); // Count the comparison.
+            }
+        }
+        while (first < last) {
+            swap(a, first, last, context, reporter);
+            while (pivot < a[--last]) {
+                context.countStep(); // Count the comparison.
+            }
+            while (pivot >= a[++first]) {
+                context.countStep(); // Count the comparison.
+            }
+        }
+
+        // Put the pivot at the end of the left part.
+        int pivotPos = last;
+        a[begin] = a[pivotPos];
+        a[pivotPos] = pivot;
+        context.addSteps(2); // Count the writes.
+        if (reporter != null) reporter.swapped(a, begin, pivotPos);
+        return pivotPos;
+    }
+
+    /**
+     * Sorts a[begin, end) with insertion sort.
+     * @param a The array.
+     * @param begin The first index of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @param unguarded Whether a[begin - 1] is a lower bound of the range, so the inner loop
+     *                  needs no bounds check.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void insertionSort(int[] a, int begin, int end, boolean unguarded,
+                                      SortContext context, StepReporter reporter) {
+        for (int cur = begin + 1; cur < end; cur++) {
+            int key = a[cur];
+            int sift = cur;
+            context.countStep(); // Count the comparison.
+            if (key >= a[sift - 1]) continue;
+            // Shift larger elements one position to the right.
+            do {
+                a[sift] = a[sift - 1];
+                context.addSteps(2); // Count the shift and the next comparison.
+                if (reporter != null) reporter.written(a, sift);
+                sift--;
+            } while ((unguarded || sift != begin) && key < a[sift - 1]);
+            a[sift] = key;
+            context.countStep(); // Count the insertion.
+            if (reporter != null) reporter.written(a, sift);
+        }
+    }
+
+    /**
+     * Attempts to sort a[begin, end) with insertion sort, but gives up as soon as more than
+     * PARTIAL_INSERTION_SORT_LIMIT elements had to be moved. The range is then left partially
+     * sorted, which is still a valid input for the caller's QuickSort step.
+     * @param a The array.
+     * @param begin The first index of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     * @return true if the range is sorted.
+     */
+    private static boolean partialInsertionSort(int[] a, int begin, int end,
+                                                SortContext context, StepReporter reporter) {
+        int limit = 0;
+        for (int cur = begin + 1; cur < end; cur++) {
+            int key = a[cur];
+            int sift = cur;
+            context.countStep(); // Count the comparison.
+            if (key >= a[sift - 1]) continue;
+            do {
+                a[sift] = a[sift - 1];
+                context.addSteps(2); // Count the shift and the next comparison.
+                if (reporter != null) reporter.written(a, sift);
+                sift--;
+            } while (sift != begin && key < a[sift - 1]);
+            a[sift] = key;
+            context.countStep(); // Count the insertion.
+            if (reporter != null) reporter.written(a, sift);
+            limit += cur - sift;
+            if (limit > PARTIAL_INSERTION_SORT_LIMIT) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sorts a[begin, end) in-place with HeapSort (heap laid out relative to 'begin').
+     * @param a The array.
+     * @param begin The first index of the range (inclusive).
+     * @param end The end of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void heapSort(int[] a, int begin, int end, SortContext context, StepReporter reporter) {
+        int n = end - begin;
+        // Build a max-heap over the range.
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, begin, i, n, context, reporter);
+        }
+        // Move the maximum to the end and restore the heap.
+        for (int i = n - 1; i > 0; i--) {
+            swap(a, begin, begin + i, context, reporter);
+            siftDown(a, begin, 0, i, context, reporter);
+        }
+    }
+
+    /**
+     * Restores the max-heap property below heap index 'i'.
+     * @param a The array holding the heap.
+     * @param base The array index of heap index 0.
+     * @param i The heap index to sift down.
+     * @param n The size of the heap.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void siftDown(int[] a, int base, int i, int n, SortContext context, StepReporter reporter) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n) {
+                context.countStep(); // Count the comparison.
+                if (a[base + left] > a[base + largest]) largest = left;
+            }
+            if (right < n) {
+                context.countStep(); // Count the comparison.
+                if (a[base + right] > a[base + largest]) largest = right;
+            }
+            if (largest == i) return;
+            swap(a, base + i, base + largest, context, reporter);
+            i = largest;
+        }
+    }
+
+    /**
+     * Sorts the three elements at the given indices, so that a[i] <= a[j] <= a[k].
+     * @param a The array.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     * @param k The index of the third element.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void sort3(int[] a, int i, int j, int k, SortContext context, StepReporter reporter) {
+        context.addSteps(3); // Count the comparisons.
+        if (reporter != null) reporter.compared(i, j);
+        if (a[j] < a[i]) swap(a, i, j, context, reporter);
+        if (a[k] < a[j]) swap(a, j, k, context, reporter);
+        if (a[j] < a[i]) swap(a, i, j, context, reporter);
+    }
+
+    /**
+     * Swaps two elements and counts the swap.
+     * @param a The array.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void swap(int[] a, int i, int j, SortContext context, StepReporter reporter) {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+        context.countStep(); // Count the swap.
+        if (reporter != null) reporter.swapped(a, i, j);
+    }
+
+    /**
+     * Returns floor(log2(n)) for n > 0.
+     * @param n The value.
+     * @return The binary logarithm, rounded down.
+     */
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
@@ -20,10 +20,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class PigeonholeSort implements SortingAlgorithm {
-    // Counter for steps (comparisons, reads, writes, increments).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -63,41 +59,62 @@ public class PigeonholeSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array using Pigeonhole Sort.
+     * Applies the same non-negative and range-size restrictions as the List-based version;
+     * if they are violated, an error is logged and the range is left unchanged.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
 
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
+        // 1. Find minimum and maximum values.
+        int min = a[from];
+        int max = a[from];
+        for (int i = from; i < to; i++) {
+            int currentVal = a[i];
+            if (currentVal < 0) {
+                System.err.println("PigeonholeSort requires non-negative integers. Found: " + currentVal);
+                return to;
+            }
+            if (i == from) continue;
+            context.addSteps(3); // Count read access and both comparisons.
+            if (currentVal > max) max = currentVal;
+            if (currentVal < min) min = currentVal;
+        }
 
-    /**
-     * Sorts a copy of the input list using Pigeonhole Sort. Assumes non-negative integers.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        pigeonholeSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+        // Every phase is linear, so the budget is checked between the phases.
+        context.checkpoint();
+
+        // 2. Create and fill the pigeonholes.
+        int range = max - min + 1;
+        if (range > n * 10 && range > 1000000) {
+            System.err.println("PigeonholeSort range (" + range + ") is very large compared to size (" + n + "). Consider a different algorithm.");
+            return to;
+        }
+        int[] holes = new int[range];
+        for (int i = from; i < to; i++) {
+            holes[a[i] - min]++;
+            context.countStep(); // Count read access and increment.
+        }
+        context.checkpoint();
+
+        // 3. Reconstruct the sorted range.
+        int index = from;
+        for (int j = 0; j < range; j++) {
+            int valueToWrite = j + min;
+            for (int c = holes[j]; c > 0; c--) {
+                a[index++] = valueToWrite;
+                context.countStep(); // Count the write (or the decrement if unchanged).
+            }
+        }
+        context.checkpoint();
+        return to;
     }
 
     /**
@@ -105,17 +122,19 @@ public class PigeonholeSort implements SortingAlgorithm {
      * Assumes non-negative integers. Modifies the list in-place during reconstruction.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        pigeonholeSort(input, stepCallback);
+        pigeonholeSort(input, stepCallback, context);
         // Note: Final state is sent at the end of pigeonholeSort method.
     }
 
@@ -125,8 +144,9 @@ public class PigeonholeSort implements SortingAlgorithm {
      * min/max search and reconstruction phases.
      * @param arr The list to sort (modified in-place during reconstruction).
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void pigeonholeSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void pigeonholeSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -148,16 +168,16 @@ public class PigeonholeSort implements SortingAlgorithm {
             accessedMinMax.clear();
             accessedMinMax.add(i); // Mark current index as accessed.
             int currentVal = arr.get(i);
-            steps++; // Count read access.
+            context.countStep(); // Count read access.
 
             // Report state before comparisons.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedMinMax), Collections.emptySet()));
 
-            steps++; // Count comparison with max.
+            context.countStep(); // Count comparison with max.
             if (currentVal > max) {
                 max = currentVal;
             }
-            steps++; // Count comparison with min.
+            context.countStep(); // Count comparison with min.
             // Check for negative numbers; this simple version assumes non-negative.
             if (currentVal < 0) {
                 System.err.println("PigeonholeSort requires non-negative integers. Found: " + currentVal);
@@ -202,7 +222,7 @@ public class PigeonholeSort implements SortingAlgorithm {
             // Check bounds before accessing the holes array.
             if(holeIndex >= 0 && holeIndex < range) {
                 holes[holeIndex]++;
-                steps++; // Count read access and increment.
+                context.countStep(); // Count read access and increment.
             } else {
                 // Should not happen if min/max calculation and non-negative check are correct.
                 System.err.println("Value " + arr.get(i) + " resulted in invalid hole index " + holeIndex);
@@ -227,14 +247,14 @@ public class PigeonholeSort implements SortingAlgorithm {
                     if (index >= arr.size()) arr.add(valueToWrite); else arr.set(index, valueToWrite);
 
                     changed.add(index); // Mark the index as changed.
-                    steps++; // Count write/add access and decrement.
+                    context.countStep(); // Count write/add access and decrement.
                     holes[j]--; // Decrement the count for this value.
                     // Report the state after the modification.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changed));
                 } else {
                     // Value is already correct, just decrement the count.
                     holes[j]--;
-                    steps++; // Count the decrement.
+                    context.countStep(); // Count the decrement.
                     // Optionally report accessing the index without changing it.
                     // Set<Integer> accessed = Set.of(index);
                     // stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, Collections.emptySet()));
@@ -0,0 +1,37 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * Strategies for choosing pivot elements in quicksort-style algorithms.
+ * Fixed positions are cheap but go quadratic on sorted or reverse input;
+ * sampling more elements costs a few comparisons per partition but keeps the
+ * partitions balanced on such inputs.
+ */
+public enum PivotStrategy {
+    // Use the elements at the ends of the range (no sampling).
+    LAST("Last"),
+    // Use randomly chosen elements.
+    RANDOM("Random"),
+    // Use the median of three evenly spaced samples.
+    MEDIAN_OF_3("Median3"),
+    // Use Tukey's ninther: the median of three medians of three samples each.
+    NINTHER("Ninther");
+
+    // Suffix appended to algorithm names, e.g. "DualPivotQuickSortNinther".
+    private final String label;
+
+    /**
+     * Creates a strategy with the given name suffix.
+     * @param label The suffix used in algorithm names.
+     */
+    PivotStrategy(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the suffix used in algorithm names.
+     * @return The label, e.g. "Median3".
+     */
+    public String getLabel() {
+        return label;
+    }
+}
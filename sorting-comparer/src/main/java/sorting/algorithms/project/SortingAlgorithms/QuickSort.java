@@ -19,10 +19,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class QuickSort implements SortingAlgorithm {
-    // Counter for steps (comparisons and swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -61,58 +57,89 @@ public class QuickSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using QuickSort.
+     * Partitioning and step counting match the List-based version.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        quickSortRecursive(a, from, to - 1, context);
+        return to;
     }
 
     /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
+     * Primitive counterpart of the recursive QuickSort core. Recurses into the smaller
+     * partition and loops on the larger one, so sorted input cannot overflow the stack.
+     * @param a The array to sort.
+     * @param lower The starting index of the current sub-array.
+     * @param upper The ending index of the current sub-array (inclusive).
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+    private void quickSortRecursive(int[] a, int lower, int upper, SortContext context) {
+        while (lower < upper) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            int p = partition(a, lower, upper, context);
+            if (p - lower < upper - p) {
+                quickSortRecursive(a, lower, p - 1, context);
+                lower = p + 1;
+            } else {
+                quickSortRecursive(a, p + 1, upper, context);
+                upper = p - 1;
+            }
+        }
     }
 
     /**
-     * Sorts a copy of the input list using recursive QuickSort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Lomuto partition of a[lower..upper] around the last element, on a primitive array.
+     * @param a The array containing the sub-array.
+     * @param lower The starting index of the sub-array.
+     * @param upper The ending index of the sub-array (inclusive, pivot index).
+     * @param context The per-run context receiving the step count.
+     * @return The final index of the pivot element.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        quickSortRecursive(copy, 0, copy.size() - 1, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private int partition(int[] a, int lower, int upper, SortContext context) {
+        int pivotValue = a[upper];
+        int i = lower - 1;
+        for (int j = lower; j < upper; j++) {
+            context.countStep(); // Count the comparison.
+            if (a[j] < pivotValue) {
+                i++;
+                int temp = a[i];
+                a[i] = a[j];
+                a[j] = temp;
+                context.countStep(); // Count the swap.
+            }
+        }
+        // Move the pivot to its final position.
+        int temp = a[i + 1];
+        a[i + 1] = a[upper];
+        a[upper] = temp;
+        context.countStep(); // Count the swap.
+        return i + 1;
     }
 
     /**
      * Sorts the input list in-place using recursive QuickSort and reports steps during partitioning.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Start the recursive sorting process.
-        quickSortRecursive(input, 0, input.size() - 1, stepCallback);
+        quickSortRecursive(input, 0, input.size() - 1, stepCallback, context);
         // Send final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -124,8 +151,9 @@ public class QuickSort implements SortingAlgorithm {
      * @param lower The starting index of the current sub-array.
      * @param upper The ending index of the current sub-array.
      * @param stepCallback The consumer for reporting steps during partitioning.
+     * @param context The per-run context receiving the step count.
      */
-    private void quickSortRecursive(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback) {
+    private void quickSortRecursive(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback, SortContext context) {
         // Optional: Report the current range being processed.
         // Set<Integer> accessedRange = IntStream.rangeClosed(lower, upper).filter(i -> i >= 0 && i < arr.size()).boxed().collect(Collectors.toSet());
         // stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedRange, Collections.emptySet()));
@@ -137,12 +165,12 @@ public class QuickSort implements SortingAlgorithm {
 
         // Partition the sub-array arr[lower..upper] around a pivot.
         // 'p' is the final index of the pivot element.
-        int p = partition(arr, lower, upper, stepCallback);
+        int p = partition(arr, lower, upper, stepCallback, context);
 
         // Recursively sort the sub-array before the pivot (arr[lower..p-1]).
-        quickSortRecursive(arr, lower, p - 1, stepCallback);
+        quickSortRecursive(arr, lower, p - 1, stepCallback, context);
         // Recursively sort the sub-array after the pivot (arr[p+1..upper]).
-        quickSortRecursive(arr, p + 1, upper, stepCallback);
+        quickSortRecursive(arr, p + 1, upper, stepCallback, context);
     }
 
     /**
@@ -154,9 +182,10 @@ public class QuickSort implements SortingAlgorithm {
      * @param lower The starting index of the sub-array.
      * @param upper The ending index of the sub-array (inclusive, pivot index).
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      * @return The final index of the pivot element after partitioning.
      */
-    private int partition(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback) {
+    private int partition(List<Integer> arr, int lower, int upper, Consumer<SortStep> stepCallback, SortContext context) {
         Set<Integer> accessed = new HashSet<>();
         Set<Integer> changed = new HashSet<>();
 
@@ -176,7 +205,7 @@ public class QuickSort implements SortingAlgorithm {
             changed.clear();
             accessed.add(j);      // Element 'j' is being compared.
             accessed.add(upper);  // Pivot index used for comparison value.
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
 
             // Report state *before* potential swap, showing the comparison pair.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
@@ -191,7 +220,7 @@ public class QuickSort implements SortingAlgorithm {
                 arr.set(j, temp);
                 changed.add(i); // Mark swapped indices as changed.
                 changed.add(j);
-                steps++; // Optionally count the swap.
+                context.countStep(); // Optionally count the swap.
                 // Report state *after* the swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
             }
@@ -212,7 +241,7 @@ public class QuickSort implements SortingAlgorithm {
             arr.set(upper, temp);
             changed.add(pivotFinalIndex); // Mark indices as changed.
             changed.add(upper);
-            steps++; // Count the swap.
+            context.countStep(); // Count the swap.
             // Report state after the final pivot swap.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
         } else {
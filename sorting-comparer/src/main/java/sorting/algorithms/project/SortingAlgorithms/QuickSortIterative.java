@@ -2,6 +2,7 @@ package sorting.algorithms.project.SortingAlgorithms;
 
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -20,10 +21,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class QuickSortIterative implements SortingAlgorithm {
-	// Counter for steps (comparisons and swaps).
-	private long steps;
-	// Stores the original dataset.
-	private List<Integer> dataSet;
 
 	/**
 	 * Returns the name of the sorting algorithm.
@@ -62,58 +59,95 @@ public class QuickSortIterative implements SortingAlgorithm {
 	}
 
 	/**
-	 * Returns the total number of steps performed during the last sort.
-	 * @return The number of steps.
+	 * Sorts the range a[from, to) of a primitive array in-place using iterative QuickSort.
+	 * The explicit stack is a growable {@code int[]} instead of a boxed {@link Stack}.
+	 * @param a The array containing the range to sort (will be modified).
+	 * @param from The first index of the range (inclusive).
+	 * @param to The last index of the range (exclusive).
+	 * @param context The per-run context receiving the step count.
+	 * @return The exclusive end of the sorted range (always {@code to}).
 	 */
 	@Override
-	public long getSteps() {
-		return steps;
-	}
+	public int sort(int[] a, int from, int to, SortContext context) {
+		if (to - from <= 1) return to;
+
+		// Stack of (low, high) pairs still to be partitioned.
+		int[] stack = new int[64];
+		int top = 0;
+		stack[top++] = from;
+		stack[top++] = to - 1;
+
+		while (top > 0) {
+			int high = stack[--top];
+			int low = stack[--top];
+			if (low >= high) continue;
+			// Stop here if the run was cancelled.
+			context.checkpoint();
 
-	/**
-	 * Returns the original dataset provided to the algorithm.
-	 * @return The original list of integers.
-	 */
-	@Override
-	public List<Integer> getData() {
-		// Ensure a non-null list is returned.
-		return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+			int pi = partition(a, low, high, context);
+
+			// Make room for up to two more ranges.
+			if (top + 4 > stack.length) {
+				stack = Arrays.copyOf(stack, stack.length * 2);
+			}
+			if (pi - 1 > low) {
+				stack[top++] = low;
+				stack[top++] = pi - 1;
+			}
+			if (pi + 1 < high) {
+				stack[top++] = pi + 1;
+				stack[top++] = high;
+			}
+		}
+		return to;
 	}
 
 	/**
-	 * Sorts a copy of the input list using iterative QuickSort.
-	 * @param input The list of integers to sort.
-	 * @return A new list containing the sorted elements.
+	 * Lomuto partition of a[low..high] around the last element, on a primitive array.
+	 * @param a The array containing the sub-array.
+	 * @param low The starting index of the sub-array.
+	 * @param high The ending index of the sub-array (inclusive, pivot index).
+	 * @param context The per-run context receiving the step count.
+	 * @return The final index of the pivot element.
 	 */
-	@Override
-	public List<Integer> sort(List<Integer> input) {
-		// Create a mutable copy.
-		List<Integer> copy = new ArrayList<>(input);
-		// Store original data.
-		dataSet = new ArrayList<>(copy);
-		// Reset step count.
-		steps = 0;
-		// Perform sort with a no-op callback.
-		quickSort(copy, 0, copy.size() - 1, (SortStep step) -> {});
-		// Return sorted copy.
-		return copy;
+	private int partition(int[] a, int low, int high, SortContext context) {
+		int pivotValue = a[high];
+		int i = low - 1;
+		for (int j = low; j < high; j++) {
+			context.countStep(); // Count comparison.
+			if (a[j] < pivotValue) {
+				i++;
+				int temp = a[i];
+				a[i] = a[j];
+				a[j] = temp;
+				context.countStep(); // Count swap.
+			}
+		}
+		// Move the pivot to its final position.
+		int temp = a[i + 1];
+		a[i + 1] = a[high];
+		a[high] = temp;
+		context.countStep(); // Count swap.
+		return i + 1;
 	}
 
 	/**
 	 * Sorts the input list in-place using iterative QuickSort and reports steps during partitioning.
 	 * @param input The list to be sorted (will be modified).
 	 * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+	 * @param context The per-run context receiving the step count.
 	 */
 	@Override
-	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-		// Store original data.
-		dataSet = new ArrayList<>(input);
-		// Reset step count.
-		steps = 0;
+	public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+		// Without an observer, skip step construction and sort through the primitive path.
+		if (stepCallback == null) {
+			SortingAlgorithm.sortInPlace(this, input, context);
+			return;
+		}
 		// Send initial state.
 		stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
 		// Start the iterative sorting process.
-		quickSort(input, 0, input.size() - 1, stepCallback);
+		quickSort(input, 0, input.size() - 1, stepCallback, context);
 		// Send final sorted state.
 		stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
 	}
@@ -125,8 +159,9 @@ public class QuickSortIterative implements SortingAlgorithm {
 	 * @param low The starting index of the initial range.
 	 * @param high The ending index of the initial range.
 	 * @param stepCallback The consumer for reporting steps.
+	 * @param context The per-run context receiving the step count.
 	 */
-	private void quickSort(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback) {
+	private void quickSort(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback, SortContext context) {
 		// Handle trivial cases: null array, empty or single element, or invalid initial range.
 		if (arr == null || arr.size() <= 1 || low >= high) {
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), Collections.emptySet())); // Send final state
@@ -158,7 +193,7 @@ public class QuickSortIterative implements SortingAlgorithm {
 
 			// Partition the current sub-array arr[low..high].
 			// 'pi' is the final index of the pivot element.
-			int pi = partition(arr, low, high, stepCallback);
+			int pi = partition(arr, low, high, stepCallback, context);
 
 			// Push the left sub-array range (low to pi-1) onto the stack if it has elements.
 			if (pi - 1 > low) {
@@ -185,9 +220,10 @@ public class QuickSortIterative implements SortingAlgorithm {
 	 * @param low The starting index of the sub-array.
 	 * @param high The ending index of the sub-array (inclusive, pivot index).
 	 * @param stepCallback The consumer for reporting steps.
+	 * @param context The per-run context receiving the step count.
 	 * @return The final index of the pivot element after partitioning.
 	 */
-	private int partition(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback) {
+	private int partition(List<Integer> arr, int low, int high, Consumer<SortStep> stepCallback, SortContext context) {
 		// This method implementation is identical to the partition method in QuickSort.java.
 		// See QuickSort.java for detailed comments on the partitioning logic.
 
@@ -210,7 +246,7 @@ public class QuickSortIterative implements SortingAlgorithm {
 			changed.clear();
 			accessed.add(j);      // Current element being compared
 			accessed.add(high);   // Pivot index for comparison value
-			steps++;              // Count comparison
+			context.countStep();              // Count comparison
 
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed))); // Report before potential swap
 
@@ -224,7 +260,7 @@ public class QuickSortIterative implements SortingAlgorithm {
 				arr.set(j, temp);
 				changed.add(i); // Mark swapped indices
 				changed.add(j);
-				steps++; // Optionally count swap
+				context.countStep(); // Optionally count swap
 				stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed))); // Report after swap
 			}
 		}
@@ -243,7 +279,7 @@ public class QuickSortIterative implements SortingAlgorithm {
 			arr.set(high, temp);
 			changed.add(pivotFinalIndex);
 			changed.add(high);
-			steps++; // Count swap
+			context.countStep(); // Count swap
 			stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed)); // Report after final swap
 		} else {
 			// Report even if no swap (e.g., pivot already largest or indices invalid)
@@ -18,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class RadixSort implements SortingAlgorithm {
-    // Counter for steps (reads, writes, calculations, increments).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -61,41 +57,75 @@ public class RadixSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array using decimal LSD Radix Sort.
+     * Only non-negative integers are supported; if the range contains a negative value,
+     * an error is logged and the range is left unchanged. One output buffer is reused by all passes.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
 
-    /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
+        // Find the maximum value and reject negative input.
+        int max = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] < 0) {
+                System.err.println("RadixSort (LSD) requires non-negative integers.");
+                return to;
+            }
+            if (a[i] > max) max = a[i];
+        }
+
+        // Perform a counting sort pass for every decimal digit of the maximum.
+        // 'exp' is a long so that it cannot overflow for values above 10^9.
+        int[] output = context.scratch(n);
+        for (long exp = 1; max / exp > 0; exp *= 10) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            countSortByDigit(a, from, to, exp, output, context);
+        }
+        return to;
     }
 
     /**
-     * Sorts a copy of the input list using LSD Radix Sort. Assumes non-negative integers.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
+     * Stable counting sort of a[from, to) by the decimal digit at place value 'exp'.
+     * @param a The array containing the range.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param exp The current digit's place value (1, 10, 100, ...).
+     * @param output Scratch buffer of at least {@code to - from} elements.
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        radixSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private void countSortByDigit(int[] a, int from, int to, long exp, int[] output, SortContext context) {
+        int[] count = new int[10];
+        // 1. Count occurrences of each digit.
+        for (int i = from; i < to; i++) {
+            count[(int) ((a[i] / exp) % 10)]++;
+            context.countStep();
+        }
+        // 2. Turn counts into end positions.
+        for (int i = 1; i < 10; i++) {
+            count[i] += count[i - 1];
+            context.countStep();
+        }
+        // 3. Build the output. Iterate backwards for stability.
+        for (int i = to - 1; i >= from; i--) {
+            int num = a[i];
+            output[--count[(int) ((num / exp) % 10)]] = num;
+            context.countStep();
+        }
+        // 4. Copy back, counting only writes that change a value.
+        for (int i = 0; i < to - from; i++) {
+            if (a[from + i] != output[i]) {
+                a[from + i] = output[i];
+                context.countStep();
+            }
+        }
     }
 
     /**
@@ -103,17 +133,19 @@ public class RadixSort implements SortingAlgorithm {
      * Assumes non-negative integers.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the actual sorting.
-        radixSort(input, stepCallback);
+        radixSort(input, stepCallback, context);
         // Send final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -125,8 +157,9 @@ public class RadixSort implements SortingAlgorithm {
      * Assumes non-negative integers.
      * @param arr The list to sort in-place.
      * @param stepCallback The consumer for reporting steps (primarily during Counting Sort's copy-back).
+     * @param context The per-run context receiving the step count.
      */
-    private void radixSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void radixSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // Handle lists with 0 or 1 element.
         if (n <= 1) {
@@ -163,7 +196,7 @@ public class RadixSort implements SortingAlgorithm {
         // The loop continues as long as there are digits left in the maximum number (max / exp > 0).
         for (int exp = 1; max / exp > 0; exp *= 10) {
             // Call Counting Sort to sort the list based on the digit at the 'exp' place value.
-            countSortByDigit(arr, n, exp, stepCallback);
+            countSortByDigit(arr, n, exp, stepCallback, context);
         }
         // Final state is sent by sortWithCallback after this loop finishes.
     }
@@ -176,8 +209,9 @@ public class RadixSort implements SortingAlgorithm {
      * @param n The size of the list.
      * @param exp The current digit's place value (1 for units, 10 for tens, etc.).
      * @param stepCallback The consumer for reporting steps during the copy-back phase.
+     * @param context The per-run context receiving the step count.
      */
-    private void countSortByDigit(List<Integer> arr, int n, int exp, Consumer<SortStep> stepCallback) {
+    private void countSortByDigit(List<Integer> arr, int n, int exp, Consumer<SortStep> stepCallback, SortContext context) {
         // Output array to store the sorted elements for this digit pass.
         int[] output = new int[n];
         // Count array for digits 0 through 9.
@@ -192,7 +226,7 @@ public class RadixSort implements SortingAlgorithm {
             // Ensure digit is valid (0-9).
             if (digit >= 0 && digit < 10) {
                 count[digit]++;
-                steps++; // Count read, calculation, and increment.
+                context.countStep(); // Count read, calculation, and increment.
             }
             // Error handling for unexpected digits isn't strictly needed if non-negative check passed.
         }
@@ -201,7 +235,7 @@ public class RadixSort implements SortingAlgorithm {
         // (ending index) of digit 'i' in the output array. (Cumulative counts).
         for (int i = 1; i < 10; i++) {
             count[i] += count[i - 1];
-            steps++; // Count addition.
+            context.countStep(); // Count addition.
         }
 
         // 3. Build the output array. Iterate backwards to maintain stability.
@@ -218,7 +252,7 @@ public class RadixSort implements SortingAlgorithm {
                     output[outputIndex] = num;
                     // Decrement the count for this digit, moving the position for the next element with the same digit.
                     count[digit]--;
-                    steps++; // Count reads, decrement, and write.
+                    context.countStep(); // Count reads, decrement, and write.
                 }
                 // Handle index out of bounds if necessary (shouldn't happen with correct logic).
             }
@@ -235,7 +269,7 @@ public class RadixSort implements SortingAlgorithm {
                 Set<Integer> changed = new HashSet<>();
                 arr.set(i, output[i]);
                 changed.add(i);
-                steps++; // Count write access.
+                context.countStep(); // Count write access.
                 // Send the state after the change.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changed));
             } else {
@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class RecursiveBubbleSort implements SortingAlgorithm {
-    // Counter for steps (comparisons and swaps).
-    private long steps;
-    // Stores the original dataset.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -64,58 +60,60 @@ public class RecursiveBubbleSort implements SortingAlgorithm {
 
 
     /**
-     * Returns the total number of steps performed during the last sort.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Recursive Bubble Sort.
+     * Keeps the recursion of the List-based version (one level per pass).
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        bubbleSortRecursive(a, from, to, context);
+        return to;
     }
 
     /**
-     * Returns the original dataset provided to the algorithm.
-     * @return The original list of integers.
+     * Bubbles the largest element of a[from, to) to index to-1, then recurses on the rest.
+     * @param a The array to sort.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range still to be sorted (exclusive).
+     * @param context The per-run context receiving the step count.
      */
-    @Override
-    public List<Integer> getData() {
-        // Ensure a non-null list is returned.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using Recursive Bubble Sort.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store original data.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count.
-        steps = 0;
-        // Perform sort with a no-op callback.
-        bubbleSortRecursive(copy, copy.size(), (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    private void bubbleSortRecursive(int[] a, int from, int to, SortContext context) {
+        if (to - from <= 1) return;
+        // Stop here if the run was cancelled.
+        context.checkpoint();
+        for (int i = from; i < to - 1; i++) {
+            context.countStep(); // Count the comparison.
+            if (a[i] > a[i + 1]) {
+                int temp = a[i];
+                a[i] = a[i + 1];
+                a[i + 1] = temp;
+                context.countStep(); // Count the swap.
+            }
+        }
+        bubbleSortRecursive(a, from, to - 1, context);
     }
 
     /**
      * Sorts the input list in-place using Recursive Bubble Sort and reports each comparison and swap.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store original data.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Start the recursive sorting process.
-        bubbleSortRecursive(input, input.size(), stepCallback);
+        bubbleSortRecursive(input, input.size(), stepCallback, context);
         // Send final sorted state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -127,8 +125,9 @@ public class RecursiveBubbleSort implements SortingAlgorithm {
      * @param arr The list to sort in-place.
      * @param n The number of elements currently being considered (size of the subproblem).
      * @param stepCallback The consumer for reporting steps.
+     * @param context The per-run context receiving the step count.
      */
-    private void bubbleSortRecursive(List<Integer> arr, int n, Consumer<SortStep> stepCallback) {
+    private void bubbleSortRecursive(List<Integer> arr, int n, Consumer<SortStep> stepCallback, SortContext context) {
         // Base case: If the subproblem size is 1 or less, it's sorted.
         if (n <= 1) {
             return;
@@ -141,7 +140,7 @@ public class RecursiveBubbleSort implements SortingAlgorithm {
             Set<Integer> changed = new HashSet<>();
             accessed.add(i);      // Index for arr.get(i)
             accessed.add(i + 1);  // Index for arr.get(i + 1)
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
 
             // Compare adjacent elements.
             if (arr.get(i) > arr.get(i + 1)) {
@@ -151,7 +150,7 @@ public class RecursiveBubbleSort implements SortingAlgorithm {
                 arr.set(i + 1, temp);
                 changed.add(i);      // Mark swapped indices as changed.
                 changed.add(i + 1);
-                steps++; // Optionally count the swap.
+                context.countStep(); // Optionally count the swap.
             }
             // Report the state after each comparison/swap.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), accessed, changed));
@@ -159,6 +158,6 @@ public class RecursiveBubbleSort implements SortingAlgorithm {
 
         // Recursively call for the remaining n-1 elements.
         // The largest element is now at index n-1 and excluded from the next pass.
-        bubbleSortRecursive(arr, n - 1, stepCallback);
+        bubbleSortRecursive(arr, n - 1, stepCallback, context);
     }
 }
\ No newline at end of file
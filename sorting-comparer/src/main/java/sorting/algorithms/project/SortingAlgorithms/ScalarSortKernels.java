@@ -0,0 +1,86 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * Scalar implementation of the {@link VectorQuickSort} kernels: insertion sort for small blocks
+ * and a branch-free, out-of-place partition. Used for the scalar twin of the algorithm and as the
+ * fallback when the Vector API is not available.
+ */
+final class ScalarSortKernels implements SortKernels {
+    // Ranges up to this size are sorted by insertion sort (the block size of the 256-bit SIMD kernels).
+    private static final int BLOCK_SIZE = 32;
+
+    /**
+     * Returns the largest range that {@link #sortBlock} sorts.
+     * @return 32.
+     */
+    @Override
+    public int blockSize() {
+        return BLOCK_SIZE;
+    }
+
+    /**
+     * Returns whether these kernels use SIMD instructions.
+     * @return false.
+     */
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Sorts a small range using insertion sort.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param buffer Unused.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortBlock(int[] a, int from, int to, int[] buffer, SortContext context) {
+        long steps = 0;
+        for (int i = from + 1; i < to; i++) {
+            int key = a[i];
+            int j = i - 1;
+            // Shift larger elements one position to the right.
+            while (j >= from) {
+                steps++; // Count the comparison.
+                if (a[j] <= key) break;
+                a[j + 1] = a[j];
+                steps++; // Count the shift.
+                j--;
+            }
+            a[j + 1] = key;
+        }
+        context.addSteps(steps);
+    }
+
+    /**
+     * Partitions the range into the buffer and copies it back. Every element is written to both
+     * the next free slot on the left and on the right, and only the cursor of its side advances,
+     * so the loop has no data-dependent branch.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param pivot The pivot value.
+     * @param buffer A scratch buffer with at least {@code to - from} elements.
+     * @param context The per-run context receiving the step count.
+     * @return The number of elements less than the pivot.
+     */
+    @Override
+    public int partition(int[] a, int from, int to, int pivot, int[] buffer, SortContext context) {
+        int n = to - from;
+        int left = 0;
+        int right = n;
+        for (int i = from; i < to; i++) {
+            int value = a[i];
+            buffer[left] = value;
+            buffer[right - 1] = value;
+            int less = value < pivot ? 1 : 0;
+            left += less;
+            right -= 1 - less;
+        }
+        System.arraycopy(buffer, 0, a, from, n);
+        context.addSteps(3L * n); // Count the comparison, the write and the copy back per element.
+        return left;
+    }
+}
@@ -18,10 +18,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class SelectionSort implements SortingAlgorithm {
-    // Stores the number of steps (comparisons + swaps) performed during the last sort operation.
-    private long steps;
-    // Stores a copy of the original dataset that was last sorted.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,43 +56,39 @@ public class SelectionSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Selection Sort.
+     * Selects the minimum of the unsorted part and swaps it into place.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset that was provided for the last sort operation.
-     * Returns a default dataset if no sort has been performed yet.
-     * @return The list of integers representing the original dataset.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure dataSet is not null; return default if it is.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using the Selection Sort algorithm.
-     * This method does not modify the original input list.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy of the input list to sort.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store a copy of the original list for the getData method.
-        dataSet = new ArrayList<>(copy);
-        // Reset step count for the new sort operation.
-        steps = 0;
-        // Perform the sort on the copy, using a no-op callback.
-        selectionSort(copy, (SortStep step) -> {});
-        // Return the sorted copy.
-        return copy;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        for (int i = from; i < to - 1; i++) {
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+            // Find the minimum of the unsorted subarray a[i..to).
+            int minIndex = i;
+            for (int j = i + 1; j < to; j++) {
+                count++; // Count the comparison.
+                if (a[j] < a[minIndex]) minIndex = j;
+            }
+            // Swap it into position 'i' if necessary.
+            if (minIndex != i) {
+                int temp = a[i];
+                a[i] = a[minIndex];
+                a[minIndex] = temp;
+                count++; // Count the swap.
+            }
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
@@ -104,17 +96,19 @@ public class SelectionSort implements SortingAlgorithm {
      * and provides step-by-step updates via a callback function.
      * @param input The list of integers to sort (will be modified).
      * @param stepCallback A consumer function that accepts SortStep objects for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store a copy of the original list.
-        dataSet = new ArrayList<>(input);
-        // Reset step count.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state of the array before sorting begins.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the in-place sort.
-        selectionSort(input, stepCallback);
+        selectionSort(input, stepCallback, context);
         // Send the final state of the array after sorting is complete.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -125,8 +119,9 @@ public class SelectionSort implements SortingAlgorithm {
      * and swaps it with the first element of that subarray.
      * @param arr The list to be sorted (will be modified).
      * @param stepCallback The consumer for reporting each step (comparison or swap).
+     * @param context The per-run context receiving the step count.
      */
-    private void selectionSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void selectionSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // If the list has 1 or 0 elements, it's already sorted.
         if (n <= 1) {
@@ -154,7 +149,7 @@ public class SelectionSort implements SortingAlgorithm {
                 accessedCurrent.add(j);        // Index j is being read.
                 accessedCurrent.add(minIndex); // Current minimum index value is being read for comparison.
                 accessedInSearch.add(j);       // Add j to the set of all indices accessed in this search pass.
-                steps++; // Count the comparison.
+                context.countStep(); // Count the comparison.
 
                 // Send the state *before* potentially updating minIndex. Shows the comparison happening.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedCurrent), Collections.emptySet()));
@@ -183,7 +178,7 @@ public class SelectionSort implements SortingAlgorithm {
                 arr.set(minIndex, temp);
                 changedSwap.add(i);        // Index i is modified.
                 changedSwap.add(minIndex); // minIndex is modified.
-                steps++; // Count the swap.
+                context.countStep(); // Count the swap.
 
                 // Send the state after the swap.
                 stepCallback.accept(new SortStep(new ArrayList<>(arr), accessedSwap, changedSwap));
@@ -16,10 +16,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class ShellSort implements SortingAlgorithm {
-    // Stores the number of steps (comparisons + swaps/shifts) performed during the last sort.
-    private long steps;
-    // Stores a copy of the original dataset that was last sorted.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -62,43 +58,52 @@ public class ShellSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort operation.
-     * @return The number of steps.
+     * Sorts the range a[from, to) of a primitive array in-place using Shell Sort
+     * with Knuth's gap sequence (h = 3*h + 1).
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset that was provided for the last sort operation.
-     * Returns a default dataset if no sort has been performed yet.
-     * @return The list of integers representing the original dataset.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure dataSet is not null; return default if it is.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * Sorts a copy of the input list using the Shell Sort algorithm.
-     * This method does not modify the original input list.
-     * @param input The list of integers to sort.
-     * @return A new list containing the sorted elements.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Create a mutable copy.
-        List<Integer> copy = new ArrayList<>(input);
-        // Store the original list.
-        dataSet = new ArrayList<>(copy);
-        // Reset steps.
-        steps = 0;
-        // Perform sort on the copy with a no-op callback.
-        shellSort(copy, (SortStep step) -> {});
-        // Return sorted copy.
-        return copy;
+    public int sort(int[] a, int from, int to, SortContext context) {
+        // Local step counter, flushed to the context between passes.
+        long count = 0;
+        int n = to - from;
+        // Calculate the initial gap.
+        int h = 1;
+        while (h < n / 3) {
+            h = 3 * h + 1;
+        }
+        while (n > 1 && h >= 1) {
+            // h-sort the range (insertion sort with gap h).
+            for (int i = from + h; i < to; i++) {
+                int temp = a[i];
+                int j = i;
+                while (j - from >= h) {
+                    count++; // Count the comparison.
+                    if (a[j - h] > temp) {
+                        a[j] = a[j - h];
+                        count++; // Count the shift.
+                        j -= h;
+                    } else {
+                        break;
+                    }
+                }
+                if (j != i) {
+                    a[j] = temp;
+                    count++; // Count the insertion.
+                }
+            }
+            h = h / 3;
+            // Publish this pass's steps and stop here if the run was cancelled.
+            context.addSteps(count);
+            count = 0;
+            context.checkpoint();
+        }
+        context.addSteps(count);
+        return to;
     }
 
     /**
@@ -106,17 +111,19 @@ public class ShellSort implements SortingAlgorithm {
      * and provides step-by-step updates via a callback function.
      * @param input The list of integers to sort (will be modified).
      * @param stepCallback A consumer function that accepts SortStep objects for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Store a copy of the original list.
-        dataSet = new ArrayList<>(input);
-        // Reset steps.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
         // Perform the in-place sort.
-        shellSort(input, stepCallback);
+        shellSort(input, stepCallback, context);
         // Send the final state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -126,8 +133,9 @@ public class ShellSort implements SortingAlgorithm {
      * It performs an h-sort (insertion sort with gaps) for decreasing values of h.
      * @param arr The list to be sorted (will be modified).
      * @param stepCallback The consumer for reporting each step (comparison, shift, insertion).
+     * @param context The per-run context receiving the step count.
      */
-    private void shellSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void shellSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         int n = arr.size();
         // If the list has 1 or 0 elements, it's already sorted.
         if (n <= 1) {
@@ -165,7 +173,7 @@ public class ShellSort implements SortingAlgorithm {
                     Set<Integer> accessedInner = new HashSet<>(accessedOuter); // Inherit outer access.
                     Set<Integer> changedInner = new HashSet<>(changedOuter);
                     accessedInner.add(j - h); // Element to the 'left' (with gap h) is accessed for comparison.
-                    steps++; // Count the comparison.
+                    context.countStep(); // Count the comparison.
 
                     // Send the state *before* the potential shift.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInner), new HashSet<>(changedInner)));
@@ -175,7 +183,7 @@ public class ShellSort implements SortingAlgorithm {
                         accessedInner.add(j - h); // Accessed again for the shift operation.
                         arr.set(j, arr.get(j - h)); // Shift the element arr[j-h] to position j.
                         changedInner.add(j); // Index j was modified by the shift.
-                        steps++; // Optionally count the shift as a step.
+                        context.countStep(); // Optionally count the shift as a step.
 
                         // Send the state *after* the shift.
                         stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessedInner), new HashSet<>(changedInner)));
@@ -193,7 +201,7 @@ public class ShellSort implements SortingAlgorithm {
                     Set<Integer> changedInsert = new HashSet<>();
                     arr.set(j, temp); // Insert temp.
                     changedInsert.add(j); // Index j was modified by the insertion.
-                    steps++; // Count the insertion.
+                    context.countStep(); // Count the insertion.
                     // Send the state after insertion. Only highlight the change.
                     stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), changedInsert));
                 } else {
@@ -0,0 +1,29 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * Thrown at a {@link SortContext#checkpoint()} when the run has used up its step or time budget.
+ * Like any cancellation, it leaves the array or list in a partially sorted state.
+ */
+public class SortBudgetExceededException extends SortCancelledException {
+
+    // Description of the exceeded budget (e.g., "time budget of 1000 ms").
+    private final String budget;
+
+    /**
+     * Constructs a new exception for a run that exceeded a budget.
+     * @param steps The steps performed before the run was stopped.
+     * @param budget A description of the exceeded budget.
+     */
+    public SortBudgetExceededException(long steps, String budget) {
+        super("Sort aborted after " + steps + " steps: " + budget + " exceeded", steps);
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the description of the exceeded budget.
+     * @return The budget, e.g., "step budget of 1000000 steps".
+     */
+    public String getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,37 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * Thrown at a {@link SortContext#checkpoint()} when the run has been cancelled.
+ * The array or list being sorted is left in a partially sorted state.
+ */
+public class SortCancelledException extends RuntimeException {
+
+    // Number of steps performed before the run was stopped.
+    private final long steps;
+
+    /**
+     * Constructs a new exception for a run that was stopped after the given number of steps.
+     * @param steps The steps performed before cancellation.
+     */
+    public SortCancelledException(long steps) {
+        this("Sort cancelled after " + steps + " steps", steps);
+    }
+
+    /**
+     * Constructs a new exception with a custom message (for subclasses).
+     * @param message The detail message.
+     * @param steps The steps performed before the run was stopped.
+     */
+    protected SortCancelledException(String message, long steps) {
+        super(message);
+        this.steps = steps;
+    }
+
+    /**
+     * Gets the number of steps performed before the run was stopped.
+     * @return The step count.
+     */
+    public long getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,131 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the mutable state of a single sorting run.
+ * Algorithm beans are shared singletons and must not keep per-run state in fields;
+ * instead, every run gets its own context that carries the step counter, the
+ * cancellation flag and reusable scratch space. A context is used by one sorting
+ * thread at a time; only {@link #cancel()}, {@link #addWorkerSteps(long)} and {@link #checkpoint()}
+ * may be called from other threads (the worker threads of a parallel algorithm).
+ * <p>
+ * A context can also carry a step and a time budget. Both are enforced at the algorithm's
+ * checkpoints, so a run stops at the first checkpoint after its budget is used up.
+ */
+public class SortContext {
+
+    // Number of steps (comparisons, swaps, writes) performed so far in this run.
+    private long steps;
+    // Steps counted by the worker threads of parallel algorithms while the run is going.
+    private final LongAdder workerSteps = new LongAdder();
+    // Set from another thread to ask the running algorithm to stop.
+    private volatile boolean cancelled;
+    // Reusable scratch buffer handed out by scratch(int).
+    private int[] scratch;
+    // Maximum number of steps of this run (0 = unlimited).
+    private final long maxSteps;
+    // Maximum duration of this run in milliseconds (0 = unlimited) and the System.nanoTime() it ends at.
+    private final long maxMillis;
+    private final long deadlineNanos;
+
+    /**
+     * Creates a context without budgets.
+     */
+    public SortContext() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a context with budgets; the time budget starts now.
+     * @param maxSteps The maximum number of steps (0 or less = unlimited).
+     * @param maxMillis The maximum duration in milliseconds (0 or less = unlimited).
+     */
+    public SortContext(long maxSteps, long maxMillis) {
+        this.maxSteps = Math.max(0, maxSteps);
+        this.maxMillis = Math.max(0, maxMillis);
+        this.deadlineNanos = System.nanoTime() + this.maxMillis * 1_000_000;
+    }
+
+    /**
+     * Counts a single step (e.g., one comparison or one swap).
+     */
+    public void countStep() {
+        steps++;
+    }
+
+    /**
+     * Counts several steps at once.
+     * @param count The number of steps to add.
+     */
+    public void addSteps(long count) {
+        steps += count;
+    }
+
+    /**
+     * Counts steps performed by a worker thread of a parallel algorithm. Unlike {@link #addSteps(long)},
+     * this may be called from several threads at once, so workers can publish their steps as each task
+     * completes and the step budget is enforced while the run is still going.
+     * @param count The number of steps to add.
+     */
+    public void addWorkerSteps(long count) {
+        workerSteps.add(count);
+    }
+
+    /**
+     * Gets the number of steps counted so far in this run.
+     * @return The step count.
+     */
+    public long getSteps() {
+        return steps + workerSteps.sum();
+    }
+
+    /**
+     * Requests cancellation of the run. Safe to call from any thread.
+     * The algorithm stops at its next {@link #checkpoint()}.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether cancellation has been requested.
+     * @return true if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cooperative cancellation point. Algorithms call this between larger units of work
+     * (e.g., once per pass or per partition), after publishing their steps.
+     * @throws SortCancelledException If cancellation has been requested.
+     * @throws SortBudgetExceededException If the step or time budget is used up.
+     */
+    public void checkpoint() {
+        if (cancelled) {
+            throw new SortCancelledException(getSteps());
+        }
+        if (maxSteps > 0 && getSteps() > maxSteps) {
+            throw new SortBudgetExceededException(getSteps(), "step budget of " + maxSteps + " steps");
+        }
+        // Reading the clock is cheap compared to the work between two checkpoints.
+        if (maxMillis > 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new SortBudgetExceededException(getSteps(), "time budget of " + maxMillis + " ms");
+        }
+    }
+
+    /**
+     * Returns a scratch buffer with at least {@code size} elements. The buffer is reused
+     * across calls on the same context, so its contents are unspecified and it must not
+     * be used by two callers at the same time.
+     * @param size The minimum number of elements required.
+     * @return A buffer of length {@code >= size}.
+     */
+    public int[] scratch(int size) {
+        if (scratch == null || scratch.length < size) {
+            scratch = new int[size];
+        }
+        return scratch;
+    }
+}
@@ -0,0 +1,62 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * The two inner loops of {@link VectorQuickSort}: sorting a small block and partitioning a range.
+ * There is a SIMD implementation based on the incubating Vector API ({@link VectorSortKernels})
+ * and a scalar one with the same structure ({@link ScalarSortKernels}), so the difference between
+ * the two algorithm entries is only the instruction set the kernels use.
+ */
+interface SortKernels {
+
+    /**
+     * Returns the SIMD kernels if the {@code jdk.incubator.vector} module is available at runtime
+     * (the JVM was started with {@code --add-modules jdk.incubator.vector}), the scalar kernels otherwise.
+     * @return The kernels to use for the vectorized algorithm.
+     */
+    static SortKernels vectorOrScalar() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new ScalarSortKernels();
+        }
+        try {
+            return new VectorSortKernels();
+        } catch (LinkageError e) {
+            // The module is present but cannot be linked (e.g. not readable from this module).
+            return new ScalarSortKernels();
+        }
+    }
+
+    /**
+     * Returns the largest range that {@link #sortBlock} can sort.
+     * @return The block size.
+     */
+    int blockSize();
+
+    /**
+     * Returns whether these kernels use SIMD instructions.
+     * @return true for the Vector API kernels.
+     */
+    boolean isVectorized();
+
+    /**
+     * Sorts a[from, to) with at most {@link #blockSize()} elements.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param buffer A scratch buffer with at least {@link #blockSize()} elements.
+     * @param context The per-run context receiving the step count.
+     */
+    void sortBlock(int[] a, int from, int to, int[] buffer, SortContext context);
+
+    /**
+     * Partitions a[from, to) so that all elements less than the pivot come first.
+     * The order within the two parts is unspecified.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param pivot The pivot value (need not occur in the range).
+     * @param buffer A scratch buffer with at least {@code to - from} elements.
+     * @param context The per-run context receiving the step count.
+     * @return The number of elements less than the pivot.
+     */
+    int partition(int[] a, int from, int to, int pivot, int[] buffer, SortContext context);
+}
@@ -1,13 +1,17 @@
 package sorting.algorithms.project.SortingAlgorithms;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import sorting.algorithms.project.dto.SortStep; // Import SortStep for the callback
 
 /**
  * Defines the common interface for all sorting algorithm implementations.
+ * Every algorithm provides a List-based path (used by the visualizer) and the
+ * primitive {@code int[]} path inherited from {@link IntSortingAlgorithm}.
+ * Implementations are stateless singletons; per-run state lives in a {@link SortContext}.
  */
-public interface SortingAlgorithm {
+public interface SortingAlgorithm extends IntSortingAlgorithm {
 
     /**
      * Gets the display name of the sorting algorithm.
@@ -17,12 +21,22 @@ public interface SortingAlgorithm {
 
     /**
      * Sorts a list of integers and returns a new sorted list.
-     * The input list must not be modified by this method. Implementations
-     * should work on a copy if necessary.
+     * The input list is not modified. The values are copied into a primitive array once
+     * and sorted through {@link #sort(int[])}, so no visualization steps are built and
+     * no boxing happens while sorting.
      * @param input The list of integers to be sorted.
      * @return A new list containing the elements from the input list in sorted order.
      */
-    List<Integer> sort(List<Integer> input);
+    default List<Integer> sort(List<Integer> input) {
+        // Sort a primitive copy of the input.
+        int[] sorted = sort(toIntArray(input));
+        // Box the result once.
+        List<Integer> result = new ArrayList<>(sorted.length);
+        for (int value : sorted) {
+            result.add(value);
+        }
+        return result;
+    }
 
     /**
      * Gets the time complexity of the algorithm in the worst-case scenario.
@@ -43,15 +57,9 @@ public interface SortingAlgorithm {
      */
     default String getBestCase() { return "unknown"; }
 
-    /**
-     * Gets the number of steps (e.g., comparisons, swaps) performed during the
-     * most recent execution of the sort method on this instance.
-     * @return The count of steps. Defaults to 0.
-     */
-    default long getSteps() { return 0; }
-
     /**
      * Gets a default dataset that can be used with this algorithm, typically for demonstration.
+     * Algorithms are stateless, so this never depends on previous runs.
      * @return A list of integers representing a sample dataset.
      */
     default List<Integer> getData() { return List.of(5, 2, 8, 0, 4, 1, 7, 3, 9, 6);}
@@ -60,14 +68,66 @@ public interface SortingAlgorithm {
     /**
      * Sorts a list of integers "in-place" (modifying the input list) and sends
      * each step of the sorting process to a callback consumer for visualization.
+     * If {@code stepCallback} is null, nobody is listening: implementations skip step
+     * construction entirely and sort the list through the primitive path.
      * @param input The list to be sorted (will be modified).
      * @param stepCallback The consumer function that receives SortStep objects
-     * representing the state of the list at each step.
+     * representing the state of the list at each step, or null for no observer.
+     * @param context The per-run context receiving the step count.
+     */
+    default void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Default implementation for algorithms that do not support step-by-step visualization.
+        // Only the initial and the final state are reported.
+        if (stepCallback != null) {
+            stepCallback.accept(new SortStep(new ArrayList<>(input)));
+        }
+        sortInPlace(this, input, context);
+        if (stepCallback != null) {
+            stepCallback.accept(new SortStep(new ArrayList<>(input)));
+        }
+    }
+
+    /**
+     * Sorts a list "in-place" with step reporting, using a fresh context.
+     * @param input The list to be sorted (will be modified).
+     * @param stepCallback The consumer receiving SortStep objects, or null for no observer.
      */
     default void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // Default implementation for algorithms that do not support visualization.
-        // It simply calls the standard sort method, which might not be in-place
-        // depending on the implementation. This should ideally be overridden.
-        sort(input);
+        sortWithCallback(input, stepCallback, new SortContext());
+    }
+
+    /**
+     * Sorts a list in-place through the primitive path of the given algorithm.
+     * The values are unboxed once, sorted, and written back. If the algorithm discards
+     * elements (e.g., StalinSort), the list is shortened accordingly.
+     * @param algorithm The algorithm whose primitive path is used.
+     * @param list The list to be sorted (will be modified).
+     * @param context The per-run context receiving the step count.
+     */
+    static void sortInPlace(IntSortingAlgorithm algorithm, List<Integer> list, SortContext context) {
+        int[] values = toIntArray(list);
+        int end = algorithm.sort(values, 0, values.length, context);
+        // Drop discarded elements, then write the sorted values back.
+        if (end < list.size()) {
+            list.subList(end, list.size()).clear();
+        }
+        for (int i = 0; i < end; i++) {
+            list.set(i, values[i]);
+        }
+    }
+
+    /**
+     * Converts a boxed list of integers into a primitive array.
+     * Null elements are treated as 0.
+     * @param list The list to convert.
+     * @return A new primitive array containing the list's values in order.
+     */
+    static int[] toIntArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        int i = 0;
+        for (Integer value : list) {
+            array[i++] = value != null ? value : 0;
+        }
+        return array;
     }
 }
\ No newline at end of file
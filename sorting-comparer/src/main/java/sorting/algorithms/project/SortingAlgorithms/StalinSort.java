@@ -17,10 +17,6 @@ import sorting.algorithms.project.dto.SortStep;
  */
 @Component
 public class StalinSort implements SortingAlgorithm {
-    // Stores the number of steps (comparisons + removals) performed during the last sort.
-    private long steps;
-    // Stores a copy of the original dataset *before* elements were removed.
-    private List<Integer> dataSet;
 
     /**
      * Returns the name of the sorting algorithm.
@@ -60,41 +56,31 @@ public class StalinSort implements SortingAlgorithm {
     }
 
     /**
-     * Returns the total number of steps performed during the last sort operation.
-     * @return The number of steps.
+     * "Sorts" the range a[from, to) of a primitive array using Stalin Sort.
+     * Kept elements are compacted to the front of the range; the removed ones are
+     * left behind after the returned end index.
+     * @param a The array containing the range to "sort" (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the kept (sorted) elements.
      */
     @Override
-    public long getSteps() {
-        return steps;
-    }
-
-    /**
-     * Returns the original dataset that was provided *before* sorting/element removal.
-     * Returns a default dataset if no sort has been performed yet.
-     * @return The list of integers representing the original dataset.
-     */
-    @Override
-    public List<Integer> getData() {
-        // Ensure dataSet is not null; return default if it is.
-        return dataSet != null ? dataSet : SortingAlgorithm.super.getData();
-    }
-
-    /**
-     * "Sorts" a copy of the input list using the Stalin Sort algorithm.
-     * Important: This method modifies the list size and content by removing elements.
-     * It always works on a copy to avoid modifying the original input list.
-     * @param input The list of integers to "sort".
-     * @return A new list containing the remaining elements after applying Stalin Sort.
-     */
-    @Override
-    public List<Integer> sort(List<Integer> input) {
-        // Important: StalinSort modifies the list by removing elements.
-        // Always create a copy for the 'sort' method to ensure the original isn't changed.
-        List<Integer> copy = new ArrayList<>(input);
-        dataSet = new ArrayList<>(input); // Store the original list before modification.
-        steps = 0;
-        stalinSort(copy, (SortStep step) -> {}); // Operate on the copy.
-        return copy; // Return the modified copy.
+    public int sort(int[] a, int from, int to, SortContext context) {
+        if (to - from <= 1) return to;
+        // Exclusive end of the kept elements; a[end - 1] is the last kept element.
+        int end = from + 1;
+        for (int i = from + 1; i < to; i++) {
+            context.countStep(); // Count the comparison.
+            if (a[i] < a[end - 1]) {
+                context.countStep(); // Count the removal.
+            } else {
+                a[end++] = a[i];
+            }
+        }
+        // A single linear pass, so the budget is checked once at its end.
+        context.checkpoint();
+        return end;
     }
 
     /**
@@ -103,16 +89,18 @@ public class StalinSort implements SortingAlgorithm {
      * Warning: This method modifies the input list directly, including its size.
      * @param input The list of integers to "sort" (will be modified).
      * @param stepCallback A consumer function that accepts SortStep objects for visualization.
+     * @param context The per-run context receiving the step count.
      */
     @Override
-    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback) {
-        // This method modifies the input list directly. Ensure this is the intended behavior.
-        // If not, a copy should be created here as well.
-        dataSet = new ArrayList<>(input); // Store a copy of the original list before modification.
-        steps = 0;
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
         // Send the initial state.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
-        stalinSort(input, stepCallback); // Modifies 'input' directly by removing elements.
+        stalinSort(input, stepCallback, context); // Modifies 'input' directly by removing elements.
         // Send the final state after removals.
         stepCallback.accept(new SortStep(new ArrayList<>(input), Collections.emptySet(), Collections.emptySet()));
     }
@@ -122,8 +110,9 @@ public class StalinSort implements SortingAlgorithm {
      * and removes any element found to be smaller than the element preceding it.
      * @param arr The list to be "sorted" (will be modified, potentially shortened).
      * @param stepCallback The consumer for reporting each step (comparison or removal).
+     * @param context The per-run context receiving the step count.
      */
-    private void stalinSort(List<Integer> arr, Consumer<SortStep> stepCallback) {
+    private void stalinSort(List<Integer> arr, Consumer<SortStep> stepCallback, SortContext context) {
         // If the list is empty, there's nothing to do.
         if (arr.isEmpty()) {
             stepCallback.accept(new SortStep(new ArrayList<>(arr), Collections.emptySet(), Collections.emptySet())); // Send final state
@@ -140,7 +129,7 @@ public class StalinSort implements SortingAlgorithm {
 
             accessed.add(i);     // Current element being checked.
             accessed.add(i - 1); // Previous element for comparison.
-            steps++; // Count the comparison.
+            context.countStep(); // Count the comparison.
 
             // Send the state *before* potential removal. Shows the comparison.
             stepCallback.accept(new SortStep(new ArrayList<>(arr), new HashSet<>(accessed), new HashSet<>(changed)));
@@ -150,7 +139,7 @@ public class StalinSort implements SortingAlgorithm {
                 arr.remove(i); // ...remove the current element.
                 // Important: Do NOT increment 'i'. The element originally at i+1
                 // is now at index 'i' and needs to be compared with arr[i-1] in the next iteration.
-                steps++; // Optionally count the removal as a step.
+                context.countStep(); // Optionally count the removal as a step.
 
                 // Indices from 'i' onwards have effectively shifted. While we don't mark them
                 // 'changed' in the traditional swap sense, the array state reflects the removal.
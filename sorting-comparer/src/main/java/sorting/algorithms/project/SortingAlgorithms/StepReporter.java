@@ -0,0 +1,84 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import sorting.algorithms.project.dto.SortStep;
+
+/**
+ * Reports the operations of an array-based algorithm as visualization steps.
+ * Algorithms that sort a primitive {@code int[]} for both paths pass an instance of this
+ * class to their core in the visual path (and {@code null} in the primitive path). Every
+ * reported write is mirrored into the visualized list before the step is sent, so the list
+ * always shows the current state of the array.
+ */
+final class StepReporter {
+    // The list shown by the visualizer; kept in sync with the sorted array.
+    private final List<Integer> list;
+    // The consumer receiving the steps.
+    private final Consumer<SortStep> callback;
+
+    /**
+     * Creates a reporter for the given list.
+     * @param list The visualized list (will be modified to mirror the array).
+     * @param callback The consumer receiving {@link SortStep} objects.
+     */
+    StepReporter(List<Integer> list, Consumer<SortStep> callback) {
+        this.list = list;
+        this.callback = callback;
+    }
+
+    /**
+     * Reports a comparison of two elements.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    void compared(int i, int j) {
+        callback.accept(new SortStep(new ArrayList<>(list), List.of(i, j), List.of()));
+    }
+
+    /**
+     * Reports a swap of two elements that has already been performed on the array.
+     * @param a The array being sorted.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    void swapped(int[] a, int i, int j) {
+        list.set(i, a[i]);
+        list.set(j, a[j]);
+        callback.accept(new SortStep(new ArrayList<>(list), List.of(i, j), List.of(i, j)));
+    }
+
+    /**
+     * Reports a write of a single element that has already been performed on the array.
+     * @param a The array being sorted.
+     * @param i The index that was written.
+     */
+    void written(int[] a, int i) {
+        list.set(i, a[i]);
+        callback.accept(new SortStep(new ArrayList<>(list), List.of(), List.of(i)));
+    }
+
+    /**
+     * Reports a block write (e.g., an {@code arraycopy}) that has already been performed on the array.
+     * @param a The array being sorted.
+     * @param from The first written index (inclusive).
+     * @param to The last written index (exclusive).
+     */
+    void written(int[] a, int from, int to) {
+        if (from >= to) return;
+        List<Integer> changed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            list.set(i, a[i]);
+            changed.add(i);
+        }
+        callback.accept(new SortStep(new ArrayList<>(list), List.of(), changed));
+    }
+
+    /**
+     * Reports the current state without highlighting any indices (e.g., the initial or final state).
+     */
+    void snapshot() {
+        callback.accept(new SortStep(new ArrayList<>(list)));
+    }
+}
@@ -0,0 +1,709 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.function.Consumer;
+import sorting.algorithms.project.dto.SortStep;
+
+/**
+ * Implements TimSort, a natural merge sort on primitive arrays.
+ * The input is scanned for runs that are already ascending (strictly descending runs are
+ * reversed in-place). Runs shorter than {@code minRun} are extended with binary insertion sort.
+ * The runs are pushed on a stack and merged as soon as their lengths would no longer shrink
+ * like the Fibonacci numbers, which keeps the merges balanced. Merges copy the shorter run into
+ * a scratch buffer and switch to galloping (exponential search) when one run keeps winning.
+ * On sorted input the whole array is a single run and is finished after n - 1 comparisons;
+ * on partly sorted input (e.g. the "halfSorted" dataset) the long runs are merged almost for free.
+ */
+@Component
+public class TimSort implements SortingAlgorithm {
+    // Ranges shorter than this are sorted by binary insertion sort alone; also the upper bound for minRun.
+    private static final int MIN_MERGE = 32;
+    // Initial number of consecutive wins after which a merge switches to galloping.
+    private static final int MIN_GALLOP = 7;
+    // Maximum height of the run stack; enough for any array length (see the merge invariants).
+    private static final int MAX_STACK = 49;
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "TimSort".
+     */
+    @Override
+    public String getName() {
+        return "TimSort";
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n), when the input is already sorted (or reversed).
+     * @return The string "O(n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array using TimSort.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        timSort(a, from, to, context, null);
+        return to;
+    }
+
+    /**
+     * Sorts the input list in-place using TimSort and reports every comparison and write.
+     * The list is sorted as a primitive array by the same code as the non-visual path;
+     * every change is mirrored back into the list before the step is reported.
+     * @param input The list to be sorted (will be modified).
+     * @param stepCallback A consumer for reporting {@link SortStep} for visualization.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortWithCallback(List<Integer> input, Consumer<SortStep> stepCallback, SortContext context) {
+        // Without an observer, skip step construction and sort through the primitive path.
+        if (stepCallback == null) {
+            SortingAlgorithm.sortInPlace(this, input, context);
+            return;
+        }
+        StepReporter reporter = new StepReporter(input, stepCallback);
+        // Send initial state.
+        reporter.snapshot();
+        timSort(SortingAlgorithm.toIntArray(input), 0, input.size(), context, reporter);
+        // Send final sorted state.
+        reporter.snapshot();
+    }
+
+    /**
+     * Sorts a[lo, hi): detects the runs, extends short ones to minRun and merges them.
+     * @param a The array to sort.
+     * @param lo The first index of the range (inclusive).
+     * @param hi The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void timSort(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        int remaining = hi - lo;
+        if (remaining < 2) return;
+
+        // Small ranges: a single run extended by binary insertion sort, no merging.
+        if (remaining < MIN_MERGE) {
+            int runLen = countRunAndMakeAscending(a, lo, hi, context, reporter);
+            binarySort(a, lo, hi, lo + runLen, context, reporter);
+            return;
+        }
+
+        Merger merger = new Merger(a, context, reporter);
+        int minRun = minRunLength(remaining);
+        do {
+            // Stop between runs if the run was cancelled.
+            context.checkpoint();
+            // Find the next natural run and extend it to minRun if it is too short.
+            int runLen = countRunAndMakeAscending(a, lo, hi, context, reporter);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binarySort(a, lo, lo + force, lo + runLen, context, reporter);
+                runLen = force;
+            }
+            // Push the run and merge until the stack invariants hold again.
+            merger.pushRun(lo, runLen);
+            merger.mergeCollapse();
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+
+        // Merge all remaining runs into one.
+        merger.mergeForceCollapse();
+    }
+
+    /**
+     * Computes the minimum run length: a value in [MIN_MERGE / 2, MIN_MERGE] such that
+     * n / minRun is a power of two or slightly less, so the final merges are balanced.
+     * @param n The length of the range.
+     * @return The minimum run length.
+     */
+    static int minRunLength(int n) {
+        int r = 0; // Becomes 1 if any bit shifted out is set.
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Returns the length of the run starting at a[lo]. A run is either non-descending or strictly
+     * descending; descending runs are reversed, so the run is ascending afterwards. Keeping the
+     * descending case strict preserves the stability of the sort.
+     * @param a The array.
+     * @param lo The first index of the run.
+     * @param hi The end of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     * @return The length of the run (at least 1).
+     */
+    private static int countRunAndMakeAscending(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+
+        context.countStep(); // Count the comparison.
+        if (reporter != null) reporter.compared(lo, runHi);
+        if (a[runHi++] < a[lo]) {
+            // Strictly descending: extend, then reverse.
+            while (runHi < hi && a[runHi] < a[runHi - 1]) {
+                context.countStep(); // Count the comparison.
+                runHi++;
+            }
+            if (runHi < hi) context.countStep(); // Count the comparison that ended the run.
+            reverseRange(a, lo, runHi, context, reporter);
+        } else {
+            // Non-descending: extend.
+            while (runHi < hi && a[runHi] >= a[runHi - 1]) {
+                context.countStep(); // Count the comparison.
+                runHi++;
+            }
+            if (runHi < hi) context.countStep(); // Count the comparison that ended the run.
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * Reverses a[lo, hi) in-place.
+     * @param a The array.
+     * @param lo The first index (inclusive).
+     * @param hi The end index (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void reverseRange(int[] a, int lo, int hi, SortContext context, StepReporter reporter) {
+        hi--;
+        while (lo < hi) {
+            int temp = a[lo];
+            a[lo] = a[hi];
+            a[hi] = temp;
+            context.countStep(); // Count the swap.
+            if (reporter != null) reporter.swapped(a, lo, hi);
+            lo++;
+            hi--;
+        }
+    }
+
+    /**
+     * Sorts a[lo, hi) with binary insertion sort, given that a[lo, start) is already sorted.
+     * Binary search keeps the number of comparisons at O(n log n); the shifts are block copies.
+     * @param a The array.
+     * @param lo The first index of the range (inclusive).
+     * @param hi The end of the range (exclusive).
+     * @param start The first index that is not yet known to be sorted.
+     * @param context The per-run context receiving the step count.
+     * @param reporter The step reporter, or null in the non-visual path.
+     */
+    private static void binarySort(int[] a, int lo, int hi, int start, SortContext context, StepReporter reporter) {
+        if (start == lo) start++;
+        for (; start < hi; start++) {
+            int pivot = a[start];
+            // Find the insertion point; equal elements stay in front of the pivot (stable).
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                context.countStep(); // Count the comparison.
+                if (reporter != null) reporter.compared(start, mid);
+                if (pivot < a[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            // Shift a[left, start) one position to the right and insert the pivot.
+            int n = start - left;
+            if (n == 0) continue;
+            System.arraycopy(a, left, a, left + 1, n);
+            a[left] = pivot;
+            context.addSteps(n + 1); // Count the shifts and the insertion.
+            if (reporter != null) reporter.written(a, left, start + 1);
+        }
+    }
+
+    /**
+     * Holds the state of one TimSort run: the stack of pending runs, the adaptive galloping
+     * threshold and the merge buffer. A new instance is created for every sort, so concurrent
+     * runs never share state.
+     */
+    private static final class Merger {
+        // The array being sorted.
+        private final int[] a;
+        // The per-run context receiving the step count and providing the merge buffer.
+        private final SortContext context;
+        // The step reporter, or null in the non-visual path.
+        private final StepReporter reporter;
+        // Start index and length of every pending run; run i+1 directly follows run i.
+        private final int[] runBase = new int[MAX_STACK];
+        private final int[] runLen = new int[MAX_STACK];
+        // Number of pending runs.
+        private int stackSize = 0;
+        // Adaptive galloping threshold: lowered while galloping pays off, raised when it does not.
+        private int minGallop = MIN_GALLOP;
+
+        /**
+         * Creates the merge state for one sort.
+         * @param a The array being sorted.
+         * @param context The per-run context.
+         * @param reporter The step reporter, or null in the non-visual path.
+         */
+        Merger(int[] a, SortContext context, StepReporter reporter) {
+            this.a = a;
+            this.context = context;
+            this.reporter = reporter;
+        }
+
+        /**
+         * Pushes a run on the stack of pending runs.
+         * @param base The first index of the run.
+         * @param len The length of the run.
+         */
+        void pushRun(int base, int len) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = len;
+            stackSize++;
+        }
+
+        /**
+         * Merges adjacent runs until the stack invariants hold again (checked for the top four runs):
+         * runLen[i - 2] > runLen[i - 1] + runLen[i] and runLen[i - 1] > runLen[i].
+         * The lengths then grow at least like the Fibonacci numbers, which bounds the stack height.
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    // Merge the middle run with the shorter of its neighbours.
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break; // The invariants hold.
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges all runs on the stack into one; called once at the end.
+         */
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at stack positions i and i + 1. Elements of the first run that are not
+         * larger than the first element of the second run, and elements of the second run that are
+         * not smaller than the last element of the first run, are already in place and are skipped.
+         * @param i The stack position of the first run (the second or third run from the top).
+         */
+        private void mergeAt(int i) {
+            // Stop before each merge if the run was cancelled.
+            context.checkpoint();
+            int base1 = runBase[i];
+            int len1 = runLen[i];
+            int base2 = runBase[i + 1];
+            int len2 = runLen[i + 1];
+
+            // Record the merged run; if i is the third run from the top, slide the top run down.
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Skip the prefix of run 1 that is already in place.
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Skip the suffix of run 2 that is already in place.
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            // Copy the shorter run into the buffer.
+            if (len1 <= len2) {
+                mergeLo(base1, len1, base2, len2);
+            } else {
+                mergeHi(base1, len1, base2, len2);
+            }
+        }
+
+        /**
+         * Finds the position at which to insert key into the sorted range arr[base, base + len),
+         * left of any equal elements. The search starts at base + hint and gallops
+         * (offsets 1, 3, 7, ...) before finishing with binary search.
+         * @param key The key to insert.
+         * @param arr The array holding the range.
+         * @param base The first index of the range.
+         * @param len The length of the range (> 0).
+         * @param hint The index relative to base at which to start (0 <= hint < len).
+         * @return The number k such that arr[base + k - 1] < key <= arr[base + k].
+         */
+        private int gallopLeft(int key, int[] arr, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+            context.countStep(); // Count the comparison.
+            if (key > arr[base + hint]) {
+                // Gallop right until arr[base + hint + lastOfs] < key <= arr[base + hint + ofs].
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key > arr[base + hint + ofs]) {
+                    context.countStep(); // Count the comparison.
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs; // Overflow.
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            } else {
+                // Gallop left until arr[base + hint - ofs] < key <= arr[base + hint - lastOfs].
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key <= arr[base + hint - ofs]) {
+                    context.countStep(); // Count the comparison.
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs; // Overflow.
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int temp = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - temp;
+            }
+            // Binary search in (lastOfs, ofs].
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                context.countStep(); // Count the comparison.
+                if (key > arr[base + m]) {
+                    lastOfs = m + 1;
+                } else {
+                    ofs = m;
+                }
+            }
+            return ofs;
+        }
+
+        /**
+         * Like {@link #gallopLeft}, but returns the position right of any equal elements.
+         * @param key The key to insert.
+         * @param arr The array holding the range.
+         * @param base The first index of the range.
+         * @param len The length of the range (> 0).
+         * @param hint The index relative to base at which to start (0 <= hint < len).
+         * @return The number k such that arr[base + k - 1] <= key < arr[base + k].
+         */
+        private int gallopRight(int key, int[] arr, int base, int len, int hint) {
+            int lastOfs = 0;
+            int ofs = 1;
+            context.countStep(); // Count the comparison.
+            if (key < arr[base + hint]) {
+                // Gallop left until arr[base + hint - ofs] <= key < arr[base + hint - lastOfs].
+                int maxOfs = hint + 1;
+                while (ofs < maxOfs && key < arr[base + hint - ofs]) {
+                    context.countStep(); // Count the comparison.
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs; // Overflow.
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                int temp = lastOfs;
+                lastOfs = hint - ofs;
+                ofs = hint - temp;
+            } else {
+                // Gallop right until arr[base + hint + lastOfs] <= key < arr[base + hint + ofs].
+                int maxOfs = len - hint;
+                while (ofs < maxOfs && key >= arr[base + hint + ofs]) {
+                    context.countStep(); // Count the comparison.
+                    lastOfs = ofs;
+                    ofs = (ofs << 1) + 1;
+                    if (ofs <= 0) ofs = maxOfs; // Overflow.
+                }
+                if (ofs > maxOfs) ofs = maxOfs;
+                lastOfs += hint;
+                ofs += hint;
+            }
+            // Binary search in (lastOfs, ofs].
+            lastOfs++;
+            while (lastOfs < ofs) {
+                int m = lastOfs + ((ofs - lastOfs) >>> 1);
+                context.countStep(); // Count the comparison.
+                if (key < arr[base + m]) {
+                    ofs = m;
+                } else {
+                    lastOfs = m + 1;
+                }
+            }
+            return ofs;
+        }
+
+        /**
+         * Merges two adjacent runs from left to right, with the first (shorter) run copied into the
+         * buffer. Requires a[base1] > a[base2] and that the last element of run 1 is larger than
+         * every element of run 2 (both ensured by {@link #mergeAt}).
+         * @param base1 The first index of run 1.
+         * @param len1 The length of run 1 (> 0).
+         * @param base2 The first index of run 2 (== base1 + len1).
+         * @param len2 The length of run 2 (> 0).
+         */
+        private void mergeLo(int base1, int len1, int base2, int len2) {
+            int[] a = this.a;
+            int[] tmp = context.scratch(len1);
+            System.arraycopy(a, base1, tmp, 0, len1);
+            context.addSteps(len1); // Count the copies into the buffer.
+            int cursor1 = 0;     // Next element of run 1 (in the buffer).
+            int cursor2 = base2; // Next element of run 2 (in the array).
+            int dest = base1;    // Next position to write.
+
+            // The first element of run 2 is the smallest one.
+            a[dest++] = a[cursor2++];
+            written(dest - 1);
+            if (--len2 == 0) {
+                copyBack(tmp, cursor1, dest, len1);
+                return;
+            }
+            if (len1 == 1) {
+                moveBlock(cursor2, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+                written(dest + len2);
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0; // Number of consecutive wins of run 1.
+                int count2 = 0; // Number of consecutive wins of run 2.
+
+                // Merge one element at a time until one run starts winning consistently.
+                do {
+                    context.countStep(); // Count the comparison.
+                    if (a[cursor2] < tmp[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        written(dest - 1);
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    } else {
+                        a[dest++] = tmp[cursor1++];
+                        written(dest - 1);
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // Gallop: copy whole blocks while galloping finds long stretches.
+                do {
+                    count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        copyBack(tmp, cursor1, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    written(dest - 1);
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        moveBlock(cursor2, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) break outer;
+                    }
+                    a[dest++] = tmp[cursor1++];
+                    written(dest - 1);
+                    if (--len1 == 1) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                // Galloping stopped paying off: make it harder to enter again.
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len1 == 1) {
+                // The rest of run 2 comes before the last element of run 1.
+                moveBlock(cursor2, dest, len2);
+                a[dest + len2] = tmp[cursor1];
+                written(dest + len2);
+            } else {
+                // Run 2 is exhausted: the rest of run 1 goes to the end.
+                copyBack(tmp, cursor1, dest, len1);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs from right to left, with the second (shorter) run copied into the
+         * buffer. Same preconditions as {@link #mergeLo}.
+         * @param base1 The first index of run 1.
+         * @param len1 The length of run 1 (> 0).
+         * @param base2 The first index of run 2 (== base1 + len1).
+         * @param len2 The length of run 2 (> 0).
+         */
+        private void mergeHi(int base1, int len1, int base2, int len2) {
+            int[] a = this.a;
+            int[] tmp = context.scratch(len2);
+            System.arraycopy(a, base2, tmp, 0, len2);
+            context.addSteps(len2); // Count the copies into the buffer.
+            int cursor1 = base1 + len1 - 1; // Next element of run 1 (in the array).
+            int cursor2 = len2 - 1;         // Next element of run 2 (in the buffer).
+            int dest = base2 + len2 - 1;    // Next position to write.
+
+            // The last element of run 1 is the largest one.
+            a[dest--] = a[cursor1--];
+            written(dest + 1);
+            if (--len1 == 0) {
+                copyBack(tmp, 0, dest - (len2 - 1), len2);
+                return;
+            }
+            if (len2 == 1) {
+                dest -= len1;
+                cursor1 -= len1;
+                moveBlock(cursor1 + 1, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+                written(dest);
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0; // Number of consecutive wins of run 1.
+                int count2 = 0; // Number of consecutive wins of run 2.
+
+                // Merge one element at a time until one run starts winning consistently.
+                do {
+                    context.countStep(); // Count the comparison.
+                    if (tmp[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        written(dest + 1);
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    } else {
+                        a[dest--] = tmp[cursor2--];
+                        written(dest + 1);
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) break outer;
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // Gallop: copy whole blocks while galloping finds long stretches.
+                do {
+                    count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        moveBlock(cursor1 + 1, dest + 1, count1);
+                        if (len1 == 0) break outer;
+                    }
+                    a[dest--] = tmp[cursor2--];
+                    written(dest + 1);
+                    if (--len2 == 1) break outer;
+
+                    count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        copyBack(tmp, cursor2 + 1, dest + 1, count2);
+                        if (len2 <= 1) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    written(dest + 1);
+                    if (--len1 == 0) break outer;
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                // Galloping stopped paying off: make it harder to enter again.
+                if (minGallop < 0) minGallop = 0;
+                minGallop += 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (len2 == 1) {
+                // The rest of run 1 comes after the first element of run 2.
+                dest -= len1;
+                cursor1 -= len1;
+                moveBlock(cursor1 + 1, dest + 1, len1);
+                a[dest] = tmp[cursor2];
+                written(dest);
+            } else {
+                // Run 1 is exhausted: the rest of run 2 goes to the front.
+                copyBack(tmp, 0, dest - (len2 - 1), len2);
+            }
+        }
+
+        /**
+         * Copies a block from the buffer into the array and counts (and reports) the writes.
+         * @param tmp The buffer.
+         * @param src The first index in the buffer.
+         * @param dest The first index in the array.
+         * @param len The number of elements.
+         */
+        private void copyBack(int[] tmp, int src, int dest, int len) {
+            System.arraycopy(tmp, src, a, dest, len);
+            context.addSteps(len); // Count the writes.
+            if (reporter != null) reporter.written(a, dest, dest + len);
+        }
+
+        /**
+         * Moves a block within the array and counts (and reports) the writes.
+         * @param src The first source index.
+         * @param dest The first destination index.
+         * @param len The number of elements.
+         */
+        private void moveBlock(int src, int dest, int len) {
+            System.arraycopy(a, src, a, dest, len);
+            context.addSteps(len); // Count the writes.
+            if (reporter != null) reporter.written(a, dest, dest + len);
+        }
+
+        /**
+         * Counts (and reports) a single write to the array.
+         * @param i The index that was written.
+         */
+        private void written(int i) {
+            context.countStep(); // Count the write.
+            if (reporter != null) reporter.written(a, i);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+/**
+ * Implements a QuickSort whose inner loops are SIMD kernels on the incubating Vector API:
+ * ranges are partitioned a vector at a time and small ranges are sorted by a bitonic sorting network
+ * (see {@link VectorSortKernels}). The same algorithm is also registered with scalar kernels
+ * ({@link ScalarSortKernels}) as "VectorQuickSortScalar", so the two entries differ only in the
+ * instruction set and the SIMD speedup can be read off a comparison directly.
+ * <p>
+ * The Vector API is only available if the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} (configured for the Maven build, tests and
+ * {@code spring-boot:run}); otherwise "VectorQuickSort" runs with the scalar kernels as well.
+ * Like IntroSort, it switches to {@link HeapSort} after 2 * log2(n) partitioning levels.
+ * The visualizer only shows the initial and the final state.
+ */
+public class VectorQuickSort implements SortingAlgorithm {
+    // The fallback for ranges where partitioning degenerates.
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    // The kernels performing the partitioning and the small-block sorting.
+    private final SortKernels kernels;
+    // The registered name; depends on the requested kernels, not the ones available.
+    private final String name;
+
+    /**
+     * Creates the algorithm.
+     * @param vectorized Whether to use the SIMD kernels (if the Vector API is available) or the scalar ones.
+     */
+    public VectorQuickSort(boolean vectorized) {
+        this.kernels = vectorized ? SortKernels.vectorOrScalar() : new ScalarSortKernels();
+        this.name = vectorized ? "VectorQuickSort" : "VectorQuickSortScalar";
+    }
+
+    /**
+     * Returns the name of the sorting algorithm.
+     * @return The string "VectorQuickSort", or "VectorQuickSortScalar" for the scalar variant.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether this instance actually runs SIMD kernels.
+     * @return true if the vectorized variant was requested and the Vector API is available.
+     */
+    public boolean isVectorized() {
+        return kernels.isVectorized();
+    }
+
+    /**
+     * Returns the worst-case time complexity. O(n log n) due to the HeapSort fallback.
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getWorstCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the average-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getAverageCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Returns the best-case time complexity. O(n log n).
+     * @return The string "O(n log n)".
+     */
+    @Override
+    public String getBestCase() {
+        return "O(n log n)";
+    }
+
+    /**
+     * Sorts the range a[from, to) of a primitive array. The kernels partition out-of-place into
+     * the context's scratch buffer and copy the result back.
+     * @param a The array containing the range to sort (will be modified).
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param context The per-run context receiving the step count.
+     * @return The exclusive end of the sorted range (always {@code to}).
+     */
+    @Override
+    public int sort(int[] a, int from, int to, SortContext context) {
+        int n = to - from;
+        if (n <= 1) return to;
+        int[] buffer = context.scratch(Math.max(n, kernels.blockSize()));
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        quickSort(a, from, to, depth, buffer, context);
+        return to;
+    }
+
+    /**
+     * Sorts a[from, to). Recurses into the smaller part and loops on the larger one.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param depth The remaining number of partitioning levels before switching to HeapSort.
+     * @param buffer The scratch buffer for the kernels.
+     * @param context The per-run context receiving the step count.
+     */
+    private void quickSort(int[] a, int from, int to, int depth, int[] buffer, SortContext context) {
+        while (to - from > kernels.blockSize()) {
+            // Stop here if the run was cancelled.
+            context.checkpoint();
+            if (depth-- == 0) {
+                HEAP_SORT.sort(a, from, to, context);
+                return;
+            }
+            int n = to - from;
+            int pivot = median3(a[from + n / 4], a[from + n / 2], a[from + 3 * n / 4]);
+            context.addSteps(3); // Count the comparisons.
+            int mid = from + kernels.partition(a, from, to, pivot, buffer, context);
+            if (mid == from) {
+                // The pivot is the smallest value: split off all copies of it, they are in place.
+                if (pivot == Integer.MAX_VALUE) return;
+                from += kernels.partition(a, from, to, pivot + 1, buffer, context);
+                continue;
+            }
+            // Both parts are non-empty: the right part holds at least the sampled pivot.
+            if (mid - from < to - mid) {
+                quickSort(a, from, mid, depth, buffer, context);
+                from = mid;
+            } else {
+                quickSort(a, mid, to, depth, buffer, context);
+                to = mid;
+            }
+        }
+        kernels.sortBlock(a, from, to, buffer, context);
+    }
+
+    /**
+     * Returns the median of three values.
+     * @param x The first value.
+     * @param y The second value.
+     * @param z The third value.
+     * @return The median.
+     */
+    private static int median3(int x, int y, int z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+}
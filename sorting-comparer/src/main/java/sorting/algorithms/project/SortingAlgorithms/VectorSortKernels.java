@@ -0,0 +1,240 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the {@link VectorQuickSort} kernels on the incubating Vector API.
+ * This is the only class that references {@code jdk.incubator.vector}; it is loaded only if the
+ * module is present (see {@link SortKernels#vectorOrScalar()}).
+ * <ul>
+ *     <li>Blocks of 4 vectors are sorted by a bitonic sorting network: compare-exchanges between
+ *     vectors are a lane-wise min/max, those within a vector swap lanes with a shuffle and pick
+ *     min or max per lane with a precomputed mask.</li>
+ *     <li>Partitioning compares a whole vector with the pivot, packs the lanes that are less than
+ *     the pivot to the front with a shuffle from a lookup table (indexed by the comparison mask)
+ *     and stores the packed vector at both the left and the right cursor of the output buffer.</li>
+ * </ul>
+ * Vectors are at most 256 bits (8 lanes) wide, which keeps the packing table at 256 entries.
+ */
+final class VectorSortKernels implements SortKernels {
+    // The vector shape: the preferred one, capped at 8 int lanes.
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED.length() > 8
+            ? IntVector.SPECIES_256 : IntVector.SPECIES_PREFERRED;
+    // Number of int lanes per vector.
+    private static final int LANES = SPECIES.length();
+    // Number of elements sorted by the bitonic network (4 vectors).
+    private static final int BLOCK_SIZE = 4 * LANES;
+    // Number of compare-exchanges of the network, counted as steps.
+    private static final int COMPARATORS;
+    // The stages of the network: compare elements e and e ^ STAGE_J[s] within bitonic sequences of STAGE_K[s].
+    private static final int[] STAGE_K;
+    private static final int[] STAGE_J;
+    // For stages within a vector: per vector, the lanes that take the maximum of their pair.
+    private static final VectorMask<Integer>[][] STAGE_MASKS;
+    // SWAPS[log2(j)] exchanges lanes i and i ^ j.
+    private static final VectorShuffle<Integer>[] SWAPS;
+    // PACK[m] moves the lanes set in m to the front, keeping the others behind them.
+    private static final VectorShuffle<Integer>[] PACK;
+    // Lane i holds 1 << i; summing the lanes selected by a mask yields the mask's bits.
+    // (VectorMask.toLong() is not intrinsified on JDK 17 and would box the mask.)
+    private static final IntVector ZERO = IntVector.zero(SPECIES);
+    private static final IntVector LANE_BITS = IntVector.broadcast(SPECIES, 1)
+            .lanewise(VectorOperators.LSHL, IntVector.zero(SPECIES).addIndex(1));
+
+    static {
+        int log = Integer.numberOfTrailingZeros(BLOCK_SIZE);
+        int stages = log * (log + 1) / 2;
+        STAGE_K = new int[stages];
+        STAGE_J = new int[stages];
+        @SuppressWarnings("unchecked")
+        VectorMask<Integer>[][] masks = new VectorMask[stages][];
+        int s = 0;
+        for (int k = 2; k <= BLOCK_SIZE; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                STAGE_K[s] = k;
+                STAGE_J[s] = j;
+                if (j < LANES) {
+                    masks[s] = new VectorMask[4];
+                    for (int r = 0; r < 4; r++) {
+                        boolean[] takeMax = new boolean[LANES];
+                        for (int lane = 0; lane < LANES; lane++) {
+                            int e = r * LANES + lane;
+                            // The lower element of a pair takes the minimum in ascending sequences.
+                            takeMax[lane] = ((e & j) == 0) != ((e & k) == 0);
+                        }
+                        masks[s][r] = VectorMask.fromArray(SPECIES, takeMax, 0);
+                    }
+                }
+                s++;
+            }
+        }
+        STAGE_MASKS = masks;
+        COMPARATORS = stages * BLOCK_SIZE / 2;
+
+        @SuppressWarnings("unchecked")
+        VectorShuffle<Integer>[] swaps = new VectorShuffle[Integer.numberOfTrailingZeros(LANES)];
+        for (int b = 0; b < swaps.length; b++) {
+            int j = 1 << b;
+            swaps[b] = VectorShuffle.fromOp(SPECIES, lane -> lane ^ j);
+        }
+        SWAPS = swaps;
+
+        @SuppressWarnings("unchecked")
+        VectorShuffle<Integer>[] pack = new VectorShuffle[1 << LANES];
+        int[] order = new int[LANES];
+        for (int m = 0; m < pack.length; m++) {
+            int next = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((m & (1 << lane)) != 0) order[next++] = lane;
+            }
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((m & (1 << lane)) == 0) order[next++] = lane;
+            }
+            pack[m] = VectorShuffle.fromArray(SPECIES, order, 0);
+        }
+        PACK = pack;
+    }
+
+    /**
+     * Returns the largest range that {@link #sortBlock} sorts.
+     * @return Four times the number of lanes (32 with 256-bit vectors).
+     */
+    @Override
+    public int blockSize() {
+        return BLOCK_SIZE;
+    }
+
+    /**
+     * Returns whether these kernels use SIMD instructions.
+     * @return true.
+     */
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    /**
+     * Sorts a small range with the bitonic network. The range is copied into the buffer and padded
+     * with {@code Integer.MAX_VALUE}, so the padding ends up behind the sorted elements.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param buffer A scratch buffer with at least {@link #blockSize()} elements.
+     * @param context The per-run context receiving the step count.
+     */
+    @Override
+    public void sortBlock(int[] a, int from, int to, int[] buffer, SortContext context) {
+        int n = to - from;
+        if (n < 2) return;
+        System.arraycopy(a, from, buffer, 0, n);
+        Arrays.fill(buffer, n, BLOCK_SIZE, Integer.MAX_VALUE);
+        IntVector v0 = IntVector.fromArray(SPECIES, buffer, 0);
+        IntVector v1 = IntVector.fromArray(SPECIES, buffer, LANES);
+        IntVector v2 = IntVector.fromArray(SPECIES, buffer, 2 * LANES);
+        IntVector v3 = IntVector.fromArray(SPECIES, buffer, 3 * LANES);
+
+        for (int s = 0; s < STAGE_K.length; s++) {
+            int k = STAGE_K[s];
+            int j = STAGE_J[s];
+            if (j == 2 * LANES) {
+                // Pairs of vectors (0, 2) and (1, 3); only occurs in the last merge, which is ascending.
+                IntVector lo = v0.min(v2);
+                IntVector hi = v0.max(v2);
+                v0 = lo;
+                v2 = hi;
+                lo = v1.min(v3);
+                hi = v1.max(v3);
+                v1 = lo;
+                v3 = hi;
+            } else if (j == LANES) {
+                // Pairs of vectors (0, 1) and (2, 3); the second pair is descending while k == 2 * LANES.
+                IntVector lo = v0.min(v1);
+                IntVector hi = v0.max(v1);
+                v0 = lo;
+                v1 = hi;
+                lo = v2.min(v3);
+                hi = v2.max(v3);
+                boolean ascending = (2 * LANES & k) == 0;
+                v2 = ascending ? lo : hi;
+                v3 = ascending ? hi : lo;
+            } else {
+                // Pairs of lanes within every vector.
+                VectorShuffle<Integer> swap = SWAPS[Integer.numberOfTrailingZeros(j)];
+                VectorMask<Integer>[] masks = STAGE_MASKS[s];
+                v0 = exchange(v0, swap, masks[0]);
+                v1 = exchange(v1, swap, masks[1]);
+                v2 = exchange(v2, swap, masks[2]);
+                v3 = exchange(v3, swap, masks[3]);
+            }
+        }
+
+        v0.intoArray(buffer, 0);
+        v1.intoArray(buffer, LANES);
+        v2.intoArray(buffer, 2 * LANES);
+        v3.intoArray(buffer, 3 * LANES);
+        System.arraycopy(buffer, 0, a, from, n);
+        context.addSteps(COMPARATORS);
+    }
+
+    /**
+     * Compare-exchanges every lane with its partner lane.
+     * @param v The vector.
+     * @param swap The shuffle moving every lane to its partner.
+     * @param takeMax The lanes that receive the maximum of their pair.
+     * @return The vector after the compare-exchange.
+     */
+    private static IntVector exchange(IntVector v, VectorShuffle<Integer> swap, VectorMask<Integer> takeMax) {
+        IntVector partner = v.rearrange(swap);
+        return v.min(partner).blend(v.max(partner), takeMax);
+    }
+
+    /**
+     * Partitions the range into the buffer, one vector at a time, and copies it back.
+     * Both stores of a packed vector write all lanes; the lanes beyond the cursor are overwritten
+     * later, which is safe as long as at least two vectors of the range are unprocessed. The rest
+     * is partitioned by the branch-free scalar loop.
+     * @param a The array.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param pivot The pivot value.
+     * @param buffer A scratch buffer with at least {@code to - from} elements.
+     * @param context The per-run context receiving the step count.
+     * @return The number of elements less than the pivot.
+     */
+    @Override
+    public int partition(int[] a, int from, int to, int pivot, int[] buffer, SortContext context) {
+        int n = to - from;
+        int left = 0;
+        int right = n;
+        int i = from;
+        IntVector pivots = IntVector.broadcast(SPECIES, pivot);
+        // Invariant: right - left == to - i (the number of unprocessed elements).
+        for (; right - left >= 2 * LANES; i += LANES) {
+            IntVector v = IntVector.fromArray(SPECIES, a, i);
+            // The bits of the comparison mask, gathered with a lane-wise sum (avoids boxing the mask).
+            int bits = ZERO.blend(LANE_BITS, v.lt(pivots)).reduceLanes(VectorOperators.ADD);
+            int count = Integer.bitCount(bits);
+            IntVector packed = v.rearrange(PACK[bits]);
+            packed.intoArray(buffer, left);
+            packed.intoArray(buffer, right - LANES);
+            left += count;
+            right -= LANES - count;
+        }
+        for (; i < to; i++) {
+            int value = a[i];
+            buffer[left] = value;
+            buffer[right - 1] = value;
+            int lessThan = value < pivot ? 1 : 0;
+            left += lessThan;
+            right -= 1 - lessThan;
+        }
+        System.arraycopy(buffer, 0, a, from, n);
+        context.addSteps(3L * n); // Count the comparison, the write and the copy back per element.
+        return left;
+    }
+}
@@ -0,0 +1,70 @@
+package sorting.algorithms.project.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sorting.algorithms.project.SortingAlgorithms.DualPivotQuickSort;
+import sorting.algorithms.project.SortingAlgorithms.PivotStrategy;
+import sorting.algorithms.project.SortingAlgorithms.VectorQuickSort;
+
+/**
+ * Registers algorithm variants that differ only in a constructor parameter.
+ * Plain algorithms register themselves with {@code @Component}; the variants here
+ * get one bean each, so every variant appears under its own name in the registry.
+ */
+@Configuration
+public class AlgorithmConfig {
+
+    /**
+     * Dual-Pivot QuickSort with the pivots taken from the ends of each range.
+     * @return The algorithm registered as "DualPivotQuickSortLast".
+     */
+    @Bean
+    public DualPivotQuickSort dualPivotQuickSortLast() {
+        return new DualPivotQuickSort(PivotStrategy.LAST);
+    }
+
+    /**
+     * Dual-Pivot QuickSort with randomly chosen pivots.
+     * @return The algorithm registered as "DualPivotQuickSortRandom".
+     */
+    @Bean
+    public DualPivotQuickSort dualPivotQuickSortRandom() {
+        return new DualPivotQuickSort(PivotStrategy.RANDOM);
+    }
+
+    /**
+     * Dual-Pivot QuickSort with median-of-3 sampled pivots.
+     * @return The algorithm registered as "DualPivotQuickSortMedian3".
+     */
+    @Bean
+    public DualPivotQuickSort dualPivotQuickSortMedian3() {
+        return new DualPivotQuickSort(PivotStrategy.MEDIAN_OF_3);
+    }
+
+    /**
+     * Dual-Pivot QuickSort with ninther sampled pivots.
+     * @return The algorithm registered as "DualPivotQuickSortNinther".
+     */
+    @Bean
+    public DualPivotQuickSort dualPivotQuickSortNinther() {
+        return new DualPivotQuickSort(PivotStrategy.NINTHER);
+    }
+
+    /**
+     * QuickSort with SIMD partitioning and bitonic small-block sorting (Vector API).
+     * @return The algorithm registered as "VectorQuickSort".
+     */
+    @Bean
+    public VectorQuickSort vectorQuickSort() {
+        return new VectorQuickSort(true);
+    }
+
+    /**
+     * The same QuickSort with scalar kernels, as the baseline for the SIMD variant.
+     * @return The algorithm registered as "VectorQuickSortScalar".
+     */
+    @Bean
+    public VectorQuickSort vectorQuickSortScalar() {
+        return new VectorQuickSort(false);
+    }
+}
@@ -0,0 +1,138 @@
+package sorting.algorithms.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configures the thread pools used to run sorting algorithms off the request threads.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    // Runs a rejected task on the submitting thread while the pool is alive; CallerRunsPolicy would
+    // silently discard it after a shutdown and leave its future incomplete forever.
+    private static final RejectedExecutionHandler CALLER_RUNS_UNLESS_SHUT_DOWN = (task, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The compare pool is shut down");
+        }
+        task.run();
+    };
+
+    /**
+     * Creates the bounded compute pool used by parallel compare requests.
+     * The pool has a fixed number of threads and a bounded queue; when the queue is full,
+     * the submitting request thread runs the task itself, which throttles new work
+     * instead of piling up sorting tasks in memory. Once the pool is shut down, submissions
+     * are rejected with an exception, so a compare fails instead of waiting for a task that never runs.
+     * @param threads The number of compute threads (0 or less means one per CPU core).
+     * @param queueCapacity The maximum number of waiting tasks.
+     * @return The executor service, shut down together with the application context.
+     */
+    @Bean(name = "compareExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService compareExecutor(
+            @Value("${sorting.compare.threads:0}") int threads,
+            @Value("${sorting.compare.queue-capacity:256}") int queueCapacity) {
+        // Sorting is CPU-bound, so more threads than cores would only add contention.
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                namedDaemonThreads("compare-"),
+                CALLER_RUNS_UNLESS_SHUT_DOWN);
+    }
+
+    /**
+     * Creates the pool running asynchronous compare jobs. Waiting jobs are ordered by the queue's
+     * natural order, so the tasks passed to {@code execute} must be {@link Comparable}
+     * (see {@code CompareJobService}); the job service limits how many jobs may wait.
+     * @param threads The number of job threads (0 or less means one).
+     * @return The executor service, shut down together with the application context.
+     */
+    @Bean(name = "jobExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(@Value("${sorting.jobs.threads:1}") int threads) {
+        // A job fans its algorithms out to the compare pool, so few job threads keep all cores busy.
+        int poolSize = Math.max(1, threads);
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                namedDaemonThreads("compare-job-"));
+    }
+
+    /**
+     * Creates the pool that delivers job snapshots to subscribers (e.g., SSE clients), so a slow
+     * client never holds up a compare. Every job uses at most one delivery thread at a time;
+     * idle threads are retired after a minute.
+     * @return The executor service, shut down together with the application context.
+     */
+    @Bean(name = "jobEventExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jobEventExecutor() {
+        return new ThreadPoolExecutor(
+                0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                namedDaemonThreads("compare-job-event-"));
+    }
+
+    /**
+     * Creates the bounded compute pool that runs the sorts of visualizer sessions.
+     * Sessions beyond the pool size wait in the queue; the queue never grows beyond the
+     * session limit, because a session is rejected before its sort is submitted.
+     * @param threads The number of sorting threads (0 or less means one per CPU core).
+     * @return The executor service, shut down together with the application context.
+     */
+    @Bean(name = "visualizerSortExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService visualizerSortExecutor(@Value("${sorting.visualizer.sort-threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                namedDaemonThreads("visualizer-sort-"));
+    }
+
+    /**
+     * Creates the pool for the I/O side of visualizer sessions (pacing and sending frames, reading traces).
+     * These tasks mostly wait, so every session gets its own thread; threads are reused across
+     * sessions and retired after a minute of idleness. The number of threads is bounded by the
+     * session limit.
+     * @return The executor service, shut down together with the application context.
+     */
+    @Bean(name = "visualizerIoExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService visualizerIoExecutor() {
+        return new ThreadPoolExecutor(
+                0, Integer.MAX_VALUE,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                namedDaemonThreads("visualizer-io-"));
+    }
+
+    /**
+     * Creates a thread factory producing numbered daemon threads with the given prefix.
+     * @param prefix The thread name prefix (e.g., "compare-").
+     * @return The thread factory.
+     */
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            // Daemon threads never keep the JVM alive on shutdown.
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,16 +2,41 @@ package sorting.algorithms.project.controller;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import sorting.algorithms.project.dto.AlgorithmInfo;
+import sorting.algorithms.project.dto.CompareJob;
 import sorting.algorithms.project.dto.CompareRequest;
+import sorting.algorithms.project.dto.DatasetInfo;
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.TraceInfo;
+import sorting.algorithms.project.dto.ExternalSortResult;
+import sorting.algorithms.project.dto.MatrixRow;
+import sorting.algorithms.project.dto.ScalingResult;
 import sorting.algorithms.project.dto.SortResult;
+import sorting.algorithms.project.service.CompareJobService;
+import sorting.algorithms.project.service.DatasetGenerator;
+import sorting.algorithms.project.service.DatasetStore;
+import sorting.algorithms.project.service.ExternalSortService;
+import sorting.algorithms.project.service.ScalingService;
 import sorting.algorithms.project.service.SortingService;
+import sorting.algorithms.project.service.TraceStore;
+import sorting.algorithms.project.service.VisualizerPipeline;
+import sorting.algorithms.project.service.VisualizerSessions;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortCancelledException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
 import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLDecoder;
+import java.nio.IntBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -25,14 +50,55 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class CompareController {
 
     private final SortingService sortingService;
+    private final CompareJobService compareJobService;
+    private final ExternalSortService externalSortService;
+    private final ScalingService scalingService;
+    private final DatasetStore datasetStore;
+    private final TraceStore traceStore;
+    private final VisualizerSessions visualizerSessions;
+    // Number of frames between two keyframes of a delta-encoded visualizer stream.
+    private final int keyframeInterval;
+    // Maximum number of frames queued between the sorting and the sending thread of a visualizer stream.
+    private final int queueCapacity;
+    // Frame rate of visualizer streams unless the client asks for another one.
+    private final int defaultFps;
+    // Maximum duration of a visualizer or replay stream in milliseconds (0 = unlimited).
+    private final long streamTimeout;
 
     /**
-     * Constructor for CompareController, injecting the SortingService dependency.
+     * Constructor for CompareController, injecting the service dependencies.
      * @param sortingService The service responsible for managing and executing sorting algorithms.
+     * @param compareJobService The service running compare requests asynchronously.
+     * @param externalSortService The service sorting inputs larger than the heap on disk.
+     * @param scalingService The service measuring how algorithms scale with the input size.
+     * @param datasetStore The store of persisted datasets.
+     * @param traceStore The store of recorded sort traces.
+     * @param visualizerSessions The thread pools and session limit of visualizer and replay streams.
+     * @param keyframeInterval The number of frames between two keyframes of a delta-encoded visualizer stream.
+     * @param queueCapacity The maximum number of frames queued per visualizer stream.
+     * @param defaultFps The default frame rate of visualizer streams.
+     * @param streamTimeout The maximum duration of a visualizer or replay stream in milliseconds (0 = unlimited).
      */
     @Autowired
-    public CompareController(SortingService sortingService) {
+    public CompareController(SortingService sortingService, CompareJobService compareJobService,
+                             ExternalSortService externalSortService, ScalingService scalingService,
+                             DatasetStore datasetStore, TraceStore traceStore,
+                             VisualizerSessions visualizerSessions,
+                             @Value("${sorting.visualizer.keyframe-interval:500}") int keyframeInterval,
+                             @Value("${sorting.visualizer.queue-capacity:65536}") int queueCapacity,
+                             @Value("${sorting.visualizer.fps:60}") int defaultFps,
+                             @Value("${sorting.visualizer.timeout-ms:600000}") long streamTimeout) {
         this.sortingService = sortingService;
+        this.compareJobService = compareJobService;
+        this.externalSortService = externalSortService;
+        this.scalingService = scalingService;
+        this.datasetStore = datasetStore;
+        this.traceStore = traceStore;
+        this.visualizerSessions = visualizerSessions;
+        this.keyframeInterval = keyframeInterval;
+        this.queueCapacity = queueCapacity;
+        this.defaultFps = defaultFps;
+        this.streamTimeout = streamTimeout;
     }
 
     /**
@@ -46,6 +112,212 @@ public class CompareController {
         return sortingService.compare(request);
     }
 
+    /**
+     * POST endpoint to compare the requested algorithms on several inputs in one request.
+     * The inputs are listed in {@code inputs}: inline values, ids of stored datasets, or generator
+     * specs (shape, count and optional seed), so the data of generated inputs never has to be uploaded.
+     * @param request The CompareRequest object containing the list of algorithms and the inputs.
+     * @return The results matrix: one row per input, holding one SortResult per algorithm.
+     * @throws ResponseStatusException With status 400 if an input is invalid or the inputs hold too many elements in total.
+     */
+    @PostMapping("/matrix")
+    public List<MatrixRow> compareMatrix(@RequestBody CompareRequest request) {
+        try {
+            return sortingService.compareMatrix(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * GET endpoint to measure how an algorithm scales: it sorts inputs of the sizes 2^minExponent .. 2^maxExponent
+     * for every shape and fits the growth exponent of the time and the steps, to compare them with the
+     * declared complexity. The shapes share one time budget; each stops early once the projected time of the
+     * next size exceeds its part of it.
+     * @param algorithm The name of the algorithm.
+     * @param shapes The dataset shapes to measure. Defaults to "unsorted".
+     * @param minExponent The exponent of the smallest size. Defaults to 10 (1,024 elements).
+     * @param maxExponent The exponent of the largest size. Defaults to 20 (1,048,576 elements).
+     * @param budgetMs The time budget of the whole request in milliseconds; defaults to (and is capped at) sorting.scaling.budget-ms.
+     * @return The measurements and fits per shape next to the declared complexity.
+     * @throws ResponseStatusException With status 400 if the algorithm, a shape or the exponents are invalid.
+     */
+    @GetMapping("/scaling/{algorithm}")
+    public ScalingResult scaling(@PathVariable String algorithm,
+                                 @RequestParam(required = false, defaultValue = "unsorted") List<String> shapes,
+                                 @RequestParam(required = false, defaultValue = "10") int minExponent,
+                                 @RequestParam(required = false, defaultValue = "20") int maxExponent,
+                                 @RequestParam(required = false, defaultValue = "0") long budgetMs) {
+        SortingAlgorithm algo = requireAlgorithm(algorithm);
+        try {
+            return scalingService.measure(algo, shapes, minExponent, maxExponent, budgetMs);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * POST endpoint to queue a compare request as an asynchronous job. The request body is the same
+     * as for the synchronous compare; poll {@code /jobs/{id}} or subscribe to {@code /jobs/{id}/events}
+     * for progress and results.
+     * @param request The CompareRequest object containing the list of algorithms and the input list.
+     * @param priority The priority of the job; higher priorities run first. Defaults to 0.
+     * @return The queued job.
+     * @throws ResponseStatusException With status 503 if the job queue is full.
+     */
+    @PostMapping("/jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public CompareJob submitJob(@RequestBody CompareRequest request,
+                                @RequestParam(required = false, defaultValue = "0") int priority) {
+        try {
+            return compareJobService.submit(request, priority);
+        } catch (CompareJobService.JobQueueFullException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * GET endpoint to list the known compare jobs (queued, running, and recently finished).
+     * @return The jobs in submission order.
+     */
+    @GetMapping("/jobs")
+    public List<CompareJob> jobs() {
+        return compareJobService.list();
+    }
+
+    /**
+     * GET endpoint to poll a compare job.
+     * @param id The id of the job.
+     * @return The status, progress and (partial) results of the job.
+     */
+    @GetMapping("/jobs/{id}")
+    public CompareJob job(@PathVariable String id) {
+        CompareJob job = compareJobService.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * GET endpoint to subscribe to a compare job as a Server-Sent Events stream.
+     * Sends a "status" event with the job right away and after every change; the stream ends
+     * after the job has finished.
+     * @param id The id of the job.
+     * @return An SseEmitter instance that streams CompareJob objects to the client.
+     */
+    @GetMapping("/jobs/{id}/events")
+    public SseEmitter jobEvents(@PathVariable String id) {
+        job(id); // 404 for unknown jobs
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        // Flag to unsubscribe once the client is gone
+        AtomicBoolean active = new AtomicBoolean(true);
+        emitter.onCompletion(() -> active.set(false));
+        emitter.onTimeout(() -> {
+            active.set(false);
+            try { emitter.complete(); } catch (Exception ignore) {}
+        });
+        emitter.onError(err -> active.set(false));
+
+        boolean known = compareJobService.subscribe(id, job -> {
+            if (!active.get()) return false;
+            try {
+                emitter.send(SseEmitter.event().name("status").data(job));
+                if (job.isFinished()) {
+                    emitter.complete();
+                    return false;
+                }
+                return true;
+            } catch (Exception e) {
+                // The client disconnected or the emitter was completed concurrently
+                active.set(false);
+                return false;
+            }
+        });
+        if (!known) {
+            // Dropped after the lookup above (retention expired)
+            try { emitter.complete(); } catch (Exception ignore) {}
+        }
+        return emitter;
+    }
+
+    /**
+     * POST endpoint to sort an input larger than the heap with an external merge sort.
+     * The request body holds raw little-endian 32-bit ints and is streamed straight into sorted runs on disk.
+     * @param algorithm The algorithm used to sort the in-memory runs. Defaults to PdqSort.
+     * @param body The request body.
+     * @return The metrics of the sort (runs, merge passes, spilled bytes) and the first sorted values.
+     * @throws IOException If reading the body or a temporary file fails.
+     * @throws ResponseStatusException With status 422 if sorting a run exceeds the compare budgets.
+     */
+    @PostMapping(value = "/external", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ExternalSortResult externalSort(@RequestParam(required = false, defaultValue = "PdqSort") String algorithm,
+                                           InputStream body) throws IOException {
+        SortingAlgorithm algo = requireAlgorithm(algorithm);
+        try {
+            return externalSortService.sort(algo, ExternalSortService.IntSource.fromStream(body));
+        } catch (SortBudgetExceededException e) {
+            throw budgetExceeded(algo, e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * POST endpoint to sort a generated dataset with an external merge sort. The dataset is generated
+     * lazily, so counts far beyond what fits into the heap can be used.
+     * @param algorithm The algorithm used to sort the in-memory runs. Defaults to PdqSort.
+     * @param shape The dataset shape (one of {@link DatasetGenerator#SHAPES}). Defaults to unsorted.
+     * @param count The number of elements.
+     * @param seed The seed for shuffled shapes. Defaults to 0.
+     * @return The metrics of the sort (runs, merge passes, spilled bytes) and the first sorted values.
+     * @throws IOException If a temporary file cannot be read or written.
+     * @throws ResponseStatusException With status 422 if sorting a run exceeds the compare budgets.
+     */
+    @PostMapping("/external/generate")
+    public ExternalSortResult externalSortGenerated(@RequestParam(required = false, defaultValue = "PdqSort") String algorithm,
+                                                    @RequestParam(required = false, defaultValue = "unsorted") String shape,
+                                                    @RequestParam int count,
+                                                    @RequestParam(required = false, defaultValue = "0") long seed) throws IOException {
+        SortingAlgorithm algo = requireAlgorithm(algorithm);
+        ExternalSortService.IntSource source;
+        try {
+            source = ExternalSortService.IntSource.fromGenerator(shape, count, seed);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        try {
+            return externalSortService.sort(algo, source);
+        } catch (SortBudgetExceededException e) {
+            throw budgetExceeded(algo, e);
+        }
+    }
+
+    /**
+     * Describes an external sort that was stopped because a run exceeded its budget.
+     * @param algo The algorithm sorting the runs.
+     * @param e The budget violation.
+     * @return The exception to throw (status 422).
+     */
+    private static ResponseStatusException budgetExceeded(SortingAlgorithm algo, SortBudgetExceededException e) {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                algo.getName() + " exceeded the " + e.getBudget() + " while sorting a run", e);
+    }
+
+    /**
+     * Looks up an algorithm by name.
+     * @param algorithm The algorithm name.
+     * @return The algorithm.
+     * @throws ResponseStatusException With status 400 if no algorithm has this name.
+     */
+    private SortingAlgorithm requireAlgorithm(String algorithm) {
+        SortingAlgorithm algo = sortingService.getAlgorithmByName(algorithm);
+        if (algo == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown algorithm: " + algorithm);
+        }
+        return algo;
+    }
+
     /**
      * GET endpoint to retrieve information about all available sorting algorithms.
      * @return A list of AlgorithmInfo objects, each describing an available algorithm (name, complexity).
@@ -57,8 +329,10 @@ public class CompareController {
 
 
     /**
-     * GET endpoint to generate standard datasets (unsorted, sorted, reverse, etc.).
-     * @param count The desired number of elements in the generated datasets. Defaults to 5, clamped between 5 and 1,000,000.
+     * GET endpoint to retrieve the standard datasets (unsorted, sorted, reverse, etc.).
+     * Every shape and count is generated with a fixed seed and then served from the dataset store's
+     * size-bounded cache of standard datasets.
+     * @param count The desired number of elements in the datasets. Defaults to 5, clamped between 5 and 1,000,000.
      * @return A map where keys are dataset names (e.g., "unsorted") and values are lists of integers.
      */
     @GetMapping("/datasets")
@@ -69,43 +343,73 @@ public class CompareController {
 
         // Ensure element count is within reasonable bounds
         final int ELEMENT_COUNT = Math.max(5, Math.min(count, 1000000));
-        // Use element count - 1 as max value for simple range generation
-        final int MAX_VALUE = ELEMENT_COUNT > 0 ? ELEMENT_COUNT - 1 : 0;
-
-        // Generate ascending list (0 to ELEMENT_COUNT-1)
-        List<Integer> ascending = new ArrayList<>();
-        for (int i = 0; i < ELEMENT_COUNT; i++) {
-            ascending.add(i);
-        }
-
-        // Generate descending list (MAX_VALUE down to 0)
-        List<Integer> descending = new ArrayList<>();
-        for (int i = MAX_VALUE; i >= 0; i--) {
-            descending.add(i);
-        }
-
-        // Generate half-sorted list (first half sorted, second half shuffled)
-        List<Integer> halfSorted = new ArrayList<>(ascending);
-        if (ELEMENT_COUNT >= 2) {
-            int midPoint = ELEMENT_COUNT / 2;
-            // Get a view of the second half, copy it, shuffle the copy, then update the original list
-            List<Integer> secondHalf = new ArrayList<>(halfSorted.subList(midPoint, ELEMENT_COUNT));
-            Collections.shuffle(secondHalf);
-            for (int i = 0; i < secondHalf.size(); i++) {
-                halfSorted.set(midPoint + i, secondHalf.get(i));
-            }
+
+        // Load every standard shape (unsorted, halfSorted, sorted, reverse); missing ones are generated and stored.
+        for (String shape : DatasetGenerator.SHAPES) {
+            sets.put(shape, toList(datasetStore.standard(shape, ELEMENT_COUNT)));
         }
+        return sets;
+    }
+
+    /**
+     * GET endpoint to list the datasets persisted in the dataset store.
+     * @return The id, element count and file size of every stored dataset.
+     */
+    @GetMapping("/datasets/stored")
+    public List<DatasetInfo> storedDatasets() {
+        return datasetStore.list();
+    }
 
-        // Generate unsorted list (shuffle the ascending list)
-        List<Integer> unsorted = new ArrayList<>(ascending);
-        Collections.shuffle(unsorted);
+    /**
+     * POST endpoint to persist a dataset under a generated id.
+     * @param values The values of the dataset.
+     * @return The description of the stored dataset, including its id.
+     */
+    @PostMapping("/datasets/stored")
+    public DatasetInfo storeDataset(@RequestBody List<Integer> values) {
+        return datasetStore.create(SortingAlgorithm.toIntArray(values));
+    }
 
-        // Add generated datasets to the map
-        sets.put("unsorted", unsorted);
-        sets.put("halfSorted", halfSorted);
-        sets.put("sorted", ascending);
-        sets.put("reverse", descending);
-        return sets;
+    /**
+     * PUT endpoint to persist a dataset from raw little-endian 32-bit ints under the given id,
+     * replacing an existing dataset with that id. The body is copied to disk without parsing.
+     * @param id The id of the dataset (1-64 letters, digits, '-' and '_').
+     * @param body The request body.
+     * @return The description of the stored dataset.
+     * @throws IOException If the body cannot be read.
+     */
+    @PutMapping(value = "/datasets/stored/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public DatasetInfo storeRawDataset(@PathVariable String id, InputStream body) throws IOException {
+        try {
+            return datasetStore.save(id, body);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * DELETE endpoint to remove a stored dataset.
+     * @param id The id of the dataset.
+     * @throws ResponseStatusException With status 404 if no dataset has this id.
+     */
+    @DeleteMapping("/datasets/stored/{id}")
+    public void deleteDataset(@PathVariable String id) {
+        if (!datasetStore.delete(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown dataset: " + id);
+        }
+    }
+
+    /**
+     * Copies the values of a dataset view into a list.
+     * @param buffer The dataset view.
+     * @return The values as a list.
+     */
+    private static List<Integer> toList(IntBuffer buffer) {
+        List<Integer> values = new ArrayList<>(buffer.remaining());
+        while (buffer.hasRemaining()) {
+            values.add(buffer.get());
+        }
+        return values;
     }
 
     /**
@@ -113,133 +417,121 @@ public class CompareController {
      * of a specific sorting algorithm execution.
      * @param algorithm The name of the algorithm to visualize.
      * @param dataset The name of a standard dataset to use (optional, e.g., "unsorted", "sorted").
+     * @param datasetId The id of a stored dataset to use (optional, overrides 'dataset').
      * @param input A URL-encoded JSON array string representing custom input data (optional, overrides 'dataset').
-     * @param speed The delay in milliseconds between sending sort steps (controls visualization speed). Defaults to 1.
+     * @param speed The playback rate in milliseconds per sort step; fractions are allowed (e.g., 0.1 for 10,000 steps per second)
+     *              and 0 plays as fast as the client can take it. Defaults to 1. The sort itself always runs at full speed.
      * @param count The element count to use if generating a standard 'dataset' or the default unsorted list. Defaults to 5.
-     * @return An SseEmitter instance that streams SortStep objects to the client.
+     * @param fps The maximum number of frames per second; steps due within one frame are merged. Defaults to sorting.visualizer.fps.
+     * @param format The event format: "full" sends every SortStep with a copy of the whole list (default),
+     *               "delta" sends SortFrames that carry the whole list only in keyframes and otherwise just the changed values.
+     * @return An SseEmitter instance that streams SortStep (or SortFrame) objects to the client,
+     *         followed by a "stats" event with the number of merged and dropped steps. When the client
+     *         disconnects or the stream times out, the sort is cancelled at its next step.
+     * @throws ResponseStatusException With status 503 if the maximum number of visualizer sessions is running.
      */
     @GetMapping("/visualizer/{algorithm}")
     public SseEmitter visualize(@PathVariable String algorithm,
                                 @RequestParam(required = false) String dataset,
+                                @RequestParam(required = false) String datasetId,
                                 @RequestParam(required = false) String input,
-                                @RequestParam(required = false, defaultValue = "1") int speed,
-                                @RequestParam(required = false, defaultValue = "5") int count
+                                @RequestParam(required = false, defaultValue = "1") double speed,
+                                @RequestParam(required = false, defaultValue = "5") int count,
+                                @RequestParam(required = false, defaultValue = "0") int fps,
+                                @RequestParam(required = false, defaultValue = "full") String format
     ) {
 
-        // Create an SseEmitter with no timeout (0L)
-        SseEmitter emitter = new SseEmitter(0L);
+        // Create an SseEmitter that ends the stream after the configured time (0 = never)
+        SseEmitter emitter = new SseEmitter(streamTimeout);
         // Find the requested sorting algorithm implementation
         SortingAlgorithm algo = sortingService.getAlgorithmByName(algorithm);
 
         // Determine the input data list
-        List<Integer> inputData = new ArrayList<>(); // Default to empty list
-
-        // Priority: custom input > dataset name > algorithm default > default unsorted
-        if (input != null && !input.isEmpty()) {
-            // Try parsing custom input JSON string
-            try {
-                // Decode the URL-encoded string
-                String decoded = URLDecoder.decode(input, StandardCharsets.UTF_8.name());
-                ObjectMapper mapper = new ObjectMapper();
-                // Parse the JSON array into a List<Integer>
-                List<Integer> parsed = mapper.readValue(decoded, new TypeReference<List<Integer>>() {});
-                inputData = new ArrayList<>(parsed);
-            } catch (Exception e) {
-                // Log error if parsing fails, will fall back to other options
-                e.printStackTrace();
-            }
-        }
-
-        // If no custom input was successfully parsed, check for dataset name
-        if (inputData.isEmpty() && dataset != null && !dataset.isEmpty()) {
-            // Generate standard datasets based on 'count'
-            Map<String, List<Integer>> standardSets = this.getDatasets(count);
-            // Get the requested dataset
-            List<Integer> ds = standardSets.get(dataset);
-            if (ds != null) {
-                inputData = new ArrayList<>(ds);
-            }
-        }
-
-        // If still no data, try the algorithm's default dataset
-        if (inputData.isEmpty()) {
-            List<Integer> algoDefaultData = sortingService.getDatasetByName(algorithm);
-            if (algoDefaultData != null && !algoDefaultData.isEmpty()) {
-                inputData = new ArrayList<>(algoDefaultData);
-            }
-        }
-
-        // Final fallback: generate a default unsorted list if nothing else worked
-        if (inputData.isEmpty()) {
-            inputData = this.getDatasets(count).getOrDefault("unsorted", new ArrayList<>());
-        }
-
+        List<Integer> inputData = resolveInput(algorithm, dataset, datasetId, input, count);
 
         // Flag to control the sending loop in the separate thread
         AtomicBoolean active = new AtomicBoolean(true);
+        // Context of the sort; cancelling it stops the algorithm at its next step
+        SortContext context = new SortContext();
 
         // Define emitter callbacks for completion, timeout, and error
         emitter.onCompletion(() -> {
             active.set(false); // Stop sending if connection completes
+            context.cancel(); // The client is gone: stop the sort if it is still running
             System.out.println("SSE completed (onCompletion).");
         });
         emitter.onTimeout(() -> {
             active.set(false); // Stop sending on timeout
+            context.cancel();
             try { emitter.complete(); } catch (Exception ignore) {} // Attempt to complete emitter
             System.out.println("SSE timed out (onTimeout).");
         });
         emitter.onError(err -> {
             active.set(false); // Stop sending on error
+            context.cancel();
             System.err.println("SSE error: " + err);
         });
 
-        // If the algorithm was found, start the sorting in a new thread
+        // If the algorithm was found, start the sorting and the sending thread
         if (algo != null) {
             // Create a mutable copy for the sorting algorithm to modify
             List<Integer> mutableInput = new ArrayList<>(inputData);
-            new Thread(() -> {
+            // The pipeline decouples the sort from the client: the sort runs at full speed,
+            // the sender paces, merges and (under backpressure) drops frames.
+            VisualizerPipeline pipeline = new VisualizerPipeline(queueCapacity, keyframeInterval, speed,
+                    fps > 0 ? fps : defaultFps, "delta".equalsIgnoreCase(format));
+            emitter.onCompletion(pipeline::close);
+            emitter.onError(err -> pipeline.close());
+
+            // The sort runs on the bounded sorting pool
+            Runnable sortTask = () -> {
                 try {
-                    // Execute the sort with the callback mechanism
+                    // Execute the sort with the callback mechanism; queueing a step never blocks
                     algo.sortWithCallback(mutableInput, step -> {
-                        // Check if the emitter is still active before sending
-                        if (!active.get()) return;
-
-                        try {
-                            // Send the current sort step to the client
-                            emitter.send(step);
-
-                            // Pause execution to control visualization speed
-                            if (speed > 0) {
-                                try {
-                                    Thread.sleep(speed);
-                                } catch (InterruptedException ie) {
-                                    // Restore interrupted status if thread is interrupted
-                                    Thread.currentThread().interrupt();
-                                }
-                            }
-
-                        } catch (IllegalStateException ise) {
-                            // Emitter might be completed concurrently, stop sending
-                            active.set(false);
-                            System.out.println("Emitter already completed, stopping sends.");
-                        } catch (Exception e) {
-                            // Handle other potential errors during send
-                            active.set(false);
-                            try { emitter.completeWithError(e); } catch (Exception ignore) {}
-                            System.err.println("Error while sending SSE event: " + e);
-                        }
-                    });
+                        // Every step is a cancellation point, also for algorithms that never reach a checkpoint of their own
+                        context.checkpoint();
+                        pipeline.accept(step);
+                    }, context);
+                    pipeline.complete();
+                } catch (SortCancelledException ce) {
+                    // The client disconnected, the stream timed out or the server shuts down
+                    pipeline.close();
+                    System.out.println("Visualizer sort cancelled: " + ce.getMessage());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    pipeline.close();
+                } catch (Exception e) {
+                    // Handle errors during the sortWithCallback execution itself
+                    active.set(false);
+                    pipeline.close();
+                    try { emitter.completeWithError(e); } catch (Exception ignore) {}
+                }
+            };
 
-                    // After sorting completes, if still active, complete the emitter
+            // Sending mostly waits, so it runs on the I/O pool
+            Runnable sendTask = () -> {
+                try {
+                    // Send the paced frames (SortFrames or SortSteps) to the client
+                    pipeline.run(emitter::send);
                     if (active.get()) {
-                        try { emitter.complete(); } catch (Exception ignore) {}
+                        // Report how many steps were merged or dropped, then finish the stream
+                        emitter.send(SseEmitter.event().name("stats").data(pipeline.stats()));
+                        emitter.complete();
                     }
+                } catch (IllegalStateException ise) {
+                    // Emitter might be completed concurrently, stop sending
+                    active.set(false);
+                    context.cancel();
+                    System.out.println("Emitter already completed, stopping sends.");
                 } catch (Exception e) {
-                    // Handle errors during the sortWithCallback execution itself
+                    // Handle other potential errors during send (e.g., the client disconnected)
                     active.set(false);
+                    context.cancel();
                     try { emitter.completeWithError(e); } catch (Exception ignore) {}
+                    System.err.println("Error while sending SSE event: " + e);
                 }
-            }).start(); // Start the sorting thread
+            };
+            startSession(context, sortTask, sendTask);
         } else {
             // If algorithm not found, complete the emitter immediately
             try { emitter.complete(); } catch (Exception ignore) {}
@@ -248,4 +540,248 @@ public class CompareController {
         // Return the emitter to the client
         return emitter;
     }
+
+    /**
+     * POST endpoint to sort an input once and record every visualization step into a trace.
+     * The input is chosen like for the visualizer; a JSON array in the body takes precedence.
+     * @param algorithm The name of the algorithm to trace.
+     * @param dataset The name of a standard dataset to use (optional).
+     * @param datasetId The id of a stored dataset to use (optional).
+     * @param count The element count for standard datasets. Defaults to 5.
+     * @param body A JSON array of integers to sort (optional).
+     * @return The description of the recorded trace.
+     * @throws IOException If the trace file cannot be written.
+     * @throws ResponseStatusException With status 413 if the trace is too large, 422 if the sort exceeds the compare budgets.
+     */
+    @PostMapping("/traces")
+    public TraceInfo recordTrace(@RequestParam String algorithm,
+                                 @RequestParam(required = false) String dataset,
+                                 @RequestParam(required = false) String datasetId,
+                                 @RequestParam(required = false, defaultValue = "5") int count,
+                                 @RequestBody(required = false) List<Integer> body) throws IOException {
+        SortingAlgorithm algo = requireAlgorithm(algorithm);
+        List<Integer> inputData = body != null && !body.isEmpty()
+                ? new ArrayList<>(body)
+                : resolveInput(algorithm, dataset, datasetId, null, count);
+        try {
+            return traceStore.record(algo, inputData);
+        } catch (TraceStore.TraceTooLargeException e) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage(), e);
+        } catch (SortBudgetExceededException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    algo.getName() + " exceeded the " + e.getBudget() + " while recording", e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * GET endpoint to list the recorded traces, least recently used first.
+     * @return The descriptions of all traces.
+     */
+    @GetMapping("/traces")
+    public List<TraceInfo> traces() {
+        return traceStore.list();
+    }
+
+    /**
+     * GET endpoint to describe a recorded trace.
+     * @param id The id of the trace.
+     * @return The description of the trace.
+     */
+    @GetMapping("/traces/{id}")
+    public TraceInfo trace(@PathVariable String id) {
+        return requireTrace(id);
+    }
+
+    /**
+     * DELETE endpoint to remove a recorded trace.
+     * @param id The id of the trace.
+     */
+    @DeleteMapping("/traces/{id}")
+    public void deleteTrace(@PathVariable String id) {
+        if (!traceStore.delete(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown trace: " + id);
+        }
+    }
+
+    /**
+     * GET endpoint to fetch the full state of a single step of a trace.
+     * @param id The id of the trace.
+     * @param step The step (0 .. steps - 1).
+     * @return A keyframe holding the array and highlights of the step.
+     * @throws IOException If the trace cannot be read.
+     */
+    @GetMapping("/traces/{id}/frames/{step}")
+    public SortFrame traceFrame(@PathVariable String id, @PathVariable long step) throws IOException {
+        requireStep(requireTrace(id), step);
+        SortFrame frame = traceStore.frameAt(id, step);
+        if (frame == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown trace: " + id);
+        }
+        return frame;
+    }
+
+    /**
+     * GET endpoint to replay a recorded trace as a Server-Sent Events stream of SortFrames
+     * (the delta format of the visualizer). Every viewer reads the trace file independently,
+     * so the sort is never repeated.
+     * @param id The id of the trace.
+     * @param from The first step to send. Defaults to 0.
+     * @param to The last step to send; smaller than 'from' plays backward. Defaults to the last step.
+     * @param stride The number of steps to advance per frame (fast-forward / rewind). Defaults to 1.
+     * @param speed The delay in milliseconds between two frames. Defaults to 1.
+     * @return An SseEmitter instance that streams SortFrame objects to the client.
+     * @throws ResponseStatusException With status 503 if the maximum number of visualizer sessions is running.
+     */
+    @GetMapping("/traces/{id}/replay")
+    public SseEmitter replayTrace(@PathVariable String id,
+                                  @RequestParam(required = false, defaultValue = "0") long from,
+                                  @RequestParam(required = false, defaultValue = "-1") long to,
+                                  @RequestParam(required = false, defaultValue = "1") int stride,
+                                  @RequestParam(required = false, defaultValue = "1") int speed) {
+        TraceInfo info = requireTrace(id);
+        requireStep(info, from);
+        if (to >= 0) requireStep(info, to);
+
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        // Flag to stop the replay once the client is gone
+        AtomicBoolean active = new AtomicBoolean(true);
+        emitter.onCompletion(() -> active.set(false));
+        emitter.onTimeout(() -> {
+            active.set(false);
+            try { emitter.complete(); } catch (Exception ignore) {}
+        });
+        emitter.onError(err -> active.set(false));
+
+        // Replays only read and send, so they need no sorting thread
+        startSession(null, null, () -> {
+            try {
+                traceStore.replay(id, from, to, stride, frame -> {
+                    if (!active.get()) return false;
+                    try {
+                        emitter.send(frame);
+                        if (speed > 0) {
+                            Thread.sleep(speed);
+                        }
+                        return true;
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    } catch (Exception e) {
+                        // The client disconnected or the emitter was completed concurrently
+                        active.set(false);
+                        return false;
+                    }
+                });
+                if (active.get()) {
+                    try { emitter.complete(); } catch (Exception ignore) {}
+                }
+            } catch (Exception e) {
+                active.set(false);
+                try { emitter.completeWithError(e); } catch (Exception ignore) {}
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Starts the background tasks of a visualizer or replay stream.
+     * @param context The context of the sort, cancelled on shutdown (null for replays).
+     * @param sortTask The sorting task (null for replays).
+     * @param sendTask The sending task.
+     * @throws ResponseStatusException With status 503 if the maximum number of sessions is running.
+     */
+    private void startSession(SortContext context, Runnable sortTask, Runnable sendTask) {
+        try {
+            visualizerSessions.start(context, sortTask, sendTask);
+        } catch (VisualizerSessions.SessionLimitException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Looks up a trace by id.
+     * @param id The id of the trace.
+     * @return The description of the trace.
+     * @throws ResponseStatusException With status 404 if no trace has this id.
+     */
+    private TraceInfo requireTrace(String id) {
+        TraceInfo info = traceStore.get(id);
+        if (info == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown trace: " + id);
+        }
+        return info;
+    }
+
+    /**
+     * Rejects steps outside of a trace.
+     * @param info The trace.
+     * @param step The requested step.
+     * @throws ResponseStatusException With status 400 if the step does not exist.
+     */
+    private static void requireStep(TraceInfo info, long step) {
+        if (step < 0 || step >= info.getSteps()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Step " + step + " is out of range 0.." + (info.getSteps() - 1));
+        }
+    }
+
+    /**
+     * Determines the input list of a visualization or trace.
+     * Priority: custom input > stored dataset id > dataset name > algorithm default > default unsorted.
+     * @param algorithm The name of the algorithm (for its default dataset).
+     * @param dataset The name of a standard dataset (optional).
+     * @param datasetId The id of a stored dataset (optional).
+     * @param input A URL-encoded JSON array string (optional).
+     * @param count The element count for standard datasets.
+     * @return A new, mutable input list.
+     */
+    private List<Integer> resolveInput(String algorithm, String dataset, String datasetId, String input, int count) {
+        List<Integer> inputData = new ArrayList<>(); // Default to empty list
+
+        if (input != null && !input.isEmpty()) {
+            // Try parsing custom input JSON string
+            try {
+                // Decode the URL-encoded string
+                String decoded = URLDecoder.decode(input, StandardCharsets.UTF_8.name());
+                ObjectMapper mapper = new ObjectMapper();
+                // Parse the JSON array into a List<Integer>
+                List<Integer> parsed = mapper.readValue(decoded, new TypeReference<List<Integer>>() {});
+                inputData = new ArrayList<>(parsed);
+            } catch (Exception e) {
+                // Log error if parsing fails, will fall back to other options
+                e.printStackTrace();
+            }
+        }
+
+        // If no custom input was successfully parsed, check for a stored dataset
+        if (inputData.isEmpty() && datasetId != null && !datasetId.isEmpty()) {
+            IntBuffer stored = datasetStore.open(datasetId);
+            if (stored != null) {
+                inputData = toList(stored);
+            }
+        }
+
+        // Otherwise check for a standard dataset name
+        if (inputData.isEmpty() && dataset != null && DatasetGenerator.SHAPES.contains(dataset)) {
+            // Load only the requested shape, clamped like the datasets endpoint
+            inputData = toList(datasetStore.standard(dataset, Math.max(5, Math.min(count, 1000000))));
+        }
+
+        // If still no data, try the algorithm's default dataset
+        if (inputData.isEmpty()) {
+            List<Integer> algoDefaultData = sortingService.getDatasetByName(algorithm);
+            if (algoDefaultData != null && !algoDefaultData.isEmpty()) {
+                inputData = new ArrayList<>(algoDefaultData);
+            }
+        }
+
+        // Final fallback: generate a default unsorted list if nothing else worked
+        if (inputData.isEmpty()) {
+            inputData = this.getDatasets(count).getOrDefault("unsorted", new ArrayList<>());
+        }
+
+        return new ArrayList<>(inputData);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing an asynchronous compare job: its state, its progress
+ * and the results of the algorithms finished so far. Every instance is a snapshot.
+ */
+public class CompareJob {
+    // Job states.
+    public static final String QUEUED = "queued";       // Waiting for a job thread
+    public static final String RUNNING = "running";     // Algorithms are being compared
+    public static final String DONE = "done";           // All results are available
+    public static final String FAILED = "failed";       // The compare failed (see error)
+
+    private String id;              // Id of the job
+    private String status;          // One of the states above
+    private int priority;           // Higher priorities run first
+    private int completed;          // Number of finished algorithms
+    private int total;              // Number of algorithms to run (known once the job runs)
+    private List<SortResult> results; // Results of the finished algorithms, in request order
+    private String error;           // Failure message if the job failed, otherwise null
+    private long submittedAt;       // Submission time (epoch milliseconds)
+    private Long startedAt;         // Start time (epoch milliseconds), null while queued
+    private Long finishedAt;        // End time (epoch milliseconds), null until done or failed
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public CompareJob() {}
+
+    /**
+     * Constructs a snapshot of a job.
+     * @param id The id of the job.
+     * @param status The state of the job.
+     * @param priority The priority of the job.
+     * @param completed The number of finished algorithms.
+     * @param total The number of algorithms to run.
+     * @param results The results of the finished algorithms.
+     * @param error The failure message, or null.
+     * @param submittedAt The submission time in epoch milliseconds.
+     * @param startedAt The start time in epoch milliseconds, or null.
+     * @param finishedAt The end time in epoch milliseconds, or null.
+     */
+    public CompareJob(String id, String status, int priority, int completed, int total, List<SortResult> results,
+                      String error, long submittedAt, Long startedAt, Long finishedAt) {
+        this.id = id;
+        this.status = status;
+        this.priority = priority;
+        this.completed = completed;
+        this.total = total;
+        this.results = results;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Checks whether the job has ended (successfully or not).
+     * @return true if the job is done or failed.
+     */
+    public boolean isFinished() {
+        return DONE.equals(status) || FAILED.equals(status);
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public int getCompleted() { return completed; }
+    public void setCompleted(int completed) { this.completed = completed; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public List<SortResult> getResults() { return results; }
+    public void setResults(List<SortResult> results) { this.results = results; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public long getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(long submittedAt) { this.submittedAt = submittedAt; }
+
+    public Long getStartedAt() { return startedAt; }
+    public void setStartedAt(Long startedAt) { this.startedAt = startedAt; }
+
+    public Long getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Long finishedAt) { this.finishedAt = finishedAt; }
+}
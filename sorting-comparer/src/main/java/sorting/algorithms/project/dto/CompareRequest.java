@@ -11,6 +11,21 @@ public class CompareRequest {
     private List<String> algorithms;
     // The list of integers that each algorithm should sort.
     private List<Integer> input;
+    // Optional: id of a stored dataset to sort instead of an inline input (used if input is null).
+    private String datasetId;
+    // Optional (matrix compares only): several named inputs, each compared with all algorithms.
+    private List<InputSpec> inputs;
+    // Optional: run the algorithms one after another for undisturbed timings.
+    // If null, the server's default mode (sorting.compare.parallel) is used.
+    private Boolean isolated;
+    // Optional: number of untimed runs per algorithm before measuring (lets the JIT compile the sort).
+    private Integer warmupIterations;
+    // Optional: number of timed runs per algorithm; the result reports statistics over all of them.
+    private Integer repetitions;
+    // Optional: time budget per run in milliseconds (can only tighten sorting.compare.max-millis).
+    private Long maxMillis;
+    // Optional: step budget per run (can only tighten sorting.compare.max-steps).
+    private Long maxSteps;
 
     /**
      * Default constructor (required for frameworks like Jackson).
@@ -60,4 +75,116 @@ public class CompareRequest {
     public void setInput(List<Integer> input) {
         this.input = input;
     }
+
+    /**
+     * Gets the id of the stored dataset to sort.
+     * @return The dataset id, or null to sort the inline input.
+     */
+    public String getDatasetId() {
+        return datasetId;
+    }
+
+    /**
+     * Sets the id of the stored dataset to sort (used if no inline input is given).
+     * @param datasetId The dataset id, or null to sort the inline input.
+     */
+    public void setDatasetId(String datasetId) {
+        this.datasetId = datasetId;
+    }
+
+    /**
+     * Gets the inputs of a matrix compare.
+     * @return The inputs, or null to use the single input of the request.
+     */
+    public List<InputSpec> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Sets the inputs of a matrix compare.
+     * @param inputs The inputs, or null to use the single input of the request.
+     */
+    public void setInputs(List<InputSpec> inputs) {
+        this.inputs = inputs;
+    }
+
+    /**
+     * Gets whether the algorithms should run isolated (one after another).
+     * @return true for isolated runs, false for concurrent runs, or null for the server default.
+     */
+    public Boolean getIsolated() {
+        return isolated;
+    }
+
+    /**
+     * Sets whether the algorithms should run isolated (one after another).
+     * @param isolated true for isolated runs, false for concurrent runs, or null for the server default.
+     */
+    public void setIsolated(Boolean isolated) {
+        this.isolated = isolated;
+    }
+
+    /**
+     * Gets the number of untimed warmup runs per algorithm.
+     * @return The warmup run count, or null for none.
+     */
+    public Integer getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    /**
+     * Sets the number of untimed warmup runs per algorithm.
+     * @param warmupIterations The warmup run count, or null for none.
+     */
+    public void setWarmupIterations(Integer warmupIterations) {
+        this.warmupIterations = warmupIterations;
+    }
+
+    /**
+     * Gets the number of timed runs per algorithm.
+     * @return The timed run count, or null for a single run.
+     */
+    public Integer getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Sets the number of timed runs per algorithm.
+     * @param repetitions The timed run count, or null for a single run.
+     */
+    public void setRepetitions(Integer repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Gets the time budget per run.
+     * @return The budget in milliseconds, or null for the server default.
+     */
+    public Long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Sets the time budget per run.
+     * @param maxMillis The budget in milliseconds, or null for the server default.
+     */
+    public void setMaxMillis(Long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Gets the step budget per run.
+     * @return The maximum number of steps, or null for the server default.
+     */
+    public Long getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Sets the step budget per run.
+     * @param maxSteps The maximum number of steps, or null for the server default.
+     */
+    public void setMaxSteps(Long maxSteps) {
+        this.maxSteps = maxSteps;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package sorting.algorithms.project.dto;
+
+/**
+ * Data Transfer Object (DTO) describing a dataset persisted in the dataset store.
+ * The values themselves are not part of this object; they are referenced by the id.
+ */
+public class DatasetInfo {
+    private String id;     // Identifier used to reference the dataset (e.g., in a compare request)
+    private int size;      // Number of elements
+    private long bytes;    // Size of the backing file in bytes
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public DatasetInfo() {}
+
+    /**
+     * Creates a description of a stored dataset.
+     * @param id The identifier of the dataset.
+     * @param size The number of elements.
+     * @param bytes The size of the backing file in bytes.
+     */
+    public DatasetInfo(String id, int size, long bytes) {
+        this.id = id;
+        this.size = size;
+        this.bytes = bytes;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getBytes() { return bytes; }
+    public void setBytes(long bytes) { this.bytes = bytes; }
+}
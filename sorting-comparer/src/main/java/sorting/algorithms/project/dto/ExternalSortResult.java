@@ -0,0 +1,61 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) storing the result of an external (disk-based) sort.
+ * Besides the timing, it reports how much data was spilled to disk and how many
+ * merge passes were needed, which dominate the cost of sorting data larger than the heap.
+ */
+public class ExternalSortResult {
+    private String algorithm;        // Name of the algorithm used to sort the in-memory runs
+    private long elements;           // Number of sorted elements
+    private int runSize;             // Maximum number of elements per in-memory run
+    private int mergeFanIn;          // Maximum number of runs merged at once
+    private int runs;                // Number of sorted runs written in the run formation phase
+    private int mergePasses;         // Number of merge passes over the data (0 if everything fit into one run)
+    private long spillBytes;         // Total number of bytes written to temporary files
+    private long steps;              // Steps of the run sorts plus the comparisons of the merges
+    private long runFormationMillis; // Time spent reading, sorting and writing the runs
+    private long mergeMillis;        // Time spent merging the runs
+    private long durationMillis;     // Total time in milliseconds
+    private List<Integer> sorted;    // Excerpt (first elements) of the sorted output
+
+    // --- Standard Getters and Setters ---
+
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+    public long getElements() { return elements; }
+    public void setElements(long elements) { this.elements = elements; }
+
+    public int getRunSize() { return runSize; }
+    public void setRunSize(int runSize) { this.runSize = runSize; }
+
+    public int getMergeFanIn() { return mergeFanIn; }
+    public void setMergeFanIn(int mergeFanIn) { this.mergeFanIn = mergeFanIn; }
+
+    public int getRuns() { return runs; }
+    public void setRuns(int runs) { this.runs = runs; }
+
+    public int getMergePasses() { return mergePasses; }
+    public void setMergePasses(int mergePasses) { this.mergePasses = mergePasses; }
+
+    public long getSpillBytes() { return spillBytes; }
+    public void setSpillBytes(long spillBytes) { this.spillBytes = spillBytes; }
+
+    public long getSteps() { return steps; }
+    public void setSteps(long steps) { this.steps = steps; }
+
+    public long getRunFormationMillis() { return runFormationMillis; }
+    public void setRunFormationMillis(long runFormationMillis) { this.runFormationMillis = runFormationMillis; }
+
+    public long getMergeMillis() { return mergeMillis; }
+    public void setMergeMillis(long mergeMillis) { this.mergeMillis = mergeMillis; }
+
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+
+    public List<Integer> getSorted() { return sorted; }
+    public void setSorted(List<Integer> sorted) { this.sorted = sorted; }
+}
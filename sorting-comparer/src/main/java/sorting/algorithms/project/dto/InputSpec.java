@@ -0,0 +1,60 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing one input of a matrix compare.
+ * An input is given by exactly one source: inline values, the id of a stored dataset,
+ * or a generator spec (shape and count, optionally with a seed).
+ */
+public class InputSpec {
+    // Optional: name of the input in the results matrix (derived from the source if null).
+    private String name;
+    // Inline values to sort.
+    private List<Integer> values;
+    // Id of a stored dataset to sort.
+    private String datasetId;
+    // Generator spec: one of the dataset shapes (e.g., "unsorted", "reverse") and the element count.
+    private String shape;
+    private Integer count;
+    // Optional seed of the generator; without one, the standard dataset of this shape and size is used.
+    private Long seed;
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public InputSpec() {}
+
+    /**
+     * Creates a generator spec.
+     * @param shape The dataset shape.
+     * @param count The number of elements.
+     * @return The spec.
+     */
+    public static InputSpec generated(String shape, int count) {
+        InputSpec spec = new InputSpec();
+        spec.setShape(shape);
+        spec.setCount(count);
+        return spec;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public List<Integer> getValues() { return values; }
+    public void setValues(List<Integer> values) { this.values = values; }
+
+    public String getDatasetId() { return datasetId; }
+    public void setDatasetId(String datasetId) { this.datasetId = datasetId; }
+
+    public String getShape() { return shape; }
+    public void setShape(String shape) { this.shape = shape; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+}
@@ -0,0 +1,41 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding one row of a matrix compare: the results of all
+ * requested algorithms on one input.
+ */
+public class MatrixRow {
+    private String input;             // Name of the input
+    private int size;                 // Number of elements of the input
+    private List<SortResult> results; // One result per algorithm, in request order
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public MatrixRow() {}
+
+    /**
+     * Constructs a row.
+     * @param input The name of the input.
+     * @param size The number of elements of the input.
+     * @param results The results of the algorithms, in request order.
+     */
+    public MatrixRow(String input, int size, List<SortResult> results) {
+        this.input = input;
+        this.size = size;
+        this.results = results;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getInput() { return input; }
+    public void setInput(String input) { this.input = input; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public List<SortResult> getResults() { return results; }
+    public void setResults(List<SortResult> results) { this.results = results; }
+}
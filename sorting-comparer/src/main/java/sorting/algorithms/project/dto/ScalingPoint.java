@@ -0,0 +1,46 @@
+package sorting.algorithms.project.dto;
+
+/**
+ * Data Transfer Object (DTO) holding one measurement of a scaling run: the cost of sorting one input size.
+ */
+public class ScalingPoint {
+    private int size;          // Number of elements sorted
+    private long nanos;        // Fastest of the timed runs, in nanoseconds
+    private long steps;        // Steps (comparisons, swaps, writes) of a run
+    private Double fittedNanos; // Time predicted by the fitted curve for this size (null without a fit)
+    private Double fittedSteps; // Steps predicted by the fitted curve for this size (null without a fit)
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public ScalingPoint() {}
+
+    /**
+     * Constructs a measurement.
+     * @param size The number of elements.
+     * @param nanos The measured time in nanoseconds.
+     * @param steps The measured steps.
+     */
+    public ScalingPoint(int size, long nanos, long steps) {
+        this.size = size;
+        this.nanos = nanos;
+        this.steps = steps;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getNanos() { return nanos; }
+    public void setNanos(long nanos) { this.nanos = nanos; }
+
+    public long getSteps() { return steps; }
+    public void setSteps(long steps) { this.steps = steps; }
+
+    public Double getFittedNanos() { return fittedNanos; }
+    public void setFittedNanos(Double fittedNanos) { this.fittedNanos = fittedNanos; }
+
+    public Double getFittedSteps() { return fittedSteps; }
+    public void setFittedSteps(Double fittedSteps) { this.fittedSteps = fittedSteps; }
+}
@@ -0,0 +1,59 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding the empirical scaling of one algorithm next to its declared complexity.
+ */
+public class ScalingResult {
+    private String algorithm;           // Name of the algorithm
+    private String worstCase;           // Declared worst-case time complexity
+    private String averageCase;         // Declared average-case time complexity
+    private String bestCase;            // Declared best-case time complexity
+    private Double declaredExponent;    // Growth exponent of the declared average case (null if it has none, e.g., "O(∞)")
+    private List<ScalingSeries> series; // One series per dataset shape
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public ScalingResult() {}
+
+    /**
+     * Constructs a result.
+     * @param algorithm The name of the algorithm.
+     * @param worstCase The declared worst-case complexity.
+     * @param averageCase The declared average-case complexity.
+     * @param bestCase The declared best-case complexity.
+     * @param declaredExponent The growth exponent of the declared average case, or null.
+     * @param series The measurements per dataset shape.
+     */
+    public ScalingResult(String algorithm, String worstCase, String averageCase, String bestCase,
+                         Double declaredExponent, List<ScalingSeries> series) {
+        this.algorithm = algorithm;
+        this.worstCase = worstCase;
+        this.averageCase = averageCase;
+        this.bestCase = bestCase;
+        this.declaredExponent = declaredExponent;
+        this.series = series;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+    public String getWorstCase() { return worstCase; }
+    public void setWorstCase(String worstCase) { this.worstCase = worstCase; }
+
+    public String getAverageCase() { return averageCase; }
+    public void setAverageCase(String averageCase) { this.averageCase = averageCase; }
+
+    public String getBestCase() { return bestCase; }
+    public void setBestCase(String bestCase) { this.bestCase = bestCase; }
+
+    public Double getDeclaredExponent() { return declaredExponent; }
+    public void setDeclaredExponent(Double declaredExponent) { this.declaredExponent = declaredExponent; }
+
+    public List<ScalingSeries> getSeries() { return series; }
+    public void setSeries(List<ScalingSeries> series) { this.series = series; }
+}
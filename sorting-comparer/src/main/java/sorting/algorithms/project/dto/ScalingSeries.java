@@ -0,0 +1,55 @@
+package sorting.algorithms.project.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding the scaling measurements of one algorithm on one dataset shape,
+ * with power-law fits {@code cost ≈ coefficient · n^exponent} of the time and the steps.
+ */
+public class ScalingSeries {
+    private String shape;              // Dataset shape (e.g., "unsorted")
+    private List<ScalingPoint> points; // Measurements in ascending size
+    private Double timeExponent;       // Fitted growth exponent of the time (null with fewer than 2 points)
+    private Double timeCoefficient;    // Fitted nanoseconds for n = 1
+    private Double stepsExponent;      // Fitted growth exponent of the steps (null with fewer than 2 points)
+    private Double stepsCoefficient;   // Fitted steps for n = 1
+    private String stoppedEarly;       // Why larger sizes were skipped (null if all sizes were measured)
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public ScalingSeries() {}
+
+    /**
+     * Constructs a series.
+     * @param shape The dataset shape.
+     * @param points The measurements in ascending size.
+     */
+    public ScalingSeries(String shape, List<ScalingPoint> points) {
+        this.shape = shape;
+        this.points = points;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getShape() { return shape; }
+    public void setShape(String shape) { this.shape = shape; }
+
+    public List<ScalingPoint> getPoints() { return points; }
+    public void setPoints(List<ScalingPoint> points) { this.points = points; }
+
+    public Double getTimeExponent() { return timeExponent; }
+    public void setTimeExponent(Double timeExponent) { this.timeExponent = timeExponent; }
+
+    public Double getTimeCoefficient() { return timeCoefficient; }
+    public void setTimeCoefficient(Double timeCoefficient) { this.timeCoefficient = timeCoefficient; }
+
+    public Double getStepsExponent() { return stepsExponent; }
+    public void setStepsExponent(Double stepsExponent) { this.stepsExponent = stepsExponent; }
+
+    public Double getStepsCoefficient() { return stepsCoefficient; }
+    public void setStepsCoefficient(Double stepsCoefficient) { this.stepsCoefficient = stepsCoefficient; }
+
+    public String getStoppedEarly() { return stoppedEarly; }
+    public void setStoppedEarly(String stoppedEarly) { this.stoppedEarly = stoppedEarly; }
+}
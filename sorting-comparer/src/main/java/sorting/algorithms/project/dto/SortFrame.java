@@ -0,0 +1,93 @@
+package sorting.algorithms.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one delta-encoded visualization step.
+ * Instead of a full copy of the list per step (as in {@link SortStep}), a stream of frames
+ * carries the full array only in keyframes; all other frames carry just the values that
+ * changed since the previous frame. A client reconstructs the array by starting from the
+ * last keyframe and applying the writes of every following frame in order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // Deltas omit the array, keyframes omit the writes
+public class SortFrame {
+
+    // Position of this frame in its stream (0 for the first frame).
+    private final long seq;
+    // The full array state; only set in keyframes.
+    private final int[] array;
+    // Changed values since the previous frame as flattened pairs [index0, value0, index1, value1, ...]; only set in deltas.
+    private final int[] writes;
+    // Indices that were read or compared during this step (for highlighting).
+    private final List<Integer> accessed;
+    // Indices that were written to or involved in a swap during this step (for highlighting).
+    private final List<Integer> changed;
+
+    /**
+     * Creates a frame.
+     * @param seq The position of the frame in its stream.
+     * @param array The full array state for a keyframe, or null for a delta.
+     * @param writes The flattened index/value pairs for a delta, or null for a keyframe.
+     * @param accessed The accessed indices of the step.
+     * @param changed The changed indices of the step.
+     */
+    public SortFrame(long seq, int[] array, int[] writes, List<Integer> accessed, List<Integer> changed) {
+        this.seq = seq;
+        this.array = array;
+        this.writes = writes;
+        this.accessed = accessed;
+        this.changed = changed;
+    }
+
+    // --- Getters ---
+
+    /**
+     * Gets the position of this frame in its stream.
+     * @return The sequence number.
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Checks whether this frame carries the full array.
+     * @return true for a keyframe, false for a delta.
+     */
+    public boolean isKeyframe() {
+        return array != null;
+    }
+
+    /**
+     * Gets the full array state of a keyframe.
+     * @return The array, or null for a delta.
+     */
+    public int[] getArray() {
+        return array;
+    }
+
+    /**
+     * Gets the values changed since the previous frame.
+     * @return Flattened index/value pairs, or null for a keyframe.
+     */
+    public int[] getWrites() {
+        return writes;
+    }
+
+    /**
+     * Gets the indices accessed (read/compared) in this step.
+     * @return The list of accessed indices.
+     */
+    public List<Integer> getAccessed() {
+        return accessed;
+    }
+
+    /**
+     * Gets the indices changed (written/swapped) in this step.
+     * @return The list of changed indices.
+     */
+    public List<Integer> getChanged() {
+        return changed;
+    }
+}
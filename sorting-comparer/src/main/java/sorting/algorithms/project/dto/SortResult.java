@@ -7,14 +7,26 @@ import java.util.List;
  * Includes performance metrics (time, steps) and excerpts of the data.
  */
 public class SortResult {
+    // Execution mode: the algorithm ran alone, undisturbed by other runs of the same request.
+    public static final String ISOLATED = "isolated";
+    // Execution mode: the algorithm ran in parallel with others of the same request,
+    // so its timing may include contention for cores, caches and memory bandwidth.
+    public static final String CONCURRENT = "concurrent";
+
     private String algorithm;     // Name of the algorithm used
     private long steps;           // Number of steps (e.g., comparisons, swaps) performed
-    private long durationMillis;  // Execution time in milliseconds
+    private long durationMillis;  // Execution time in milliseconds (median over all complete timed runs)
     private List<Integer> unsorted; // Excerpt of the original unsorted list
     private List<Integer> sorted;   // Excerpt of the resulting sorted list
     private String worstCase;     // Worst-case time complexity
     private String averageCase;   // Average-case time complexity
     private String bestCase;      // Best-case time complexity
+    private String executionMode = ISOLATED; // How the run was scheduled (see constants above)
+    private TimingStatistics timing; // Nanosecond statistics over all complete timed runs (null if none completed)
+    private boolean aborted;      // Whether a run was stopped because it exceeded its step or time budget
+    private String abortReason;   // The exceeded budget if aborted (e.g., "time budget of 10000 ms"), otherwise null
+    private double sortedness = 1.0; // Fraction of adjacent pairs in order after the last run (1.0 = sorted)
+    private long abortedAfterMillis; // Time the aborted run took until it was stopped, in milliseconds (0 if none was aborted)
 
     /**
      * Constructs a new SortResult instance.
@@ -64,4 +76,22 @@ public class SortResult {
 
     public String getBestCase() { return bestCase; }
     public void setBestCase(String bestCase) { this.bestCase = bestCase; }
+
+    public String getExecutionMode() { return executionMode; }
+    public void setExecutionMode(String executionMode) { this.executionMode = executionMode; }
+
+    public TimingStatistics getTiming() { return timing; }
+    public void setTiming(TimingStatistics timing) { this.timing = timing; }
+
+    public boolean isAborted() { return aborted; }
+    public void setAborted(boolean aborted) { this.aborted = aborted; }
+
+    public String getAbortReason() { return abortReason; }
+    public void setAbortReason(String abortReason) { this.abortReason = abortReason; }
+
+    public double getSortedness() { return sortedness; }
+    public void setSortedness(double sortedness) { this.sortedness = sortedness; }
+
+    public long getAbortedAfterMillis() { return abortedAfterMillis; }
+    public void setAbortedAfterMillis(long abortedAfterMillis) { this.abortedAfterMillis = abortedAfterMillis; }
 }
\ No newline at end of file
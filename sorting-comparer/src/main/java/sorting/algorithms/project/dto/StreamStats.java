@@ -0,0 +1,46 @@
+package sorting.algorithms.project.dto;
+
+/**
+ * Data Transfer Object (DTO) summarizing a visualizer stream, sent as the final "stats" event.
+ * Every step of the sort is either sent, merged into a sent frame (several steps per display
+ * frame), or dropped because the client could not keep up; the final state is always sent.
+ */
+public class StreamStats {
+    private long steps;    // Steps reported by the algorithm
+    private long frames;   // Frames sent to the client
+    private long merged;   // Steps merged into another frame to meet the frame rate
+    private long dropped;  // Steps dropped because the queue to the client was full
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public StreamStats() {}
+
+    /**
+     * Creates the statistics of a stream.
+     * @param steps The number of steps reported by the algorithm.
+     * @param frames The number of frames sent.
+     * @param merged The number of steps merged into other frames.
+     * @param dropped The number of steps dropped under backpressure.
+     */
+    public StreamStats(long steps, long frames, long merged, long dropped) {
+        this.steps = steps;
+        this.frames = frames;
+        this.merged = merged;
+        this.dropped = dropped;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public long getSteps() { return steps; }
+    public void setSteps(long steps) { this.steps = steps; }
+
+    public long getFrames() { return frames; }
+    public void setFrames(long frames) { this.frames = frames; }
+
+    public long getMerged() { return merged; }
+    public void setMerged(long merged) { this.merged = merged; }
+
+    public long getDropped() { return dropped; }
+    public void setDropped(long dropped) { this.dropped = dropped; }
+}
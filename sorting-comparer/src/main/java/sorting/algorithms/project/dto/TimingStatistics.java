@@ -0,0 +1,117 @@
+package sorting.algorithms.project.dto;
+
+import java.util.Arrays;
+
+/**
+ * Data Transfer Object (DTO) summarizing the measured run times of one algorithm
+ * over several repetitions. All times are in nanoseconds.
+ */
+public class TimingStatistics {
+    // Two-sided 95% critical values of Student's t-distribution for 1..30 degrees of freedom.
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    // Normal approximation used above 30 degrees of freedom.
+    private static final double Z_95 = 1.960;
+
+    private int repetitions;     // Number of measured (non-warmup) runs
+    private long minNanos;       // Fastest run
+    private long medianNanos;    // Median run
+    private long p90Nanos;       // 90th percentile (nearest rank)
+    private long p99Nanos;       // 99th percentile (nearest rank)
+    private long maxNanos;       // Slowest run
+    private double meanNanos;    // Arithmetic mean
+    private double stddevNanos;  // Sample standard deviation (0 for a single run)
+    private Double ciLowerNanos; // Lower bound of the 95% confidence interval of the mean (null for a single run)
+    private Double ciUpperNanos; // Upper bound of the 95% confidence interval of the mean (null for a single run)
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public TimingStatistics() {}
+
+    /**
+     * Computes the statistics of the given samples.
+     * @param samplesNanos The measured run times in nanoseconds (at least one; will not be modified).
+     * @return The statistics of the samples.
+     */
+    public static TimingStatistics of(long[] samplesNanos) {
+        long[] sorted = samplesNanos.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        TimingStatistics stats = new TimingStatistics();
+        stats.repetitions = n;
+        stats.minNanos = sorted[0];
+        stats.maxNanos = sorted[n - 1];
+        // For an even number of samples, the median is the mean of the two middle values.
+        stats.medianNanos = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        stats.p90Nanos = percentile(sorted, 90);
+        stats.p99Nanos = percentile(sorted, 99);
+
+        double sum = 0;
+        for (long sample : sorted) sum += sample;
+        stats.meanNanos = sum / n;
+
+        if (n > 1) {
+            double squares = 0;
+            for (long sample : sorted) {
+                double diff = sample - stats.meanNanos;
+                squares += diff * diff;
+            }
+            stats.stddevNanos = Math.sqrt(squares / (n - 1));
+            // Confidence interval of the mean: mean +- t * s / sqrt(n).
+            int degreesOfFreedom = n - 1;
+            double t = degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : Z_95;
+            double halfWidth = t * stats.stddevNanos / Math.sqrt(n);
+            stats.ciLowerNanos = stats.meanNanos - halfWidth;
+            stats.ciUpperNanos = stats.meanNanos + halfWidth;
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted samples.
+     * @param sorted The samples in ascending order.
+     * @param percent The percentile (0-100).
+     * @return The smallest sample such that at least {@code percent}% of the samples are less or equal.
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public int getRepetitions() { return repetitions; }
+    public void setRepetitions(int repetitions) { this.repetitions = repetitions; }
+
+    public long getMinNanos() { return minNanos; }
+    public void setMinNanos(long minNanos) { this.minNanos = minNanos; }
+
+    public long getMedianNanos() { return medianNanos; }
+    public void setMedianNanos(long medianNanos) { this.medianNanos = medianNanos; }
+
+    public long getP90Nanos() { return p90Nanos; }
+    public void setP90Nanos(long p90Nanos) { this.p90Nanos = p90Nanos; }
+
+    public long getP99Nanos() { return p99Nanos; }
+    public void setP99Nanos(long p99Nanos) { this.p99Nanos = p99Nanos; }
+
+    public long getMaxNanos() { return maxNanos; }
+    public void setMaxNanos(long maxNanos) { this.maxNanos = maxNanos; }
+
+    public double getMeanNanos() { return meanNanos; }
+    public void setMeanNanos(double meanNanos) { this.meanNanos = meanNanos; }
+
+    public double getStddevNanos() { return stddevNanos; }
+    public void setStddevNanos(double stddevNanos) { this.stddevNanos = stddevNanos; }
+
+    public Double getCiLowerNanos() { return ciLowerNanos; }
+    public void setCiLowerNanos(Double ciLowerNanos) { this.ciLowerNanos = ciLowerNanos; }
+
+    public Double getCiUpperNanos() { return ciUpperNanos; }
+    public void setCiUpperNanos(Double ciUpperNanos) { this.ciUpperNanos = ciUpperNanos; }
+}
@@ -0,0 +1,51 @@
+package sorting.algorithms.project.dto;
+
+/**
+ * Data Transfer Object (DTO) describing a recorded sort trace.
+ * The steps themselves are fetched through the replay endpoints, referenced by the id.
+ */
+public class TraceInfo {
+    private String id;         // Identifier used to reference the trace
+    private String algorithm;  // Name of the traced algorithm
+    private int size;          // Number of elements of the traced input
+    private long steps;        // Number of recorded steps (replayable as steps 0 .. steps - 1)
+    private long bytes;        // Size of the trace file in bytes
+
+    /**
+     * Default constructor (required for frameworks like Jackson).
+     */
+    public TraceInfo() {}
+
+    /**
+     * Creates a description of a recorded trace.
+     * @param id The identifier of the trace.
+     * @param algorithm The name of the traced algorithm.
+     * @param size The number of elements of the traced input.
+     * @param steps The number of recorded steps.
+     * @param bytes The size of the trace file in bytes.
+     */
+    public TraceInfo(String id, String algorithm, int size, long steps, long bytes) {
+        this.id = id;
+        this.algorithm = algorithm;
+        this.size = size;
+        this.steps = steps;
+        this.bytes = bytes;
+    }
+
+    // --- Standard Getters and Setters ---
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getSteps() { return steps; }
+    public void setSteps(long steps) { this.steps = steps; }
+
+    public long getBytes() { return bytes; }
+    public void setBytes(long bytes) { this.bytes = bytes; }
+}
@@ -0,0 +1,416 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.dto.CompareJob;
+import sorting.algorithms.project.dto.CompareRequest;
+import sorting.algorithms.project.dto.SortResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Runs compare requests asynchronously, so clients do not have to keep a request open while
+ * large inputs are sorted.
+ * <ul>
+ *     <li>Submitted jobs wait in a priority queue (higher priority first, then in submission
+ *     order) and run on the dedicated job pool; each job fans its algorithms out like a synchronous compare.</li>
+ *     <li>Clients poll the job or subscribe to it; subscribers receive a snapshot after every
+ *     state change and every finished algorithm. Snapshots are delivered on the event pool, so a slow
+ *     subscriber never holds up the compare; it skips to the newest snapshot instead.</li>
+ *     <li>Finished jobs are kept for the configured retention time, and at most the configured
+ *     number of them, so memory stays bounded. The number of waiting jobs is bounded as well,
+ *     because a waiting job holds its whole input.</li>
+ * </ul>
+ */
+@Service
+public class CompareJobService {
+
+    // Runs the compares.
+    private final SortingService sortingService;
+    // Pool with a priority queue running the jobs.
+    private final ExecutorService jobExecutor;
+    // Pool delivering the snapshots to subscribers.
+    private final ExecutorService eventExecutor;
+    // Maximum number of jobs waiting for a job thread.
+    private final int maxQueued;
+    // Time finished jobs are kept, in milliseconds.
+    private final long retentionMillis;
+    // Maximum number of finished jobs kept.
+    private final int maxRetained;
+    // Submission counter; keeps jobs of equal priority in submission order.
+    private final AtomicLong sequence = new AtomicLong();
+    // All known jobs in submission order; guarded by 'this'.
+    private final LinkedHashMap<String, Job> jobs = new LinkedHashMap<>();
+    // Number of jobs waiting for a job thread; guarded by 'this'.
+    private int queued;
+
+    /**
+     * Creates the job service.
+     * @param sortingService The service running the compares.
+     * @param jobExecutor The pool running the jobs (its queue must order {@link Comparable} tasks).
+     * @param eventExecutor The pool delivering the snapshots to subscribers.
+     * @param maxQueued The maximum number of waiting jobs.
+     * @param retentionMillis The time finished jobs are kept, in milliseconds.
+     * @param maxRetained The maximum number of finished jobs kept.
+     */
+    public CompareJobService(SortingService sortingService,
+                             @Qualifier("jobExecutor") ExecutorService jobExecutor,
+                             @Qualifier("jobEventExecutor") ExecutorService eventExecutor,
+                             @Value("${sorting.jobs.max-queued:100}") int maxQueued,
+                             @Value("${sorting.jobs.retention-ms:600000}") long retentionMillis,
+                             @Value("${sorting.jobs.max-retained:200}") int maxRetained) {
+        this.sortingService = sortingService;
+        this.jobExecutor = jobExecutor;
+        this.eventExecutor = eventExecutor;
+        this.maxQueued = Math.max(1, maxQueued);
+        this.retentionMillis = Math.max(0, retentionMillis);
+        this.maxRetained = Math.max(0, maxRetained);
+    }
+
+    /**
+     * Queues a compare request.
+     * @param request The compare request.
+     * @param priority The priority of the job (higher runs first).
+     * @return The snapshot of the queued job.
+     * @throws JobQueueFullException If the maximum number of jobs is waiting already.
+     */
+    public CompareJob submit(CompareRequest request, int priority) {
+        Objects.requireNonNull(request, "request");
+        Job job = new Job(UUID.randomUUID().toString(), request, priority, sequence.incrementAndGet());
+        synchronized (this) {
+            purge();
+            if (queued >= maxQueued) {
+                throw new JobQueueFullException("All " + maxQueued + " job slots are taken, try again later");
+            }
+            jobs.put(job.id, job);
+            queued++;
+        }
+        // Snapshot before handing the job over: a free job thread may start it right away.
+        CompareJob submitted = job.snapshot();
+        try {
+            jobExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            // The pool is shutting down.
+            synchronized (this) {
+                jobs.remove(job.id);
+                queued--;
+            }
+            throw new JobQueueFullException("Compare jobs are shutting down");
+        }
+        return submitted;
+    }
+
+    /**
+     * Looks up a job.
+     * @param id The id of the job.
+     * @return The snapshot of the job, or null if it does not exist (or no longer).
+     */
+    public CompareJob get(String id) {
+        Job job = find(id);
+        return job != null ? job.snapshot() : null;
+    }
+
+    /**
+     * Lists all known jobs in submission order.
+     * @return The snapshots of the jobs.
+     */
+    public List<CompareJob> list() {
+        List<Job> known;
+        synchronized (this) {
+            purge();
+            known = new ArrayList<>(jobs.values());
+        }
+        List<CompareJob> snapshots = new ArrayList<>(known.size());
+        known.forEach(job -> snapshots.add(job.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Subscribes to the updates of a job. The listener receives the current snapshot right away and
+     * a new one after every change, until it returns false or the job has finished. The listener is
+     * called on the event pool, one snapshot at a time; snapshots published while it is still busy
+     * are replaced by the newest one, which always includes the final state.
+     * @param id The id of the job.
+     * @param listener Receives the snapshots; returning false unsubscribes.
+     * @return false if no job with this id exists.
+     */
+    public boolean subscribe(String id, Predicate<CompareJob> listener) {
+        Job job = find(id);
+        if (job == null) return false;
+        job.subscribe(listener);
+        return true;
+    }
+
+    /**
+     * Looks up a job and drops expired ones.
+     * @param id The id of the job.
+     * @return The job, or null.
+     */
+    private synchronized Job find(String id) {
+        purge();
+        return jobs.get(id);
+    }
+
+    /**
+     * Called when a job leaves the queue.
+     */
+    private synchronized void started() {
+        queued--;
+    }
+
+    /**
+     * Drops finished jobs past their retention time, then the oldest finished jobs beyond the maximum count.
+     * Must be called while holding the lock.
+     */
+    private void purge() {
+        long expiry = System.currentTimeMillis() - retentionMillis;
+        int finished = 0;
+        for (Iterator<Job> iterator = jobs.values().iterator(); iterator.hasNext(); ) {
+            Long finishedAt = iterator.next().finishedAt();
+            if (finishedAt == null) continue;
+            if (finishedAt < expiry) {
+                iterator.remove();
+            } else {
+                finished++;
+            }
+        }
+        for (Iterator<Job> iterator = jobs.values().iterator(); finished > maxRetained && iterator.hasNext(); ) {
+            if (iterator.next().finishedAt() != null) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    /**
+     * A queued, running or finished compare job. Ordered for the priority queue of the job pool.
+     */
+    private final class Job implements Runnable, Comparable<Job> {
+        final String id;
+        final int priority;
+        final long sequence;
+        final long submittedAt = System.currentTimeMillis();
+        // The following fields are guarded by 'this' (the job).
+        // The request; released once the job has run, so finished jobs do not hold their input.
+        private CompareRequest request;
+        private String status = CompareJob.QUEUED;
+        private int completed;
+        private int total;
+        private final List<SortResult> results = new ArrayList<>();
+        private String error;
+        private Long startedAt;
+        private Long finishedAt;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        // The newest published snapshot (null until the first publish or subscription).
+        private CompareJob latest;
+        // Whether a delivery task is queued or running; at most one per job, so updates stay in order.
+        private boolean delivering;
+
+        /**
+         * Creates a queued job.
+         * @param id The id of the job.
+         * @param request The compare request.
+         * @param priority The priority (higher runs first).
+         * @param sequence The submission number.
+         */
+        Job(String id, CompareRequest request, int priority, long sequence) {
+            this.id = id;
+            this.request = request;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.total = request.getAlgorithms() != null ? request.getAlgorithms().size() : 0;
+        }
+
+        /**
+         * Runs the compare (called by the job pool).
+         */
+        @Override
+        public void run() {
+            started();
+            CompareRequest toRun;
+            synchronized (this) {
+                toRun = request;
+                status = CompareJob.RUNNING;
+                startedAt = System.currentTimeMillis();
+                publish();
+            }
+            try {
+                List<SortResult> all = sortingService.compare(toRun, (result, done, count) -> {
+                    synchronized (this) {
+                        results.add(result);
+                        completed = done;
+                        total = count;
+                        publish();
+                    }
+                });
+                synchronized (this) {
+                    // Invalid requests produce no results (and no progress).
+                    total = all.size();
+                    completed = all.size();
+                    status = CompareJob.DONE;
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    status = CompareJob.FAILED;
+                    error = e.getMessage() != null ? e.getMessage() : e.toString();
+                }
+            } finally {
+                synchronized (this) {
+                    request = null;
+                    finishedAt = System.currentTimeMillis();
+                    publish();
+                }
+            }
+        }
+
+        /**
+         * Orders jobs by priority (highest first), then by submission (oldest first).
+         * @param other The other job.
+         * @return The comparison result.
+         */
+        @Override
+        public int compareTo(Job other) {
+            if (priority != other.priority) return Integer.compare(other.priority, priority);
+            return Long.compare(sequence, other.sequence);
+        }
+
+        /**
+         * Returns the end time of the job.
+         * @return The end time in epoch milliseconds, or null if the job has not finished.
+         */
+        synchronized Long finishedAt() {
+            return finishedAt;
+        }
+
+        /**
+         * Creates a snapshot of the job.
+         * @return The snapshot.
+         */
+        synchronized CompareJob snapshot() {
+            return new CompareJob(id, status, priority, completed, total, new ArrayList<>(results),
+                    error, submittedAt, startedAt, finishedAt);
+        }
+
+        /**
+         * Adds a listener and schedules sending it the current snapshot.
+         * @param listener The listener; returning false unsubscribes.
+         */
+        synchronized void subscribe(Predicate<CompareJob> listener) {
+            // Always fresh: without subscribers nothing is published, so 'latest' may be outdated.
+            latest = snapshot();
+            subscribers.add(new Subscriber(listener));
+            scheduleDelivery();
+        }
+
+        /**
+         * Takes a snapshot for the subscribers. Must be called while holding the job's lock; the
+         * listeners are called later on the event pool, outside the lock.
+         */
+        private void publish() {
+            if (subscribers.isEmpty()) return;
+            latest = snapshot();
+            scheduleDelivery();
+        }
+
+        /**
+         * Starts a delivery task unless one is queued or running already.
+         * Must be called while holding the job's lock.
+         */
+        private void scheduleDelivery() {
+            if (delivering || subscribers.isEmpty()) return;
+            delivering = true;
+            try {
+                eventExecutor.execute(this::deliverAll);
+            } catch (RejectedExecutionException e) {
+                // The pool is shutting down; nobody is left to receive the updates.
+                delivering = false;
+                subscribers.clear();
+            }
+        }
+
+        /**
+         * Sends the newest snapshot to every subscriber that has not seen it yet, until all are up to date.
+         * Subscribers are dropped once they unsubscribe, fail or have received the final snapshot.
+         */
+        private void deliverAll() {
+            while (true) {
+                CompareJob snapshot;
+                List<Subscriber> due = new ArrayList<>();
+                synchronized (this) {
+                    snapshot = latest;
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.delivered != snapshot) due.add(subscriber);
+                    }
+                    if (due.isEmpty()) {
+                        delivering = false;
+                        return;
+                    }
+                }
+                List<Subscriber> done = new ArrayList<>();
+                for (Subscriber subscriber : due) {
+                    if (!deliver(subscriber.listener, snapshot) || snapshot.isFinished()) {
+                        done.add(subscriber);
+                    }
+                }
+                synchronized (this) {
+                    due.forEach(subscriber -> subscriber.delivered = snapshot);
+                    subscribers.removeAll(done);
+                }
+            }
+        }
+
+        /**
+         * Sends a snapshot to a listener.
+         * @param listener The listener.
+         * @param snapshot The snapshot.
+         * @return false if the listener unsubscribed or failed.
+         */
+        private boolean deliver(Predicate<CompareJob> listener, CompareJob snapshot) {
+            try {
+                return listener.test(snapshot);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A listener of a job and the last snapshot it received; guarded by the job.
+     */
+    private static final class Subscriber {
+        final Predicate<CompareJob> listener;
+        CompareJob delivered;
+
+        /**
+         * Creates a subscriber that has not received anything yet.
+         * @param listener The listener; returning false unsubscribes.
+         */
+        Subscriber(Predicate<CompareJob> listener) {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Thrown when a job cannot be queued because the queue is full or the service shuts down.
+     */
+    public static class JobQueueFullException extends RuntimeException {
+
+        /**
+         * Creates the exception.
+         * @param message The detail message.
+         */
+        public JobQueueFullException(String message) {
+            super(message);
+        }
+    }
+}
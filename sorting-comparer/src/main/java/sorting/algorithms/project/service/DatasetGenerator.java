@@ -0,0 +1,200 @@
+package sorting.algorithms.project.service;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the standard dataset shapes offered by the application.
+ * The same shapes are used by the REST API ({@code /api/compare/datasets}) and by the
+ * benchmarks, so numbers from both are measured on identical inputs.
+ * Every shape is a permutation of the values {@code 0 .. count - 1}.
+ */
+public final class DatasetGenerator {
+
+    // Names of the available shapes, in the order they are presented to clients.
+    public static final List<String> SHAPES = List.of("unsorted", "halfSorted", "sorted", "reverse");
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private DatasetGenerator() {}
+
+    /**
+     * Generates a dataset of the given shape.
+     * @param shape The shape name (one of {@link #SHAPES}).
+     * @param count The number of elements.
+     * @param random The source of randomness for shuffled shapes (use a seeded instance for reproducible data).
+     * @return A new array with {@code count} elements.
+     * @throws IllegalArgumentException If the shape name is unknown.
+     */
+    public static int[] generate(String shape, int count, Random random) {
+        switch (shape) {
+            case "unsorted": {
+                // Shuffle the ascending values completely.
+                int[] values = ascending(count);
+                shuffle(values, 0, count, random);
+                return values;
+            }
+            case "halfSorted": {
+                // First half sorted, second half shuffled.
+                int[] values = ascending(count);
+                if (count >= 2) {
+                    shuffle(values, count / 2, count, random);
+                }
+                return values;
+            }
+            case "sorted":
+                return ascending(count);
+            case "reverse": {
+                // Generate descending values (count - 1 down to 0).
+                int[] values = new int[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = count - 1 - i;
+                }
+                return values;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown dataset shape: " + shape);
+        }
+    }
+
+    /**
+     * Generates a dataset of the given shape lazily, one value at a time, so datasets larger than
+     * the heap can be streamed (e.g. into the external sort). The shuffled shapes use a keyed
+     * pseudo-random permutation instead of Fisher-Yates, so the values differ from
+     * {@link #generate} for the same seed, but every shape is still a permutation of {@code 0 .. count - 1}.
+     * @param shape The shape name (one of {@link #SHAPES}).
+     * @param count The number of elements.
+     * @param seed The seed of the permutation for shuffled shapes.
+     * @return An ordered stream of {@code count} values.
+     * @throws IllegalArgumentException If the shape name is unknown or the count is negative.
+     */
+    public static IntStream stream(String shape, int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        switch (shape) {
+            case "unsorted": {
+                Permutation permutation = new Permutation(count, seed);
+                return IntStream.range(0, count).map(permutation::apply);
+            }
+            case "halfSorted": {
+                // First half sorted, second half permuted among itself.
+                int half = count / 2;
+                Permutation permutation = new Permutation(count - half, seed);
+                return IntStream.range(0, count).map(i -> i < half ? i : half + permutation.apply(i - half));
+            }
+            case "sorted":
+                return IntStream.range(0, count);
+            case "reverse":
+                return IntStream.range(0, count).map(i -> count - 1 - i);
+            default:
+                throw new IllegalArgumentException("Unknown dataset shape: " + shape);
+        }
+    }
+
+    /**
+     * Creates the ascending values {@code 0 .. count - 1}.
+     * @param count The number of elements.
+     * @return The ascending array.
+     */
+    private static int[] ascending(int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    /**
+     * Shuffles the range {@code values[from, to)} uniformly (Fisher-Yates, as {@code Collections.shuffle}).
+     * @param values The array to shuffle.
+     * @param from The first index of the range (inclusive).
+     * @param to The last index of the range (exclusive).
+     * @param random The source of randomness.
+     */
+    private static void shuffle(int[] values, int from, int to, Random random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+
+    /**
+     * A pseudo-random permutation of {@code 0 .. n - 1} that can be evaluated for every index
+     * independently: a 4-round Feistel network over the smallest even number of bits covering n,
+     * with cycle-walking to map values outside the range back into it.
+     */
+    private static final class Permutation {
+        // The size of the permuted range.
+        private final int n;
+        // Number of bits in each half of the Feistel block.
+        private final int halfBits;
+        // Mask selecting one half.
+        private final long mask;
+        // One key per round.
+        private final long[] keys = new long[4];
+
+        /**
+         * Creates the permutation of {@code 0 .. n - 1} for the given seed.
+         * @param n The size of the range.
+         * @param seed The seed of the round keys.
+         */
+        Permutation(int n, long seed) {
+            this.n = n;
+            int bits = n <= 1 ? 2 : 64 - Long.numberOfLeadingZeros(n - 1L);
+            bits += bits & 1;
+            this.halfBits = bits / 2;
+            this.mask = (1L << halfBits) - 1;
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+
+        /**
+         * Returns the value at the given index of the permutation.
+         * @param index The index in {@code 0 .. n - 1}.
+         * @return The permuted value in {@code 0 .. n - 1}.
+         */
+        int apply(int index) {
+            long x = index;
+            // The network permutes the whole block (at most 4n values); repeat until the value is in range.
+            do {
+                x = encrypt(x);
+            } while (x >= n);
+            return (int) x;
+        }
+
+        /**
+         * Applies the Feistel rounds to one block.
+         * @param x The block.
+         * @return The permuted block.
+         */
+        private long encrypt(long x) {
+            long left = x >>> halfBits;
+            long right = x & mask;
+            for (long key : keys) {
+                long next = left ^ (mix(right ^ key) & mask);
+                left = right;
+                right = next;
+            }
+            return (left << halfBits) | right;
+        }
+
+        /**
+         * Scrambles the bits of a value (the MurmurHash3 finalizer).
+         * @param z The value.
+         * @return The scrambled value.
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
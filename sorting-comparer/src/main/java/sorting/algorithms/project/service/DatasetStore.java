@@ -0,0 +1,460 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.dto.DatasetInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persists int datasets so that large inputs are sent (or generated) once and then referenced by id.
+ * Every dataset is a file {@code <id>.bin} of raw little-endian 32-bit ints in the configured
+ * directory, so datasets survive restarts. Reading a dataset maps its file read-only into memory:
+ * there is no parsing, and the values live in the page cache instead of the heap until a caller
+ * copies them into an array. Mapped datasets are cached up to the configured number of bytes
+ * (least recently used first out), so repeated accesses do not remap the file.
+ * <p>
+ * The standard shapes of {@link DatasetGenerator} are cached in the subdirectory {@code standard}
+ * the first time they are requested and loaded from disk afterwards. They are not stored datasets:
+ * they are not listed, user ids cannot refer to them, and the least recently used ones are deleted
+ * once the cache exceeds its size budget (they can always be generated again).
+ */
+@Service
+public class DatasetStore {
+
+    // Ids are used as file names, so only a safe subset of characters is allowed.
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    // File extension of stored datasets.
+    private static final String EXTENSION = ".bin";
+    // A mapping is limited to Integer.MAX_VALUE bytes.
+    static final int MAX_SIZE = Integer.MAX_VALUE / Integer.BYTES;
+    // Seed of the standard datasets, so the same shape and count always yield the same data.
+    private static final long STANDARD_SEED = 0;
+    // Subdirectory caching the standard datasets; its name is no valid file name of a stored dataset.
+    private static final String STANDARD_DIRECTORY = "standard";
+
+    // Directory holding the dataset files.
+    private final Path directory;
+    // Directory caching the standard datasets.
+    private final Path standardDirectory;
+    // Maximum total size of the cached standard datasets in bytes.
+    private final long standardMaxBytes;
+    // Maximum total size of the cached mappings in bytes.
+    private final long mappedMaxBytes;
+    // Read-only mapped views of the files accessed recently, least recently used first; guarded by 'mapped'.
+    private final LinkedHashMap<Path, IntBuffer> mapped = new LinkedHashMap<>(16, 0.75f, true);
+    // Total size of the cached mappings in bytes; guarded by 'mapped'.
+    private long mappedBytes;
+    // Sizes of the cached standard datasets by file, least recently used first; guarded by 'standardFiles'.
+    private final LinkedHashMap<Path, Long> standardFiles = new LinkedHashMap<>(16, 0.75f, true);
+    // Total size of the cached standard datasets in bytes; guarded by 'standardFiles'.
+    private long standardBytes;
+
+    /**
+     * Creates the store and picks up the standard datasets cached before a restart. The directory is created on the first write.
+     * @param directory The directory holding the dataset files.
+     * @param standardMaxBytes The maximum total size of the cached standard datasets in bytes.
+     * @param mappedMaxBytes The maximum total size of the cached mappings in bytes.
+     */
+    public DatasetStore(@Value("${sorting.datasets.dir:data/datasets}") String directory,
+                        @Value("${sorting.datasets.standard-max-bytes:268435456}") long standardMaxBytes,
+                        @Value("${sorting.datasets.mapped-max-bytes:1073741824}") long mappedMaxBytes) {
+        this.directory = Paths.get(directory);
+        this.standardDirectory = this.directory.resolve(STANDARD_DIRECTORY);
+        this.standardMaxBytes = Math.max(0, standardMaxBytes);
+        this.mappedMaxBytes = Math.max(0, mappedMaxBytes);
+        loadStandardFiles();
+    }
+
+    /**
+     * Checks whether a string is a valid dataset id.
+     * @param id The id to check.
+     * @return true if the id can be used to store a dataset.
+     */
+    public static boolean isValidId(String id) {
+        return id != null && ID_PATTERN.matcher(id).matches();
+    }
+
+    /**
+     * Stores a dataset under a new, generated id.
+     * @param values The values to store.
+     * @return The description of the stored dataset.
+     */
+    public DatasetInfo create(int[] values) {
+        return save(UUID.randomUUID().toString(), values);
+    }
+
+    /**
+     * Stores a dataset, replacing any dataset with the same id.
+     * @param id The id of the dataset.
+     * @param values The values to store.
+     * @return The description of the stored dataset.
+     * @throws IllegalArgumentException If the id is invalid or the dataset is too large.
+     */
+    public DatasetInfo save(String id, int[] values) {
+        requireValidId(id);
+        if (values.length > MAX_SIZE) {
+            throw new IllegalArgumentException("Dataset is too large: " + values.length + " elements");
+        }
+        return describe(id, write(file(id), values));
+    }
+
+    /**
+     * Writes values to a file through a temporary file, so readers never see a partially written file.
+     * @param target The file to write.
+     * @param values The values.
+     * @return The size of the file in bytes.
+     * @throws UncheckedIOException If the file cannot be written.
+     */
+    private long write(Path target, int[] values) {
+        Path temp = null;
+        try {
+            temp = tempFile(target);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                // Write in chunks through one small buffer instead of encoding the whole array at once.
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+                IntBuffer ints = buffer.asIntBuffer();
+                for (int offset = 0; offset < values.length; ) {
+                    int length = Math.min(ints.capacity(), values.length - offset);
+                    ints.clear();
+                    ints.put(values, offset, length);
+                    buffer.clear().limit(length * Integer.BYTES);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    offset += length;
+                }
+            }
+            return publish(target, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + target, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Stores a dataset from a stream of raw little-endian 32-bit ints, replacing any dataset with the same id.
+     * The bytes are copied to disk unchanged, so the dataset never has to fit into the heap.
+     * @param id The id of the dataset.
+     * @param rawValues The stream holding the values (not closed by this method).
+     * @return The description of the stored dataset.
+     * @throws IllegalArgumentException If the id is invalid, the length is not a multiple of 4 bytes or the dataset is too large.
+     * @throws IOException If the stream cannot be read.
+     */
+    public DatasetInfo save(String id, InputStream rawValues) throws IOException {
+        requireValidId(id);
+        Path temp = tempFile(file(id));
+        try {
+            long bytes = Files.copy(rawValues, temp, StandardCopyOption.REPLACE_EXISTING);
+            if (bytes % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("Input length is not a multiple of 4 bytes");
+            }
+            if (bytes / Integer.BYTES > MAX_SIZE) {
+                throw new IllegalArgumentException("Dataset is too large: " + bytes / Integer.BYTES + " elements");
+            }
+            return describe(id, publish(file(id), temp));
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Returns a read-only view of a stored dataset, backed by the memory-mapped file.
+     * The view is independent of other callers' views (own position and limit) and uses absolute indices 0 .. size - 1.
+     * @param id The id of the dataset.
+     * @return The view, or null if no dataset with this id exists.
+     */
+    public IntBuffer open(String id) {
+        if (!isValidId(id)) return null;
+        return map(file(id));
+    }
+
+    /**
+     * Returns a read-only view of a file, mapping it unless a mapping is cached.
+     * Mappings beyond the budget are dropped, least recently used first; views handed out stay valid.
+     * @param file The file.
+     * @return An independent view, or null if the file does not exist.
+     * @throws UncheckedIOException If the file cannot be mapped.
+     */
+    private IntBuffer map(Path file) {
+        synchronized (mapped) {
+            IntBuffer cached = mapped.get(file);
+            if (cached != null) return cached.duplicate();
+        }
+        IntBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            // The mapping stays valid after the channel is closed.
+            buffer = bytes.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        } catch (NoSuchFileException e) {
+            return null; // Not cached, so a dataset stored later is found
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map " + file, e);
+        }
+        long bytes = (long) buffer.capacity() * Integer.BYTES;
+        synchronized (mapped) {
+            // A concurrent caller may have mapped it as well; the last mapping wins.
+            IntBuffer previous = mapped.put(file, buffer);
+            if (previous != null) mappedBytes -= (long) previous.capacity() * Integer.BYTES;
+            mappedBytes += bytes;
+            Iterator<Map.Entry<Path, IntBuffer>> eldest = mapped.entrySet().iterator();
+            while (mappedBytes > mappedMaxBytes && eldest.hasNext()) {
+                mappedBytes -= (long) eldest.next().getValue().capacity() * Integer.BYTES;
+                eldest.remove();
+            }
+        }
+        return buffer.duplicate();
+    }
+
+    /**
+     * Drops the cached mapping of a file.
+     * @param file The file.
+     */
+    private void unmap(Path file) {
+        synchronized (mapped) {
+            IntBuffer previous = mapped.remove(file);
+            if (previous != null) mappedBytes -= (long) previous.capacity() * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Copies a stored dataset into a new array (a single bulk copy from the mapped file).
+     * @param id The id of the dataset.
+     * @return The values, or null if no dataset with this id exists.
+     */
+    public int[] load(String id) {
+        IntBuffer buffer = open(id);
+        if (buffer == null) return null;
+        int[] values = new int[buffer.remaining()];
+        buffer.get(values);
+        return values;
+    }
+
+    /**
+     * Returns a standard dataset of {@link DatasetGenerator}, generating and caching it on the first request.
+     * Datasets larger than the whole cache budget are generated on every call instead.
+     * @param shape The shape name (one of {@link DatasetGenerator#SHAPES}).
+     * @param count The number of elements.
+     * @return A read-only view of the dataset.
+     * @throws IllegalArgumentException If the shape name is unknown or the count is negative.
+     */
+    public IntBuffer standard(String shape, int count) {
+        if (!DatasetGenerator.SHAPES.contains(shape)) {
+            throw new IllegalArgumentException("Unknown dataset shape: " + shape);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative dataset size: " + count);
+        }
+        long bytes = (long) count * Integer.BYTES;
+        if (bytes > standardMaxBytes) {
+            return IntBuffer.wrap(DatasetGenerator.generate(shape, count, new Random(STANDARD_SEED))).asReadOnlyBuffer();
+        }
+        Path file = standardDirectory.resolve(shape + "-" + count + EXTENSION);
+        IntBuffer buffer = map(file);
+        if (buffer == null) {
+            // Concurrent first requests may both generate; they write identical data, and the last rename wins.
+            int[] values = DatasetGenerator.generate(shape, count, new Random(STANDARD_SEED));
+            write(file, values);
+            buffer = IntBuffer.wrap(values).asReadOnlyBuffer();
+        }
+        useStandardFile(file, bytes);
+        return buffer;
+    }
+
+    /**
+     * Marks a cached standard dataset as used and deletes the least recently used ones beyond the budget.
+     * Views handed out earlier stay readable until they are garbage collected.
+     * @param file The file of the dataset.
+     * @param bytes Its size in bytes.
+     */
+    private void useStandardFile(Path file, long bytes) {
+        List<Path> evicted = new ArrayList<>();
+        synchronized (standardFiles) {
+            Long previous = standardFiles.put(file, bytes);
+            if (previous != null) standardBytes -= previous;
+            standardBytes += bytes;
+            Iterator<Map.Entry<Path, Long>> eldest = standardFiles.entrySet().iterator();
+            while (standardBytes > standardMaxBytes && eldest.hasNext()) {
+                Map.Entry<Path, Long> entry = eldest.next();
+                if (entry.getKey().equals(file)) continue;
+                standardBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (Path old : evicted) {
+            unmap(old);
+            deleteQuietly(old);
+        }
+    }
+
+    /**
+     * Registers the standard datasets cached before a restart, oldest first, and trims them to the budget.
+     */
+    private void loadStandardFiles() {
+        if (!Files.isDirectory(standardDirectory)) return;
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(standardDirectory)) {
+            files = listed.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(DatasetStore::lastModified))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            return; // Start with an empty cache; the files are generated again when needed
+        }
+        for (Path file : files) {
+            try {
+                useStandardFile(file, Files.size(file));
+            } catch (IOException ignore) {
+                // Deleted concurrently.
+            }
+        }
+    }
+
+    /**
+     * Returns the modification time of a file.
+     * @param file The file.
+     * @return The time in epoch milliseconds, or 0 if it cannot be read.
+     */
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Lists all stored datasets, ordered by id.
+     * @return The descriptions of the stored datasets.
+     */
+    public List<DatasetInfo> list() {
+        if (!Files.isDirectory(directory)) return List.of();
+        List<DatasetInfo> datasets = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(EXTENSION)) return;
+                String id = name.substring(0, name.length() - EXTENSION.length());
+                if (!isValidId(id)) return;
+                try {
+                    datasets.add(describe(id, Files.size(file)));
+                } catch (IOException ignore) {
+                    // Deleted concurrently.
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list datasets", e);
+        }
+        datasets.sort(Comparator.comparing(DatasetInfo::getId));
+        return datasets;
+    }
+
+    /**
+     * Deletes a stored dataset. Views handed out earlier stay readable until they are garbage collected.
+     * @param id The id of the dataset.
+     * @return true if the dataset existed.
+     */
+    public boolean delete(String id) {
+        if (!isValidId(id)) return false;
+        unmap(file(id));
+        try {
+            return Files.deleteIfExists(file(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete dataset " + id, e);
+        }
+    }
+
+    /**
+     * Moves a completely written temporary file into place and drops any cached mapping of the old file.
+     * @param target The file of the dataset.
+     * @param temp The temporary file.
+     * @return The size of the file in bytes.
+     * @throws IOException If the file cannot be moved.
+     */
+    private long publish(Path target, Path temp) throws IOException {
+        // Readers see either the old or the new file, never a partially written one.
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        unmap(target);
+        return Files.size(target);
+    }
+
+    /**
+     * Creates an empty temporary file for writing a dataset.
+     * @param target The file of the dataset.
+     * @return The temporary file (next to the target, so it can be moved atomically).
+     * @throws IOException If the file cannot be created.
+     */
+    private static Path tempFile(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        String name = target.getFileName().toString();
+        return Files.createTempFile(target.getParent(), name.substring(0, name.length() - EXTENSION.length()) + "-", ".tmp");
+    }
+
+    /**
+     * Deletes a leftover temporary file, if any; failures are ignored.
+     * @param temp The temporary file (may be null).
+     */
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) return;
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignore) {
+            // Only a stray .tmp file is left behind; it is never listed as a dataset.
+        }
+    }
+
+    /**
+     * Resolves the file of a dataset.
+     * @param id The id of the dataset.
+     * @return The file path.
+     */
+    private Path file(String id) {
+        return directory.resolve(id + EXTENSION);
+    }
+
+    /**
+     * Creates the description of a dataset.
+     * @param id The id of the dataset.
+     * @param bytes The size of its file.
+     * @return The description.
+     */
+    private static DatasetInfo describe(String id, long bytes) {
+        return new DatasetInfo(id, (int) (bytes / Integer.BYTES), bytes);
+    }
+
+    /**
+     * Rejects invalid ids.
+     * @param id The id to check.
+     * @throws IllegalArgumentException If the id is invalid.
+     */
+    private static void requireValidId(String id) {
+        if (!isValidId(id)) {
+            throw new IllegalArgumentException("Invalid dataset id (allowed: 1-64 letters, digits, '-' and '_'): " + id);
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.dto.ExternalSortResult;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Sorts datasets that do not fit into the heap (external merge sort).
+ * <ol>
+ *     <li>Run formation: the input is read in chunks of {@code runSize} elements; every chunk is
+ *     sorted in memory by the chosen algorithm and written to a temporary file. Every chunk is sorted
+ *     within the compare budgets, and only the elements an algorithm keeps (see StalinSort) are written.</li>
+ *     <li>Merging: up to {@code mergeFanIn} runs are merged at a time with a k-way merge (a binary
+ *     min-heap over the current head of every run), until a single run is left. Every round over
+ *     all runs is one merge pass.</li>
+ * </ol>
+ * Files hold raw little-endian 32-bit ints and are read and written through {@link FileChannel}s
+ * with fixed-size direct buffers, so memory use is bounded by
+ * {@code 4 * runSize + (mergeFanIn + 1) * bufferBytes}, independent of the input size.
+ * The temporary files of a sort are deleted when it finishes.
+ */
+@Service
+public class ExternalSortService {
+
+    // Number of sorted elements included in the result as an excerpt.
+    private static final int EXCERPT_SIZE = 5;
+
+    // Directory in which every sort creates its own working directory.
+    private final Path tempDir;
+    // Maximum number of elements sorted in memory at once.
+    private final int runSize;
+    // Maximum number of runs merged at once.
+    private final int mergeFanIn;
+    // Size of every read and write buffer in bytes.
+    private final int bufferBytes;
+    // Budgets of sorting a single chunk (0 = unlimited).
+    private final long runMaxMillis;
+    private final long runMaxSteps;
+
+    /**
+     * Creates the service.
+     * @param tempDir The directory for temporary files (empty = the system's temp directory).
+     * @param runSize The maximum number of elements per in-memory run.
+     * @param mergeFanIn The maximum number of runs merged at once (at least 2).
+     * @param bufferBytes The size of every file buffer in bytes.
+     * @param runMaxMillis The time budget of sorting one chunk in milliseconds (0 = unlimited).
+     * @param runMaxSteps The step budget of sorting one chunk (0 = unlimited).
+     */
+    public ExternalSortService(@Value("${sorting.external.temp-dir:}") String tempDir,
+                               @Value("${sorting.external.run-size:4194304}") int runSize,
+                               @Value("${sorting.external.merge-fan-in:64}") int mergeFanIn,
+                               @Value("${sorting.external.buffer-bytes:65536}") int bufferBytes,
+                               @Value("${sorting.compare.max-millis:10000}") long runMaxMillis,
+                               @Value("${sorting.compare.max-steps:0}") long runMaxSteps) {
+        this.tempDir = Paths.get(tempDir.isEmpty() ? System.getProperty("java.io.tmpdir") : tempDir);
+        this.runSize = Math.max(1, runSize);
+        this.mergeFanIn = Math.max(2, mergeFanIn);
+        // Whole ints only, and at least one per buffer.
+        this.bufferBytes = Math.max(Integer.BYTES, bufferBytes - bufferBytes % Integer.BYTES);
+        this.runMaxMillis = Math.max(0, runMaxMillis);
+        this.runMaxSteps = Math.max(0, runMaxSteps);
+    }
+
+    /**
+     * Sorts all values of the source on disk.
+     * @param algorithm The algorithm used to sort the in-memory runs.
+     * @param source The values to sort.
+     * @return The metrics of the sort.
+     * @throws IOException If reading the input or a temporary file fails.
+     */
+    public ExternalSortResult sort(SortingAlgorithm algorithm, IntSource source) throws IOException {
+        return sort(algorithm, source, null);
+    }
+
+    /**
+     * Sorts all values of the source on disk and passes the sorted values to a consumer.
+     * @param algorithm The algorithm used to sort the in-memory runs.
+     * @param source The values to sort.
+     * @param sortedSink Receives every sorted value in order before the files are deleted (may be null).
+     * @return The metrics of the sort.
+     * @throws IOException If reading the input or a temporary file fails.
+     * @throws SortBudgetExceededException If sorting a chunk exceeds the budgets of a run.
+     */
+    public ExternalSortResult sort(SortingAlgorithm algorithm, IntSource source, IntConsumer sortedSink) throws IOException {
+        Files.createDirectories(tempDir);
+        Path workDir = Files.createTempDirectory(tempDir, "external-sort-");
+        try {
+            ExternalSortResult result = new ExternalSortResult();
+            result.setAlgorithm(algorithm.getName());
+            result.setRunSize(runSize);
+            result.setMergeFanIn(mergeFanIn);
+            SortContext context = new SortContext();
+            long spillBytes = 0;
+            long start = System.nanoTime();
+
+            // 1. Run formation: read, sort and write one chunk at a time.
+            List<Run> runs = new ArrayList<>();
+            int[] chunk = new int[runSize];
+            long elements = 0;
+            while (true) {
+                int length = source.read(chunk, 0, runSize);
+                if (length <= 0) break;
+                context.checkpoint();
+                // Every chunk gets the budgets of a compare run, so a slow algorithm fails instead of running for hours.
+                SortContext runContext = new SortContext(runMaxSteps, runMaxMillis);
+                int end;
+                try {
+                    end = algorithm.sort(chunk, 0, length, runContext);
+                } finally {
+                    context.addSteps(runContext.getSteps());
+                }
+                // Algorithms that discard elements only leave [0, end) sorted.
+                Path file = workDir.resolve("pass0-run" + runs.size() + ".bin");
+                try (RunWriter writer = new RunWriter(file, bufferBytes)) {
+                    for (int i = 0; i < end; i++) {
+                        writer.write(chunk[i]);
+                    }
+                }
+                runs.add(new Run(file, end));
+                spillBytes += (long) end * Integer.BYTES;
+                elements += end;
+            }
+            // Release the chunk before merging.
+            chunk = null;
+            long afterRuns = System.nanoTime();
+            result.setRuns(runs.size());
+
+            // 2. Merge groups of runs until a single run is left.
+            int passes = 0;
+            while (runs.size() > 1) {
+                passes++;
+                List<Run> merged = new ArrayList<>();
+                for (int first = 0; first < runs.size(); first += mergeFanIn) {
+                    context.checkpoint();
+                    List<Run> group = runs.subList(first, Math.min(first + mergeFanIn, runs.size()));
+                    if (group.size() == 1) {
+                        // A single leftover run is carried over to the next pass unchanged.
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path file = workDir.resolve("pass" + passes + "-run" + merged.size() + ".bin");
+                    Run run = merge(group, file, context);
+                    for (Run input : group) {
+                        Files.delete(input.file);
+                    }
+                    merged.add(run);
+                    spillBytes += run.length * Integer.BYTES;
+                }
+                runs = merged;
+            }
+            long afterMerge = System.nanoTime();
+
+            // 3. Read the excerpt (and pass the output on, if requested).
+            List<Integer> excerpt = new ArrayList<>();
+            if (!runs.isEmpty()) {
+                try (RunReader reader = new RunReader(runs.get(0), bufferBytes)) {
+                    while (reader.hasNext() && (sortedSink != null || excerpt.size() < EXCERPT_SIZE)) {
+                        int value = reader.next();
+                        if (excerpt.size() < EXCERPT_SIZE) excerpt.add(value);
+                        if (sortedSink != null) sortedSink.accept(value);
+                    }
+                }
+            }
+
+            result.setElements(elements);
+            result.setMergePasses(passes);
+            result.setSpillBytes(spillBytes);
+            result.setSteps(context.getSteps());
+            result.setRunFormationMillis((afterRuns - start) / 1_000_000);
+            result.setMergeMillis((afterMerge - afterRuns) / 1_000_000);
+            result.setDurationMillis((afterMerge - start) / 1_000_000);
+            result.setSorted(excerpt);
+            return result;
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    /**
+     * Merges sorted runs into one file with a k-way merge over a binary min-heap of the run heads.
+     * @param group The runs to merge (at least 2).
+     * @param file The output file.
+     * @param context The per-run context receiving the comparison count.
+     * @return The merged run.
+     * @throws IOException If reading or writing a file fails.
+     */
+    private Run merge(List<Run> group, Path file, SortContext context) throws IOException {
+        int k = group.size();
+        RunReader[] readers = new RunReader[k];
+        // The heap: the head value of a run and the index of its reader.
+        int[] heapValues = new int[k];
+        int[] heapRuns = new int[k];
+        int size = 0;
+        long length = 0;
+        long comparisons = 0;
+        try (RunWriter writer = new RunWriter(file, bufferBytes)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(group.get(i), bufferBytes);
+                if (readers[i].hasNext()) {
+                    heapValues[size] = readers[i].next();
+                    heapRuns[size] = i;
+                    size++;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                comparisons += siftDown(heapValues, heapRuns, i, size);
+            }
+
+            while (size > 0) {
+                // Write the smallest head and replace it with the next value of its run.
+                writer.write(heapValues[0]);
+                length++;
+                RunReader reader = readers[heapRuns[0]];
+                if (reader.hasNext()) {
+                    heapValues[0] = reader.next();
+                } else {
+                    // The run is exhausted: move the last heap entry to the root.
+                    size--;
+                    heapValues[0] = heapValues[size];
+                    heapRuns[0] = heapRuns[size];
+                }
+                comparisons += siftDown(heapValues, heapRuns, 0, size);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+        context.addSteps(comparisons);
+        return new Run(file, length);
+    }
+
+    /**
+     * Restores the min-heap property below index i.
+     * @param values The head values.
+     * @param runs The run index of every head.
+     * @param i The index to sift down.
+     * @param size The size of the heap.
+     * @return The number of comparisons performed.
+     */
+    private static long siftDown(int[] values, int[] runs, int i, int size) {
+        long comparisons = 0;
+        int value = values[i];
+        int run = runs[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size) {
+                comparisons++;
+                if (values[child + 1] < values[child]) child++;
+            }
+            comparisons++;
+            if (values[child] >= value) break;
+            values[i] = values[child];
+            runs[i] = runs[child];
+            i = child;
+        }
+        values[i] = value;
+        runs[i] = run;
+        return comparisons;
+    }
+
+    /**
+     * Deletes a directory with all files in it; failures are ignored (the files are temporary).
+     * @param dir The directory.
+     */
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignore) {
+                    // Best effort; the OS cleans up the temp directory eventually.
+                }
+            });
+        } catch (IOException ignore) {
+            // The directory is already gone.
+        }
+    }
+
+    /**
+     * A sorted run on disk.
+     * @param file The file holding the run.
+     * @param length The number of elements in the run.
+     */
+    private record Run(Path file, long length) {}
+
+    /**
+     * Writes ints to a file through a fixed-size little-endian buffer.
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates the file and the buffer.
+         * @param file The file to create.
+         * @param bufferBytes The buffer size in bytes.
+         * @throws IOException If the file cannot be created.
+         */
+        RunWriter(Path file, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Appends a value.
+         * @param value The value.
+         * @throws IOException If writing fails.
+         */
+        void write(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) flush();
+            buffer.putInt(value);
+        }
+
+        /**
+         * Writes the buffered values to the file.
+         * @throws IOException If writing fails.
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Flushes the buffer and closes the file.
+         * @throws IOException If writing fails.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reads the ints of a run through a fixed-size little-endian buffer.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        // Number of values not yet returned.
+        private long remaining;
+
+        /**
+         * Opens the run.
+         * @param run The run to read.
+         * @param bufferBytes The buffer size in bytes.
+         * @throws IOException If the file cannot be opened.
+         */
+        RunReader(Run run, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(run.file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.limit(0);
+            this.remaining = run.length;
+        }
+
+        /**
+         * Checks whether the run has more values.
+         * @return true if {@link #next()} can be called.
+         */
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Returns the next value of the run.
+         * @return The value.
+         * @throws IOException If reading fails or the file is shorter than the run.
+         */
+        int next() throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+                while (buffer.position() < Integer.BYTES) {
+                    if (channel.read(buffer) < 0) throw new EOFException("Run file is truncated");
+                }
+                buffer.flip();
+            }
+            remaining--;
+            return buffer.getInt();
+        }
+
+        /**
+         * Closes the file.
+         * @throws IOException If closing fails.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * A source of values to sort that is read chunk by chunk.
+     */
+    @FunctionalInterface
+    public interface IntSource {
+
+        /**
+         * Reads up to {@code length} values; blocks until the chunk is full or the input has ended.
+         * @param target The array receiving the values.
+         * @param offset The first index to write.
+         * @param length The maximum number of values to read.
+         * @return The number of values read (less than {@code length} only at the end of the input).
+         * @throws IOException If reading fails.
+         */
+        int read(int[] target, int offset, int length) throws IOException;
+
+        /**
+         * Reads raw little-endian 32-bit ints from a stream.
+         * @param in The stream (not closed by the source).
+         * @return The source.
+         */
+        static IntSource fromStream(InputStream in) {
+            ReadableByteChannel channel = Channels.newChannel(in);
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+            return (target, offset, length) -> {
+                int count = 0;
+                while (count < length) {
+                    if (buffer.remaining() < Integer.BYTES) {
+                        buffer.compact();
+                        int read = channel.read(buffer);
+                        buffer.flip();
+                        if (read < 0) {
+                            if (buffer.hasRemaining()) {
+                                throw new IllegalArgumentException("Input length is not a multiple of 4 bytes");
+                            }
+                            break;
+                        }
+                        continue;
+                    }
+                    target[offset + count++] = buffer.getInt();
+                }
+                return count;
+            };
+        }
+
+        /**
+         * Reads the values of a lazily generated dataset.
+         * @param shape The shape name (one of {@link DatasetGenerator#SHAPES}).
+         * @param count The number of elements.
+         * @param seed The seed for shuffled shapes.
+         * @return The source.
+         * @throws IllegalArgumentException If the shape name is unknown or the count is negative.
+         */
+        static IntSource fromGenerator(String shape, int count, long seed) {
+            PrimitiveIterator.OfInt values = DatasetGenerator.stream(shape, count, seed).iterator();
+            return (target, offset, length) -> {
+                int read = 0;
+                while (read < length && values.hasNext()) {
+                    target[offset + read++] = values.nextInt();
+                }
+                return read;
+            };
+        }
+    }
+}
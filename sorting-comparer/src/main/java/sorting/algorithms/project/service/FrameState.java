@@ -0,0 +1,152 @@
+package sorting.algorithms.project.service;
+
+import sorting.algorithms.project.dto.SortFrame;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The array state of a visualization stream on the sending side, plus the indices that changed
+ * since the last frame was sent. Any number of writes, keyframes and deltas can be applied
+ * between two frames; {@link #frame} then emits one delta holding only the final values of the
+ * changed indices (or a keyframe if that is smaller or the size changed). This is what lets a
+ * stream skip or merge steps without ever sending an inconsistent state.
+ * Not thread-safe.
+ */
+final class FrameState {
+
+    // The current state (null until the first keyframe).
+    private int[] values;
+    // Indices changed since the last frame; fullDirty forces the next frame to be a keyframe.
+    private boolean[] dirtyFlags = new boolean[0];
+    private int[] dirty = new int[16];
+    private int dirtyCount;
+    private boolean fullDirty = true;
+
+    /**
+     * Checks whether a keyframe has been applied yet.
+     * @return true if there is a state.
+     */
+    boolean hasState() {
+        return values != null;
+    }
+
+    /**
+     * Reads a value.
+     * @param index The index.
+     * @return The current value.
+     */
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Writes a value and records the index as changed (if the value differs).
+     * @param index The index.
+     * @param value The new value.
+     */
+    void set(int index, int value) {
+        if (values[index] == value) return;
+        values[index] = value;
+        markDirty(index);
+    }
+
+    /**
+     * Replaces the whole state. With an unchanged size only the differing indices are recorded
+     * as changed, so a keyframe in the input does not force a keyframe in the output.
+     * @param array The new state (taken over, not copied).
+     */
+    void replace(int[] array) {
+        if (values != null && values.length == array.length) {
+            for (int i = 0; i < array.length; i++) {
+                if (values[i] != array[i]) markDirty(i);
+            }
+        } else {
+            fullDirty = true;
+        }
+        values = array;
+    }
+
+    /**
+     * Applies a frame of another stream (a keyframe replaces the state, a delta writes its pairs).
+     * @param frame The frame; its arrays are not modified.
+     */
+    void apply(SortFrame frame) {
+        if (frame.isKeyframe()) {
+            replace(frame.getArray().clone());
+        } else {
+            int[] writes = frame.getWrites();
+            for (int k = 0; k < writes.length; k += 2) {
+                set(writes[k], writes[k + 1]);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the current state.
+     * @return The values.
+     */
+    int[] snapshot() {
+        return values.clone();
+    }
+
+    /**
+     * Makes the next frame a keyframe.
+     */
+    void forceKeyframe() {
+        fullDirty = true;
+    }
+
+    /**
+     * Creates the frame that brings a receiver from the last emitted frame to the current state,
+     * and starts tracking changes anew.
+     * @param seq The sequence number of the frame.
+     * @param accessed The accessed indices to highlight.
+     * @param changed The changed indices to highlight.
+     * @return A delta of all changed indices, or a keyframe.
+     */
+    SortFrame frame(long seq, List<Integer> accessed, List<Integer> changed) {
+        SortFrame frame;
+        // A delta larger than half the array would be bigger than a keyframe.
+        if (fullDirty || 2 * dirtyCount >= values.length) {
+            frame = new SortFrame(seq, values.clone(), null, accessed, changed);
+        } else {
+            int[] writes = new int[2 * dirtyCount];
+            for (int k = 0; k < dirtyCount; k++) {
+                writes[2 * k] = dirty[k];
+                writes[2 * k + 1] = values[dirty[k]];
+            }
+            frame = new SortFrame(seq, null, writes, accessed, changed);
+        }
+        clearDirty();
+        return frame;
+    }
+
+    /**
+     * Records an index as changed since the last frame.
+     * @param index The index.
+     */
+    private void markDirty(int index) {
+        if (fullDirty || dirtyFlags[index]) return;
+        dirtyFlags[index] = true;
+        if (dirtyCount == dirty.length) {
+            dirty = Arrays.copyOf(dirty, 2 * dirty.length);
+        }
+        dirty[dirtyCount++] = index;
+    }
+
+    /**
+     * Resets the change tracking after a frame was emitted.
+     */
+    private void clearDirty() {
+        if (dirtyFlags.length != values.length) {
+            dirtyFlags = new boolean[values.length];
+        } else {
+            for (int k = 0; k < dirtyCount; k++) {
+                dirtyFlags[dirty[k]] = false;
+            }
+        }
+        dirtyCount = 0;
+        fullDirty = false;
+    }
+}
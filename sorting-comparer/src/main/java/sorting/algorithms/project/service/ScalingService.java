@@ -0,0 +1,258 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.dto.ScalingPoint;
+import sorting.algorithms.project.dto.ScalingResult;
+import sorting.algorithms.project.dto.ScalingSeries;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures how the cost of an algorithm grows with the input size, to check its declared
+ * complexity against this machine.
+ * <p>
+ * For every dataset shape, the algorithm sorts inputs of the sizes {@code 2^minExponent .. 2^maxExponent}
+ * (doubling each time). A power law {@code cost ≈ c · n^k} is fitted to the measured times and steps
+ * by least squares on the log-log points, so an O(n²) algorithm shows {@code k ≈ 2} and an O(n log n)
+ * algorithm {@code k} slightly above 1.
+ * <p>
+ * Every request has one time budget, shared by its shapes: each series may use an equal part of
+ * what is left when it starts, so a fast series leaves more time to the following ones. Before each
+ * size, the time of the next size is projected from the growth of the last two sizes; if it exceeds
+ * what is left of the series' budget, the series stops,
+ * so quadratic algorithms end after a few sizes instead of running for hours. A run that exceeds
+ * the budget anyway is aborted at its next checkpoint.
+ */
+@Service
+public class ScalingService {
+
+    // Seed of the generated inputs, so repeated measurements sort the same data.
+    private static final long SEED = 42;
+    // Times below this are dominated by timer resolution and JIT noise, so the time fit ignores them if it can.
+    static final long TIME_NOISE_FLOOR_NANOS = 50_000;
+
+    // Default and maximum time budget of a request (all its shapes together) in milliseconds.
+    private final long budgetMillis;
+    // Largest allowed size exponent (inputs of 2^maxExponent elements).
+    private final int maxExponent;
+    // Timed runs per size; the fastest one counts.
+    private final int repetitions;
+
+    /**
+     * Creates the scaling service.
+     * @param budgetMillis The default and maximum time budget of a request in milliseconds.
+     * @param maxExponent The largest allowed size exponent.
+     * @param repetitions The number of timed runs per size.
+     */
+    public ScalingService(@Value("${sorting.scaling.budget-ms:10000}") long budgetMillis,
+                          @Value("${sorting.scaling.max-exponent:24}") int maxExponent,
+                          @Value("${sorting.scaling.repetitions:3}") int repetitions) {
+        this.budgetMillis = Math.max(1, budgetMillis);
+        this.maxExponent = Math.max(1, Math.min(maxExponent, 30));
+        this.repetitions = Math.max(1, repetitions);
+    }
+
+    /**
+     * Measures an algorithm over a geometric series of sizes for each shape.
+     * @param algo The algorithm.
+     * @param shapes The dataset shapes (see {@link DatasetGenerator#SHAPES}); every shape is measured once, in the order of its first occurrence.
+     * @param minExponent The exponent of the smallest size.
+     * @param maxExponent The exponent of the largest size.
+     * @param budgetMillis The time budget of the whole request in milliseconds (0 or less = the configured budget; never above it).
+     * @return The measurements and fits per shape, next to the declared complexity.
+     * @throws IllegalArgumentException If a shape is unknown or the exponents are out of range.
+     */
+    public ScalingResult measure(SortingAlgorithm algo, List<String> shapes, int minExponent, int maxExponent, long budgetMillis) {
+        // Duplicates would only measure the same series again.
+        Set<String> distinctShapes = new LinkedHashSet<>(shapes);
+        for (String shape : distinctShapes) {
+            if (!DatasetGenerator.SHAPES.contains(shape)) {
+                throw new IllegalArgumentException("Unknown dataset shape: " + shape);
+            }
+        }
+        if (minExponent < 1 || maxExponent < minExponent || maxExponent > this.maxExponent) {
+            throw new IllegalArgumentException("Exponents must satisfy 1 <= min <= max <= " + this.maxExponent);
+        }
+        long budget = budgetMillis > 0 ? Math.min(budgetMillis, this.budgetMillis) : this.budgetMillis;
+        long deadline = System.nanoTime() + budget * 1_000_000;
+
+        // Let the JIT compile the sort before the first measurement.
+        warmUp(algo, 1 << minExponent, deadline);
+
+        List<ScalingSeries> series = new ArrayList<>();
+        int remainingShapes = distinctShapes.size();
+        for (String shape : distinctShapes) {
+            long shareMillis = Math.max(0, (deadline - System.nanoTime()) / 1_000_000) / remainingShapes--;
+            series.add(measureShape(algo, shape, minExponent, maxExponent, shareMillis));
+        }
+        return new ScalingResult(algo.getName(), algo.getWorstCase(), algo.getAverageCase(), algo.getBestCase(),
+                declaredExponent(algo.getAverageCase()), series);
+    }
+
+    /**
+     * Measures one shape.
+     * @param algo The algorithm.
+     * @param shape The dataset shape.
+     * @param minExponent The exponent of the smallest size.
+     * @param maxExponent The exponent of the largest size.
+     * @param budgetMillis The time budget of the series in milliseconds.
+     * @return The series with its fits.
+     */
+    private ScalingSeries measureShape(SortingAlgorithm algo, String shape, int minExponent, int maxExponent, long budgetMillis) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        List<ScalingPoint> points = new ArrayList<>();
+        String stoppedEarly = null;
+        for (int exponent = minExponent; exponent <= maxExponent && stoppedEarly == null; exponent++) {
+            int size = 1 << exponent;
+            long remaining = deadline - System.nanoTime();
+            double projected = projectNanos(points, size) * repetitions;
+            if (projected > remaining) {
+                stoppedEarly = String.format("n = %d skipped: projected %.0f ms exceed the remaining budget of %d ms",
+                        size, projected / 1e6, Math.max(0, remaining / 1_000_000));
+                break;
+            }
+
+            int[] input = DatasetGenerator.generate(shape, size, new Random(SEED));
+            long best = Long.MAX_VALUE;
+            long steps = 0;
+            try {
+                for (int run = 0; run < repetitions; run++) {
+                    int[] copy = input.clone();
+                    // The run may use what is left of the budget, but not more.
+                    SortContext context = new SortContext(0, Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+                    long start = System.nanoTime();
+                    algo.sort(copy, context);
+                    best = Math.min(best, System.nanoTime() - start);
+                    steps = context.getSteps();
+                }
+                points.add(new ScalingPoint(size, best, steps));
+            } catch (SortBudgetExceededException e) {
+                stoppedEarly = "n = " + size + " aborted: the run exceeded the remaining budget of " + budgetMillis + " ms";
+            }
+        }
+
+        ScalingSeries result = new ScalingSeries(shape, points);
+        result.setStoppedEarly(stoppedEarly);
+        double[] time = fit(points, ScalingPoint::getNanos, TIME_NOISE_FLOOR_NANOS);
+        if (time != null) {
+            result.setTimeExponent(time[0]);
+            result.setTimeCoefficient(time[1]);
+            points.forEach(point -> point.setFittedNanos(time[1] * Math.pow(point.getSize(), time[0])));
+        }
+        double[] steps = fit(points, ScalingPoint::getSteps, 1);
+        if (steps != null) {
+            result.setStepsExponent(steps[0]);
+            result.setStepsCoefficient(steps[1]);
+            points.forEach(point -> point.setFittedSteps(steps[1] * Math.pow(point.getSize(), steps[0])));
+        }
+        return result;
+    }
+
+    /**
+     * Projects the time of one run of the next size from the growth between the last two sizes.
+     * Growth below linear is treated as linear, because sorting cannot get cheaper per element.
+     * @param points The measurements so far.
+     * @param size The next size.
+     * @return The projected nanoseconds (0 with fewer than two measurements).
+     */
+    private static double projectNanos(List<ScalingPoint> points, int size) {
+        if (points.size() < 2) return 0;
+        ScalingPoint previous = points.get(points.size() - 2);
+        ScalingPoint last = points.get(points.size() - 1);
+        double growth = Math.log((double) Math.max(1, last.getNanos()) / Math.max(1, previous.getNanos()))
+                / Math.log((double) last.getSize() / previous.getSize());
+        return last.getNanos() * Math.pow((double) size / last.getSize(), Math.max(1.0, growth));
+    }
+
+    /**
+     * Fits {@code cost ≈ c · n^k} by least squares on {@code log2(cost)} over {@code log2(n)}.
+     * Points below the floor are left out as long as at least two points remain.
+     * @param points The measurements.
+     * @param cost The measured cost of a point.
+     * @param floor The smallest cost considered reliable.
+     * @return {k, c}, or null with fewer than two usable points.
+     */
+    static double[] fit(List<ScalingPoint> points, ToLongFunction<ScalingPoint> cost, long floor) {
+        List<ScalingPoint> usable = new ArrayList<>();
+        for (ScalingPoint point : points) {
+            if (cost.applyAsLong(point) >= floor) usable.add(point);
+        }
+        if (usable.size() < 2) {
+            usable.clear();
+            for (ScalingPoint point : points) {
+                if (cost.applyAsLong(point) > 0) usable.add(point);
+            }
+            if (usable.size() < 2) return null;
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (ScalingPoint point : usable) {
+            meanX += log2(point.getSize());
+            meanY += log2(cost.applyAsLong(point));
+        }
+        meanX /= usable.size();
+        meanY /= usable.size();
+        double covariance = 0;
+        double variance = 0;
+        for (ScalingPoint point : usable) {
+            double dx = log2(point.getSize()) - meanX;
+            covariance += dx * (log2(cost.applyAsLong(point)) - meanY);
+            variance += dx * dx;
+        }
+        double exponent = covariance / variance;
+        return new double[] {exponent, Math.pow(2, meanY - exponent * meanX)};
+    }
+
+    /**
+     * Derives the growth exponent of a declared complexity such as "O(n²)" or "O(n log n)".
+     * Logarithmic factors are ignored, so "O(n log n)" yields 1.
+     * @param complexity The declared complexity.
+     * @return The exponent of n, or null if the complexity has none (e.g., "O(∞)" or "unknown").
+     */
+    static Double declaredExponent(String complexity) {
+        if (complexity == null) return null;
+        String c = complexity.replace(" ", "").toLowerCase();
+        if (!c.startsWith("o(") || c.contains("∞") || c.contains("!")) return null;
+        if (c.equals("o(1)")) return 0.0;
+        if (c.contains("n³") || c.contains("n^3")) return 3.0;
+        if (c.contains("n²") || c.contains("n^2")) return 2.0;
+        if (c.contains("n")) return 1.0;
+        return null;
+    }
+
+    /**
+     * Sorts a few small inputs untimed.
+     * @param algo The algorithm.
+     * @param size The size of the inputs.
+     * @param deadline The {@link System#nanoTime()} by which the warmup has to end.
+     */
+    private static void warmUp(SortingAlgorithm algo, int size, long deadline) {
+        int[] input = DatasetGenerator.generate("unsorted", size, new Random(SEED));
+        try {
+            for (int i = 0; i < 5; i++) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                algo.sort(input.clone(), new SortContext(0, Math.max(1, Math.min(1000, remainingMillis))));
+            }
+        } catch (SortBudgetExceededException e) {
+            // Too slow to warm up; the measurement will stop early as well.
+        }
+    }
+
+    /**
+     * Computes the binary logarithm.
+     * @param value The value.
+     * @return log2(value).
+     */
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,84 @@
+package sorting.algorithms.project.service;
+
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts a stream of {@link SortStep}s into delta-encoded {@link SortFrame}s.
+ * The first step, every {@code keyframeInterval}-th step, and every step whose list changed its
+ * size become keyframes with the full array; all other steps become deltas holding only the
+ * elements that differ from the previous step. The difference is computed against the encoder's
+ * own copy of the last state, so it is exact even if an algorithm does not report every write
+ * in {@code changedIndices}. An encoder is stateful and belongs to exactly one stream.
+ */
+public final class SortStepEncoder {
+
+    // Number of frames between two keyframes (a late-joining or lossy client resynchronizes at most this many frames later).
+    private final int keyframeInterval;
+    // The array state of the previous frame, as seen by the client.
+    private int[] state;
+    // Sequence number of the next frame.
+    private long sequence;
+    // Reusable buffer collecting the index/value pairs of a delta.
+    private int[] writes = new int[16];
+
+    /**
+     * Creates an encoder for one stream.
+     * @param keyframeInterval The number of frames between two keyframes (at least 1).
+     */
+    public SortStepEncoder(int keyframeInterval) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Encodes the next step of the stream.
+     * @param step The step; its list is only read.
+     * @return The frame to send for this step.
+     */
+    public SortFrame encode(SortStep step) {
+        List<Integer> current = step.getCurrentArray();
+        long seq = sequence++;
+        int n = current.size();
+        if (state == null || state.length != n || seq % keyframeInterval == 0) {
+            return keyframe(seq, current, step);
+        }
+
+        // Collect the differences to the previous state.
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int value = current.get(i);
+            if (value != state[i]) {
+                // A delta larger than half the array would be bigger than a keyframe.
+                if (count >= n) {
+                    return keyframe(seq, current, step);
+                }
+                if (count + 2 > writes.length) {
+                    writes = Arrays.copyOf(writes, 2 * writes.length);
+                }
+                writes[count++] = i;
+                writes[count++] = value;
+                state[i] = value;
+            }
+        }
+        return new SortFrame(seq, null, Arrays.copyOf(writes, count), step.getAccessedIndices(), step.getChangedIndices());
+    }
+
+    /**
+     * Creates a keyframe and resets the tracked state to the given list.
+     * @param seq The sequence number of the frame.
+     * @param current The full list of the step.
+     * @param step The step (for the highlighted indices).
+     * @return The keyframe.
+     */
+    private SortFrame keyframe(long seq, List<Integer> current, SortStep step) {
+        int[] array = new int[current.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = current.get(i);
+        }
+        state = array.clone();
+        return new SortFrame(seq, array, null, step.getAccessedIndices(), step.getChangedIndices());
+    }
+}
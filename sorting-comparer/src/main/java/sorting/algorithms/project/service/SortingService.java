@@ -1,12 +1,29 @@
 package sorting.algorithms.project.service;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import sorting.algorithms.project.SortingAlgorithms.AutoSortProfile;
+import sorting.algorithms.project.SortingAlgorithms.InputFeatures;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
 import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
 import sorting.algorithms.project.dto.AlgorithmInfo;
 import sorting.algorithms.project.dto.CompareRequest;
+import sorting.algorithms.project.dto.InputSpec;
+import sorting.algorithms.project.dto.MatrixRow;
 import sorting.algorithms.project.dto.SortResult;
+import sorting.algorithms.project.dto.TimingStatistics;
 
+import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -17,15 +34,54 @@ import java.util.stream.Collectors;
 @Service
 public class SortingService {
 
+    // Upper limits for the measurement parameters of a compare request.
+    static final int MAX_WARMUP_ITERATIONS = 100;
+    static final int MAX_REPETITIONS = 1000;
+    // Upper limit for the size of a generated input of a matrix compare.
+    static final int MAX_GENERATED_COUNT = 50_000_000;
+    // Upper limit for the number of elements across all inputs of a matrix compare.
+    static final long MAX_MATRIX_ELEMENTS = 50_000_000;
+    // Interval in which waiting compares check whether the compute pool was shut down.
+    private static final long SHUTDOWN_POLL_MILLIS = 100;
+
     // A map storing available sorting algorithm implementations, keyed by their lowercase names.
     private final Map<String, SortingAlgorithm> algorithms = new HashMap<>();
+    // Bounded compute pool used to run the algorithms of one compare request in parallel.
+    private final ExecutorService compareExecutor;
+    // Default compare mode if the request does not choose one: parallel (true) or isolated (false).
+    private final boolean parallelByDefault;
+    // Store of persisted datasets that requests can reference by id.
+    private final DatasetStore datasetStore;
+    // Default and maximum budgets of a single run (0 = unlimited).
+    private final long maxMillis;
+    private final long maxSteps;
+    // Learns from the measured runs which algorithm AutoSort should pick for which kind of input.
+    private final AutoSortProfile autoSortProfile;
 
     /**
      * Constructs the SortingService and populates the algorithms map.
      * Spring automatically injects all beans that implement the SortingAlgorithm interface.
      * @param algorithmImplementations A list of beans implementing SortingAlgorithm.
+     * @param compareExecutor The compute pool for parallel compares.
+     * @param parallelByDefault Whether compares run in parallel unless the request asks for isolation.
+     * @param datasetStore The store of persisted datasets.
+     * @param maxMillis The default and maximum time budget of a run in milliseconds (0 = unlimited).
+     * @param maxSteps The default and maximum step budget of a run (0 = unlimited).
+     * @param autoSortProfile The profile receiving the measurements of AutoSort's candidates.
      */
-    public SortingService(List<SortingAlgorithm> algorithmImplementations) {
+    public SortingService(List<SortingAlgorithm> algorithmImplementations,
+                          @Qualifier("compareExecutor") ExecutorService compareExecutor,
+                          @Value("${sorting.compare.parallel:true}") boolean parallelByDefault,
+                          DatasetStore datasetStore,
+                          @Value("${sorting.compare.max-millis:10000}") long maxMillis,
+                          @Value("${sorting.compare.max-steps:0}") long maxSteps,
+                          AutoSortProfile autoSortProfile) {
+        this.compareExecutor = compareExecutor;
+        this.parallelByDefault = parallelByDefault;
+        this.datasetStore = datasetStore;
+        this.maxMillis = Math.max(0, maxMillis);
+        this.maxSteps = Math.max(0, maxSteps);
+        this.autoSortProfile = autoSortProfile;
         // Populate the map with discovered algorithm implementations.
         for (SortingAlgorithm algo : algorithmImplementations) {
             // Use lowercase name as the key for case-insensitive lookup.
@@ -35,62 +91,497 @@ public class SortingService {
 
     /**
      * Compares the performance of the requested sorting algorithms using the provided input data.
-     * @param request The CompareRequest containing the list of algorithm names and the input list.
+     * Depending on the request (or the configured default), the algorithms either run one after
+     * another on the calling thread, or in parallel on the compute pool. Results are always
+     * returned in request order and report which of the two modes was used.
+     * Every algorithm is run {@code warmupIterations} times untimed and then {@code repetitions}
+     * times timed (both clamped to sane limits); the result carries statistics over the timed runs.
+     * The input is either the inline list of the request or, if there is none, the stored dataset
+     * referenced by {@code datasetId}, which is copied straight from its mapped file without boxing.
+     * Every run is limited by a time and a step budget (the configured ones, or tighter ones from the
+     * request). A run exceeding its budget is stopped at the algorithm's next checkpoint; its result is
+     * marked as aborted and reports the steps performed and how sorted the array was at that point.
+     * @param request The CompareRequest containing the list of algorithm names and the input list or dataset id.
      * @return A list of SortResult objects, each containing the performance metrics and results for one algorithm.
-     * Returns an empty list if the request or its contents are invalid.
+     * Returns an empty list if the request or its contents are invalid (including an unknown dataset id).
      */
     public List<SortResult> compare(CompareRequest request) {
+        return compare(request, null);
+    }
+
+    /**
+     * Compares the requested algorithms like {@link #compare(CompareRequest)} and reports every
+     * finished algorithm while the others are still running.
+     * @param request The CompareRequest containing the list of algorithm names and the input list or dataset id.
+     * @param progress Receives every result in request order as soon as it (and all results before it) are known (may be null).
+     * @return A list of SortResult objects, each containing the performance metrics and results for one algorithm.
+     */
+    public List<SortResult> compare(CompareRequest request, ProgressListener progress) {
         List<SortResult> results = new ArrayList<>();
         // Basic validation of the request object.
-        if (request == null || request.getAlgorithms() == null || request.getInput() == null) {
+        if (request == null || request.getAlgorithms() == null
+                || (request.getInput() == null && request.getDatasetId() == null)) {
             return results; // Return empty list if request is invalid
         }
 
-        // Iterate through the requested algorithm names.
-        for (String algorithmName : request.getAlgorithms()) {
-            if (algorithmName == null) continue; // Skip null names
+        // Convert the boxed input (or load the stored dataset) once; every algorithm sorts a fresh copy of this primitive array.
+        int[] input = request.getInput() != null
+                ? SortingAlgorithm.toIntArray(request.getInput())
+                : datasetStore.load(request.getDatasetId());
+        if (input == null) {
+            return results; // Unknown dataset id
+        }
+        List<Integer> unsortedExcerpt = Arrays.stream(input).limit(5).boxed().collect(Collectors.toList());
 
-            // Retrieve the algorithm implementation by its lowercase name.
-            SortingAlgorithm algo = algorithms.get(algorithmName.toLowerCase());
+        // Measurement parameters: no warmup and a single timed run unless requested otherwise.
+        int warmup = clamp(request.getWarmupIterations(), 0, 0, MAX_WARMUP_ITERATIONS);
+        int repetitions = clamp(request.getRepetitions(), 1, 1, MAX_REPETITIONS);
+        // Budgets: requests may tighten the configured limits, but never lift them.
+        Budget budget = budget(request);
+        List<SortingAlgorithm> selected = selectAlgorithms(request.getAlgorithms());
 
-            // If the algorithm implementation exists:
-            if (algo != null) {
-                // Create a mutable copy of the input data for sorting.
-                List<Integer> listToSort = new ArrayList<>(request.getInput());
-                // Keep a reference to the original input for the result DTO.
-                List<Integer> originalUnsorted = request.getInput();
-
-                // Record start time, execute sort, record end time.
-                long startTime = System.currentTimeMillis();
-                List<Integer> sortedList = algo.sort(listToSort); // Assumes sort works on the copy
-                long endTime = System.currentTimeMillis();
-                long durationMillis = endTime - startTime;
-
-                // Get the number of steps performed by the algorithm.
-                long steps = algo.getSteps();
-
-                // Create a SortResult DTO with the collected information.
-                // Include excerpts of unsorted and sorted lists (e.g., first 5 elements).
-                SortResult result = new SortResult(
-                        algo.getName(), // Use the algorithm's canonical name
-                        durationMillis,
-                        steps,
-                        // Get first 5 elements or fewer if list is smaller
-                        originalUnsorted.stream().limit(5).collect(Collectors.toList()),
-                        sortedList.stream().limit(5).collect(Collectors.toList()),
-                        algo.getWorstCase(),
-                        algo.getAverageCase(),
-                        algo.getBestCase()
-                );
-                // Add the result to the list.
-                results.add(result);
+        // A single algorithm never competes with anything, so it always counts as isolated.
+        boolean parallel = isParallel(request) && selected.size() > 1;
+        String mode = parallel ? SortResult.CONCURRENT : SortResult.ISOLATED;
+        InputFeatures features = profiledFeatures(selected, input, mode);
+        List<Supplier<SortResult>> cells = new ArrayList<>();
+        for (SortingAlgorithm algo : selected) {
+            cells.add(() -> runAlgorithm(algo, input, features, unsortedExcerpt, warmup, repetitions, budget, mode));
+        }
+        return runCells(cells, parallel, progress);
+    }
+
+    /**
+     * Compares the requested algorithms on several inputs at once and returns the full results matrix:
+     * one row per input, holding one result per algorithm in request order.
+     * The inputs are taken from {@code inputs} (inline values, stored datasets or generator specs);
+     * without it, the single input of the request forms the only row. Every input is converted and
+     * excerpted once and shared by all algorithms. In parallel mode all cells of the matrix run on
+     * the compute pool at the same time; otherwise they run one after another. Measurement
+     * parameters and budgets apply to every cell like for {@link #compare(CompareRequest)}.
+     * The inputs together may hold at most {@link #MAX_MATRIX_ELEMENTS} elements; this is checked
+     * before any of them is loaded or generated.
+     * @param request The CompareRequest containing the algorithm names and the inputs.
+     * @return The rows of the matrix, in the order of the inputs.
+     * @throws IllegalArgumentException If an input is invalid or references an unknown dataset,
+     * or if the inputs hold too many elements in total.
+     */
+    public List<MatrixRow> compareMatrix(CompareRequest request) {
+        if (request == null || request.getAlgorithms() == null) {
+            throw new IllegalArgumentException("The request needs a list of algorithms");
+        }
+        List<InputSpec> specs = request.getInputs();
+        if (specs == null || specs.isEmpty()) {
+            if (request.getInput() == null && request.getDatasetId() == null) {
+                throw new IllegalArgumentException("The request needs at least one input");
+            }
+            InputSpec single = new InputSpec();
+            single.setValues(request.getInput());
+            single.setDatasetId(request.getInput() == null ? request.getDatasetId() : null);
+            specs = List.of(single);
+        }
+        long totalElements = 0;
+        for (InputSpec spec : specs) {
+            totalElements += declaredSize(spec);
+        }
+        if (totalElements > MAX_MATRIX_ELEMENTS) {
+            throw new IllegalArgumentException("The inputs of a matrix compare are limited to "
+                    + MAX_MATRIX_ELEMENTS + " elements in total, but hold " + totalElements);
+        }
+
+        // Preprocess every input once: conversion to a primitive array and the excerpt shown in the results.
+        List<String> names = new ArrayList<>();
+        List<int[]> inputs = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            InputSpec spec = specs.get(i);
+            names.add(spec.getName() != null ? spec.getName() : defaultName(spec, i));
+            inputs.add(resolveInput(spec));
+        }
+
+        int warmup = clamp(request.getWarmupIterations(), 0, 0, MAX_WARMUP_ITERATIONS);
+        int repetitions = clamp(request.getRepetitions(), 1, 1, MAX_REPETITIONS);
+        Budget budget = budget(request);
+        List<SortingAlgorithm> selected = selectAlgorithms(request.getAlgorithms());
+
+        // All cells of the matrix are independent, so they share the compute pool like the algorithms of a compare.
+        boolean parallel = isParallel(request) && selected.size() * inputs.size() > 1;
+        String mode = parallel ? SortResult.CONCURRENT : SortResult.ISOLATED;
+        List<Supplier<SortResult>> cells = new ArrayList<>();
+        for (int[] input : inputs) {
+            List<Integer> unsortedExcerpt = Arrays.stream(input).limit(5).boxed().collect(Collectors.toList());
+            InputFeatures features = profiledFeatures(selected, input, mode);
+            for (SortingAlgorithm algo : selected) {
+                cells.add(() -> runAlgorithm(algo, input, features, unsortedExcerpt, warmup, repetitions, budget, mode));
             }
-            // If algo is null (not found), it's simply skipped.
+        }
+        List<SortResult> results = runCells(cells, parallel, null);
+
+        // Cut the flat list of cells (input-major) into rows.
+        List<MatrixRow> rows = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            List<SortResult> row = results.subList(i * selected.size(), (i + 1) * selected.size());
+            rows.add(new MatrixRow(names.get(i), inputs.get(i).length, new ArrayList<>(row)));
+        }
+        return rows;
+    }
+
+    /**
+     * Runs the cells of a compare, either one after another on the calling thread or in parallel
+     * on the compute pool, and returns their results in cell order.
+     * @param cells The runs to perform.
+     * @param parallel Whether to fan the cells out across the compute pool.
+     * @param progress Receives every result in cell order as soon as it (and all results before it) are known (may be null).
+     * @return The results, in cell order.
+     */
+    private List<SortResult> runCells(List<Supplier<SortResult>> cells, boolean parallel, ProgressListener progress) {
+        List<SortResult> results = new ArrayList<>();
+        if (!parallel) {
+            for (Supplier<SortResult> cell : cells) {
+                results.add(cell.get());
+                if (progress != null) progress.completed(results.get(results.size() - 1), results.size(), cells.size());
+            }
+            return results;
+        }
+
+        // Fan out across the compute pool; collecting the futures in submission order keeps the request order.
+        List<Future<SortResult>> futures = new ArrayList<>();
+        try {
+            for (Supplier<SortResult> cell : cells) {
+                futures.add(compareExecutor.submit(cell::get));
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Compare pool is shutting down", e);
+        }
+        try {
+            for (Future<SortResult> future : futures) {
+                results.add(await(future));
+                if (progress != null) progress.completed(results.get(results.size() - 1), results.size(), cells.size());
+            }
+        } catch (InterruptedException e) {
+            // The request thread was interrupted: stop waiting and abandon the remaining runs.
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Compare was interrupted", e);
+        } catch (IllegalStateException e) {
+            // The pool was shut down while waiting.
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            // Rethrow the algorithm's own exception where possible.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Compare failed", e.getCause());
         }
         // Return the list of results.
         return results;
     }
 
+    /**
+     * Waits for a run on the compute pool. A shutdown discards the queued runs without completing
+     * their futures, so the wait gives up as soon as the pool is shut down.
+     * @param future The run.
+     * @return The result of the run.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     * @throws ExecutionException If the run failed.
+     * @throws IllegalStateException If the pool was shut down before the run finished.
+     */
+    private SortResult await(Future<SortResult> future) throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return future.get(SHUTDOWN_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (compareExecutor.isShutdown()) {
+                    throw new IllegalStateException("Compare pool is shutting down");
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the requested algorithm names in order; unknown and null names are simply skipped.
+     * @param names The requested names.
+     * @return The algorithms.
+     */
+    private List<SortingAlgorithm> selectAlgorithms(List<String> names) {
+        List<SortingAlgorithm> selected = new ArrayList<>();
+        for (String algorithmName : names) {
+            if (algorithmName == null) continue; // Skip null names
+            SortingAlgorithm algo = algorithms.get(algorithmName.toLowerCase());
+            if (algo != null) {
+                selected.add(algo);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Decides whether the runs of a request may run in parallel.
+     * @param request The request.
+     * @return true unless the request (or the configured default) asks for isolated runs.
+     */
+    private boolean isParallel(CompareRequest request) {
+        return request.getIsolated() != null ? !request.getIsolated() : parallelByDefault;
+    }
+
+    /**
+     * Determines the budgets of every run of a request.
+     * @param request The request.
+     * @return The configured budgets, tightened by the request.
+     */
+    private Budget budget(CompareRequest request) {
+        return new Budget(tighten(maxMillis, request.getMaxMillis()), tighten(maxSteps, request.getMaxSteps()));
+    }
+
+    /**
+     * Returns the number of elements an input of a matrix compare will have, without loading or generating it.
+     * @param spec The input: inline values, a stored dataset, or a generator spec.
+     * @return The number of elements, or 0 if the spec is invalid (which {@link #resolveInput} reports).
+     */
+    private long declaredSize(InputSpec spec) {
+        if (spec == null) {
+            return 0;
+        }
+        if (spec.getValues() != null) {
+            return spec.getValues().size();
+        }
+        if (spec.getDatasetId() != null) {
+            IntBuffer buffer = datasetStore.open(spec.getDatasetId());
+            return buffer == null ? 0 : buffer.remaining();
+        }
+        return spec.getCount() == null ? 0 : Math.max(0, spec.getCount());
+    }
+
+    /**
+     * Produces the values of one input of a matrix compare.
+     * @param spec The input: inline values, a stored dataset, or a generator spec.
+     * @return The values as a primitive array (never shared with the caller's list).
+     * @throws IllegalArgumentException If the spec is invalid or the dataset does not exist.
+     */
+    private int[] resolveInput(InputSpec spec) {
+        if (spec.getValues() != null) {
+            return SortingAlgorithm.toIntArray(spec.getValues());
+        }
+        if (spec.getDatasetId() != null) {
+            int[] values = datasetStore.load(spec.getDatasetId());
+            if (values == null) {
+                throw new IllegalArgumentException("Unknown dataset: " + spec.getDatasetId());
+            }
+            return values;
+        }
+        if (spec.getShape() == null || spec.getCount() == null || spec.getCount() < 0) {
+            throw new IllegalArgumentException("An input needs values, a datasetId, or a shape and a count");
+        }
+        if (spec.getCount() > MAX_GENERATED_COUNT) {
+            throw new IllegalArgumentException("Generated inputs are limited to " + MAX_GENERATED_COUNT + " elements");
+        }
+        if (spec.getSeed() == null) {
+            // Unseeded standard datasets are generated once and then mapped from the dataset store.
+            IntBuffer buffer = datasetStore.standard(spec.getShape(), spec.getCount());
+            int[] values = new int[buffer.remaining()];
+            buffer.get(values);
+            return values;
+        }
+        return DatasetGenerator.generate(spec.getShape(), spec.getCount(), new Random(spec.getSeed()));
+    }
+
+    /**
+     * Scans an input for the AutoSort profile, once per input and only if it will be recorded.
+     * Only isolated runs are recorded: concurrent runs compete for the cores and memory bandwidth,
+     * so their timings would mislead AutoSort.
+     * @param selected The algorithms that will sort the input.
+     * @param input The input.
+     * @param executionMode How the runs are scheduled ({@link SortResult#ISOLATED} or {@link SortResult#CONCURRENT}).
+     * @return The features of the input, or null if the runs are concurrent or none of the algorithms is an AutoSort candidate.
+     */
+    private InputFeatures profiledFeatures(List<SortingAlgorithm> selected, int[] input, String executionMode) {
+        if (!SortResult.ISOLATED.equals(executionMode)) return null;
+        for (SortingAlgorithm algo : selected) {
+            if (autoSortProfile.tracks(algo.getName())) return InputFeatures.scan(input);
+        }
+        return null;
+    }
+
+    /**
+     * Names an unnamed input of a matrix compare.
+     * @param spec The input.
+     * @param index The position of the input in the request.
+     * @return The dataset id, the shape and size (and seed) of a generated input, or "input-" and the position.
+     */
+    private static String defaultName(InputSpec spec, int index) {
+        if (spec.getValues() != null) return "input-" + index;
+        if (spec.getDatasetId() != null) return spec.getDatasetId();
+        return spec.getShape() + "-" + spec.getCount() + (spec.getSeed() != null ? "-" + spec.getSeed() : "");
+    }
+
+    /**
+     * Runs a single algorithm several times and collects its metrics.
+     * Each run sorts a fresh copy of the input that is prepared outside of the timed region
+     * and gets its own context; only the sort call itself is timed (with nanosecond precision).
+     * The first run that exceeds its budget ends the measurement: the timing statistics then cover the
+     * complete runs before it, and the duration of the aborted run is reported separately.
+     * @param algo The algorithm to run.
+     * @param input The primitive input; it is copied and never modified.
+     * @param features The features of the input if the result is recorded in the AutoSort profile (may be null).
+     * @param unsortedExcerpt The first elements of the input.
+     * @param warmup The number of untimed runs before measuring.
+     * @param repetitions The number of timed runs (at least 1).
+     * @param budget The budgets of every single run.
+     * @param executionMode How the run is scheduled ({@link SortResult#ISOLATED} or {@link SortResult#CONCURRENT}).
+     * @return The SortResult of the timed runs.
+     */
+    private SortResult runAlgorithm(SortingAlgorithm algo, int[] input, InputFeatures features, List<Integer> unsortedExcerpt,
+                                    int warmup, int repetitions, Budget budget, String executionMode) {
+        // Warmup runs: same work as a timed run, but the results are discarded.
+        // An algorithm that exceeds its budget here would exceed it in the timed runs too, so measuring stops.
+        SortBudgetExceededException abort = null;
+        long abortedNanos = 0;
+        int[] sortedArray = input;
+        for (int i = 0; i < warmup && abort == null; i++) {
+            int[] arrayToSort = input.clone();
+            SortContext context = budget.context();
+            long startTime = System.nanoTime();
+            try {
+                algo.sort(arrayToSort, context);
+                // Algorithms check their budget between phases; a run that overran it after the last check fails here.
+                context.checkpoint();
+            } catch (SortBudgetExceededException e) {
+                abort = e;
+                abortedNanos = System.nanoTime() - startTime;
+                sortedArray = arrayToSort;
+            }
+        }
+
+        long[] samples = new long[repetitions];
+        int runs = 0;
+        long steps = 0;
+        while (runs < repetitions && abort == null) {
+            // Create a fresh copy and context outside the timed region.
+            int[] arrayToSort = input.clone();
+            SortContext context = budget.context();
+
+            // Time only the primitive sort.
+            long startTime = System.nanoTime();
+            try {
+                sortedArray = algo.sort(arrayToSort, context);
+                context.checkpoint();
+                samples[runs++] = System.nanoTime() - startTime;
+            } catch (SortBudgetExceededException e) {
+                // The partially sorted array is all there is; out-of-place algorithms may have left it untouched.
+                // The aborted run lasted about as long as its budget, so it is kept out of the statistics.
+                abort = e;
+                abortedNanos = System.nanoTime() - startTime;
+                sortedArray = arrayToSort;
+            }
+
+            // Get the number of steps performed by this run (identical for deterministic algorithms).
+            steps = context.getSteps();
+        }
+        if (abort != null) {
+            // Report the steps of the aborted run, which stopped the measurement.
+            steps = abort.getSteps();
+        }
+        TimingStatistics timing = runs > 0 ? TimingStatistics.of(Arrays.copyOf(samples, runs)) : null;
+        if (features != null && timing != null && abort == null) {
+            // Every complete, isolated measurement of a candidate teaches AutoSort about this machine.
+            autoSortProfile.record(features, algo.getName(), timing.getMedianNanos());
+        }
+
+        // Create a SortResult DTO with the collected information.
+        // Include excerpts of unsorted and sorted lists (e.g., first 5 elements).
+        SortResult result = new SortResult(
+                algo.getName(), // Use the algorithm's canonical name
+                timing != null ? timing.getMedianNanos() / 1_000_000 : 0,
+                steps,
+                // Get first 5 elements or fewer if list is smaller
+                unsortedExcerpt,
+                Arrays.stream(sortedArray).limit(5).boxed().collect(Collectors.toList()),
+                algo.getWorstCase(),
+                algo.getAverageCase(),
+                algo.getBestCase()
+        );
+        result.setExecutionMode(executionMode);
+        result.setTiming(timing);
+        if (abort != null) {
+            result.setAborted(true);
+            result.setAbortReason(abort.getBudget() + " exceeded");
+            result.setAbortedAfterMillis(abortedNanos / 1_000_000);
+            result.setSortedness(sortedness(sortedArray));
+        }
+        return result;
+    }
+
+    /**
+     * Measures how far an array got towards being sorted.
+     * @param a The array.
+     * @return The fraction of adjacent pairs that are in order (1.0 for sorted arrays and arrays shorter than 2).
+     */
+    static double sortedness(int[] a) {
+        if (a.length < 2) return 1.0;
+        int ordered = 0;
+        for (int i = 1; i < a.length; i++) {
+            if (a[i - 1] <= a[i]) ordered++;
+        }
+        return (double) ordered / (a.length - 1);
+    }
+
+    /**
+     * Combines a configured limit with an optional tighter limit from the request.
+     * @param configured The configured limit (0 = unlimited).
+     * @param requested The requested limit, or null (0 or less = no request-specific limit).
+     * @return The effective limit (0 = unlimited).
+     */
+    private static long tighten(long configured, Long requested) {
+        if (requested == null || requested <= 0) return configured;
+        return configured > 0 ? Math.min(configured, requested) : requested;
+    }
+
+    /**
+     * The budgets of every single run of a compare request.
+     * @param maxMillis The time budget in milliseconds (0 = unlimited).
+     * @param maxSteps The step budget (0 = unlimited).
+     */
+    private record Budget(long maxMillis, long maxSteps) {
+
+        /**
+         * Creates the context of a run; its time budget starts now.
+         * @return A fresh context with these budgets.
+         */
+        SortContext context() {
+            return new SortContext(maxSteps, maxMillis);
+        }
+    }
+
+    /**
+     * Clamps an optional request parameter to an allowed range.
+     * @param value The requested value, or null.
+     * @param defaultValue The value used if none was requested.
+     * @param min The smallest allowed value.
+     * @param max The largest allowed value.
+     * @return The clamped value.
+     */
+    private static int clamp(Integer value, int defaultValue, int min, int max) {
+        if (value == null) return defaultValue;
+        return Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * Receives the results of a compare while it is running.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called after an algorithm has finished.
+         * @param result The result of the algorithm.
+         * @param done The number of finished algorithms (including this one).
+         * @param total The number of algorithms of the compare.
+         */
+        void completed(SortResult result, int done, int total);
+    }
+
     /**
      * Retrieves metadata (name, complexities) for all registered sorting algorithms.
      * @return A sorted list of AlgorithmInfo objects.
@@ -0,0 +1,301 @@
+package sorting.algorithms.project.service;
+
+import sorting.algorithms.project.dto.SortFrame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Random-access reader of a trace file written by {@link TraceWriter}.
+ * The cursor holds the array state at its current step and can move to any step:
+ * <ul>
+ *     <li>forward by reading the following frames sequentially (or by first jumping to the
+ *     closest keyframe if it is ahead of the current step),</li>
+ *     <li>backward by undoing frames: while reading forward, the cursor remembers the values
+ *     every frame overwrote since the last keyframe, so stepping back within that segment costs
+ *     as much as stepping forward; stepping back past the segment re-reads from the previous keyframe.</li>
+ * </ul>
+ * Undone frames are kept for redoing, so moving back and forth within a segment never re-reads the file.
+ * Between two calls of {@link #frame(long)} the cursor tracks which indices changed (in a
+ * {@link FrameState}), so playback in any direction and with any stride is sent as small deltas.
+ * A cursor is not thread-safe; every viewer uses its own.
+ */
+final class TraceCursor implements AutoCloseable {
+
+    // Metadata from the header and footer.
+    final String algorithm;
+    final int size;
+    final int keyframeInterval;
+    final long steps;
+    // Step and offset of every keyframe, as flattened pairs (ascending by step).
+    private final long[] keyframes;
+    private final int keyframeCount;
+
+    private final FileChannel channel;
+    // Sequential reader positioned at the frame after the current step, or null before the first seek.
+    private DataInputStream in;
+
+    // The state at the current step (with the changes since the last emitted frame) and the highlighted indices of that step.
+    private final FrameState state = new FrameState();
+    private int[] accessed = new int[0];
+    private int[] changed = new int[0];
+    private long position = -1;
+
+    // First step that can be reached by undoing, and the undo information of every step after it.
+    private long segmentStart;
+    private final List<Change> undo = new ArrayList<>();
+    // Frames undone since the sequential reader passed them, most recently undone last.
+    private final List<Change> redo = new ArrayList<>();
+
+    /**
+     * Opens a trace file and reads its header and footer.
+     * @param file The trace file.
+     * @throws IOException If the file cannot be read or is not a complete trace.
+     */
+    TraceCursor(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            DataInputStream header = streamAt(0);
+            if (header.readInt() != TraceWriter.MAGIC || header.readInt() != TraceWriter.VERSION) {
+                throw new IOException("Not a trace file: " + file);
+            }
+            this.algorithm = header.readUTF();
+            this.size = header.readInt();
+            this.keyframeInterval = header.readInt();
+
+            // The last 8 bytes point to the footer.
+            long length = channel.size();
+            if (length < 8) throw new IOException("Trace file is truncated: " + file);
+            long footerOffset = streamAt(length - 8).readLong();
+            DataInputStream footer = streamAt(footerOffset);
+            this.steps = footer.readLong();
+            this.keyframeCount = footer.readInt();
+            this.keyframes = new long[2 * keyframeCount];
+            for (int i = 0; i < keyframes.length; i++) {
+                keyframes[i] = footer.readLong();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current step.
+     * @return The step the cursor is positioned at (-1 before the first move).
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Moves the cursor to a step.
+     * @param target The step (0 .. steps - 1).
+     * @throws IOException If reading fails.
+     * @throws IllegalArgumentException If the step does not exist.
+     */
+    void moveTo(long target) throws IOException {
+        if (target < 0 || target >= steps) {
+            throw new IllegalArgumentException("Step " + target + " is out of range 0.." + (steps - 1));
+        }
+        if (target < position && target >= segmentStart) {
+            // Undo frames back to the target.
+            while (position > target) {
+                backward();
+            }
+            return;
+        }
+        int keyframe = keyframeIndex(target);
+        if (target < position || keyframes[2 * keyframe] > position) {
+            // Behind the undo segment, or a keyframe is closer than the current step: jump to it.
+            seek(keyframe);
+        }
+        while (position < target) {
+            forward();
+        }
+    }
+
+    /**
+     * Creates the frame to send for the current step: a delta of all indices that changed since
+     * the previous call, or a keyframe for the first call and after the size of the array changed.
+     * @param seq The sequence number of the frame in the viewer's stream.
+     * @return The frame.
+     */
+    SortFrame frame(long seq) {
+        return state.frame(seq, toList(accessed), toList(changed));
+    }
+
+    /**
+     * Creates a keyframe of the current step, independent of what was sent before.
+     * @param seq The sequence number of the frame.
+     * @return The keyframe.
+     */
+    SortFrame keyframe(long seq) {
+        state.forceKeyframe();
+        return frame(seq);
+    }
+
+    /**
+     * Closes the file.
+     * @throws IOException If closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finds the last keyframe at or before a step.
+     * @param target The step.
+     * @return The index of the keyframe.
+     */
+    private int keyframeIndex(long target) {
+        // Binary search over the keyframe steps; the first frame is always a keyframe.
+        int low = 0;
+        int high = keyframeCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keyframes[2 * mid] <= target) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Positions the cursor at a keyframe and starts a new undo segment there.
+     * @param keyframe The index of the keyframe.
+     * @throws IOException If reading fails.
+     */
+    private void seek(int keyframe) throws IOException {
+        in = streamAt(keyframes[2 * keyframe + 1]);
+        redo.clear();
+        position = keyframes[2 * keyframe] - 1;
+        // Reading the keyframe starts the new undo segment.
+        forward();
+    }
+
+    /**
+     * Applies the next frame, either from the redo list or from the file.
+     * @throws IOException If reading fails.
+     */
+    private void forward() throws IOException {
+        if (!redo.isEmpty()) {
+            Change next = redo.remove(redo.size() - 1);
+            undo.add(new Change(apply(next.values), accessed, changed));
+            accessed = next.accessed;
+            changed = next.changed;
+            position++;
+            return;
+        }
+        byte type = in.readByte();
+        int[] nextAccessed = readInts(in);
+        int[] nextChanged = readInts(in);
+        int count = in.readInt();
+        if (type == TraceWriter.KEYFRAME) {
+            int[] array = new int[count];
+            for (int i = 0; i < count; i++) {
+                array[i] = in.readInt();
+            }
+            // With the same size, only the differing indices need to be sent.
+            state.replace(array);
+            // Frames before a keyframe are never undone: stepping back past it re-reads the previous segment.
+            segmentStart = position + 1;
+            undo.clear();
+        } else {
+            int[] overwritten = new int[2 * count];
+            for (int k = 0; k < count; k++) {
+                int index = in.readInt();
+                int value = in.readInt();
+                overwritten[2 * k] = index;
+                overwritten[2 * k + 1] = state.get(index);
+                state.set(index, value);
+            }
+            undo.add(new Change(overwritten, accessed, changed));
+        }
+        accessed = nextAccessed;
+        changed = nextChanged;
+        position++;
+    }
+
+    /**
+     * Reverts the current frame (only valid after the segment start) and keeps it for redoing.
+     */
+    private void backward() {
+        Change last = undo.remove(undo.size() - 1);
+        redo.add(new Change(apply(last.values), accessed, changed));
+        accessed = last.accessed;
+        changed = last.changed;
+        position--;
+    }
+
+    /**
+     * Writes (index, value) pairs into the state.
+     * @param pairs The pairs to write, in the order of the original writes (undo pairs are applied in reverse).
+     * @return The pairs that revert this application.
+     */
+    private int[] apply(int[] pairs) {
+        int[] reverse = new int[pairs.length];
+        // Walk from the end, so a pair list produced by this method restores an index written twice correctly.
+        for (int k = pairs.length - 2, r = 0; k >= 0; k -= 2, r += 2) {
+            int index = pairs[k];
+            reverse[r] = index;
+            reverse[r + 1] = state.get(index);
+            state.set(index, pairs[k + 1]);
+        }
+        return reverse;
+    }
+
+    /**
+     * Opens a buffered stream at a file offset.
+     * @param offset The offset.
+     * @return The stream.
+     */
+    private DataInputStream streamAt(long offset) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(offset)), 1 << 16));
+    }
+
+    /**
+     * Reads a list of ints, prefixed by its length.
+     * @param in The stream.
+     * @return The values.
+     * @throws IOException If reading fails.
+     */
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Converts highlighted indices for a frame.
+     * @param values The indices.
+     * @return The indices as a list.
+     */
+    private static List<Integer> toList(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * A delta frame that can be undone or redone.
+     * @param values The (index, value) pairs to write; they are applied from the last pair to the first.
+     * @param accessed The accessed indices of the step reached by applying the change.
+     * @param changed The changed indices of the step reached by applying the change.
+     */
+    private record Change(int[] values, int[] accessed, int[] changed) {}
+}
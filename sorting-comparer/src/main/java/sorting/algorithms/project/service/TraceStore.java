@@ -0,0 +1,290 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.TraceInfo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Records the step stream of a sort once into a trace file and replays it to any number of viewers
+ * without sorting again. Replays can start at any step, run forward or backward, and skip steps
+ * (see {@link TraceCursor} for how seeking works).
+ * <p>
+ * Traces are kept in the configured directory, so they survive restarts. Their total size is
+ * limited by a budget: when a new trace does not fit, the least recently used traces are deleted.
+ * A single trace is limited to a smaller size, so one recording never evicts all the others, and
+ * recording runs within the compare budgets, so it cannot occupy a request thread for long.
+ */
+@Service
+public class TraceStore {
+
+    // File extension of complete traces (traces being recorded use a temporary name).
+    private static final String EXTENSION = ".trace";
+
+    // Directory holding the trace files.
+    private final Path directory;
+    // Maximum total size of all traces in bytes.
+    private final long maxBytes;
+    // Maximum size of a single trace in bytes (at most maxBytes).
+    private final long maxTraceBytes;
+    // Budgets of recording a trace (0 = unlimited).
+    private final long maxMillis;
+    private final long maxSteps;
+    // Number of steps between two keyframes in a trace file.
+    private final int keyframeInterval;
+    // Known traces in access order (least recently used first); guarded by 'this'.
+    private final LinkedHashMap<String, TraceInfo> traces = new LinkedHashMap<>(16, 0.75f, true);
+    // Total size of all known traces in bytes; guarded by 'this'.
+    private long totalBytes;
+
+    /**
+     * Creates the store and registers the traces already on disk (oldest first, so they are evicted first).
+     * @param directory The directory holding the trace files.
+     * @param maxBytes The maximum total size of all traces in bytes.
+     * @param maxTraceBytes The maximum size of a single trace in bytes (capped at maxBytes).
+     * @param keyframeInterval The number of steps between two keyframes in a trace file.
+     * @param maxMillis The time budget of recording a trace in milliseconds (0 = unlimited).
+     * @param maxSteps The step budget of recording a trace (0 = unlimited).
+     */
+    public TraceStore(@Value("${sorting.traces.dir:data/traces}") String directory,
+                      @Value("${sorting.traces.max-bytes:268435456}") long maxBytes,
+                      @Value("${sorting.traces.max-trace-bytes:33554432}") long maxTraceBytes,
+                      @Value("${sorting.traces.keyframe-interval:256}") int keyframeInterval,
+                      @Value("${sorting.compare.max-millis:10000}") long maxMillis,
+                      @Value("${sorting.compare.max-steps:0}") long maxSteps) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.maxTraceBytes = Math.min(maxTraceBytes, maxBytes);
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.maxMillis = Math.max(0, maxMillis);
+        this.maxSteps = Math.max(0, maxSteps);
+        loadExisting();
+    }
+
+    /**
+     * Sorts a copy of the input with the visual path of an algorithm and records every step.
+     * @param algorithm The algorithm to trace.
+     * @param input The input list (not modified).
+     * @return The description of the new trace.
+     * @throws TraceTooLargeException If the trace would exceed the size limit of a single trace.
+     * @throws SortBudgetExceededException If the sort exceeds the time or step budget.
+     * @throws IOException If the trace file cannot be written.
+     */
+    public TraceInfo record(SortingAlgorithm algorithm, List<Integer> input) throws IOException {
+        Files.createDirectories(directory);
+        String id = UUID.randomUUID().toString();
+        Path temp = Files.createTempFile(directory, id + "-", ".tmp");
+        try {
+            long steps;
+            SortContext context = new SortContext(maxSteps, maxMillis);
+            try (TraceWriter writer = new TraceWriter(temp, algorithm.getName(), input.size(), keyframeInterval, maxTraceBytes)) {
+                algorithm.sortWithCallback(new ArrayList<>(input), step -> {
+                    // Every step checks the budgets, also for algorithms without checkpoints on this path.
+                    context.checkpoint();
+                    writer.write(step);
+                }, context);
+                steps = writer.finish();
+            }
+            if (steps == 0) {
+                throw new IllegalArgumentException(algorithm.getName() + " reported no steps to record");
+            }
+            Path file = directory.resolve(id + EXTENSION);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            TraceInfo info = new TraceInfo(id, algorithm.getName(), input.size(), steps, Files.size(file));
+            register(info);
+            return info;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Lists all traces, least recently used first.
+     * @return The descriptions of the traces.
+     */
+    public synchronized List<TraceInfo> list() {
+        return new ArrayList<>(traces.values());
+    }
+
+    /**
+     * Looks up a trace (and marks it as recently used).
+     * @param id The id of the trace.
+     * @return The description, or null if no trace with this id exists.
+     */
+    public synchronized TraceInfo get(String id) {
+        return traces.get(id);
+    }
+
+    /**
+     * Deletes a trace. Replays that are already running finish normally.
+     * @param id The id of the trace.
+     * @return true if the trace existed.
+     */
+    public boolean delete(String id) {
+        TraceInfo info;
+        synchronized (this) {
+            info = traces.remove(id);
+            if (info == null) return false;
+            totalBytes -= info.getBytes();
+        }
+        deleteFile(id);
+        return true;
+    }
+
+    /**
+     * Returns the full state of a single step.
+     * @param id The id of the trace.
+     * @param step The step.
+     * @return A keyframe of the step, or null if no trace with this id exists.
+     * @throws IllegalArgumentException If the step does not exist.
+     * @throws IOException If the trace cannot be read.
+     */
+    public SortFrame frameAt(String id, long step) throws IOException {
+        if (get(id) == null) return null;
+        try (TraceCursor cursor = new TraceCursor(file(id))) {
+            cursor.moveTo(step);
+            return cursor.keyframe(0);
+        }
+    }
+
+    /**
+     * Replays the steps {@code from, from ± stride, ...} up to {@code to} (inclusive; backward if
+     * {@code to < from}). The first frame is a keyframe; the following frames are deltas relative
+     * to the previous frame, whatever the direction and stride.
+     * @param id The id of the trace.
+     * @param from The first step.
+     * @param to The last step (negative = the last step of the trace).
+     * @param stride The distance between two replayed steps (at least 1).
+     * @param sink Receives the frames in order; returning false stops the replay.
+     * @return false if no trace with this id exists.
+     * @throws IllegalArgumentException If a step does not exist.
+     * @throws IOException If the trace cannot be read.
+     */
+    public boolean replay(String id, long from, long to, int stride, Predicate<SortFrame> sink) throws IOException {
+        TraceInfo info = get(id);
+        if (info == null) return false;
+        long last = to < 0 ? info.getSteps() - 1 : to;
+        long step = Math.max(1, stride) * (last < from ? -1L : 1L);
+        try (TraceCursor cursor = new TraceCursor(file(id))) {
+            long seq = 0;
+            long position = from;
+            while (true) {
+                cursor.moveTo(position);
+                if (!sink.test(cursor.frame(seq++)) || position == last) break;
+                // Clamp the final stride, so the replay always ends exactly at the last step.
+                position = step > 0 ? Math.min(position + step, last) : Math.max(position + step, last);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a trace and evicts least recently used traces until the budget is met again.
+     * @param info The new trace.
+     */
+    private void register(TraceInfo info) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            traces.put(info.getId(), info);
+            totalBytes += info.getBytes();
+            var iterator = traces.values().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                TraceInfo eldest = iterator.next();
+                if (eldest == info) continue; // Never evict the trace just recorded
+                iterator.remove();
+                totalBytes -= eldest.getBytes();
+                evicted.add(eldest.getId());
+            }
+        }
+        // Delete outside the lock; running replays keep their open file.
+        evicted.forEach(this::deleteFile);
+    }
+
+    /**
+     * Registers the traces found on disk at startup, oldest first; unreadable files are ignored.
+     */
+    private void loadExisting() {
+        if (!Files.isDirectory(directory)) return;
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = new ArrayList<>(paths.filter(path -> path.getFileName().toString().endsWith(EXTENSION)).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list traces", e);
+        }
+        files.sort(Comparator.comparing(TraceStore::lastModified));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            String id = name.substring(0, name.length() - EXTENSION.length());
+            try (TraceCursor cursor = new TraceCursor(file)) {
+                register(new TraceInfo(id, cursor.algorithm, cursor.size, cursor.steps, Files.size(file)));
+            } catch (IOException e) {
+                // Incomplete or foreign file: skip it.
+            }
+        }
+    }
+
+    /**
+     * Returns the modification time of a file for ordering (missing files sort first).
+     * @param file The file.
+     * @return The modification time in milliseconds.
+     */
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes the file of a trace; failures are ignored (the trace is already unregistered).
+     * @param id The id of the trace.
+     */
+    private void deleteFile(String id) {
+        try {
+            Files.deleteIfExists(file(id));
+        } catch (IOException ignore) {
+            // The file is no longer referenced, and ids are unique, so it is never reused.
+        }
+    }
+
+    /**
+     * Resolves the file of a trace.
+     * @param id The id of the trace.
+     * @return The file path.
+     */
+    private Path file(String id) {
+        return directory.resolve(id + EXTENSION);
+    }
+
+    /**
+     * Thrown when recording a trace exceeds the size budget of the store.
+     */
+    public static class TraceTooLargeException extends RuntimeException {
+
+        /**
+         * Creates the exception.
+         * @param message The detail message.
+         */
+        public TraceTooLargeException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package sorting.algorithms.project.service;
+
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the step stream of one sort into a binary trace file.
+ * The steps are delta-encoded with a {@link SortStepEncoder}, so the file holds a keyframe
+ * (the full array) every {@code keyframeInterval} steps and only the changed values in between.
+ * The footer holds the position of every keyframe, which lets a {@link TraceCursor} seek to any
+ * step by reading at most one keyframe and the deltas after it.
+ * <p>
+ * Layout (big-endian, as written by {@link DataOutputStream}):
+ * <pre>
+ * header:   int MAGIC, int VERSION, UTF algorithm, int size, int keyframeInterval
+ * frame:    byte type, int accessedCount, int[] accessed, int changedCount, int[] changed,
+ *           then for KEYFRAME: int length, int[] array
+ *                for DELTA:    int pairCount, int[] (index, value) pairs
+ * footer:   long steps, int keyframeCount, (long step, long offset)[] keyframes
+ * trailer:  long footerOffset
+ * </pre>
+ */
+final class TraceWriter implements AutoCloseable {
+
+    // Identifies trace files ("STRC") and their format version.
+    static final int MAGIC = 0x53545243;
+    static final int VERSION = 1;
+    // Frame types.
+    static final byte KEYFRAME = 0;
+    static final byte DELTA = 1;
+
+    // Encodes the steps into keyframes and deltas.
+    private final SortStepEncoder encoder;
+    // Counts the bytes written, which are the file offsets of the frames.
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    // Maximum size of the file in bytes.
+    private final long maxBytes;
+    // Step and offset of every keyframe, as flattened pairs.
+    private long[] keyframes = new long[32];
+    private int keyframeCount;
+    // Number of steps written so far.
+    private long steps;
+
+    /**
+     * Creates the file and writes the header.
+     * @param file The file to create.
+     * @param algorithm The name of the traced algorithm.
+     * @param size The number of elements of the traced input.
+     * @param keyframeInterval The number of steps between two keyframes.
+     * @param maxBytes The maximum size of the file; exceeding it aborts the recording.
+     * @throws IOException If the file cannot be created.
+     */
+    TraceWriter(Path file, String algorithm, int size, int keyframeInterval, long maxBytes) throws IOException {
+        this.encoder = new SortStepEncoder(keyframeInterval);
+        // The counter sits above the buffer, so it counts logical positions rather than flushed bytes.
+        this.counter = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        this.out = new DataOutputStream(counter);
+        this.maxBytes = maxBytes;
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(algorithm);
+        out.writeInt(size);
+        out.writeInt(keyframeInterval);
+    }
+
+    /**
+     * Appends the next step (usable as the callback of {@code sortWithCallback}).
+     * @param step The step.
+     * @throws TraceStore.TraceTooLargeException If the file would exceed its size budget.
+     * @throws UncheckedIOException If writing fails.
+     */
+    void write(SortStep step) {
+        SortFrame frame = encoder.encode(step);
+        try {
+            if (frame.isKeyframe()) {
+                if (2 * keyframeCount + 2 > keyframes.length) {
+                    keyframes = Arrays.copyOf(keyframes, 2 * keyframes.length);
+                }
+                keyframes[2 * keyframeCount] = frame.getSeq();
+                keyframes[2 * keyframeCount + 1] = position();
+                keyframeCount++;
+            }
+            out.writeByte(frame.isKeyframe() ? KEYFRAME : DELTA);
+            writeInts(frame.getAccessed());
+            writeInts(frame.getChanged());
+            int[] values = frame.isKeyframe() ? frame.getArray() : frame.getWrites();
+            // Deltas store the number of pairs, keyframes the number of elements.
+            out.writeInt(frame.isKeyframe() ? values.length : values.length / 2);
+            for (int value : values) {
+                out.writeInt(value);
+            }
+            steps++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (position() > maxBytes) {
+            throw new TraceStore.TraceTooLargeException("Trace exceeds the budget of " + maxBytes + " bytes after " + steps + " steps");
+        }
+    }
+
+    /**
+     * Writes the footer; the file is complete afterwards.
+     * @return The number of recorded steps.
+     * @throws IOException If writing fails.
+     */
+    long finish() throws IOException {
+        long footerOffset = position();
+        out.writeLong(steps);
+        out.writeInt(keyframeCount);
+        for (int i = 0; i < 2 * keyframeCount; i++) {
+            out.writeLong(keyframes[i]);
+        }
+        out.writeLong(footerOffset);
+        out.flush();
+        return steps;
+    }
+
+    /**
+     * Closes the file (without a footer unless {@link #finish()} was called).
+     * @throws IOException If closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Returns the offset of the next byte written ({@code out.size()} would saturate at 2 GiB).
+     * @return The current file position.
+     */
+    private long position() {
+        return counter.count;
+    }
+
+    /**
+     * Writes a list of ints, prefixed by its length.
+     * @param values The values.
+     * @throws IOException If writing fails.
+     */
+    private void writeInts(List<Integer> values) throws IOException {
+        out.writeInt(values.size());
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    /**
+     * Counts the bytes passed to the underlying stream.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        // Number of bytes written so far.
+        long count;
+
+        /**
+         * Wraps a stream.
+         * @param out The stream to count.
+         */
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
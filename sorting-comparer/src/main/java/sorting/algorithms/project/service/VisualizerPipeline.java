@@ -0,0 +1,233 @@
+package sorting.algorithms.project.service;
+
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+import sorting.algorithms.project.dto.StreamStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples a sorting thread from the thread that streams its steps to a client.
+ * <ul>
+ *     <li>The producer (the algorithm's step callback) delta-encodes every step into a bounded queue
+ *     and never waits: if the queue is full because the client is slow, the step is dropped. The
+ *     next step that fits is encoded against the last queued one, so it carries the dropped changes too.</li>
+ *     <li>The sender plays the queued frames back at a configurable rate of steps per second
+ *     (fractions of a millisecond per step are fine) and sends at most {@code fps} frames per
+ *     second: the frames due within one display frame are merged into a single frame.</li>
+ * </ul>
+ * The client therefore always sees a consistent state, the last frame is always the final state
+ * of the sort, and the counts of dropped and merged steps are reported in {@link #stats()}.
+ * One pipeline serves exactly one stream.
+ */
+public final class VisualizerPipeline {
+
+    /**
+     * Receives the frames to send.
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+
+        /**
+         * Sends a frame to the client.
+         * @param frame The frame: a {@link SortFrame} for delta streams, a {@link SortStep} otherwise.
+         * @throws Exception If sending fails; the pipeline then stops.
+         */
+        void send(Object frame) throws Exception;
+    }
+
+    // Marks the end of the stream in the queue.
+    private static final SortFrame END = new SortFrame(-1, new int[0], null, List.of(), List.of());
+
+    // Frames encoded by the producer, waiting to be sent.
+    private final BlockingQueue<SortFrame> queue;
+    // Only used by the producer thread. Queued frames never need keyframes (the sender holds the
+    // full state), so the queue stays small even for large arrays.
+    private final SortStepEncoder encoder = new SortStepEncoder(Integer.MAX_VALUE);
+    // Number of sent frames between two keyframes for the client.
+    private final int keyframeInterval;
+    // Playback rate: nanoseconds per step (0 = as fast as the client takes them).
+    private final long stepNanos;
+    // Minimum time between two sent frames.
+    private final long frameNanos;
+    // Whether the client receives SortFrames (true) or full SortSteps (false).
+    private final boolean delta;
+
+    // The most recent step that did not fit into the queue (producer only).
+    private SortStep pendingStep;
+    // Set once the sender gave up; the producer stops queueing.
+    private volatile boolean closed;
+
+    // Statistics.
+    private final AtomicLong steps = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * Creates a pipeline.
+     * @param capacity The maximum number of queued frames.
+     * @param keyframeInterval The number of sent frames between two keyframes.
+     * @param stepMillis The playback rate in milliseconds per step (0 = unthrottled).
+     * @param fps The maximum number of frames sent per second.
+     * @param delta Whether to send delta-encoded SortFrames instead of full SortSteps.
+     */
+    public VisualizerPipeline(int capacity, int keyframeInterval, double stepMillis, int fps, boolean delta) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(2, capacity));
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.stepNanos = Math.max(0, Math.round(stepMillis * 1_000_000));
+        this.frameNanos = 1_000_000_000L / Math.max(1, fps);
+        this.delta = delta;
+    }
+
+    /**
+     * Queues a step (called by the sorting thread, usable as the step callback). Never blocks.
+     * @param step The step.
+     */
+    public void accept(SortStep step) {
+        if (closed) return;
+        steps.incrementAndGet();
+        // Only encode when there is room, so the encoder's reference state is always the last queued frame.
+        // A step held back earlier is superseded either way: it is dropped, and its changes travel with a later frame.
+        if (pendingStep != null) dropped.incrementAndGet();
+        if (queue.remainingCapacity() > 1) {
+            queue.offer(encoder.encode(step));
+            pendingStep = null;
+        } else {
+            // One slot stays free for the final frame.
+            pendingStep = step;
+        }
+    }
+
+    /**
+     * Ends the stream (called by the sorting thread after the sort). Queues the final state if it was
+     * dropped, waiting for room if necessary, so the client always ends on the sorted array.
+     * @throws InterruptedException If interrupted while waiting for room.
+     */
+    public void complete() throws InterruptedException {
+        if (pendingStep != null) {
+            putUnlessClosed(encoder.encode(pendingStep));
+            pendingStep = null;
+        }
+        putUnlessClosed(END);
+    }
+
+    /**
+     * Stops the pipeline (e.g., after the client disconnected); queued frames are discarded.
+     */
+    public void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    /**
+     * Sends the queued frames to the sink at the configured rate until the stream ends or sending fails
+     * (called by the sender thread).
+     * @param sink The sink receiving the frames.
+     * @throws Exception If sending fails (the pipeline is closed before rethrowing).
+     */
+    public void run(FrameSink sink) throws Exception {
+        FrameState state = new FrameState();
+        List<SortFrame> due = new ArrayList<>();
+        long seq = 0;
+        long next = System.nanoTime();
+        // Fraction of a step carried over between frames when the rate is not a multiple of the frame time.
+        double credit = 0;
+        try {
+            boolean ended = false;
+            while (!ended && !closed) {
+                // Number of steps due in this frame: one step per stepNanos, but at most one frame per frameNanos.
+                long interval = Math.max(frameNanos, stepNanos);
+                int budget;
+                if (stepNanos == 0) {
+                    budget = Integer.MAX_VALUE;
+                } else {
+                    credit += (double) interval / stepNanos;
+                    budget = (int) Math.min(credit, Integer.MAX_VALUE);
+                    credit -= budget;
+                }
+
+                // Wait for the first frame, then take what else is due without waiting.
+                SortFrame frame = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (frame == null) {
+                    next = System.nanoTime();
+                    credit = 0;
+                    continue;
+                }
+                due.add(frame);
+                while (due.size() < budget && (frame = queue.poll()) != null) {
+                    due.add(frame);
+                }
+
+                SortFrame last = null;
+                for (SortFrame f : due) {
+                    if (f == END) {
+                        ended = true;
+                        break;
+                    }
+                    state.apply(f);
+                    last = f;
+                }
+                if (last != null) {
+                    merged.addAndGet(due.size() - (ended ? 2 : 1));
+                    if (seq % keyframeInterval == 0) state.forceKeyframe();
+                    sink.send(delta
+                            ? state.frame(seq++, last.getAccessed(), last.getChanged())
+                            : new SortStep(toList(state.snapshot()), last.getAccessed(), last.getChanged()));
+                    sent.incrementAndGet();
+                }
+                due.clear();
+
+                // Pace the frames; parkNanos is not limited to whole milliseconds.
+                next += interval;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    next = System.nanoTime(); // Behind schedule (slow client): do not try to catch up with a burst
+                }
+            }
+        } catch (Exception e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the statistics of the stream so far.
+     * @return The statistics.
+     */
+    public StreamStats stats() {
+        return new StreamStats(steps.get(), sent.get(), merged.get(), dropped.get());
+    }
+
+    /**
+     * Queues a frame unless the pipeline was closed, waiting for room.
+     * @param frame The frame.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private void putUnlessClosed(SortFrame frame) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(frame, 100, TimeUnit.MILLISECONDS)) return;
+        }
+    }
+
+    /**
+     * Converts a state for a full SortStep.
+     * @param values The values.
+     * @return The values as a list.
+     */
+    private static List<Integer> toList(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,196 @@
+package sorting.algorithms.project.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the background work of visualizer and replay sessions on managed thread pools and limits
+ * how many sessions run at once.
+ * <ul>
+ *     <li>The CPU-bound sort of a session runs on a bounded pool (one thread per core by default).</li>
+ *     <li>The I/O side (pacing and sending frames) runs on a pool of reusable threads.</li>
+ * </ul>
+ * A session occupies one of the configured slots from {@link #start} until all of its tasks have
+ * finished. When all slots are taken, new sessions are rejected instead of piling up threads.
+ * <p>
+ * The sorts of running sessions are cancelled through their {@link SortContext} when the
+ * application shuts down, so even sorts that never finish (e.g., BogoSort) release their threads.
+ */
+@Service
+public class VisualizerSessions {
+
+    // Pool for the sorts of visualizer sessions.
+    private final ExecutorService sortExecutor;
+    // Pool for sending and replaying.
+    private final ExecutorService ioExecutor;
+    // One permit per session that may run at the same time.
+    private final Semaphore slots;
+    // Maximum number of concurrent sessions.
+    private final int maxSessions;
+    // Contexts of the sorts of running sessions, cancelled on shutdown.
+    private final Set<SortContext> running = ConcurrentHashMap.newKeySet();
+    // Set on shutdown; no new sessions are started afterwards.
+    private volatile boolean shutdown;
+
+    /**
+     * Creates the session manager.
+     * @param sortExecutor The pool running the sorts.
+     * @param ioExecutor The pool running the I/O side of sessions.
+     * @param maxSessions The maximum number of sessions running at the same time.
+     */
+    public VisualizerSessions(@Qualifier("visualizerSortExecutor") ExecutorService sortExecutor,
+                              @Qualifier("visualizerIoExecutor") ExecutorService ioExecutor,
+                              @Value("${sorting.visualizer.max-sessions:16}") int maxSessions) {
+        this.sortExecutor = sortExecutor;
+        this.ioExecutor = ioExecutor;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.slots = new Semaphore(this.maxSessions);
+    }
+
+    /**
+     * Starts a session without a sort to cancel if a slot is free.
+     * @param sortTask The CPU-bound part of the session (may be null, e.g., for replays).
+     * @param ioTask The I/O part of the session (may be null).
+     * @throws SessionLimitException If the maximum number of sessions is running.
+     */
+    public void start(Runnable sortTask, Runnable ioTask) {
+        start(null, sortTask, ioTask);
+    }
+
+    /**
+     * Starts a session if a slot is free.
+     * @param context The context of the session's sort, cancelled on shutdown (may be null).
+     * @param sortTask The CPU-bound part of the session (may be null, e.g., for replays).
+     * @param ioTask The I/O part of the session (may be null).
+     * @throws SessionLimitException If the maximum number of sessions is running or the application shuts down.
+     */
+    public void start(SortContext context, Runnable sortTask, Runnable ioTask) {
+        if (!slots.tryAcquire()) {
+            throw new SessionLimitException("All " + maxSessions + " visualizer sessions are in use, try again later");
+        }
+        // The slot is released by whichever task finishes last; the caller holds a reference while submitting.
+        Session session = new Session(context);
+        if (context != null) running.add(context);
+        try {
+            if (shutdown) {
+                throw new SessionLimitException("Visualizer sessions are shutting down");
+            }
+            submit(sortExecutor, sortTask, session);
+            submit(ioExecutor, ioTask, session);
+        } finally {
+            release(session);
+        }
+    }
+
+    /**
+     * Cancels the sorts of all running sessions and rejects new ones. Called before the thread pools are shut down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        running.forEach(SortContext::cancel);
+    }
+
+    /**
+     * Returns the number of running sessions.
+     * @return The number of occupied slots.
+     */
+    public int activeSessions() {
+        return maxSessions - slots.availablePermits();
+    }
+
+    /**
+     * Returns the maximum number of concurrent sessions.
+     * @return The number of slots.
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Submits a task of a session.
+     * @param executor The pool to run the task on.
+     * @param task The task (null = nothing to submit).
+     * @param session The session the task belongs to.
+     * @throws SessionLimitException If the pool is shutting down.
+     */
+    private void submit(ExecutorService executor, Runnable task, Session session) {
+        if (task == null) return;
+        session.references.incrementAndGet();
+        try {
+            executor.execute(releasing(task, session));
+        } catch (RejectedExecutionException e) {
+            release(session);
+            throw new SessionLimitException("Visualizer sessions are shutting down");
+        }
+    }
+
+    /**
+     * Wraps a task so it gives up its reference to the session slot when it ends.
+     * @param task The task.
+     * @param session The session the task belongs to.
+     * @return The wrapped task.
+     */
+    private Runnable releasing(Runnable task, Session session) {
+        return () -> {
+            try {
+                task.run();
+            } finally {
+                release(session);
+            }
+        };
+    }
+
+    /**
+     * Drops one reference to a session and frees its slot after the last one.
+     * @param session The session.
+     */
+    private void release(Session session) {
+        if (session.references.decrementAndGet() == 0) {
+            if (session.context != null) running.remove(session.context);
+            slots.release();
+        }
+    }
+
+    /**
+     * The bookkeeping of one running session.
+     */
+    private static final class Session {
+        // The context of the session's sort (may be null).
+        final SortContext context;
+        // Number of unfinished tasks, plus one while the session is being started.
+        final AtomicInteger references = new AtomicInteger(1);
+
+        /**
+         * Creates the bookkeeping of a session.
+         * @param context The context of the session's sort (may be null).
+         */
+        Session(SortContext context) {
+            this.context = context;
+        }
+    }
+
+    /**
+     * Thrown when a session cannot be started because all slots are in use.
+     */
+    public static class SessionLimitException extends RuntimeException {
+
+        /**
+         * Creates the exception.
+         * @param message The detail message.
+         */
+        public SessionLimitException(String message) {
+            super(message);
+        }
+    }
+}
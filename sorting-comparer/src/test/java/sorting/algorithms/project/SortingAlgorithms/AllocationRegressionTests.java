@@ -0,0 +1,126 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the non-visual sort path against per-step allocations.
+ * In-place algorithms may allocate nothing but a few small, constant-size tables per run.
+ * Buffer-based algorithms may allocate their O(n) scratch space once per run (e.g., a merge
+ * buffer or a count array), as listed in {@link #BUFFER_BYTES_PER_ELEMENT}, but nothing per
+ * comparison or swap.
+ */
+@SpringBootTest
+class AllocationRegressionTests {
+
+	private static final int SIZE = 4096;
+	// Constant for small bookkeeping arrays (recursion stacks, block buffers, lambdas).
+	private static final long CONSTANT_OVERHEAD_BYTES = 4096;
+	// In-place algorithms: effectively zero bytes per element.
+	private static final double IN_PLACE_BYTES_PER_ELEMENT = 1.0;
+	// One int buffer of n elements, plus small per-run tables.
+	private static final double ONE_BUFFER = 5.0;
+	// An output buffer of n elements plus a count array over the value range (range <= n here).
+	private static final double COUNTING_BUFFERS = 9.0;
+	// Algorithms that need scratch space, and how much they may take.
+	private static final Map<String, Double> BUFFER_BYTES_PER_ELEMENT = Map.of(
+			"MergeSort", ONE_BUFFER,
+			"TimSort", ONE_BUFFER,
+			"ParallelMergeSort", ONE_BUFFER,
+			"RadixSort", ONE_BUFFER,
+			"ParallelRadixSort", ONE_BUFFER,
+			"BucketSort", ONE_BUFFER,
+			"PigeonholeSort", ONE_BUFFER,
+			"VectorQuickSortScalar", ONE_BUFFER,
+			"CountingSort", COUNTING_BUFFERS,
+			// Dispatches this input to CountingSort, plus its feature sample.
+			"AutoSort", COUNTING_BUFFERS);
+	// The list path converts the list into an int[] once, which adds one int per element.
+	private static final double LIST_COPY_BYTES_PER_ELEMENT = 4.0;
+	// Algorithms whose running time is unbounded are not measured.
+	private static final Set<String> RANDOMIZED = Set.of("BogoSort", "BozoSort");
+	// The Vector API allocates every vector until C2 has compiled the kernels, which a single
+	// warm-up run does not achieve; the compiled kernels do not allocate.
+	private static final Set<String> JIT_DEPENDENT = Set.of("VectorQuickSort");
+
+	@Autowired
+	private List<SortingAlgorithm> algorithms;
+
+	@Test
+	void primitivePathAllocatesNearZeroBytesPerElement() {
+		com.sun.management.ThreadMXBean threads = allocationCounter();
+		int[] input = new Random(1).ints(SIZE, 0, SIZE).toArray();
+		long threadId = Thread.currentThread().getId();
+
+		for (SortingAlgorithm algo : measured()) {
+			// Warm up once so class initialization is not attributed to the sort.
+			algo.sort(input.clone());
+			int[] measured = input.clone();
+
+			long before = threads.getThreadAllocatedBytes(threadId);
+			algo.sort(measured);
+			long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+			assertWithinBound(algo, allocated, allowance(algo));
+		}
+	}
+
+	@Test
+	void listPathWithoutObserverAllocatesNearZeroBytesPerElement() {
+		com.sun.management.ThreadMXBean threads = allocationCounter();
+		// Values inside the Integer cache, so writing them back into the list does not box:
+		// what remains is the algorithm's own allocation plus the conversion to int[].
+		List<Integer> input = new Random(2).ints(SIZE, -128, 128).boxed().collect(Collectors.toList());
+		long threadId = Thread.currentThread().getId();
+
+		for (SortingAlgorithm algo : measured()) {
+			algo.sortWithCallback(new ArrayList<>(input), null, new SortContext());
+			List<Integer> measured = new ArrayList<>(input);
+			SortContext context = new SortContext();
+
+			long before = threads.getThreadAllocatedBytes(threadId);
+			algo.sortWithCallback(measured, null, context);
+			long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+			assertWithinBound(algo, allocated, allowance(algo) + LIST_COPY_BYTES_PER_ELEMENT);
+		}
+	}
+
+	private com.sun.management.ThreadMXBean allocationCounter() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+		return threads;
+	}
+
+	private List<SortingAlgorithm> measured() {
+		return algorithms.stream()
+				.filter(algo -> !RANDOMIZED.contains(algo.getName()) && !JIT_DEPENDENT.contains(algo.getName()))
+				.collect(Collectors.toList());
+	}
+
+	private static double allowance(SortingAlgorithm algo) {
+		return BUFFER_BYTES_PER_ELEMENT.getOrDefault(algo.getName(), IN_PLACE_BYTES_PER_ELEMENT);
+	}
+
+	private static void assertWithinBound(SortingAlgorithm algo, long allocated, double bytesPerElement) {
+		double perElement = Math.max(0, allocated - CONSTANT_OVERHEAD_BYTES) / (double) SIZE;
+		assertTrue(perElement <= bytesPerElement,
+				algo.getName() + " allocated " + allocated + " bytes for " + SIZE + " elements (allowed: "
+						+ bytesPerElement + " per element)");
+	}
+}
@@ -0,0 +1,171 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoSortTests {
+
+	private final InsertionSort insertionSort = new InsertionSort();
+	private final CountingSort countingSort = new CountingSort();
+	private final TimSort timSort = new TimSort();
+	private final RadixSort radixSort = new RadixSort();
+	private final PdqSort pdqSort = new PdqSort();
+
+	@Test
+	void sortsEveryShapeAndValueRange() {
+		AutoSort autoSort = autoSort(new AutoSortProfile("", 3));
+		for (String shape : DatasetGenerator.SHAPES) {
+			assertSorts(autoSort, DatasetGenerator.generate(shape, 100_000, new Random(1)), shape);
+			assertSorts(autoSort, DatasetGenerator.generate(shape, 1_000, new Random(1)), shape + " small");
+		}
+		Random random = new Random(2);
+		assertSorts(autoSort, random.ints(10_000, -50, 50).toArray(), "negative small range");
+		assertSorts(autoSort, random.ints(100_000, -1_000_000_000, 1_000_000_000).toArray(), "negative large");
+		assertSorts(autoSort, random.ints(100_000).toArray(), "full int range");
+		assertSorts(autoSort, new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, 0}, "extremes");
+		assertSorts(autoSort, new int[0], "empty");
+
+		// A sub-range with negative values is shifted back, and nothing outside it is touched.
+		int[] input = random.ints(5_000, -100, 100).toArray();
+		int[] expected = input.clone();
+		Arrays.sort(expected, 10, 4_990);
+		assertEquals(4_990, autoSort.sort(input, 10, 4_990, new SortContext()));
+		assertArrayEquals(expected, input);
+	}
+
+	@Test
+	void thresholdsPickTheCandidateByFeatures() {
+		AutoSort autoSort = autoSort(new AutoSortProfile("", 3));
+		Random random = new Random(3);
+
+		assertSame(insertionSort, choose(autoSort, random.ints(20).toArray()));
+		assertSame(timSort, choose(autoSort, DatasetGenerator.generate("sorted", 10_000, random)));
+		assertSame(timSort, choose(autoSort, DatasetGenerator.generate("reverse", 10_000, random)));
+		assertSame(countingSort, choose(autoSort, random.ints(10_000, 0, 1_000).toArray()));
+		assertSame(radixSort, choose(autoSort, random.ints(100_000, 0, Integer.MAX_VALUE).toArray()));
+		assertSame(pdqSort, choose(autoSort, random.ints(10_000, 0, Integer.MAX_VALUE).toArray()));
+		assertSame(pdqSort, choose(autoSort, random.ints(100_000).toArray()));
+	}
+
+	@Test
+	void measurementsOverrideTheThresholds() {
+		AutoSortProfile profile = new AutoSortProfile("", 3);
+		AutoSort autoSort = autoSort(profile);
+		int[] input = new Random(4).ints(10_000, 0, 1_000).toArray();
+		InputFeatures features = InputFeatures.scan(input);
+
+		// A single measured candidate, or too few measurements, do not decide anything yet.
+		for (int i = 0; i < 3; i++) profile.record(features, "CountingSort", 900_000);
+		profile.record(features, "PdqSort", 100_000);
+		assertSame(countingSort, autoSort.choose(features));
+
+		profile.record(features, "PdqSort", 100_000);
+		profile.record(features, "PdqSort", 100_000);
+		assertEquals("PdqSort", profile.fastest(features));
+		assertSame(pdqSort, autoSort.choose(features));
+		// Similar inputs share the measurements.
+		assertSame(pdqSort, choose(autoSort, new Random(5).ints(12_000, 0, 1_500).toArray()));
+
+		// Non-candidates are ignored.
+		for (int i = 0; i < 3; i++) profile.record(features, "BubbleSort", 1);
+		assertEquals("PdqSort", profile.fastest(features));
+	}
+
+	@Test
+	void profileSurvivesARestart(@TempDir Path dir) {
+		String file = dir.resolve("profile.properties").toString();
+		InputFeatures features = InputFeatures.scan(new Random(6).ints(100_000).toArray());
+		AutoSortProfile profile = new AutoSortProfile(file, 2);
+		for (int i = 0; i < 2; i++) {
+			profile.record(features, "RadixSort", 1_000_000);
+			profile.record(features, "PdqSort", 5_000_000);
+		}
+		profile.save();
+
+		AutoSortProfile reloaded = new AutoSortProfile(file, 2);
+		assertEquals("RadixSort", reloaded.fastest(features));
+		assertEquals(profile.snapshot(), reloaded.snapshot());
+	}
+
+	@Test
+	void scanCollectsTheFeatures() {
+		InputFeatures sorted = InputFeatures.scan(DatasetGenerator.generate("sorted", 1_000, new Random(7)));
+		assertEquals(1_000, sorted.getSize());
+		assertEquals(1, sorted.getRuns());
+		assertEquals(1.0, sorted.getSortedness());
+
+		InputFeatures reversed = InputFeatures.scan(new int[] {5, 4, 3, 2, 1});
+		assertEquals(1, reversed.getRuns());
+		assertEquals(0.0, reversed.getSortedness());
+		assertEquals(1, reversed.getMin());
+		assertEquals(5, reversed.getMax());
+		assertEquals(5, reversed.getRange());
+
+		InputFeatures runs = InputFeatures.scan(new int[] {1, 2, 3, 2, 1, 4, 4, 5});
+		assertEquals(3, runs.getRuns());
+
+		InputFeatures duplicates = InputFeatures.scan(new int[] {7, 7, 7, 7, 1, 2, 3, 4});
+		assertEquals(3.0 / 8, duplicates.getDuplicateRatio());
+	}
+
+	@Test
+	void callbackPathSortsNegativeValues() {
+		AutoSort autoSort = autoSort(new AutoSortProfile("", 3));
+		List<Integer> input = new Random(8).ints(500, -20, 20).boxed().collect(Collectors.toList());
+		List<Integer> expected = new ArrayList<>(input);
+		expected.sort(null);
+		List<Integer> actual = new ArrayList<>(input);
+
+		autoSort.sortWithCallback(actual, step -> {}, new SortContext());
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void countingSortIsSizedByTheRangeNotTheMaximum() {
+		AutoSort autoSort = autoSort(new AutoSortProfile("", 3));
+		Random random = new Random(9);
+		// Unshifted, CountingSort would need a count array of two billion ints.
+		int[] offset = random.ints(200, 2_000_000_000, 2_000_000_101).toArray();
+		int[] atMaximum = random.ints(200, Integer.MAX_VALUE - 100, Integer.MAX_VALUE).toArray();
+		atMaximum[17] = Integer.MAX_VALUE;
+
+		assertSame(countingSort, choose(autoSort, offset));
+		assertSame(countingSort, choose(autoSort, atMaximum));
+		assertSorts(autoSort, offset, "large positive offset");
+		assertSorts(autoSort, atMaximum, "Integer.MAX_VALUE");
+
+		// The callback path cannot shift the values and sorts them with PdqSort.
+		List<Integer> input = Arrays.stream(atMaximum).boxed().collect(Collectors.toList());
+		List<Integer> expected = new ArrayList<>(input);
+		expected.sort(null);
+		autoSort.sortWithCallback(input, step -> {}, new SortContext());
+		assertEquals(expected, input);
+	}
+
+	private AutoSort autoSort(AutoSortProfile profile) {
+		return new AutoSort(insertionSort, countingSort, timSort, radixSort, pdqSort, profile);
+	}
+
+	private static SortingAlgorithm choose(AutoSort autoSort, int[] input) {
+		return autoSort.choose(InputFeatures.scan(input));
+	}
+
+	private static void assertSorts(AutoSort autoSort, int[] input, String label) {
+		int[] expected = input.clone();
+		Arrays.sort(expected);
+		int[] actual = input.clone();
+		autoSort.sort(actual, new SortContext());
+		assertArrayEquals(expected, actual, label);
+	}
+}
@@ -0,0 +1,70 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import sorting.algorithms.project.dto.SortStep;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks shared by the general-purpose comparison sorts: every dataset shape and the usual
+ * problem patterns, and the visual path. Algorithm-specific behaviour is tested per algorithm.
+ */
+class ComparisonSortTests {
+
+	static Stream<Named<SortingAlgorithm>> algorithms() {
+		Stream<SortingAlgorithm> dualPivot = Arrays.stream(PivotStrategy.values()).map(DualPivotQuickSort::new);
+		return Stream.concat(Stream.of(new TimSort(), new PdqSort()), dualPivot)
+				.map(algo -> Named.of(algo.getName(), algo));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("algorithms")
+	void sortsEveryShapeAndPattern(SortingAlgorithm algo) {
+		// Small enough for the quadratic cases of the simple pivot strategies.
+		int n = 20_000;
+		for (String shape : DatasetGenerator.SHAPES) {
+			assertSorts(algo, DatasetGenerator.generate(shape, n, new Random(1)), shape);
+		}
+		assertSorts(algo, new Random(2).ints(n, 0, 5).toArray(), "duplicates");
+		int[] organPipe = new int[n];
+		int[] sawtooth = new int[n];
+		for (int i = 0; i < n; i++) {
+			organPipe[i] = Math.min(i, n - i);
+			sawtooth[i] = i % 1_000;
+		}
+		assertSorts(algo, organPipe, "organPipe");
+		assertSorts(algo, sawtooth, "sawtooth");
+		assertSorts(algo, new int[0], "empty");
+		assertSorts(algo, new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, 0}, "extremes");
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("algorithms")
+	void visualPathSortsTheListAndReportsSteps(SortingAlgorithm algo) {
+		List<Integer> input = new Random(3).ints(500, 0, 1000).boxed().collect(Collectors.toList());
+		List<Integer> expected = input.stream().sorted().collect(Collectors.toList());
+		List<SortStep> steps = new ArrayList<>();
+
+		algo.sortWithCallback(input, steps::add);
+
+		assertEquals(expected, input);
+		assertTrue(steps.size() > 2);
+		assertEquals(expected, steps.get(steps.size() - 1).getCurrentArray());
+	}
+
+	private static void assertSorts(SortingAlgorithm algo, int[] input, String message) {
+		int[] expected = input.clone();
+		Arrays.sort(expected);
+		assertArrayEquals(expected, algo.sort(input.clone()), algo.getName() + "/" + message);
+	}
+}
@@ -0,0 +1,23 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DualPivotQuickSortTests {
+
+	@Test
+	void samplingAvoidsQuadraticBehaviourOnSortedInput() {
+		int[] sorted = DatasetGenerator.generate("sorted", 20_000, new Random(1));
+		SortContext last = new SortContext();
+		SortContext ninther = new SortContext();
+
+		new DualPivotQuickSort(PivotStrategy.LAST).sort(sorted.clone(), last);
+		new DualPivotQuickSort(PivotStrategy.NINTHER).sort(sorted.clone(), ninther);
+
+		assertTrue(ninther.getSteps() * 20 < last.getSteps());
+	}
+}
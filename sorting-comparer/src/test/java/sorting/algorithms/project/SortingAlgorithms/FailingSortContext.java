@@ -0,0 +1,46 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A context that fails the thread of the first checkpoint (the root task of a parallel sort) at a
+ * given checkpoint of that thread, shortly after the first other thread to reach a checkpoint (one
+ * that stole a sibling task) has stalled, so that sibling is still running when the root fails.
+ */
+class FailingSortContext extends SortContext {
+	private final int failAt;
+	private final AtomicReference<Thread> root = new AtomicReference<>();
+	private final AtomicInteger rootCheckpoints = new AtomicInteger();
+	private final AtomicBoolean stalled = new AtomicBoolean();
+
+	/**
+	 * @param failAt The checkpoint of the root thread that fails (1 = the first).
+	 */
+	FailingSortContext(int failAt) {
+		this.failAt = failAt;
+	}
+
+	@Override
+	public void checkpoint() {
+		root.compareAndSet(null, Thread.currentThread());
+		if (root.get() == Thread.currentThread()) {
+			if (rootCheckpoints.incrementAndGet() >= failAt) {
+				// Give the other threads time to steal the sibling tasks.
+				sleep(50);
+				throw new SortBudgetExceededException(getSteps(), "test budget");
+			}
+		} else if (stalled.compareAndSet(false, true)) {
+			sleep(200);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IntSortingAlgorithmTests {
+
+	// Algorithms whose running time is unbounded; they only get tiny inputs.
+	private static final Set<String> RANDOMIZED = Set.of("BogoSort", "BozoSort");
+	// Algorithms whose step count depends on random choices.
+	private static final Set<String> RANDOM_STEPS = Set.of("BogoSort", "BozoSort", "DualPivotQuickSortRandom");
+
+	@Autowired
+	private List<SortingAlgorithm> algorithms;
+
+	@Test
+	void primitivePathSortsLikeArraysSort() {
+		for (SortingAlgorithm algo : algorithms) {
+			int n = RANDOMIZED.contains(algo.getName()) ? 6 : 500;
+			int[] input = new Random(42).ints(n, 0, 1000).toArray();
+			int[] expected = input.clone();
+			Arrays.sort(expected);
+
+			int[] result = algo.sort(input.clone());
+
+			if (algo.getName().equals("StalinSort")) {
+				assertSortedSubsequence(input, result);
+			} else {
+				assertArrayEquals(expected, result, algo.getName());
+			}
+		}
+	}
+
+	@Test
+	void primitiveRangeLeavesOtherElementsUntouched() {
+		for (SortingAlgorithm algo : algorithms) {
+			if (algo.getName().equals("StalinSort")) continue;
+			int n = RANDOMIZED.contains(algo.getName()) ? 8 : 300;
+			int[] input = new Random(7).ints(n, 0, 100).toArray();
+			int from = 2;
+			int to = n - 2;
+			int[] expected = input.clone();
+			Arrays.sort(expected, from, to);
+
+			int[] actual = input.clone();
+			assertEquals(to, algo.sort(actual, from, to), algo.getName());
+			assertArrayEquals(expected, actual, algo.getName());
+		}
+	}
+
+	@Test
+	void stepsAreCountedPerContext() {
+		for (SortingAlgorithm algo : algorithms) {
+			if (RANDOM_STEPS.contains(algo.getName())) continue;
+			int[] input = new Random(3).ints(200, 0, 1000).toArray();
+			SortContext first = new SortContext();
+			SortContext second = new SortContext();
+
+			algo.sort(input.clone(), first);
+			algo.sort(input.clone(), second);
+
+			// The same input on a stateless bean yields the same, independent count.
+			assertTrue(first.getSteps() > 0, algo.getName());
+			assertEquals(first.getSteps(), second.getSteps(), algo.getName());
+		}
+	}
+
+	@Test
+	void cancelledContextStopsTheRun() {
+		for (String name : List.of("BubbleSort", "QuickSort", "MergeSort", "BogoSort")) {
+			SortingAlgorithm algo = algorithms.stream().filter(a -> a.getName().equals(name)).findFirst().orElseThrow();
+			SortContext context = new SortContext();
+			context.cancel();
+			int[] input = new Random(5).ints(100, 0, 1000).toArray();
+
+			assertThrows(SortCancelledException.class, () -> algo.sort(input, context), name);
+		}
+	}
+
+	private static void assertSortedSubsequence(int[] input, int[] result) {
+		int j = 0;
+		for (int i = 0; i < result.length; i++) {
+			if (i > 0) assertTrue(result[i - 1] <= result[i]);
+			while (j < input.length && input[j] != result[i]) j++;
+			assertTrue(j++ < input.length);
+		}
+	}
+}
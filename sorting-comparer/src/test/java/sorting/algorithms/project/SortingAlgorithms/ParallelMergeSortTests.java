@@ -0,0 +1,59 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMergeSortTests {
+
+	@Test
+	void sortsLargeRangesAcrossTasks() {
+		// Large enough to fork and to split the top-level merges; few distinct values force ties.
+		int[] input = new Random(9).ints(1_000_003, -500, 500).toArray();
+		int from = 3;
+		int to = input.length - 5;
+		int[] expected = input.clone();
+		Arrays.sort(expected, from, to);
+
+		for (boolean parallelMerge : new boolean[] {true, false}) {
+			int[] actual = input.clone();
+			SortContext context = new SortContext();
+
+			assertEquals(to, new ParallelMergeSort(parallelMerge).sort(actual, from, to, context));
+
+			assertArrayEquals(expected, actual, "parallelMerge=" + parallelMerge);
+			assertTrue(context.getSteps() > 0);
+		}
+	}
+
+	@Test
+	void stepBudgetAbortsTheRunWhileTasksAreRunning() {
+		int[] input = new Random(4).ints(1 << 20).toArray();
+		// A single sequential leaf already exceeds this budget.
+		SortContext context = new SortContext(10_000, 0);
+
+		SortBudgetExceededException e = assertThrows(SortBudgetExceededException.class,
+				() -> new ParallelMergeSort().sort(input, context));
+
+		assertTrue(e.getSteps() > 10_000);
+		// The run stopped early instead of finishing all ~n log n steps.
+		assertTrue(e.getSteps() < 20L * input.length, "steps: " + e.getSteps());
+	}
+
+	@Test
+	void noTaskWritesAfterTheRunHasFailed() throws InterruptedException {
+		int[] input = new Random(5).ints(1 << 16).toArray();
+		// The root task fails when it starts its right half.
+		SortContext context = new FailingSortContext(2);
+
+		assertThrows(SortBudgetExceededException.class, () -> new ParallelMergeSort().sort(input, context));
+
+		// Callers inspect the array right after the failure, so it must not change anymore.
+		int[] afterFailure = input.clone();
+		Thread.sleep(300);
+		assertArrayEquals(afterFailure, input);
+	}
+}
@@ -0,0 +1,49 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelRadixSortTests {
+
+	private final ParallelRadixSort radixSort = new ParallelRadixSort();
+
+	@Test
+	void sortsNegativeAndExtremeValues() {
+		int[] input = {5, -1, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -300, 300, -1, 7};
+		int[] expected = input.clone();
+		Arrays.sort(expected);
+
+		assertArrayEquals(expected, radixSort.sort(input.clone()));
+	}
+
+	@Test
+	void sortsLargeRangesInParallel() {
+		int[] input = new Random(13).ints(500_001).toArray();
+		int from = 1;
+		int to = input.length - 2;
+		int[] expected = input.clone();
+		Arrays.sort(expected, from, to);
+
+		int[] actual = input.clone();
+		assertEquals(to, radixSort.sort(actual, from, to));
+		assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	void skipsPassesWhereAllKeysShareTheDigit() {
+		// All values fit into the lowest byte: only the first pass does any work.
+		int[] small = new Random(17).ints(1000, 0, 256).toArray();
+		int[] wide = new Random(17).ints(1000).toArray();
+		SortContext smallContext = new SortContext();
+		SortContext wideContext = new SortContext();
+
+		radixSort.sort(small, smallContext);
+		radixSort.sort(wide, wideContext);
+
+		assertTrue(smallContext.getSteps() < wideContext.getSteps() / 2);
+	}
+}
@@ -0,0 +1,76 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSampleSortTests {
+
+	private final ParallelSampleSort sampleSort = new ParallelSampleSort();
+
+	@Test
+	void noBucketTaskWritesAfterTheRunHasFailed() throws InterruptedException {
+		int[] input = new Random(22).ints(1 << 18).toArray();
+		// The root task fails in the first bucket it sorts itself, after the distribution.
+		SortContext context = new FailingSortContext(3);
+
+		assertThrows(SortBudgetExceededException.class, () -> sampleSort.sort(input, context));
+
+		// Callers inspect the array right after the failure, so it must not change anymore.
+		int[] afterFailure = input.clone();
+		Thread.sleep(300);
+		assertArrayEquals(afterFailure, input);
+	}
+
+	@Test
+	void sortsLargeRangesAcrossBuckets() {
+		// Large enough for two distribution levels on some buckets.
+		int[] input = new Random(21).ints(2_000_003).toArray();
+		int from = 2;
+		int to = input.length - 1;
+		int[] expected = input.clone();
+		Arrays.sort(expected, from, to);
+
+		int[] actual = input.clone();
+		SortContext context = new SortContext();
+		assertEquals(to, sampleSort.sort(actual, from, to, context));
+		assertArrayEquals(expected, actual);
+		assertTrue(context.getSteps() > 0);
+	}
+
+	@Test
+	void duplicatesEndUpInEqualityBuckets() {
+		int n = 500_000;
+		int[] fewValues = new Random(22).ints(n, 0, 3).toArray();
+		int[] allEqual = new int[n];
+		Arrays.fill(allEqual, 42);
+		int[] expected = fewValues.clone();
+		Arrays.sort(expected);
+
+		SortContext fewContext = new SortContext();
+		SortContext equalContext = new SortContext();
+		assertArrayEquals(expected, sampleSort.sort(fewValues, fewContext));
+		sampleSort.sort(allEqual, equalContext);
+
+		// One distribution level finishes the input; no bucket needs another level.
+		assertTrue(fewContext.getSteps() < 20L * n, "steps: " + fewContext.getSteps());
+		assertTrue(equalContext.getSteps() < 20L * n, "steps: " + equalContext.getSteps());
+	}
+
+	@Test
+	void stepBudgetAbortsTheRunWhileTasksAreRunning() {
+		int[] input = new Random(4).ints(1 << 20).toArray();
+		// A single sequential leaf already exceeds this budget.
+		SortContext context = new SortContext(10_000, 0);
+
+		SortBudgetExceededException e = assertThrows(SortBudgetExceededException.class,
+				() -> new ParallelSampleSort().sort(input, context));
+
+		assertTrue(e.getSteps() > 10_000);
+		// The run stopped early instead of finishing all ~n log n steps.
+		assertTrue(e.getSteps() < 20L * input.length, "steps: " + e.getSteps());
+	}
+}
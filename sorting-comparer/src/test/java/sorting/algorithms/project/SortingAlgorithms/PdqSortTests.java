@@ -0,0 +1,49 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdqSortTests {
+
+	private final PdqSort pdqSort = new PdqSort();
+
+	@Test
+	void presortedInputTakesLinearTime() {
+		int n = 100_000;
+		SortContext sorted = new SortContext();
+		SortContext reverse = new SortContext();
+		SortContext equal = new SortContext();
+
+		pdqSort.sort(DatasetGenerator.generate("sorted", n, new Random(1)), sorted);
+		pdqSort.sort(DatasetGenerator.generate("reverse", n, new Random(1)), reverse);
+		pdqSort.sort(new int[n], equal);
+
+		assertTrue(sorted.getSteps() < 4L * n, "sorted: " + sorted.getSteps());
+		assertTrue(reverse.getSteps() < 8L * n, "reverse: " + reverse.getSteps());
+		assertTrue(equal.getSteps() < 4L * n, "equal: " + equal.getSteps());
+	}
+
+	@Test
+	void adversarialPatternsCostNoMoreThanRandomInput() {
+		int n = 100_000;
+		int[] organPipe = new int[n];
+		int[] sawtooth = new int[n];
+		for (int i = 0; i < n; i++) {
+			organPipe[i] = Math.min(i, n - i);
+			sawtooth[i] = i % 1_000;
+		}
+		SortContext random = new SortContext();
+		pdqSort.sort(DatasetGenerator.generate("unsorted", n, new Random(1)), random);
+
+		// Patterns that make a plain quicksort quadratic are broken up by the shuffles and the heap fallback.
+		for (int[] input : new int[][] {organPipe, sawtooth}) {
+			SortContext context = new SortContext();
+			pdqSort.sort(input, context);
+			assertTrue(context.getSteps() < 2 * random.getSteps(), context.getSteps() + " vs " + random.getSteps());
+		}
+	}
+}
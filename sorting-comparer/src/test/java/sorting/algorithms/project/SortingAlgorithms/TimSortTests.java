@@ -0,0 +1,51 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimSortTests {
+
+	private final TimSort timSort = new TimSort();
+
+	@Test
+	void sortsMixedRunPatterns() {
+		// Alternating ascending and descending runs of random lengths force galloping merges.
+		Random random = new Random(3);
+		int[] runs = new int[50_000];
+		for (int i = 0; i < runs.length; ) {
+			int len = Math.min(runs.length - i, 1 + random.nextInt(2_000));
+			int start = random.nextInt(100_000);
+			boolean ascending = random.nextBoolean();
+			for (int k = 0; k < len; k++) runs[i + k] = ascending ? start + k : start - k;
+			i += len;
+		}
+		assertSorts(runs, "runs");
+	}
+
+	@Test
+	void presortedInputIsASingleRun() {
+		int n = 20_000;
+		SortContext sorted = new SortContext();
+		SortContext halfSorted = new SortContext();
+		SortContext unsorted = new SortContext();
+
+		timSort.sort(DatasetGenerator.generate("sorted", n, new Random(1)), sorted);
+		timSort.sort(DatasetGenerator.generate("halfSorted", n, new Random(1)), halfSorted);
+		timSort.sort(DatasetGenerator.generate("unsorted", n, new Random(1)), unsorted);
+
+		// One comparison per neighbouring pair, nothing else.
+		assertEquals(n - 1, sorted.getSteps());
+		assertTrue(halfSorted.getSteps() < unsorted.getSteps());
+	}
+
+	private void assertSorts(int[] input, String message) {
+		int[] expected = input.clone();
+		Arrays.sort(expected);
+		assertArrayEquals(expected, timSort.sort(input.clone()), message);
+	}
+}
@@ -0,0 +1,42 @@
+package sorting.algorithms.project.SortingAlgorithms;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.service.DatasetGenerator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorQuickSortTests {
+
+	@Test
+	void vectorKernelsAreUsedWhenTheModuleIsEnabled() {
+		// The build passes --add-modules jdk.incubator.vector to the test JVM.
+		assertTrue(new VectorQuickSort(true).isVectorized());
+		assertFalse(new VectorQuickSort(false).isVectorized());
+	}
+
+	@Test
+	void bothKernelsSortEveryShapeAndSize() {
+		Random random = new Random(5);
+		for (boolean vectorized : new boolean[] {true, false}) {
+			VectorQuickSort algo = new VectorQuickSort(vectorized);
+			for (String shape : DatasetGenerator.SHAPES) {
+				assertSorts(algo, DatasetGenerator.generate(shape, 100_000, random), shape);
+			}
+			assertSorts(algo, random.ints(100_000, 0, 3).toArray(), "duplicates");
+			assertSorts(algo, new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, Integer.MAX_VALUE}, "extremes");
+			// Every size around the block size and the vector width, including partial blocks.
+			for (int n = 0; n <= 100; n++) {
+				assertSorts(algo, random.ints(n).toArray(), "size " + n);
+			}
+		}
+	}
+
+	private static void assertSorts(VectorQuickSort algo, int[] input, String message) {
+		int[] expected = input.clone();
+		Arrays.sort(expected);
+		assertArrayEquals(expected, algo.sort(input.clone()), algo.getName() + "/" + message);
+	}
+}
@@ -0,0 +1,35 @@
+package sorting.algorithms.project.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingStatisticsTests {
+
+	@Test
+	void computesOrderStatisticsAndConfidenceInterval() {
+		TimingStatistics stats = TimingStatistics.of(new long[] {10, 2, 8, 4, 6, 1, 3, 5, 7, 9});
+
+		assertEquals(10, stats.getRepetitions());
+		assertEquals(1, stats.getMinNanos());
+		assertEquals(5, stats.getMedianNanos());
+		assertEquals(9, stats.getP90Nanos());
+		assertEquals(10, stats.getP99Nanos());
+		assertEquals(10, stats.getMaxNanos());
+		assertEquals(5.5, stats.getMeanNanos(), 1e-9);
+		assertEquals(3.02765, stats.getStddevNanos(), 1e-5);
+		// t(9) = 2.262, half width = 2.262 * 3.02765 / sqrt(10) = 2.16577
+		assertEquals(3.33423, stats.getCiLowerNanos(), 1e-4);
+		assertEquals(7.66577, stats.getCiUpperNanos(), 1e-4);
+	}
+
+	@Test
+	void singleRunHasNoConfidenceInterval() {
+		TimingStatistics stats = TimingStatistics.of(new long[] {42});
+
+		assertEquals(42, stats.getMedianNanos());
+		assertEquals(0.0, stats.getStddevNanos());
+		assertNull(stats.getCiLowerNanos());
+		assertNull(stats.getCiUpperNanos());
+	}
+}
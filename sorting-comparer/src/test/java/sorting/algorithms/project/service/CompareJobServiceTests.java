@@ -0,0 +1,194 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sorting.algorithms.project.dto.CompareJob;
+import sorting.algorithms.project.dto.CompareRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CompareJobServiceTests {
+
+	@Autowired
+	private SortingService sortingService;
+
+	// A single job thread, so queued jobs run one after another.
+	private final ExecutorService jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+	private final ExecutorService eventExecutor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void shutdown() {
+		jobExecutor.shutdownNow();
+		eventExecutor.shutdownNow();
+	}
+
+	@Test
+	void jobReportsProgressAndResults() throws Exception {
+		CompareJobService jobs = new CompareJobService(sortingService, jobExecutor, eventExecutor, 10, 60_000, 10);
+		CompareJob queued = jobs.submit(new CompareRequest(List.of("QuickSort", "HeapSort", "Unknown"), input(1000)), 0);
+		assertEquals(CompareJob.QUEUED, queued.getStatus());
+
+		List<CompareJob> updates = new CopyOnWriteArrayList<>();
+		jobs.subscribe(queued.getId(), updates::add);
+		CompareJob done = await(jobs, queued.getId());
+
+		assertEquals(CompareJob.DONE, done.getStatus());
+		assertEquals(2, done.getTotal());
+		assertEquals(List.of("QuickSort", "HeapSort"),
+				done.getResults().stream().map(result -> result.getAlgorithm()).collect(Collectors.toList()));
+		assertNotNull(done.getStartedAt());
+		assertNotNull(done.getFinishedAt());
+		// The subscriber sees the job finish last.
+		awaitFinishedUpdate(updates);
+		assertTrue(updates.get(updates.size() - 1).isFinished());
+	}
+
+	@Test
+	void slowSubscribersDoNotHoldUpTheJob() throws Exception {
+		CompareJobService jobs = new CompareJobService(sortingService, jobExecutor, eventExecutor, 10, 60_000, 10);
+		CountDownLatch release = new CountDownLatch(1);
+		List<CompareJob> updates = new CopyOnWriteArrayList<>();
+		CompareJob queued = jobs.submit(new CompareRequest(List.of("QuickSort", "HeapSort", "MergeSort"), input(1000)), 0);
+		// Blocks on its first snapshot until the job has finished.
+		jobs.subscribe(queued.getId(), job -> {
+			updates.add(job);
+			try {
+				return release.await(30, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		});
+
+		assertEquals(CompareJob.DONE, await(jobs, queued.getId()).getStatus());
+		release.countDown();
+
+		// The intermediate snapshots are skipped, but the final one still arrives.
+		awaitFinishedUpdate(updates);
+		assertTrue(updates.size() <= 2, "updates: " + updates.size());
+	}
+
+	@Test
+	void submitReturnsTheQueuedStateEvenIfTheJobStartsRightAway() throws Exception {
+		// Runs every job inside execute(), so the job has finished before submit() returns.
+		ExecutorService inline = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+		try {
+			CompareJobService jobs = new CompareJobService(sortingService, inline, eventExecutor, 10, 60_000, 10);
+			CompareJob submitted = jobs.submit(new CompareRequest(List.of("QuickSort"), input(100)), 0);
+
+			assertEquals(CompareJob.QUEUED, submitted.getStatus());
+			assertEquals(CompareJob.DONE, jobs.get(submitted.getId()).getStatus());
+		} finally {
+			inline.shutdownNow();
+		}
+	}
+
+	@Test
+	void lateSubscribersReceiveTheFinalState() throws Exception {
+		CompareJobService jobs = new CompareJobService(sortingService, jobExecutor, eventExecutor, 10, 60_000, 10);
+		CompareRequest request = new CompareRequest(List.of("BogoSort"), input(20));
+		request.setMaxMillis(300L);
+		CompareJob queued = jobs.submit(request, 0);
+		waitUntilRunning(jobs, queued.getId());
+
+		// The first client goes away after the first snapshot, while the job is still running.
+		List<CompareJob> first = new CopyOnWriteArrayList<>();
+		jobs.subscribe(queued.getId(), job -> {
+			first.add(job);
+			return false;
+		});
+		await(jobs, queued.getId());
+		assertEquals(1, first.size());
+
+		List<CompareJob> second = new CopyOnWriteArrayList<>();
+		jobs.subscribe(queued.getId(), second::add);
+		awaitFinishedUpdate(second);
+		assertEquals(1, second.size());
+	}
+
+	@Test
+	void higherPriorityJobsRunFirst() throws Exception {
+		CompareJobService jobs = new CompareJobService(sortingService, jobExecutor, eventExecutor, 10, 60_000, 10);
+		// Occupies the job thread until its time budget runs out.
+		CompareRequest blocker = new CompareRequest(List.of("BogoSort"), input(20));
+		blocker.setMaxMillis(300L);
+		jobs.submit(blocker, 0);
+
+		CompareJob low = jobs.submit(new CompareRequest(List.of("QuickSort"), input(100)), 1);
+		CompareJob high = jobs.submit(new CompareRequest(List.of("QuickSort"), input(100)), 5);
+
+		long lowStart = await(jobs, low.getId()).getStartedAt();
+		long highStart = await(jobs, high.getId()).getStartedAt();
+		assertTrue(highStart <= lowStart);
+	}
+
+	@Test
+	void queueAndRetentionAreBounded() throws Exception {
+		CompareJobService jobs = new CompareJobService(sortingService, jobExecutor, eventExecutor, 1, 60_000, 1);
+		CompareRequest blocker = new CompareRequest(List.of("BogoSort"), input(20));
+		blocker.setMaxMillis(300L);
+		CompareJob first = jobs.submit(blocker, 0);
+		waitUntilRunning(jobs, first.getId());
+
+		CompareJob second = jobs.submit(new CompareRequest(List.of("QuickSort"), input(100)), 0);
+		// The only queue slot is taken by the second job.
+		assertThrows(CompareJobService.JobQueueFullException.class,
+				() -> jobs.submit(new CompareRequest(List.of("QuickSort"), input(100)), 0));
+
+		await(jobs, second.getId());
+		// Only the most recently finished job is retained.
+		assertNull(jobs.get(first.getId()));
+		assertEquals(1, jobs.list().size());
+	}
+
+	private static CompareJob await(CompareJobService jobs, String id) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		CompareJob job = jobs.get(id);
+		while (!job.isFinished() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+			job = jobs.get(id);
+		}
+		assertTrue(job.isFinished(), "job did not finish");
+		return job;
+	}
+
+	private static void awaitFinishedUpdate(List<CompareJob> updates) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while ((updates.isEmpty() || !updates.get(updates.size() - 1).isFinished()) && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertFalse(updates.isEmpty(), "no update delivered");
+		assertTrue(updates.get(updates.size() - 1).isFinished(), "final update not delivered");
+	}
+
+	private static void waitUntilRunning(CompareJobService jobs, String id) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (CompareJob.QUEUED.equals(jobs.get(id).getStatus()) && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+
+	private static List<Integer> input(int size) {
+		return new Random(size).ints(size, 0, 1000).boxed().collect(Collectors.toCollection(ArrayList::new));
+	}
+}
@@ -0,0 +1,121 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorting.algorithms.project.dto.DatasetInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void storedDatasetSurvivesRestart() {
+		int[] values = new Random(1).ints(100_000).toArray();
+		DatasetInfo info = store().save("big", values);
+		assertEquals(100_000, info.getSize());
+		assertEquals(400_000, info.getBytes());
+
+		// A new store instance on the same directory behaves like the application after a restart.
+		DatasetStore restarted = store();
+		assertArrayEquals(values, restarted.load("big"));
+		IntBuffer view = restarted.open("big");
+		assertTrue(view.isReadOnly());
+		assertEquals(values[99_999], view.get(99_999));
+		assertEquals(List.of("big"), restarted.list().stream().map(DatasetInfo::getId).toList());
+	}
+
+	@Test
+	void rawBytesAreLittleEndian() throws IOException {
+		DatasetStore store = store();
+		store.save("raw", new ByteArrayInputStream(new byte[] {1, 0, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF}));
+
+		assertArrayEquals(new int[] {1, -1}, store.load("raw"));
+		assertThrows(IllegalArgumentException.class, () -> store.save("odd", new ByteArrayInputStream(new byte[3])));
+		assertNull(store.load("odd"));
+	}
+
+	@Test
+	void replacingAndDeletingUpdatesCachedViews() {
+		DatasetStore store = store();
+		store.save("data", new int[] {1, 2, 3});
+		assertArrayEquals(new int[] {1, 2, 3}, store.load("data"));
+
+		store.save("data", new int[] {4});
+		assertArrayEquals(new int[] {4}, store.load("data"));
+
+		assertTrue(store.delete("data"));
+		assertNull(store.load("data"));
+		assertFalse(store.delete("data"));
+		assertThrows(IllegalArgumentException.class, () -> store.save("../escape", new int[0]));
+	}
+
+	@Test
+	void standardDatasetsAreGeneratedOnce() throws IOException {
+		DatasetStore store = store();
+		int[] first = toArray(store.standard("unsorted", 1000));
+		int[] second = toArray(store().standard("unsorted", 1000));
+
+		assertArrayEquals(first, second);
+		assertArrayEquals(DatasetGenerator.generate("unsorted", 1000, new Random(0)), first);
+		assertEquals(List.of("unsorted-1000"), standardFiles());
+		// Standard datasets are not stored datasets, and user ids cannot replace them.
+		assertEquals(List.of(), store.list());
+		store.save("unsorted-1000", new int[] {1});
+		assertArrayEquals(first, toArray(store.standard("unsorted", 1000)));
+	}
+
+	@Test
+	void standardDatasetsStayWithinTheirBudget() throws IOException {
+		// Room for two datasets of 1,000 ints.
+		DatasetStore store = new DatasetStore(directory.toString(), 8_000, 4_000);
+		store.standard("unsorted", 1000);
+		store.standard("sorted", 1000);
+		store.standard("unsorted", 1000);
+		int[] reverse = toArray(store.standard("reverse", 1000));
+
+		// The least recently used dataset is deleted.
+		assertEquals(List.of("reverse-1000", "unsorted-1000"), standardFiles());
+		assertArrayEquals(DatasetGenerator.generate("reverse", 1000, new Random(0)), reverse);
+		assertArrayEquals(DatasetGenerator.generate("sorted", 1000, new Random(0)), toArray(store.standard("sorted", 1000)));
+
+		// Larger than the whole budget: generated, but never written.
+		assertArrayEquals(DatasetGenerator.generate("unsorted", 5000, new Random(0)), toArray(store.standard("unsorted", 5000)));
+		assertEquals(2, standardFiles().size());
+
+		// A restarted store keeps to the budget as well.
+		new DatasetStore(directory.toString(), 4_000, 4_000);
+		assertEquals(1, standardFiles().size());
+	}
+
+	private DatasetStore store() {
+		return new DatasetStore(directory.toString(), 1 << 20, 1 << 20);
+	}
+
+	private List<String> standardFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory.resolve("standard"))) {
+			return files.map(file -> file.getFileName().toString())
+					.filter(name -> name.endsWith(".bin"))
+					.map(name -> name.substring(0, name.length() - 4))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private static int[] toArray(IntBuffer buffer) {
+		int[] values = new int[buffer.remaining()];
+		buffer.get(values);
+		return values;
+	}
+}
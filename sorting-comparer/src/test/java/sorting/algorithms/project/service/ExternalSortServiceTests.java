@@ -0,0 +1,99 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorting.algorithms.project.SortingAlgorithms.BogoSort;
+import sorting.algorithms.project.SortingAlgorithms.PdqSort;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.StalinSort;
+import sorting.algorithms.project.dto.ExternalSortResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalSortServiceTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void sortsGeneratedDataAcrossSeveralMergePasses() throws IOException {
+		// 10,000 elements in runs of 100 with fan-in 4: 100 runs -> 25 -> 7 -> 2 -> 1.
+		ExternalSortService service = new ExternalSortService(tempDir.toString(), 100, 4, 64, 0, 0);
+		int[] output = new int[10_000];
+		int[] written = {0};
+
+		ExternalSortResult result = service.sort(new PdqSort(),
+				ExternalSortService.IntSource.fromGenerator("unsorted", 10_000, 42), value -> output[written[0]++] = value);
+
+		assertArrayEquals(IntStream.range(0, 10_000).toArray(), output);
+		assertEquals(10_000, result.getElements());
+		assertEquals(100, result.getRuns());
+		assertEquals(4, result.getMergePasses());
+		// The data is written once as runs and at least once more by the merge passes.
+		assertTrue(result.getSpillBytes() >= 2L * 10_000 * Integer.BYTES);
+		assertEquals(List.of(0, 1, 2, 3, 4), result.getSorted());
+		try (var files = Files.list(tempDir)) {
+			assertEquals(0, files.count(), "temporary files must be deleted");
+		}
+	}
+
+	@Test
+	void readsLittleEndianStream() throws IOException {
+		ExternalSortService service = new ExternalSortService(tempDir.toString(), 2, 2, 64, 0, 0);
+		ByteBuffer bytes = ByteBuffer.allocate(5 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		for (int value : new int[] {7, -3, 7, 0, Integer.MIN_VALUE}) {
+			bytes.putInt(value);
+		}
+
+		ExternalSortResult result = service.sort(new PdqSort(),
+				ExternalSortService.IntSource.fromStream(new ByteArrayInputStream(bytes.array())));
+
+		assertEquals(List.of(Integer.MIN_VALUE, -3, 0, 7, 7), result.getSorted());
+		assertEquals(3, result.getRuns());
+		assertEquals(2, result.getMergePasses());
+	}
+
+	@Test
+	void rejectsTruncatedInput() {
+		ExternalSortService service = new ExternalSortService(tempDir.toString(), 4, 2, 64, 0, 0);
+
+		assertThrows(IllegalArgumentException.class, () -> service.sort(new PdqSort(),
+				ExternalSortService.IntSource.fromStream(new ByteArrayInputStream(new byte[6]))));
+	}
+
+	@Test
+	void writesOnlyTheElementsAnAlgorithmKeeps() throws IOException {
+		// StalinSort keeps 3, 5 of the first run and 1, 4 of the second; the rest of each chunk is unsorted.
+		ExternalSortService service = new ExternalSortService(tempDir.toString(), 4, 2, 64, 0, 0);
+		ByteBuffer bytes = ByteBuffer.allocate(8 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		for (int value : new int[] {3, 1, 5, 2, 1, 4, 0, 2}) {
+			bytes.putInt(value);
+		}
+
+		ExternalSortResult result = service.sort(new StalinSort(),
+				ExternalSortService.IntSource.fromStream(new ByteArrayInputStream(bytes.array())));
+
+		assertEquals(List.of(1, 3, 4, 5), result.getSorted());
+		assertEquals(4, result.getElements());
+	}
+
+	@Test
+	void stopsARunThatExceedsTheStepBudget() throws IOException {
+		ExternalSortService service = new ExternalSortService(tempDir.toString(), 1_000, 2, 64, 0, 10_000);
+
+		assertThrows(SortBudgetExceededException.class, () -> service.sort(new BogoSort(),
+				ExternalSortService.IntSource.fromGenerator("unsorted", 1_000, 42)));
+		try (var files = Files.list(tempDir)) {
+			assertEquals(0, files.count(), "temporary files must be deleted");
+		}
+	}
+}
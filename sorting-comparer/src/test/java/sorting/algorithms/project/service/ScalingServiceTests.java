@@ -0,0 +1,86 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.SortingAlgorithms.BogoSort;
+import sorting.algorithms.project.SortingAlgorithms.InsertionSort;
+import sorting.algorithms.project.SortingAlgorithms.MergeSort;
+import sorting.algorithms.project.dto.ScalingPoint;
+import sorting.algorithms.project.dto.ScalingResult;
+import sorting.algorithms.project.dto.ScalingSeries;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalingServiceTests {
+
+	private final ScalingService scaling = new ScalingService(5_000, 24, 1);
+
+	@Test
+	void fitsTheStepExponentOfQuadraticAndLinearithmicSorts() {
+		ScalingSeries insertion = scaling.measure(new InsertionSort(), List.of("unsorted"), 6, 11, 0).getSeries().get(0);
+		assertEquals(2.0, insertion.getStepsExponent(), 0.1);
+
+		ScalingResult merge = scaling.measure(new MergeSort(), List.of("unsorted", "sorted"), 6, 14, 0);
+		assertEquals(List.of("unsorted", "sorted"), merge.getSeries().stream().map(ScalingSeries::getShape).toList());
+		ScalingSeries unsorted = merge.getSeries().get(0);
+		assertEquals(9, unsorted.getPoints().size());
+		assertNull(unsorted.getStoppedEarly());
+		// n log n grows slightly faster than n.
+		assertTrue(unsorted.getStepsExponent() > 1.0 && unsorted.getStepsExponent() < 1.3, "" + unsorted.getStepsExponent());
+		assertNotNull(unsorted.getPoints().get(0).getFittedSteps());
+		assertEquals(1.0, merge.getDeclaredExponent());
+	}
+
+	@Test
+	void stopsOnceTheProjectedTimeExceedsTheBudget() {
+		ScalingSeries series = scaling.measure(new BogoSort(), List.of("unsorted"), 3, 20, 300).getSeries().get(0);
+
+		assertNotNull(series.getStoppedEarly());
+		assertTrue(series.getPoints().size() < 18);
+	}
+
+	@Test
+	void shapesShareOneBudgetAndAreMeasuredOnce() {
+		long start = System.nanoTime();
+		ScalingResult result = scaling.measure(new BogoSort(),
+				List.of("unsorted", "reverse", "unsorted", "halfSorted", "reverse"), 3, 20, 600);
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertEquals(List.of("unsorted", "reverse", "halfSorted"),
+				result.getSeries().stream().map(ScalingSeries::getShape).toList());
+		result.getSeries().forEach(series -> assertNotNull(series.getStoppedEarly()));
+		// 600 ms for all shapes together, not for each of them.
+		assertTrue(elapsedMillis < 1200, elapsedMillis + " ms");
+	}
+
+	@Test
+	void fitRecoversPowerLaws() {
+		List<ScalingPoint> points = List.of(
+				new ScalingPoint(1024, 3L * 1024 * 1024, 0),
+				new ScalingPoint(2048, 3L * 2048 * 2048, 0),
+				new ScalingPoint(4096, 3L * 4096 * 4096, 0));
+		double[] fit = ScalingService.fit(points, ScalingPoint::getNanos, 1);
+		assertEquals(2.0, fit[0], 1e-9);
+		assertEquals(3.0, fit[1], 1e-6);
+		assertNull(ScalingService.fit(points.subList(0, 1), ScalingPoint::getNanos, 1));
+	}
+
+	@Test
+	void parsesDeclaredComplexities() {
+		assertEquals(2.0, ScalingService.declaredExponent("O(n²)"));
+		assertEquals(2.0, ScalingService.declaredExponent("O(n² / 2^p)"));
+		assertEquals(1.0, ScalingService.declaredExponent("O(n log n)"));
+		assertEquals(1.0, ScalingService.declaredExponent("O(n + k)"));
+		assertEquals(0.0, ScalingService.declaredExponent("O(1)"));
+		assertNull(ScalingService.declaredExponent("O(∞)"));
+		assertNull(ScalingService.declaredExponent("unknown"));
+	}
+
+	@Test
+	void rejectsInvalidParameters() {
+		assertThrows(IllegalArgumentException.class, () -> scaling.measure(new MergeSort(), List.of("zigzag"), 4, 6, 0));
+		assertThrows(IllegalArgumentException.class, () -> scaling.measure(new MergeSort(), List.of("sorted"), 6, 4, 0));
+		assertThrows(IllegalArgumentException.class, () -> scaling.measure(new MergeSort(), List.of("sorted"), 4, 25, 0));
+	}
+}
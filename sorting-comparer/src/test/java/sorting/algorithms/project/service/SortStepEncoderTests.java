@@ -0,0 +1,60 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.SortingAlgorithms.BubbleSort;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortStepEncoderTests {
+
+	@Test
+	void deltasReconstructEveryStep() {
+		List<Integer> input = new ArrayList<>();
+		new Random(3).ints(60, 0, 100).forEach(input::add);
+		List<SortStep> steps = new ArrayList<>();
+		new BubbleSort().sortWithCallback(input, steps::add, new SortContext());
+
+		SortStepEncoder encoder = new SortStepEncoder(100);
+		int[] client = null;
+		int keyframes = 0;
+		for (SortStep step : steps) {
+			SortFrame frame = encoder.encode(step);
+			if (frame.isKeyframe()) {
+				keyframes++;
+				client = frame.getArray().clone();
+			} else {
+				int[] writes = frame.getWrites();
+				// A swap changes at most two values, so a delta never needs more than two pairs here.
+				assertTrue(writes.length <= 4);
+				for (int k = 0; k < writes.length; k += 2) {
+					client[writes[k]] = writes[k + 1];
+				}
+			}
+			assertEquals(step.getCurrentArray(), toList(client));
+			assertEquals(step.getChangedIndices(), frame.getChanged());
+		}
+		assertEquals((steps.size() + 99) / 100, keyframes);
+	}
+
+	@Test
+	void sizeChangeForcesKeyframe() {
+		SortStepEncoder encoder = new SortStepEncoder(1000);
+		assertTrue(encoder.encode(new SortStep(List.of(3, 1, 2))).isKeyframe());
+		assertFalse(encoder.encode(new SortStep(List.of(1, 3, 2))).isKeyframe());
+		// StalinSort-style shrinking lists cannot be expressed as a delta.
+		assertTrue(encoder.encode(new SortStep(List.of(1, 3))).isKeyframe());
+	}
+
+	private static List<Integer> toList(int[] values) {
+		List<Integer> list = new ArrayList<>();
+		for (int value : values) list.add(value);
+		return list;
+	}
+}
@@ -0,0 +1,256 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sorting.algorithms.project.SortingAlgorithms.AutoSortProfile;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.config.ExecutorConfig;
+import sorting.algorithms.project.dto.CompareRequest;
+import sorting.algorithms.project.dto.InputSpec;
+import sorting.algorithms.project.dto.MatrixRow;
+import sorting.algorithms.project.dto.SortResult;
+import sorting.algorithms.project.dto.TimingStatistics;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SortingServiceTests {
+
+	private static final List<String> ALGORITHMS = List.of("QuickSort", "MergeSort", "bubblesort", "Unknown", "HeapSort");
+
+	@Autowired
+	private SortingService sortingService;
+	@Autowired
+	private List<SortingAlgorithm> algorithms;
+	@Autowired
+	private DatasetStore datasetStore;
+	@Autowired
+	private AutoSortProfile autoSortProfile;
+
+	@Test
+	void parallelCompareKeepsRequestOrder() {
+		CompareRequest request = new CompareRequest(ALGORITHMS, input());
+		request.setIsolated(false);
+
+		List<SortResult> results = sortingService.compare(request);
+
+		assertEquals(List.of("QuickSort", "MergeSort", "BubbleSort", "HeapSort"), names(results));
+		results.forEach(result -> assertEquals(SortResult.CONCURRENT, result.getExecutionMode()));
+		results.forEach(result -> assertEquals(List.of(0, 0, 1, 2, 3), result.getSorted()));
+	}
+
+	@Test
+	void compareFailsFastWhenThePoolShutsDown() throws Exception {
+		// One thread, so the second run waits in the queue until shutdownNow() discards it.
+		ExecutorService pool = new ExecutorConfig().compareExecutor(1, 4);
+		SortingService service = new SortingService(algorithms, pool, true, datasetStore, 10_000, 0, autoSortProfile);
+		CompareRequest request = new CompareRequest(List.of("BogoSort", "QuickSort"), new Random(1).ints(20, 0, 1000).boxed().collect(Collectors.toList()));
+		request.setMaxMillis(5_000L);
+
+		Thread shutdown = new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				return;
+			}
+			pool.shutdownNow();
+		});
+		shutdown.start();
+		long start = System.nanoTime();
+		assertThrows(IllegalStateException.class, () -> service.compare(request));
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "compare did not fail fast");
+		shutdown.join();
+
+		// Once shut down, new compares are rejected right away.
+		assertThrows(IllegalStateException.class, () -> service.compare(request));
+	}
+
+	@Test
+	void isolatedCompareRunsSequentially() {
+		CompareRequest request = new CompareRequest(ALGORITHMS, input());
+		request.setIsolated(true);
+
+		List<SortResult> results = sortingService.compare(request);
+
+		assertEquals(List.of("QuickSort", "MergeSort", "BubbleSort", "HeapSort"), names(results));
+		results.forEach(result -> assertEquals(SortResult.ISOLATED, result.getExecutionMode()));
+	}
+
+	@Test
+	void repeatedCompareReportsTimingStatistics() {
+		CompareRequest request = new CompareRequest(List.of("InsertionSort"), input());
+		request.setWarmupIterations(2);
+		request.setRepetitions(7);
+
+		TimingStatistics timing = sortingService.compare(request).get(0).getTiming();
+
+		assertEquals(7, timing.getRepetitions());
+		assertTrue(timing.getMinNanos() > 0);
+		assertTrue(timing.getMinNanos() <= timing.getMedianNanos());
+		assertTrue(timing.getMedianNanos() <= timing.getP90Nanos());
+		assertTrue(timing.getP90Nanos() <= timing.getP99Nanos());
+		assertTrue(timing.getP99Nanos() <= timing.getMaxNanos());
+		assertTrue(timing.getCiLowerNanos() <= timing.getMeanNanos());
+		assertTrue(timing.getMeanNanos() <= timing.getCiUpperNanos());
+	}
+
+	@Test
+	void runsExceedingTheTimeBudgetAreAborted() {
+		// BogoSort on 20 elements would run for ages.
+		CompareRequest request = new CompareRequest(List.of("BogoSort", "QuickSort"), input().subList(0, 20));
+		request.setMaxMillis(100L);
+		request.setRepetitions(3);
+
+		List<SortResult> results = sortingService.compare(request);
+
+		SortResult bogo = results.get(0);
+		assertTrue(bogo.isAborted());
+		assertEquals("time budget of 100 ms exceeded", bogo.getAbortReason());
+		assertTrue(bogo.getSteps() > 0);
+		assertTrue(bogo.getSortedness() >= 0 && bogo.getSortedness() < 1);
+		// The aborted run ends the measurement and is reported apart from the complete runs (there are none).
+		assertNull(bogo.getTiming());
+		assertEquals(0, bogo.getDurationMillis());
+		assertTrue(bogo.getAbortedAfterMillis() >= 100);
+		assertEquals(0, results.get(1).getAbortedAfterMillis());
+
+		SortResult quick = results.get(1);
+		assertFalse(quick.isAborted());
+		assertNull(quick.getAbortReason());
+		assertEquals(1.0, quick.getSortedness());
+	}
+
+	@Test
+	void runsExceedingTheStepBudgetReportPartialProgress() {
+		CompareRequest request = new CompareRequest(List.of("BubbleSort"), input());
+		request.setMaxSteps(100_000L);
+
+		SortResult result = sortingService.compare(request).get(0);
+
+		assertTrue(result.isAborted());
+		assertEquals("step budget of 100000 steps exceeded", result.getAbortReason());
+		// Bubble sort checks its budget once per pass, so it stops within one pass of the limit.
+		assertTrue(result.getSteps() > 100_000 && result.getSteps() <= 100_000 + 2 * input().size());
+		assertTrue(result.getSortedness() > 0.5 && result.getSortedness() < 1);
+	}
+
+	@Test
+	void linearAlgorithmsEnforceTheStepBudget() {
+		// None of these runs an inner loop with checkpoints; they check the budget between their phases.
+		for (String algorithm : List.of("CountingSort", "BucketSort", "PigeonholeSort", "StalinSort", "AutoSort")) {
+			CompareRequest request = new CompareRequest(List.of(algorithm), input());
+			request.setMaxSteps(100L);
+
+			SortResult result = sortingService.compare(request).get(0);
+
+			assertTrue(result.isAborted(), algorithm);
+			assertEquals("step budget of 100 steps exceeded", result.getAbortReason(), algorithm);
+			assertTrue(result.getSteps() > 100, algorithm);
+		}
+	}
+
+	@Test
+	void matrixCompareProducesOneRowPerInput() {
+		InputSpec inline = new InputSpec();
+		inline.setName("mine");
+		inline.setValues(List.of(3, 1, 2));
+		InputSpec unsorted = InputSpec.generated("unsorted", 500);
+		unsorted.setSeed(7L);
+		InputSpec reverse = InputSpec.generated("reverse", 300);
+		reverse.setSeed(1L);
+		CompareRequest request = new CompareRequest(List.of("QuickSort", "Unknown", "InsertionSort"), null);
+		request.setInputs(List.of(inline, unsorted, reverse));
+
+		List<MatrixRow> rows = sortingService.compareMatrix(request);
+
+		assertEquals(List.of("mine", "unsorted-500-7", "reverse-300-1"),
+				rows.stream().map(MatrixRow::getInput).collect(Collectors.toList()));
+		assertEquals(List.of(3, 500, 300), rows.stream().map(MatrixRow::getSize).collect(Collectors.toList()));
+		for (MatrixRow row : rows) {
+			assertEquals(List.of("QuickSort", "InsertionSort"), names(row.getResults()));
+		}
+		assertEquals(List.of(1, 2, 3), rows.get(0).getResults().get(1).getSorted());
+		assertEquals(List.of(0, 1, 2, 3, 4), rows.get(2).getResults().get(0).getSorted());
+	}
+
+	@Test
+	void matrixCompareRejectsInvalidInputs() {
+		CompareRequest request = new CompareRequest(List.of("QuickSort"), null);
+		request.setInputs(List.of(InputSpec.generated("zigzag", 10)));
+		assertThrows(IllegalArgumentException.class, () -> sortingService.compareMatrix(request));
+
+		request.setInputs(List.of(new InputSpec()));
+		assertThrows(IllegalArgumentException.class, () -> sortingService.compareMatrix(request));
+	}
+
+	@Test
+	void matrixCompareLimitsTheTotalNumberOfElements() {
+		// Each input is allowed on its own, together they exceed the limit; nothing is generated.
+		int half = (int) (SortingService.MAX_MATRIX_ELEMENTS / 2);
+		InputSpec first = InputSpec.generated("unsorted", half + 1);
+		first.setSeed(1L);
+		InputSpec second = InputSpec.generated("unsorted", half);
+		second.setSeed(2L);
+		CompareRequest request = new CompareRequest(List.of("QuickSort"), null);
+		request.setInputs(List.of(first, second));
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> sortingService.compareMatrix(request));
+		assertTrue(e.getMessage().contains("in total"));
+	}
+
+	@Test
+	void onlyCompleteIsolatedRunsTeachAutoSort() {
+		ExecutorService pool = new ExecutorConfig().compareExecutor(2, 4);
+		AutoSortProfile profile = new AutoSortProfile("", 1);
+		SortingService service = new SortingService(algorithms, pool, true, datasetStore, 10_000, 0, profile);
+		try {
+			// Concurrent runs compete for the cores, so their timings are not recorded.
+			CompareRequest concurrent = new CompareRequest(List.of("PdqSort", "RadixSort"), input());
+			concurrent.setIsolated(false);
+			service.compare(concurrent);
+			assertTrue(profile.snapshot().isEmpty());
+
+			// Nor are runs that exceeded their budget.
+			CompareRequest aborted = new CompareRequest(List.of("InsertionSort"), input());
+			aborted.setIsolated(true);
+			aborted.setMaxSteps(1_000L);
+			service.compare(aborted);
+			assertTrue(profile.snapshot().isEmpty());
+
+			CompareRequest isolated = new CompareRequest(List.of("PdqSort", "RadixSort"), input());
+			isolated.setIsolated(true);
+			service.compare(isolated);
+			assertEquals(Set.of("PdqSort", "RadixSort"), profile.snapshot().values().iterator().next().keySet());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void sortednessCountsOrderedNeighbours() {
+		assertEquals(1.0, SortingService.sortedness(new int[] {1, 2, 2, 3}));
+		assertEquals(0.0, SortingService.sortedness(new int[] {3, 2, 1}));
+		assertEquals(0.5, SortingService.sortedness(new int[] {1, 3, 2}));
+		assertEquals(1.0, SortingService.sortedness(new int[0]));
+	}
+
+	private static List<Integer> input() {
+		// Fixed seed; the smallest values are 0, 0, 1, 2, 3.
+		List<Integer> values = new Random(11).ints(2000, 4, 100000).boxed().collect(Collectors.toList());
+		values.addAll(List.of(3, 0, 2, 1, 0));
+		return values;
+	}
+
+	private static List<String> names(List<SortResult> results) {
+		return results.stream().map(SortResult::getAlgorithm).collect(Collectors.toList());
+	}
+}
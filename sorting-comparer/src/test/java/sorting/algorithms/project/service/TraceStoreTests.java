@@ -0,0 +1,161 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sorting.algorithms.project.SortingAlgorithms.BogoSort;
+import sorting.algorithms.project.SortingAlgorithms.BubbleSort;
+import sorting.algorithms.project.SortingAlgorithms.MergeSort;
+import sorting.algorithms.project.SortingAlgorithms.SortBudgetExceededException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.SortingAlgorithms.SortingAlgorithm;
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+import sorting.algorithms.project.dto.TraceInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replayMatchesLiveStepsInBothDirections() throws IOException {
+		List<Integer> input = input(40);
+		List<SortStep> live = liveSteps(new BubbleSort(), input);
+		TraceStore store = new TraceStore(directory.toString(), 1 << 24, 1 << 24, 16, 0, 0);
+		TraceInfo info = store.record(new BubbleSort(), input);
+		assertEquals(live.size(), info.getSteps());
+
+		// Forward, every step.
+		List<Long> forward = new ArrayList<>();
+		for (long i = 0; i < live.size(); i++) forward.add(i);
+		assertReplay(store, info.getId(), 0, -1, 1, live, forward);
+
+		// Backward with a stride of 7; the last frame is always the requested end.
+		List<Long> backward = new ArrayList<>();
+		for (long i = live.size() - 1; i > 3; i -= 7) backward.add(i);
+		backward.add(3L);
+		assertReplay(store, info.getId(), live.size() - 1, 3, 7, live, backward);
+
+		assertEquals(live.get(123).getCurrentArray(), toList(store.frameAt(info.getId(), 123).getArray()));
+	}
+
+	@Test
+	void randomSeeksReconstructEveryState() throws IOException {
+		List<Integer> input = input(64);
+		List<SortStep> live = liveSteps(new MergeSort(), input);
+		TraceStore store = new TraceStore(directory.toString(), 1 << 24, 1 << 24, 10, 0, 0);
+		TraceInfo info = store.record(new MergeSort(), input);
+
+		Random random = new Random(5);
+		try (TraceCursor cursor = new TraceCursor(directory.resolve(info.getId() + ".trace"))) {
+			int[] client = null;
+			long position = 0;
+			for (int i = 0; i < 500; i++) {
+				// Mix short moves in both directions (undo/redo) with long jumps (keyframe seeks).
+				position = random.nextInt(4) == 0
+						? random.nextInt(live.size())
+						: Math.max(0, Math.min(live.size() - 1, position + random.nextInt(25) - 12));
+				cursor.moveTo(position);
+				client = apply(client, cursor.frame(i));
+				assertEquals(live.get((int) position).getCurrentArray(), toList(client), "step " + position);
+			}
+		}
+	}
+
+	@Test
+	void leastRecentlyUsedTracesAreEvictedAndSurviveRestart() throws IOException {
+		// The same input always yields a trace of the same size; the budget fits two and a half of them.
+		long traceBytes = new TraceStore(directory.resolve("probe").toString(), 1 << 24, 1 << 24, 64, 0, 0).record(new BubbleSort(), input(30)).getBytes();
+		long budget = traceBytes * 5 / 2;
+		TraceStore store = new TraceStore(directory.toString(), budget, budget, 64, 0, 0);
+		TraceInfo first = store.record(new BubbleSort(), input(30));
+		TraceInfo second = store.record(new BubbleSort(), input(30));
+		assertNotNull(store.get(first.getId())); // Touch the first trace, so the second is evicted next
+		TraceInfo third = store.record(new BubbleSort(), input(30));
+
+		assertNull(store.get(second.getId()));
+		assertEquals(List.of(first.getId(), third.getId()), ids(store.list()));
+
+		TraceStore restarted = new TraceStore(directory.toString(), budget, budget, 64, 0, 0);
+		assertEquals(2, restarted.list().size());
+		assertEquals(third.getSteps(), restarted.get(third.getId()).getSteps());
+	}
+
+	@Test
+	void oversizedTraceIsRejectedWithoutEvictingOthers() throws IOException {
+		// The store could hold the large trace, but a single trace is limited to 2,000 bytes.
+		TraceStore store = new TraceStore(directory.toString(), 1 << 24, 2_000, 64, 0, 0);
+		TraceInfo small = store.record(new BubbleSort(), input(5));
+
+		assertThrows(TraceStore.TraceTooLargeException.class, () -> store.record(new BubbleSort(), input(100)));
+		assertEquals(List.of(small.getId()), ids(store.list()));
+	}
+
+	@Test
+	void recordingStopsAtTheTimeBudget() throws IOException {
+		TraceStore store = new TraceStore(directory.toString(), 1 << 24, 1 << 24, 64, 100, 0);
+
+		// BogoSort on 20 elements would run for ages.
+		assertThrows(SortBudgetExceededException.class, () -> store.record(new BogoSort(), input(20)));
+		assertTrue(store.list().isEmpty());
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(0, files.count(), "temporary files must be deleted");
+		}
+	}
+
+	private static void assertReplay(TraceStore store, String id, long from, long to, int stride,
+									 List<SortStep> live, List<Long> expectedSteps) throws IOException {
+		List<SortFrame> frames = new ArrayList<>();
+		assertTrue(store.replay(id, from, to, stride, frames::add));
+		assertEquals(expectedSteps.size(), frames.size());
+		assertTrue(frames.get(0).isKeyframe());
+		int[] client = null;
+		for (int i = 0; i < frames.size(); i++) {
+			client = apply(client, frames.get(i));
+			SortStep step = live.get(expectedSteps.get(i).intValue());
+			assertEquals(step.getCurrentArray(), toList(client));
+			assertEquals(step.getChangedIndices(), frames.get(i).getChanged());
+		}
+	}
+
+	private static int[] apply(int[] client, SortFrame frame) {
+		if (frame.isKeyframe()) return frame.getArray().clone();
+		int[] writes = frame.getWrites();
+		for (int k = 0; k < writes.length; k += 2) {
+			client[writes[k]] = writes[k + 1];
+		}
+		return client;
+	}
+
+	private static List<SortStep> liveSteps(SortingAlgorithm algorithm, List<Integer> input) {
+		List<SortStep> steps = new ArrayList<>();
+		algorithm.sortWithCallback(new ArrayList<>(input), steps::add, new SortContext());
+		return steps;
+	}
+
+	private static List<Integer> input(int size) {
+		List<Integer> input = new ArrayList<>();
+		new Random(size).ints(size, 0, 1000).forEach(input::add);
+		return input;
+	}
+
+	private static List<Integer> toList(int[] values) {
+		List<Integer> list = new ArrayList<>();
+		for (int value : values) list.add(value);
+		return list;
+	}
+
+	private static List<String> ids(List<TraceInfo> traces) {
+		return traces.stream().map(TraceInfo::getId).toList();
+	}
+}
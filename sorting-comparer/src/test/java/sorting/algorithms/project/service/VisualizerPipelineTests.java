@@ -0,0 +1,99 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.SortingAlgorithms.BubbleSort;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+import sorting.algorithms.project.dto.SortFrame;
+import sorting.algorithms.project.dto.SortStep;
+import sorting.algorithms.project.dto.StreamStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisualizerPipelineTests {
+
+	@Test
+	void slowClientDropsStepsButEndsOnSortedState() throws Exception {
+		List<Integer> input = input(60);
+		VisualizerPipeline pipeline = new VisualizerPipeline(32, 10, 0, 1000, true);
+
+		// The sort runs to completion before anything is sent: queueing never blocks.
+		new BubbleSort().sortWithCallback(new ArrayList<>(input), pipeline::accept, new SortContext());
+		// Only the final frame may have to wait for the sender.
+		Thread completer = new Thread(() -> {
+			try {
+				pipeline.complete();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		completer.start();
+
+		List<SortFrame> frames = new ArrayList<>();
+		pipeline.run(frame -> frames.add((SortFrame) frame));
+		completer.join();
+
+		int[] client = null;
+		for (SortFrame frame : frames) {
+			client = frame.isKeyframe() ? frame.getArray().clone() : apply(client, frame.getWrites());
+		}
+		assertEquals(sorted(input), toList(client));
+		assertTrue(frames.get(0).isKeyframe());
+
+		StreamStats stats = pipeline.stats();
+		assertTrue(stats.getDropped() > 0);
+		// Every step is either sent, merged into a sent frame, or dropped.
+		assertEquals(stats.getSteps(), stats.getFrames() + stats.getMerged() + stats.getDropped());
+	}
+
+	@Test
+	void fastPlaybackMergesStepsIntoFrames() throws Exception {
+		List<Integer> input = input(20);
+		// 0.05 ms per step at 100 frames per second: about 200 steps per frame.
+		VisualizerPipeline pipeline = new VisualizerPipeline(1 << 16, 500, 0.05, 100, false);
+		Thread sorter = new Thread(() -> {
+			new BubbleSort().sortWithCallback(new ArrayList<>(input), pipeline::accept, new SortContext());
+			try {
+				pipeline.complete();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		sorter.start();
+
+		List<SortStep> frames = new ArrayList<>();
+		pipeline.run(frame -> frames.add((SortStep) frame));
+		sorter.join();
+
+		StreamStats stats = pipeline.stats();
+		assertEquals(0, stats.getDropped());
+		assertTrue(stats.getFrames() < stats.getSteps() / 10, stats.getFrames() + " frames for " + stats.getSteps() + " steps");
+		assertEquals(stats.getSteps(), stats.getFrames() + stats.getMerged());
+		assertEquals(sorted(input), frames.get(frames.size() - 1).getCurrentArray());
+	}
+
+	private static int[] apply(int[] client, int[] writes) {
+		for (int k = 0; k < writes.length; k += 2) {
+			client[writes[k]] = writes[k + 1];
+		}
+		return client;
+	}
+
+	private static List<Integer> input(int size) {
+		return new Random(size).ints(size, 0, 100).boxed().collect(Collectors.toList());
+	}
+
+	private static List<Integer> sorted(List<Integer> input) {
+		return input.stream().sorted().collect(Collectors.toList());
+	}
+
+	private static List<Integer> toList(int[] values) {
+		List<Integer> list = new ArrayList<>();
+		for (int value : values) list.add(value);
+		return list;
+	}
+}
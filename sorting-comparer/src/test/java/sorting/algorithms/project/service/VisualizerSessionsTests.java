@@ -0,0 +1,98 @@
+package sorting.algorithms.project.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import sorting.algorithms.project.SortingAlgorithms.BogoSort;
+import sorting.algorithms.project.SortingAlgorithms.SortCancelledException;
+import sorting.algorithms.project.SortingAlgorithms.SortContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisualizerSessionsTests {
+
+	private final ExecutorService sortExecutor = Executors.newFixedThreadPool(1);
+	private final ExecutorService ioExecutor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void shutdown() {
+		sortExecutor.shutdownNow();
+		ioExecutor.shutdownNow();
+	}
+
+	@Test
+	void rejectsSessionsBeyondTheLimitUntilOneEnds() throws Exception {
+		VisualizerSessions sessions = new VisualizerSessions(sortExecutor, ioExecutor, 2);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(4);
+		Runnable waiting = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			done.countDown();
+		};
+
+		// Two sessions fit, even though the sort pool has a single thread.
+		sessions.start(waiting, waiting);
+		sessions.start(waiting, waiting);
+		assertEquals(2, sessions.activeSessions());
+		assertThrows(VisualizerSessions.SessionLimitException.class, () -> sessions.start(null, waiting));
+
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		// The slot is freed after the last task of a session has finished.
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sessions.activeSessions() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(0, sessions.activeSessions());
+
+		CountDownLatch replay = new CountDownLatch(1);
+		sessions.start(null, replay::countDown);
+		assertTrue(replay.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void releasesTheSlotWhenThePoolsAreShutDown() {
+		VisualizerSessions sessions = new VisualizerSessions(sortExecutor, ioExecutor, 1);
+		ioExecutor.shutdown();
+
+		assertThrows(VisualizerSessions.SessionLimitException.class, () -> sessions.start(null, () -> {}));
+		assertEquals(0, sessions.activeSessions());
+	}
+
+	@Test
+	void shutdownCancelsRunningSorts() throws Exception {
+		VisualizerSessions sessions = new VisualizerSessions(sortExecutor, ioExecutor, 1);
+		SortContext context = new SortContext();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		List<Integer> input = new ArrayList<>();
+		for (int i = 40; i > 0; i--) input.add(i);
+
+		// BogoSort on 40 elements never finishes on its own.
+		sessions.start(context, () -> {
+			try {
+				new BogoSort().sortWithCallback(input, step -> {
+					started.countDown();
+					context.checkpoint();
+				}, context);
+			} catch (SortCancelledException e) {
+				cancelled.countDown();
+			}
+		}, null);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		sessions.shutdown();
+		assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+		assertThrows(VisualizerSessions.SessionLimitException.class, () -> sessions.start(null, () -> {}));
+	}
+}